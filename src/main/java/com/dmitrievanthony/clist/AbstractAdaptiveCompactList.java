@@ -0,0 +1,338 @@
+package com.dmitrievanthony.clist;
+
+import java.util.Arrays;
+
+/**
+ * Base class of lists of integral values that store elements in the narrowest array that fits all of them. The list
+ * starts with <tt>byte[]</tt> and widens the array to <tt>short[]</tt>, <tt>int[]</tt> and <tt>long[]</tt> only when
+ * an added value doesn't fit the current width, so that lists of small values (counts, codes) take 2-8 times less
+ * memory, while an element is still read by a single array load selected by the current width.
+ *
+ * @param <T> the type of elements in this list
+ */
+abstract class AbstractAdaptiveCompactList<T> implements CompactList<T> {
+    /** The width of elements stored in <tt>byte[]</tt>. */
+    static final int BYTE = 0;
+
+    /** The width of elements stored in <tt>short[]</tt>. */
+    static final int SHORT = 1;
+
+    /** The width of elements stored in <tt>int[]</tt>. */
+    static final int INT = 2;
+
+    /** The width of elements stored in <tt>long[]</tt>. */
+    static final int LONG = 3;
+
+    /** The growth policy of the underlying array. */
+    private final GrowthPolicy growthPolicy;
+
+    /** The current width of elements, only the array of this width is not <tt>null</tt>. */
+    private int width = BYTE;
+
+    /** The underlying array of elements of {@link #BYTE} width. */
+    private byte[] bytes;
+
+    /** The underlying array of elements of {@link #SHORT} width. */
+    private short[] shorts;
+
+    /** The underlying array of elements of {@link #INT} width. */
+    private int[] ints;
+
+    /** The underlying array of elements of {@link #LONG} width. */
+    private long[] longs;
+
+    /** The size of the list. */
+    private int size;
+
+    /**
+     * Constructs an empty list of {@link #BYTE} width with the specified initial capacity and growth policy.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @param growthPolicy the growth policy of the list
+     */
+    AbstractAdaptiveCompactList(int initialCapacity, GrowthPolicy growthPolicy) {
+        this.growthPolicy = growthPolicy;
+        this.bytes = new byte[initialCapacity];
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() {
+        size = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void trimToSize() {
+        if (size == capacity())
+            return;
+
+        switch (width) {
+            case BYTE:
+                bytes = Arrays.copyOf(bytes, size);
+                break;
+
+            case SHORT:
+                shorts = Arrays.copyOf(shorts, size);
+                break;
+
+            case INT:
+                ints = Arrays.copyOf(ints, size);
+                break;
+
+            default:
+                longs = Arrays.copyOf(longs, size);
+        }
+    }
+
+    /**
+     * Sorts the elements of this list into ascending numerical order in place.
+     */
+    public void sort() {
+        switch (width) {
+            case BYTE:
+                Arrays.sort(bytes, 0, size);
+                break;
+
+            case SHORT:
+                Arrays.sort(shorts, 0, size);
+                break;
+
+            case INT:
+                Arrays.sort(ints, 0, size);
+                break;
+
+            default:
+                Arrays.sort(longs, 0, size);
+        }
+    }
+
+    /**
+     * Sorts the elements of this list into ascending numerical order in place using the fork-join pool.
+     */
+    public void parallelSort() {
+        switch (width) {
+            case BYTE:
+                Arrays.parallelSort(bytes, 0, size);
+                break;
+
+            case SHORT:
+                Arrays.parallelSort(shorts, 0, size);
+                break;
+
+            case INT:
+                Arrays.parallelSort(ints, 0, size);
+                break;
+
+            default:
+                Arrays.parallelSort(longs, 0, size);
+        }
+    }
+
+    /**
+     * Returns the current width of elements.
+     *
+     * @return the current width of elements ({@link #BYTE}, {@link #SHORT}, {@link #INT} or {@link #LONG})
+     */
+    final int width() {
+        return width;
+    }
+
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    final long getValue(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+
+        return load(index);
+    }
+
+    /**
+     * Adds the specified element into this list, widens the array if the element doesn't fit the current width.
+     *
+     * @param val the element to be added
+     */
+    final void addValue(long val) {
+        reserve(widthOf(val), 1);
+        append(val);
+    }
+
+    /**
+     * Ensures that the array has at least the specified width and enough capacity for the specified number of elements
+     * to be appended by {@link #append(long)}.
+     *
+     * @param minWidth the minimum width of elements
+     * @param len the number of elements to be appended
+     */
+    final void reserve(int minWidth, int len) {
+        if (minWidth > width)
+            widen(minWidth);
+
+        ensureCapacity(size + len);
+    }
+
+    /**
+     * Appends the specified element without checks, the element should fit the width and the capacity reserved by
+     * {@link #reserve(int, int)}.
+     *
+     * @param val the element to be appended
+     */
+    final void append(long val) {
+        switch (width) {
+            case BYTE:
+                bytes[size] = (byte)val;
+                break;
+
+            case SHORT:
+                shorts[size] = (short)val;
+                break;
+
+            case INT:
+                ints[size] = (int)val;
+                break;
+
+            default:
+                longs[size] = val;
+        }
+
+        size++;
+    }
+
+    /**
+     * Returns the narrowest width that fits the specified value.
+     *
+     * @param val the value
+     * @return the width of the value
+     */
+    static int widthOf(long val) {
+        if (val == (byte)val)
+            return BYTE;
+
+        if (val == (short)val)
+            return SHORT;
+
+        if (val == (int)val)
+            return INT;
+
+        return LONG;
+    }
+
+    /**
+     * Returns the element at the specified position without the range check.
+     *
+     * @param index the index of element
+     * @return the element
+     */
+    private long load(int index) {
+        switch (width) {
+            case BYTE:
+                return bytes[index];
+
+            case SHORT:
+                return shorts[index];
+
+            case INT:
+                return ints[index];
+
+            default:
+                return longs[index];
+        }
+    }
+
+    /**
+     * Returns the capacity of the array of the current width.
+     *
+     * @return the capacity
+     */
+    private int capacity() {
+        switch (width) {
+            case BYTE:
+                return bytes.length;
+
+            case SHORT:
+                return shorts.length;
+
+            case INT:
+                return ints.length;
+
+            default:
+                return longs.length;
+        }
+    }
+
+    /**
+     * Replaces the array by the array of the specified width of the same capacity and copies the elements into it.
+     *
+     * @param newWidth the new width that is greater than the current one
+     */
+    private void widen(int newWidth) {
+        int capacity = capacity();
+
+        switch (newWidth) {
+            case SHORT:
+                shorts = new short[capacity];
+                for (int i = 0; i < size; i++)
+                    shorts[i] = (short)load(i);
+                break;
+
+            case INT:
+                ints = new int[capacity];
+                for (int i = 0; i < size; i++)
+                    ints[i] = (int)load(i);
+                break;
+
+            default:
+                longs = new long[capacity];
+                for (int i = 0; i < size; i++)
+                    longs[i] = load(i);
+        }
+
+        if (width == BYTE)
+            bytes = null;
+        else if (width == SHORT)
+            shorts = null;
+        else
+            ints = null;
+
+        width = newWidth;
+    }
+
+    /**
+     * Ensures that the current capacity of the list is enough, otherwise grows it according to the growth policy.
+     *
+     * @param minCapacity minimum desired capacity
+     */
+    private void ensureCapacity(int minCapacity) {
+        int capacity = capacity();
+
+        if (minCapacity - capacity <= 0)
+            return;
+
+        int newCapacity = growthPolicy.newCapacity(capacity, minCapacity);
+
+        switch (width) {
+            case BYTE:
+                bytes = Arrays.copyOf(bytes, newCapacity);
+                break;
+
+            case SHORT:
+                shorts = Arrays.copyOf(shorts, newCapacity);
+                break;
+
+            case INT:
+                ints = Arrays.copyOf(ints, newCapacity);
+                break;
+
+            default:
+                longs = Arrays.copyOf(longs, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import sun.misc.Unsafe;
+
+/**
+ * The base class of off-heap implementations of {@link BigCompactList} generated by
+ * {@link OffHeapCompactListGenerator}. Manages the block of memory outside of the Java heap the elements are stored
+ * in, so that the generated subclasses only read and write elements of the specific primitive type. The block is
+ * either allocated in native memory or mapped from a file. In both cases it's not visible to the garbage collector and
+ * is not freed automatically, the list should be explicitly closed by {@link #close()}.
+ * <p>
+ * The file of a file-backed list starts with the header that keeps the magic number, the type of elements (the
+ * descriptor of the primitive), the size and the capacity of the list, followed by the elements in the native byte
+ * order. The size in the header is updated on {@link #force()} and {@link #close()}, so that the reopened list is
+ * immediately readable without deserialization.
+ *
+ * @param <T> the type of elements in this list
+ */
+public abstract class AbstractOffHeapCompactList<T> implements BigCompactList<T> {
+    /** The instance of <tt>Unsafe</tt> used to allocate, read and write native memory. */
+    protected static final Unsafe UNSAFE = getUnsafe();
+
+    /** The offset of the address field of <tt>Buffer</tt> used to get the address of the mapped buffer. */
+    private static final long ADDRESS_OFFSET = getAddressOffset();
+
+    /**
+     * The <tt>Unsafe.invokeCleaner</tt> method that unmaps the buffer (JDK 9+), or <tt>null</tt> if it doesn't exist.
+     */
+    private static final Method INVOKE_CLEANER = getInvokeCleaner();
+
+    /**
+     * The <tt>sun.nio.ch.DirectBuffer.cleaner</tt> method that returns the cleaner of the buffer (JDK 8), or
+     * <tt>null</tt> if <tt>Unsafe.invokeCleaner</tt> exists or the method is not accessible.
+     */
+    private static final Method GET_CLEANER =
+        INVOKE_CLEANER == null ? getJdk8Method("sun.nio.ch.DirectBuffer", "cleaner") : null;
+
+    /**
+     * The <tt>sun.misc.Cleaner.clean</tt> method that unmaps the buffer (JDK 8), or <tt>null</tt> if
+     * <tt>Unsafe.invokeCleaner</tt> exists or the method is not accessible.
+     */
+    private static final Method CLEAN = INVOKE_CLEANER == null ? getJdk8Method("sun.misc.Cleaner", "clean") : null;
+
+    /** The magic number that starts the file of a file-backed list. */
+    private static final int MAGIC = 0x434C5354;
+
+    /** The size of the header of the file of a file-backed list. */
+    private static final int HEADER_SIZE = 24;
+
+    /** The offset of the type of elements in the header. */
+    private static final int TYPE_OFFSET = 4;
+
+    /** The offset of the size of the list in the header. */
+    private static final int SIZE_OFFSET = 8;
+
+    /** The offset of the capacity of the list in the header. */
+    private static final int CAPACITY_OFFSET = 16;
+
+    /** The initial capacity of the new file-backed list (in elements). */
+    private static final long MAPPED_INITIAL_CAPACITY = 1 << 10;
+
+    /** The size of element in bytes as a power of two. */
+    private final int elementShift;
+
+    /** The channel of the file the list is mapped from, or <tt>null</tt> if the list is stored in native memory. */
+    private final FileChannel channel;
+
+    /** The buffer the file is mapped into, or <tt>null</tt> if the list is stored in native memory. */
+    private MappedByteBuffer buffer;
+
+    /** The address of the block of memory into which the elements of the list are stored. */
+    protected long address;
+
+    /** The size of the list. */
+    protected long size;
+
+    /** The capacity of the block of memory (in elements). */
+    private long capacity;
+
+    /** The flag that shows that the list is closed and the memory is freed. */
+    private boolean closed;
+
+    /**
+     * Constructs an empty list stored in native memory with the specified initial capacity.
+     *
+     * @param elementShift the size of element in bytes as a power of two
+     * @param initialCapacity the initial capacity of the list (in elements)
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    protected AbstractOffHeapCompactList(int elementShift, long initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Initial capacity should not be negative: " + initialCapacity);
+
+        this.elementShift = elementShift;
+        this.channel = null;
+        this.address = UNSAFE.allocateMemory(Math.max(initialCapacity, 1) << elementShift);
+        this.capacity = Math.max(initialCapacity, 1);
+    }
+
+    /**
+     * Constructs a list mapped from the specified file. Opens the list stored in the file if the file is not empty,
+     * otherwise creates an empty list in the file.
+     *
+     * @param elementShift the size of element in bytes as a power of two
+     * @param type the type of elements (the descriptor of the primitive)
+     * @param path the path of the file
+     * @throws IllegalArgumentException if the file is not empty and doesn't contain a list of the specified type
+     * @throws UncheckedIOException if the file cannot be opened or mapped
+     */
+    protected AbstractOffHeapCompactList(int elementShift, char type, Path path) {
+        this.elementShift = elementShift;
+
+        try {
+            channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            );
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            long fileSize = channel.size();
+
+            if (fileSize == 0) {
+                map(MAPPED_INITIAL_CAPACITY);
+
+                UNSAFE.putInt(address - HEADER_SIZE, MAGIC);
+                UNSAFE.putInt(address - HEADER_SIZE + TYPE_OFFSET, type);
+            }
+            else {
+                if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE)
+                    throw new IllegalArgumentException("File " + path + " doesn't contain a compact list");
+
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+                address = UNSAFE.getLong(buffer, ADDRESS_OFFSET) + HEADER_SIZE;
+                size = UNSAFE.getLong(address - HEADER_SIZE + SIZE_OFFSET);
+                capacity = UNSAFE.getLong(address - HEADER_SIZE + CAPACITY_OFFSET);
+
+                if (UNSAFE.getInt(address - HEADER_SIZE) != MAGIC)
+                    throw new IllegalArgumentException("File " + path + " doesn't contain a compact list");
+
+                if (UNSAFE.getInt(address - HEADER_SIZE + TYPE_OFFSET) != type)
+                    throw new IllegalArgumentException("File " + path + " doesn't contain a compact list of " + type);
+
+                /* The capacity is compared before the shift, so that a huge capacity doesn't overflow. */
+                if (size < 0 || size > capacity || capacity > (fileSize - HEADER_SIZE) >> elementShift)
+                    throw new IllegalArgumentException("File " + path + " contains a corrupted compact list");
+            }
+        }
+        catch (IOException e) {
+            unmap();
+            closeChannel();
+
+            throw new UncheckedIOException(e);
+        }
+        catch (RuntimeException e) {
+            unmap();
+            closeChannel();
+
+            throw e;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public long size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force() {
+        if (channel != null && !closed) {
+            UNSAFE.putLong(address - HEADER_SIZE + SIZE_OFFSET, size);
+            buffer.force();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (!closed) {
+            if (channel == null)
+                UNSAFE.freeMemory(address);
+            else {
+                UNSAFE.putLong(address - HEADER_SIZE + SIZE_OFFSET, size);
+                unmap();
+                closeChannel();
+            }
+
+            closed = true;
+            address = 0;
+            size = 0;
+            capacity = 0;
+        }
+    }
+
+    /**
+     * Checks that specified index is greater or equal to zero and is less than the size of the list.
+     *
+     * @param index the index of element
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    protected final void checkRange(long index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Ensures that the current capacity of the block of memory is enough, otherwise doubles it. The native memory is
+     * reallocated, the file is extended and remapped.
+     *
+     * @param minCapacity minimum desired capacity (in elements)
+     * @throws IllegalStateException if the list is closed
+     * @throws OutOfMemoryError if the file-backed list cannot be mapped with the minimum desired capacity
+     */
+    protected final void ensureCapacity(long minCapacity) {
+        if (minCapacity > capacity) {
+            if (closed)
+                throw new IllegalStateException("List is closed");
+
+            long newCapacity = Math.max(capacity << 1, minCapacity);
+
+            if (channel == null) {
+                address = UNSAFE.reallocateMemory(address, newCapacity << elementShift);
+                capacity = newCapacity;
+            }
+            else {
+                long maxCapacity = (Integer.MAX_VALUE - HEADER_SIZE) >> elementShift;
+
+                if (minCapacity > maxCapacity)
+                    throw new OutOfMemoryError();
+
+                MappedByteBuffer oldBuffer = buffer;
+                try {
+                    map(Math.min(newCapacity, maxCapacity));
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                clean(oldBuffer);
+            }
+        }
+    }
+
+    /**
+     * Maps the header and the specified number of elements from the file (extending the file if needed), updates the
+     * capacity in the header.
+     *
+     * @param newCapacity the new capacity of the list (in elements)
+     * @throws IOException if the file cannot be mapped
+     */
+    private void map(long newCapacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (newCapacity << elementShift));
+        address = UNSAFE.getLong(buffer, ADDRESS_OFFSET) + HEADER_SIZE;
+        capacity = newCapacity;
+
+        UNSAFE.putLong(address - HEADER_SIZE + CAPACITY_OFFSET, capacity);
+    }
+
+    /**
+     * Unmaps the file if it's mapped, without waiting for the buffer to be garbage collected where possible.
+     */
+    private void unmap() {
+        if (buffer != null) {
+            clean(buffer);
+            buffer = null;
+        }
+    }
+
+    /**
+     * Unmaps the specified buffer by <tt>Unsafe.invokeCleaner</tt> (JDK 9+) or by the cleaner of the buffer (JDK 8).
+     * If neither is accessible leaves the buffer to be unmapped when it's garbage collected. The buffer should not be
+     * accessed afterwards.
+     *
+     * @param buf the mapped buffer
+     */
+    private static void clean(MappedByteBuffer buf) {
+        try {
+            if (INVOKE_CLEANER != null)
+                INVOKE_CLEANER.invoke(UNSAFE, buf);
+            else if (GET_CLEANER != null && CLEAN != null) {
+                Object cleaner = GET_CLEANER.invoke(buf);
+
+                if (cleaner != null)
+                    CLEAN.invoke(cleaner);
+            }
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Closes the channel of the file.
+     *
+     * @throws UncheckedIOException if the channel cannot be closed
+     */
+    private void closeChannel() {
+        try {
+            channel.close();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the offset of the address field of <tt>Buffer</tt>.
+     *
+     * @return the offset of the address field
+     */
+    private static long getAddressOffset() {
+        try {
+            return UNSAFE.objectFieldOffset(Buffer.class.getDeclaredField("address"));
+        }
+        catch (NoSuchFieldException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Returns the <tt>Unsafe.invokeCleaner</tt> method.
+     *
+     * @return the method or <tt>null</tt> if it doesn't exist (JDK 8)
+     */
+    private static Method getInvokeCleaner() {
+        try {
+            return Unsafe.class.getMethod("invokeCleaner", ByteBuffer.class);
+        }
+        catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the public no-arg method of the JDK 8 internal class used to unmap the buffer.
+     *
+     * @param clsName the name of the class
+     * @param name the name of the method
+     * @return the method or <tt>null</tt> if it doesn't exist or is not accessible
+     */
+    private static Method getJdk8Method(String clsName, String name) {
+        try {
+            return Class.forName(clsName).getMethod(name);
+        }
+        catch (ClassNotFoundException | NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the instance of <tt>Unsafe</tt>.
+     *
+     * @return the instance of <tt>Unsafe</tt>
+     */
+    private static Unsafe getUnsafe() {
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+
+            return (Unsafe)field.get(null);
+        }
+        catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Implementation of the <tt>CharacterCompactList</tt> interface that stores elements as Latin-1 bytes until a char
+ * above <tt>0xFF</tt> is added, then inflates the array into <tt>char[]</tt>, so that lists of Latin-1 chars take half
+ * the memory, while an element is still read by a single array load.
+ */
+class AdaptiveCharacterCompactList implements CharacterCompactList {
+    /** The maximum Latin-1 char. */
+    private static final char MAX_LATIN1 = 0xFF;
+
+    /** The growth policy of the underlying array. */
+    private final GrowthPolicy growthPolicy;
+
+    /** The underlying array of Latin-1 chars or <tt>null</tt> if the list is inflated. */
+    private byte[] latin1;
+
+    /** The underlying array of chars or <tt>null</tt> if the list isn't inflated. */
+    private char[] chars;
+
+    /** The size of the list. */
+    private int size;
+
+    /**
+     * Constructs an empty list of Latin-1 chars with the specified initial capacity and growth policy.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @param growthPolicy the growth policy of the list
+     */
+    AdaptiveCharacterCompactList(int initialCapacity, GrowthPolicy growthPolicy) {
+        this.growthPolicy = growthPolicy;
+        this.latin1 = new byte[initialCapacity];
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Character get(int index) {
+        return getChar(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override public char getChar(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+
+        return latin1 != null ? (char)(latin1[index] & 0xFF) : chars[index];
+    }
+
+    /** {@inheritDoc} */
+    @Override public void add(Character element) {
+        addChar(element);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addChar(char element) {
+        if (element > MAX_LATIN1 && latin1 != null)
+            inflate();
+
+        ensureCapacity(size + 1);
+
+        if (latin1 != null)
+            latin1[size++] = (byte)element;
+        else
+            chars[size++] = element;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addAll(char[] src, int off, int len) {
+        ObjectCompactList.checkRange(src.length, off, len);
+
+        for (int i = off; i < off + len && latin1 != null; i++) {
+            if (src[i] > MAX_LATIN1)
+                inflate();
+        }
+
+        ensureCapacity(size + len);
+
+        if (latin1 != null) {
+            for (int i = 0; i < len; i++)
+                latin1[size + i] = (byte)src[off + i];
+        }
+        else
+            System.arraycopy(src, off, chars, size, len);
+
+        size += len;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void getRange(int from, char[] dst, int off, int len) {
+        ObjectCompactList.checkRange(size, from, len);
+        ObjectCompactList.checkRange(dst.length, off, len);
+
+        if (latin1 != null) {
+            for (int i = 0; i < len; i++)
+                dst[off + i] = (char)(latin1[from + i] & 0xFF);
+        }
+        else
+            System.arraycopy(chars, from, dst, off, len);
+    }
+
+    /** {@inheritDoc} */
+    @Override public char[] toArray() {
+        char[] res = new char[size];
+        getRange(0, res, 0, size);
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeTo(WritableByteChannel channel) throws IOException {
+        CompactListIO.write(channel, toArray(), size);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+        CompactListIO.read(channel, this);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() {
+        size = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void trimToSize() {
+        if (latin1 != null && size < latin1.length)
+            latin1 = Arrays.copyOf(latin1, size);
+        else if (chars != null && size < chars.length)
+            chars = Arrays.copyOf(chars, size);
+    }
+
+    /**
+     * Returns whether the list stores its elements as Latin-1 bytes.
+     *
+     * @return <tt>true</tt> if the list stores its elements as Latin-1 bytes
+     */
+    boolean isLatin1() {
+        return latin1 != null;
+    }
+
+    /**
+     * Replaces the array of Latin-1 chars by the array of chars of the same capacity.
+     */
+    private void inflate() {
+        chars = new char[latin1.length];
+        for (int i = 0; i < size; i++)
+            chars[i] = (char)(latin1[i] & 0xFF);
+
+        latin1 = null;
+    }
+
+    /**
+     * Ensures that the current capacity of the list is enough, otherwise grows it according to the growth policy.
+     *
+     * @param minCapacity minimum desired capacity
+     */
+    private void ensureCapacity(int minCapacity) {
+        int capacity = latin1 != null ? latin1.length : chars.length;
+
+        if (minCapacity - capacity <= 0)
+            return;
+
+        int newCapacity = growthPolicy.newCapacity(capacity, minCapacity);
+
+        if (latin1 != null)
+            latin1 = Arrays.copyOf(latin1, newCapacity);
+        else
+            chars = Arrays.copyOf(chars, newCapacity);
+    }
+}
@@ -0,0 +1,82 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Implementation of the <tt>LongCompactList</tt> interface that stores elements in the narrowest of <tt>byte[]</tt>,
+ * <tt>short[]</tt>, <tt>int[]</tt> and <tt>long[]</tt> that fits all of them (see {@link AbstractAdaptiveCompactList}).
+ */
+class AdaptiveLongCompactList extends AbstractAdaptiveCompactList<Long> implements LongCompactList {
+    /**
+     * Constructs an empty list with the specified initial capacity and growth policy.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @param growthPolicy the growth policy of the list
+     */
+    AdaptiveLongCompactList(int initialCapacity, GrowthPolicy growthPolicy) {
+        super(initialCapacity, growthPolicy);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Long get(int index) {
+        return getValue(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getLong(int index) {
+        return getValue(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void add(Long element) {
+        addValue(element);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addLong(long element) {
+        addValue(element);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addAll(long[] src, int off, int len) {
+        ObjectCompactList.checkRange(src.length, off, len);
+
+        int width = BYTE;
+        for (int i = off; i < off + len && width < LONG; i++)
+            width = Math.max(width, widthOf(src[i]));
+
+        reserve(width, len);
+
+        for (int i = off; i < off + len; i++)
+            append(src[i]);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void getRange(int from, long[] dst, int off, int len) {
+        ObjectCompactList.checkRange(size(), from, len);
+        ObjectCompactList.checkRange(dst.length, off, len);
+
+        for (int i = 0; i < len; i++)
+            dst[off + i] = getValue(from + i);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long[] toArray() {
+        long[] res = new long[size()];
+        getRange(0, res, 0, res.length);
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeTo(WritableByteChannel channel) throws IOException {
+        CompactListIO.write(channel, toArray(), size());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+        CompactListIO.read(channel, this);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dmitrievanthony.clist;
+
+/**
+ * An ordered collection with limited capabilities that is indexed by <tt>long</tt>, so that it can hold more than
+ * <tt>Integer.MAX_VALUE</tt> elements. The user of this interface can add elements, get elements by their index and
+ * get the size of the list. Lists that hold resources outside of the Java heap release them on {@link #close()},
+ * lists that are backed by a file write their elements to the storage device on {@link #force()}.
+ *
+ * @param <T> the type of elements in this list
+ */
+public interface BigCompactList<T> extends AutoCloseable {
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return the number of elements in the list
+     */
+    long size();
+
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     */
+    T get(long index);
+
+    /**
+     * Adds the specified element into this list.
+     *
+     * @param element the element to be added
+     */
+    void add(T element);
+
+    /**
+     * Writes the elements of this list to the storage device, so that they are not lost if the system crashes. Does
+     * nothing for lists that are not backed by a file.
+     */
+    default void force() {
+        // No-op.
+    }
+
+    /**
+     * Releases resources held by this list outside of the Java heap. The list should not be used after it's closed.
+     * Does nothing for lists that are stored in the Java heap.
+     */
+    @Override default void close() {
+        // No-op.
+    }
+}
@@ -0,0 +1,137 @@
+package com.dmitrievanthony.clist;
+
+import java.util.Arrays;
+
+/**
+ * The sequence of sealed blocks of {@link #BLOCK_SIZE} integral values compressed with frame-of-reference encoding.
+ * Every block keeps its minimum value (the base) and the differences between the values and the base bit-packed with
+ * the minimal width that fits the largest difference. Any value can be extracted without decoding the whole block,
+ * so that the random access stays O(1).
+ */
+class BitPackedBlocks {
+    /** The number of values in a block as a power of two. */
+    static final int BLOCK_SHIFT = 7;
+
+    /** The number of values in a block. */
+    static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    /** The number of bits in a word as a power of two. */
+    private static final int WORD_BITS_SHIFT = 6;
+
+    /** The bases of blocks. */
+    private long[] bases = new long[1];
+
+    /** The widths (in bits) of packed differences of blocks. */
+    private byte[] widths = new byte[1];
+
+    /** The positions (in words) of packed differences of blocks in {@link #packed}. */
+    private int[] offsets = new int[1];
+
+    /** The packed differences of all blocks. */
+    private long[] packed = new long[0];
+
+    /** The number of blocks. */
+    private int blocks;
+
+    /** The number of used words in {@link #packed}. */
+    private int words;
+
+    /**
+     * Returns the number of blocks.
+     *
+     * @return the number of blocks
+     */
+    int blocks() {
+        return blocks;
+    }
+
+    /**
+     * Compresses the specified block of values and appends it to the sequence.
+     *
+     * @param values the array of {@link #BLOCK_SIZE} values
+     */
+    void add(long[] values) {
+        long min = values[0];
+        long max = values[0];
+        for (int i = 1; i < BLOCK_SIZE; i++) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+
+        /* The difference is treated as unsigned, so it never overflows. */
+        int width = Long.SIZE - Long.numberOfLeadingZeros(max - min);
+        int blockWords = width << (BLOCK_SHIFT - WORD_BITS_SHIFT);
+
+        if (blocks == bases.length) {
+            int newLength = GrowthPolicy.doubling().newCapacity(blocks, blocks + 1);
+
+            bases = Arrays.copyOf(bases, newLength);
+            widths = Arrays.copyOf(widths, newLength);
+            offsets = Arrays.copyOf(offsets, newLength);
+        }
+
+        if (words + blockWords > packed.length)
+            packed = Arrays.copyOf(packed, GrowthPolicy.doubling().newCapacity(packed.length, words + blockWords));
+
+        for (int i = 0; i < BLOCK_SIZE && width > 0; i++) {
+            long delta = values[i] - min;
+            int bitPos = i * width;
+            int wordIdx = words + (bitPos >>> WORD_BITS_SHIFT);
+            int shift = bitPos & 63;
+
+            packed[wordIdx] |= delta << shift;
+            if (shift + width > Long.SIZE)
+                packed[wordIdx + 1] |= delta >>> (Long.SIZE - shift);
+        }
+
+        bases[blocks] = min;
+        widths[blocks] = (byte)width;
+        offsets[blocks] = words;
+
+        blocks++;
+        words += blockWords;
+    }
+
+    /**
+     * Returns the value at the specified position of the specified block.
+     *
+     * @param block the index of block
+     * @param pos the position in the block
+     * @return the value
+     */
+    long get(int block, int pos) {
+        int width = widths[block];
+
+        if (width == 0)
+            return bases[block];
+
+        int bitPos = pos * width;
+        int wordIdx = offsets[block] + (bitPos >>> WORD_BITS_SHIFT);
+        int shift = bitPos & 63;
+
+        long delta = packed[wordIdx] >>> shift;
+        if (shift + width > Long.SIZE)
+            delta |= packed[wordIdx + 1] << (Long.SIZE - shift);
+
+        return bases[block] + (width == Long.SIZE ? delta : delta & ((1L << width) - 1));
+    }
+
+    /**
+     * Removes all blocks keeping the capacity of the underlying arrays.
+     */
+    void clear() {
+        Arrays.fill(packed, 0, words, 0L);
+        blocks = 0;
+        words = 0;
+    }
+
+    /**
+     * Trims the capacity of the underlying arrays to the number of blocks.
+     */
+    void trimToSize() {
+        bases = Arrays.copyOf(bases, blocks);
+        widths = Arrays.copyOf(widths, blocks);
+        offsets = Arrays.copyOf(offsets, blocks);
+        packed = Arrays.copyOf(packed, words);
+    }
+}
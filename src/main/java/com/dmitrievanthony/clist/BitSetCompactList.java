@@ -0,0 +1,289 @@
+package com.dmitrievanthony.clist;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Implementation of the <tt>BooleanCompactList</tt> interface that packs elements into a bitset so that every element
+ * takes one bit. Keeps the number of <tt>true</tt> elements preceding every block of {@link #BLOCK_WORDS} words, so
+ * that {@link #rank(int)} and {@link #select(int)} don't need to scan the whole bitset. Is written in the binary
+ * format of {@link CompactListIO} both by {@link #writeTo(WritableByteChannel)} and by Java serialization.
+ */
+class BitSetCompactList implements BooleanCompactList, Externalizable {
+    /** The serial version UID. */
+    private static final long serialVersionUID = 0L;
+
+    /** The number of bits in a word. */
+    private static final int WORD_BITS_SHIFT = 6;
+
+    /** The number of words in a block for which the rank is precomputed (as a power of two). */
+    private static final int BLOCK_WORDS_SHIFT = 3;
+
+    /** The number of words in a block for which the rank is precomputed. */
+    private static final int BLOCK_WORDS = 1 << BLOCK_WORDS_SHIFT;
+
+    /** The growth policy of the underlying bitset {@link #words}. */
+    private final GrowthPolicy growthPolicy;
+
+    /** The underlying bitset into which the elements of the list are stored. */
+    private long[] words;
+
+    /** The number of <tt>true</tt> elements that precede every block of words. */
+    private int[] blockRanks;
+
+    /** The size of the list. */
+    private int size;
+
+    /** The number of <tt>true</tt> elements in the list. */
+    private int cardinality;
+
+    /**
+     * Constructs an empty list with the specified initial capacity and growth policy.
+     *
+     * @param initialCapacity the initial capacity of the list (in elements)
+     * @param growthPolicy the growth policy of the list (applied to words of the bitset)
+     */
+    BitSetCompactList(int initialCapacity, GrowthPolicy growthPolicy) {
+        this.growthPolicy = growthPolicy;
+        this.words = new long[(int)((initialCapacity + 63L) >>> WORD_BITS_SHIFT)];
+        this.blockRanks = new int[(words.length + BLOCK_WORDS - 1) >>> BLOCK_WORDS_SHIFT];
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Boolean get(int index) {
+        return getBoolean(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean getBoolean(int index) {
+        checkRange(index);
+
+        return (words[index >>> WORD_BITS_SHIFT] & (1L << index)) != 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void add(Boolean element) {
+        addBoolean(element);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addBoolean(boolean element) {
+        int wordIdx = size >>> WORD_BITS_SHIFT;
+
+        if ((size & 63) == 0) {
+            ensureCapacity(wordIdx + 1);
+
+            if ((wordIdx & (BLOCK_WORDS - 1)) == 0)
+                blockRanks[wordIdx >>> BLOCK_WORDS_SHIFT] = cardinality;
+        }
+
+        if (element) {
+            words[wordIdx] |= 1L << size;
+            cardinality++;
+        }
+
+        size++;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addAll(boolean[] src, int off, int len) {
+        ObjectCompactList.checkRange(src.length, off, len);
+        ensureCapacity((int)((size + (long)len + 63) >>> WORD_BITS_SHIFT));
+
+        for (int i = off; i < off + len; i++)
+            addBoolean(src[i]);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void getRange(int from, boolean[] dst, int off, int len) {
+        ObjectCompactList.checkRange(size, from, len);
+        ObjectCompactList.checkRange(dst.length, off, len);
+
+        for (int i = 0; i < len; i++)
+            dst[off + i] = (words[(from + i) >>> WORD_BITS_SHIFT] & (1L << (from + i))) != 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean[] toArray() {
+        boolean[] res = new boolean[size];
+        getRange(0, res, 0, size);
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int cardinality() {
+        return cardinality;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int rank(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException();
+
+        if (index == size)
+            return cardinality;
+
+        int wordIdx = index >>> WORD_BITS_SHIFT;
+        int rank = blockRanks[wordIdx >>> BLOCK_WORDS_SHIFT];
+
+        for (int i = wordIdx & -BLOCK_WORDS; i < wordIdx; i++)
+            rank += Long.bitCount(words[i]);
+
+        return rank + Long.bitCount(words[wordIdx] & ((1L << index) - 1));
+    }
+
+    /** {@inheritDoc} */
+    @Override public int select(int n) {
+        if (n < 0 || n >= cardinality)
+            throw new IndexOutOfBoundsException();
+
+        /* Finds the last block that is preceded by no more than n true elements. */
+        int lo = 0;
+        int hi = ((size - 1) >>> WORD_BITS_SHIFT) >>> BLOCK_WORDS_SHIFT;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (blockRanks[mid] <= n)
+                lo = mid;
+            else
+                hi = mid - 1;
+        }
+
+        int remaining = n - blockRanks[lo];
+        for (int i = lo << BLOCK_WORDS_SHIFT; ; i++) {
+            int bitCount = Long.bitCount(words[i]);
+            if (remaining < bitCount) {
+                long word = words[i];
+                for (int j = 0; j < remaining; j++)
+                    word &= word - 1;
+
+                return (i << WORD_BITS_SHIFT) + Long.numberOfTrailingZeros(word);
+            }
+
+            remaining -= bitCount;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeTo(WritableByteChannel channel) throws IOException {
+        CompactListIO.writeBits(channel, words, size);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+        CompactListIO.readBits(channel, this);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeExternal(ObjectOutput out) throws IOException {
+        writeTo(CompactListIO.newChannel(out));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readExternal(ObjectInput in) throws IOException {
+        readFrom(CompactListIO.newChannel(in));
+    }
+
+    /**
+     * Replaces this list by the serialized form that is written in the binary format of {@link CompactListIO}.
+     *
+     * @return the serialized form of this list
+     */
+    private Object writeReplace() {
+        return new SerializedCompactList(Boolean.class, this);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() {
+        Arrays.fill(words, 0, (int)((size + 63L) >>> WORD_BITS_SHIFT), 0L);
+        size = 0;
+        cardinality = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void trimToSize() {
+        int minWords = (int)((size + 63L) >>> WORD_BITS_SHIFT);
+
+        if (minWords < words.length) {
+            words = Arrays.copyOf(words, minWords);
+            blockRanks = Arrays.copyOf(blockRanks, (minWords + BLOCK_WORDS - 1) >>> BLOCK_WORDS_SHIFT);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public BooleanCompactList freeze() {
+        BitSetCompactList copy = new BitSetCompactList(size, growthPolicy);
+        copy.addWords(words, (int)((size + 63L) >>> WORD_BITS_SHIFT), size);
+
+        return new FrozenBooleanCompactList(copy);
+    }
+
+    /**
+     * Adds the specified number of elements packed into the specified words into this list. The words are copied in
+     * bulk if the size of this list is a multiple of the word size.
+     *
+     * @param src the words that keep the elements
+     * @param len the number of words
+     * @param bits the number of elements (not greater than the number of bits in the words)
+     */
+    void addWords(long[] src, int len, int bits) {
+        if ((size & 63) != 0) {
+            for (int i = 0; i < bits; i++)
+                addBoolean((src[i >>> WORD_BITS_SHIFT] & (1L << (i & 63))) != 0);
+
+            return;
+        }
+
+        int wordIdx = size >>> WORD_BITS_SHIFT;
+        ensureCapacity(wordIdx + len);
+
+        for (int i = 0; i < len; i++, wordIdx++) {
+            if ((wordIdx & (BLOCK_WORDS - 1)) == 0)
+                blockRanks[wordIdx >>> BLOCK_WORDS_SHIFT] = cardinality;
+
+            /* The last word keeps only the remaining bits, the rest of it is cleared. */
+            int rest = bits - (i << WORD_BITS_SHIFT);
+            long word = rest < 64 ? src[i] & ((1L << rest) - 1) : src[i];
+
+            words[wordIdx] = word;
+            cardinality += Long.bitCount(word);
+        }
+
+        size += bits;
+    }
+
+    /**
+     * Checks that specified index is greater or equal to zero and is less than the size of the list.
+     *
+     * @param index the index of element
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    private void checkRange(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Ensures that the current capacity of the bitset is enough, otherwise grows it according to the growth policy.
+     *
+     * @param minWords minimum desired number of words
+     */
+    private void ensureCapacity(int minWords) {
+        if (words.length < minWords) {
+            int newWords = growthPolicy.newCapacity(words.length, minWords);
+
+            words = Arrays.copyOf(words, newWords);
+            blockRanks = Arrays.copyOf(blockRanks, (newWords + BLOCK_WORDS - 1) >>> BLOCK_WORDS_SHIFT);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A {@link CompactList} of booleans that allows to add and get elements without boxing them into <tt>Boolean</tt>.
+ */
+public interface BooleanCompactList extends CompactList<Boolean> {
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     */
+    boolean getBoolean(int index);
+
+    /**
+     * Adds the specified element into this list.
+     *
+     * @param element the element to be added
+     */
+    void addBoolean(boolean element);
+
+    /**
+     * Adds the specified range of elements of the specified array into this list.
+     *
+     * @param src the source array
+     * @param off the position in the source array of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the source array
+     */
+    void addAll(boolean[] src, int off, int len);
+
+    /**
+     * Copies the specified range of elements of this list into the specified array.
+     *
+     * @param from the position in this list of the first element to be copied
+     * @param dst the destination array
+     * @param off the position in the destination array
+     * @param len the number of elements to be copied
+     * @throws IndexOutOfBoundsException if the range is out of bounds of this list or of the destination array
+     */
+    void getRange(int from, boolean[] dst, int off, int len);
+
+    /**
+     * Returns an array containing all of the elements in this list in proper sequence.
+     *
+     * @return an array containing all of the elements in this list in proper sequence
+     */
+    boolean[] toArray();
+
+    /**
+     * Returns the number of <tt>true</tt> elements in this list.
+     *
+     * @return the number of <tt>true</tt> elements in this list
+     */
+    int cardinality();
+
+    /**
+     * Returns the number of <tt>true</tt> elements that precede the specified position in this list.
+     *
+     * @param index the position (from 0 to the size of the list inclusive)
+     * @return the number of <tt>true</tt> elements in the range from 0 (inclusive) to index (exclusive)
+     */
+    int rank(int index);
+
+    /**
+     * Returns the position of the <tt>n</tt>-th <tt>true</tt> element in this list (counting from 0).
+     *
+     * @param n the ordinal of the <tt>true</tt> element (from 0 to the cardinality of the list exclusive)
+     * @return the position of the <tt>n</tt>-th <tt>true</tt> element in this list
+     */
+    int select(int n);
+
+    /**
+     * Writes all of the elements in this list into the specified channel in the binary format described in
+     * {@link CompactListIO}.
+     *
+     * @param channel the channel to write to
+     * @throws IOException if an I/O error occurs
+     */
+    void writeTo(WritableByteChannel channel) throws IOException;
+
+    /**
+     * Reads elements of a list of booleans written by {@link #writeTo(WritableByteChannel)} from the specified
+     * channel and adds them into this list.
+     *
+     * @param channel the channel to read from
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of booleans
+     */
+    void readFrom(ReadableByteChannel channel) throws IOException;
+
+    /**
+     * Returns an immutable list that contains the elements of this list (see {@link CompactList#freeze()}).
+     *
+     * @return the immutable list that contains the elements of this list
+     * @throws UnsupportedOperationException if the list can't be frozen
+     */
+    @Override default BooleanCompactList freeze() {
+        throw new UnsupportedOperationException();
+    }
+}
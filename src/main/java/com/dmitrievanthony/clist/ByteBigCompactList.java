@@ -0,0 +1,21 @@
+package com.dmitrievanthony.clist;
+
+/**
+ * A {@link BigCompactList} of bytes that allows to add and get elements without boxing them into <tt>Byte</tt>.
+ */
+public interface ByteBigCompactList extends BigCompactList<Byte> {
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     */
+    byte getByte(long index);
+
+    /**
+     * Adds the specified element into this list.
+     *
+     * @param element the element to be added
+     */
+    void addByte(byte element);
+}
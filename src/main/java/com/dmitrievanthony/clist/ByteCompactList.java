@@ -0,0 +1,142 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * A {@link CompactList} of bytes that allows to add and get elements without boxing them into <tt>Byte</tt>.
+ */
+public interface ByteCompactList extends CompactList<Byte> {
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     */
+    byte getByte(int index);
+
+    /**
+     * Adds the specified element into this list.
+     *
+     * @param element the element to be added
+     */
+    void addByte(byte element);
+
+    /**
+     * Adds the specified range of elements of the specified array into this list.
+     *
+     * @param src the source array
+     * @param off the position in the source array of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the source array
+     */
+    void addAll(byte[] src, int off, int len);
+
+    /**
+     * Copies the specified range of elements of this list into the specified array.
+     *
+     * @param from the position in this list of the first element to be copied
+     * @param dst the destination array
+     * @param off the position in the destination array
+     * @param len the number of elements to be copied
+     * @throws IndexOutOfBoundsException if the range is out of bounds of this list or of the destination array
+     */
+    void getRange(int from, byte[] dst, int off, int len);
+
+    /**
+     * Returns an array containing all of the elements in this list in proper sequence.
+     *
+     * @return an array containing all of the elements in this list in proper sequence
+     */
+    byte[] toArray();
+
+    /**
+     * Writes all of the elements in this list into the specified channel in the binary format described in
+     * {@link CompactListIO}.
+     *
+     * @param channel the channel to write to
+     * @throws IOException if an I/O error occurs
+     */
+    void writeTo(WritableByteChannel channel) throws IOException;
+
+    /**
+     * Reads elements of a list of bytes written by {@link #writeTo(WritableByteChannel)} from the specified
+     * channel and adds them into this list.
+     *
+     * @param channel the channel to read from
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of bytes
+     */
+    void readFrom(ReadableByteChannel channel) throws IOException;
+
+    /**
+     * Returns an immutable list that contains the elements of this list (see {@link CompactList#freeze()}).
+     *
+     * @return the immutable list that contains the elements of this list
+     * @throws UnsupportedOperationException if the list can't be frozen
+     */
+    @Override default ByteCompactList freeze() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Performs the specified action for each element of this list in order, the elements are widened to
+     * <tt>int</tt>.
+     * <p>
+     * The default implementation reads elements by {@link #getByte(int)}, lists generated by
+     * {@link CompactListFactory} pass the elements of their underlying array in a tight counted loop without range
+     * checks and boxing.
+     *
+     * @param action the action to be performed for each element
+     */
+    default void forEach(IntConsumer action) {
+        forEach(0, size(), action);
+    }
+
+    /**
+     * Performs the specified action for each element of the specified range of this list in order, the elements are
+     * widened to <tt>int</tt>.
+     *
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action to be performed for each element
+     * @throws IndexOutOfBoundsException if the range is out of bounds of this list
+     */
+    default void forEach(int from, int to, IntConsumer action) {
+        Objects.requireNonNull(action);
+
+        if (from < 0 || to > size() || from > to)
+            throw new IndexOutOfBoundsException();
+
+        for (int i = from; i < to; i++)
+            action.accept(getByte(i));
+    }
+
+    /**
+     * Performs the specified action for each element of this list and its index in order.
+     *
+     * @param action the action to be performed for each element
+     */
+    default void forEachIndexed(IndexedConsumer action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size(); i++)
+            action.accept(i, getByte(i));
+    }
+
+    /**
+     * An action that accepts an element of the list together with its index.
+     */
+    @FunctionalInterface
+    interface IndexedConsumer {
+        /**
+         * Performs this action on the specified element.
+         *
+         * @param index the index of the element
+         * @param element the element
+         */
+        void accept(int index, byte element);
+    }
+}
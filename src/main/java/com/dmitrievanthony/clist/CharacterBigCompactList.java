@@ -0,0 +1,21 @@
+package com.dmitrievanthony.clist;
+
+/**
+ * A {@link BigCompactList} of chars that allows to add and get elements without boxing them into <tt>Character</tt>.
+ */
+public interface CharacterBigCompactList extends BigCompactList<Character> {
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     */
+    char getChar(long index);
+
+    /**
+     * Adds the specified element into this list.
+     *
+     * @param element the element to be added
+     */
+    void addChar(char element);
+}
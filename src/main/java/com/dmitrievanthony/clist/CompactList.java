@@ -28,4 +28,35 @@ public interface CompactList<T> {
      * @param element the element to be added
      */
     void add(T element);
+
+    /**
+     * Trims the capacity of this list to be the list's current size. The default implementation does nothing, so
+     * that lists that can't trim their storage don't have to implement it.
+     */
+    default void trimToSize() {
+        // No-op.
+    }
+
+    /**
+     * Removes all of the elements from this list. The list keeps its capacity, so that it can be refilled without
+     * reallocations.
+     *
+     * @throws UnsupportedOperationException if the list doesn't support removal of elements
+     */
+    default void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns an immutable list that contains the elements of this list. The elements are copied into an array of the
+     * size of the list, so the frozen list has no spare capacity and later changes of this list aren't visible in it.
+     * The frozen list keeps its state in final fields, so it can be safely shared between threads without
+     * synchronization. All methods of the frozen list that modify it throw <tt>UnsupportedOperationException</tt>.
+     *
+     * @return the immutable list that contains the elements of this list
+     * @throws UnsupportedOperationException if the list can't be frozen
+     */
+    default CompactList<T> freeze() {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -0,0 +1,255 @@
+package com.dmitrievanthony.clist;
+
+import java.lang.reflect.Array;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of primitive arrays that back the lists produced by the pooled factory (see
+ * {@link CompactListFactory#CompactListFactory(GrowthPolicy, CompactListArrayPool)}). The pooled lists borrow their
+ * arrays from the pool when they're constructed and grow, and return them when they grow and on
+ * {@link PooledCompactList#release()}, so that short-lived lists allocate almost nothing in the steady state.
+ * <p>
+ * The arrays are pooled in size classes of powers of two from 16 elements up to the maximum capacity of the pool,
+ * larger arrays are allocated and dropped as usual. A borrowed array is rounded up to its size class, so the pooled
+ * lists grow at least by doubling while their arrays are pooled. Every thread keeps a few arrays of every size class,
+ * the arrays that don't fit the cache of the thread are kept in the shared bounded queues, so that arrays released by
+ * one thread are reused by others. The content of borrowed arrays is undefined.
+ */
+public class CompactListArrayPool {
+    /** The smallest size class as a power of two. */
+    private static final int MIN_SHIFT = 4;
+
+    /** The default maximum capacity of pooled arrays. */
+    private static final int DEFAULT_MAX_CAPACITY = 1 << 16;
+
+    /** The default number of arrays of every size class cached by every thread. */
+    private static final int DEFAULT_LOCAL_CAPACITY = 4;
+
+    /** The default number of arrays of every size class kept in the shared queues. */
+    private static final int DEFAULT_SHARED_CAPACITY = 64;
+
+    /** The type descriptors of pooled arrays, the index of descriptor is the kind of array. */
+    private static final String DESCRIPTORS = "BCSIJFD";
+
+    /** The number of size classes. */
+    private final int sizeClasses;
+
+    /** The number of arrays of every size class cached by every thread. */
+    private final int localCapacity;
+
+    /** The number of arrays of every size class kept in the shared queues. */
+    private final int sharedCapacity;
+
+    /** The caches of threads. */
+    private final ThreadLocal<LocalCache> localCaches;
+
+    /** The shared queues of arrays by the kind of array and size class. */
+    private final Queue<Object>[][] shared;
+
+    /** The sizes of shared queues by the kind of array and size class. */
+    private final AtomicInteger[][] sharedSizes;
+
+    /**
+     * Constructs a new instance of <tt>CompactListArrayPool</tt> that pools arrays of up to 64K elements.
+     */
+    public CompactListArrayPool() {
+        this(DEFAULT_MAX_CAPACITY, DEFAULT_LOCAL_CAPACITY, DEFAULT_SHARED_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>CompactListArrayPool</tt>.
+     *
+     * @param maxCapacity the maximum capacity of pooled arrays, rounded up to a power of two
+     * @param localCapacity the number of arrays of every size class cached by every thread
+     * @param sharedCapacity the number of arrays of every size class kept in the shared queues
+     * @throws IllegalArgumentException if the maximum capacity is not positive or exceeds <tt>2^30</tt>, or the
+     * capacity of caches is negative
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CompactListArrayPool(int maxCapacity, int localCapacity, int sharedCapacity) {
+        if (maxCapacity <= 0 || maxCapacity > 1 << 30)
+            throw new IllegalArgumentException("Maximum capacity should be in (0, 2^30]: " + maxCapacity);
+
+        if (localCapacity < 0 || sharedCapacity < 0)
+            throw new IllegalArgumentException("Capacity of caches should not be negative");
+
+        this.sizeClasses = sizeClass(maxCapacity) + 1;
+        this.localCapacity = localCapacity;
+        this.sharedCapacity = sharedCapacity;
+        this.localCaches = ThreadLocal.withInitial(LocalCache::new);
+        this.shared = new Queue[DESCRIPTORS.length()][sizeClasses];
+        this.sharedSizes = new AtomicInteger[DESCRIPTORS.length()][sizeClasses];
+
+        for (int kind = 0; kind < DESCRIPTORS.length(); kind++) {
+            for (int cls = 0; cls < sizeClasses; cls++) {
+                shared[kind][cls] = new ConcurrentLinkedQueue<>();
+                sharedSizes[kind][cls] = new AtomicInteger();
+            }
+        }
+    }
+
+    /**
+     * Borrows the array, called by the generated classes of pooled lists.
+     *
+     * @param descriptor the type descriptor of the array element (I for int, J for long, etc)
+     * @param minCapacity the minimum capacity of the array
+     * @return the array of the length not less than the minimum capacity
+     * @throws IllegalArgumentException if the type descriptor is not a primitive other than boolean
+     */
+    public Object borrow(char descriptor, int minCapacity) {
+        int kind = kind(descriptor);
+        int cls = sizeClass(minCapacity);
+
+        if (cls >= sizeClasses)
+            return newArray(kind, minCapacity);
+
+        Object arr = localCaches.get().poll(kind, cls);
+
+        if (arr == null) {
+            arr = shared[kind][cls].poll();
+
+            if (arr != null)
+                sharedSizes[kind][cls].decrementAndGet();
+            else
+                arr = newArray(kind, 1 << (cls + MIN_SHIFT));
+        }
+
+        return arr;
+    }
+
+    /**
+     * Returns the array into the pool, called by the generated classes of pooled lists. The arrays which length is not
+     * a size class of this pool are dropped.
+     *
+     * @param arr the array
+     */
+    public void release(Object arr) {
+        int kind = DESCRIPTORS.indexOf(arr.getClass().getName().charAt(1));
+        int len = Array.getLength(arr);
+        int cls = sizeClass(len);
+
+        if (kind < 0 || cls >= sizeClasses || len != 1 << (cls + MIN_SHIFT))
+            return;
+
+        if (localCaches.get().offer(kind, cls, arr))
+            return;
+
+        if (sharedSizes[kind][cls].incrementAndGet() <= sharedCapacity)
+            shared[kind][cls].offer(arr);
+        else
+            sharedSizes[kind][cls].decrementAndGet();
+    }
+
+    /**
+     * Returns the size class of the array of the specified capacity.
+     *
+     * @param capacity the capacity
+     * @return the size class
+     */
+    private static int sizeClass(int capacity) {
+        if (capacity <= 1 << MIN_SHIFT)
+            return 0;
+
+        return Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SHIFT;
+    }
+
+    /**
+     * Returns the kind of array with the specified type descriptor of element.
+     *
+     * @param descriptor the type descriptor of element
+     * @return the kind of array
+     */
+    private static int kind(char descriptor) {
+        int kind = DESCRIPTORS.indexOf(descriptor);
+
+        if (kind < 0)
+            throw new IllegalArgumentException("Unexpected type descriptor " + descriptor);
+
+        return kind;
+    }
+
+    /**
+     * Allocates the new array.
+     *
+     * @param kind the kind of array
+     * @param len the length of array
+     * @return the array
+     */
+    private static Object newArray(int kind, int len) {
+        switch (DESCRIPTORS.charAt(kind)) {
+            case 'B':
+                return new byte[len];
+
+            case 'C':
+                return new char[len];
+
+            case 'S':
+                return new short[len];
+
+            case 'I':
+                return new int[len];
+
+            case 'J':
+                return new long[len];
+
+            case 'F':
+                return new float[len];
+
+            default:
+                return new double[len];
+        }
+    }
+
+    /**
+     * The cache of arrays of a thread.
+     */
+    private class LocalCache {
+        /** The stacks of arrays by the kind of array and size class. */
+        private final Object[][][] arrays = new Object[DESCRIPTORS.length()][sizeClasses][localCapacity];
+
+        /** The sizes of stacks by the kind of array and size class. */
+        private final int[][] sizes = new int[DESCRIPTORS.length()][sizeClasses];
+
+        /**
+         * Removes the array from the stack.
+         *
+         * @param kind the kind of array
+         * @param cls the size class
+         * @return the array or <tt>null</tt> if the stack is empty
+         */
+        Object poll(int kind, int cls) {
+            int size = sizes[kind][cls];
+
+            if (size == 0)
+                return null;
+
+            Object arr = arrays[kind][cls][--size];
+            arrays[kind][cls][size] = null;
+            sizes[kind][cls] = size;
+
+            return arr;
+        }
+
+        /**
+         * Adds the array into the stack.
+         *
+         * @param kind the kind of array
+         * @param cls the size class
+         * @param arr the array
+         * @return <tt>true</tt> if the array is added, <tt>false</tt> if the stack is full
+         */
+        boolean offer(int kind, int cls, Object arr) {
+            int size = sizes[kind][cls];
+
+            if (size == localCapacity)
+                return false;
+
+            arrays[kind][cls][size] = arr;
+            sizes[kind][cls] = size + 1;
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.dmitrievanthony.clist;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Registry of generated classes that keeps the factory instances of generated lists keyed by the shape of the list,
+ * the element type and the growth policy, and defines the generated classes in its own class loader. The
+ * {@link #SHARED} registry is used by all factories in the process, so that every list class is generated and defined
+ * only once however many factories are constructed, and all lists of the same shape share the same class.
+ * <p>
+ * The struct lists of value classes (see {@link #getStructFactory(Class, Function)}) are kept apart, by the value class
+ * itself, so that the registry never pins value classes and their class loaders, and a redeployed application can be
+ * unloaded together with its generated classes.
+ * <p>
+ * A factory that needs isolation (to let the generated classes be unloaded together with the factory and its lists)
+ * uses its own registry, see {@link CompactListFactory#CompactListFactory(GrowthPolicy, boolean)}. The struct lists
+ * are cached by the value class in any registry, so they are unloaded together with the value class, not the factory.
+ */
+final class CompactListClassRegistry {
+    /** The registry shared by all factories in the process. */
+    static final CompactListClassRegistry SHARED = new CompactListClassRegistry();
+
+    /** The dynamic classloader. */
+    private final DynamicClassLoader classLoader = new DynamicClassLoader();
+
+    /** The factory instances of generated lists. */
+    private final Map<Key, Object> factories = new ConcurrentHashMap<>();
+
+    /**
+     * The factory instances of generated struct lists. The value is held by the value class, so it's unreachable from
+     * the registry and is collected together with the value class.
+     */
+    private final ClassValue<AtomicReference<Object>> structFactories = new ClassValue<AtomicReference<Object>>() {
+        /** {@inheritDoc} */
+        @Override protected AtomicReference<Object> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    /**
+     * Returns the factory instance of the list of the specified shape, element type and growth policy, defines the
+     * classes using the specified function if they aren't defined yet.
+     *
+     * @param shape the shape of the list (the class name suffix)
+     * @param elementType the class of element in the list
+     * @param growthPolicy the growth policy of the list or <tt>null</tt> if the list doesn't depend on it
+     * @param definer the function that defines the classes in the specified class loader and returns the factory
+     * @param <F> the type of the factory
+     * @return the factory instance
+     */
+    @SuppressWarnings("unchecked")
+    <F> F getFactory(String shape, Class<?> elementType, GrowthPolicy growthPolicy,
+        Function<DynamicClassLoader, F> definer) {
+        return (F)factories.computeIfAbsent(
+            new Key(shape, elementType, growthPolicy),
+            key -> definer.apply(classLoader)
+        );
+    }
+
+    /**
+     * Returns the factory instance of the struct list of the specified value class, defines the classes using the
+     * specified function if they aren't defined yet. The classes are defined in a new class loader parented to the
+     * loader of the value class, so that they see the value class and are unloaded together with it.
+     *
+     * @param elementType the value class
+     * @param definer the function that defines the classes in the specified class loader and returns the factory
+     * @param <F> the type of the factory
+     * @return the factory instance
+     */
+    @SuppressWarnings("unchecked")
+    <F> F getStructFactory(Class<?> elementType, Function<DynamicClassLoader, F> definer) {
+        AtomicReference<Object> ref = structFactories.get(elementType);
+        Object factory = ref.get();
+
+        if (factory == null) {
+            synchronized (ref) {
+                factory = ref.get();
+
+                if (factory == null) {
+                    factory = definer.apply(new DynamicClassLoader(elementType.getClassLoader()));
+                    ref.set(factory);
+                }
+            }
+        }
+
+        return (F)factory;
+    }
+
+    /**
+     * The key of the generated list.
+     */
+    private static final class Key {
+        /** The shape of the list. */
+        private final String shape;
+
+        /** The class of element in the list. */
+        private final Class<?> elementType;
+
+        /** The growth policy of the list. */
+        private final GrowthPolicy growthPolicy;
+
+        /**
+         * Constructs a new instance of key.
+         *
+         * @param shape the shape of the list
+         * @param elementType the class of element in the list
+         * @param growthPolicy the growth policy of the list
+         */
+        Key(String shape, Class<?> elementType, GrowthPolicy growthPolicy) {
+            this.shape = shape;
+            this.elementType = elementType;
+            this.growthPolicy = growthPolicy;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (!(o instanceof Key))
+                return false;
+
+            Key key = (Key)o;
+
+            return shape.equals(key.shape)
+                && elementType == key.elementType
+                && Objects.equals(growthPolicy, key.growthPolicy);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return Objects.hash(shape, elementType, growthPolicy);
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package com.dmitrievanthony.clist;
 
+import java.lang.reflect.Field;
 import java.util.Map;
+import java.nio.file.Path;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
 
 import static org.objectweb.asm.Opcodes.BALOAD;
 import static org.objectweb.asm.Opcodes.BASTORE;
@@ -17,7 +24,6 @@ import static org.objectweb.asm.Opcodes.LALOAD;
 import static org.objectweb.asm.Opcodes.LASTORE;
 import static org.objectweb.asm.Opcodes.SALOAD;
 import static org.objectweb.asm.Opcodes.SASTORE;
-import static org.objectweb.asm.Opcodes.T_BOOLEAN;
 import static org.objectweb.asm.Opcodes.T_BYTE;
 import static org.objectweb.asm.Opcodes.T_CHAR;
 import static org.objectweb.asm.Opcodes.T_DOUBLE;
@@ -28,77 +34,905 @@ import static org.objectweb.asm.Opcodes.T_SHORT;
 
 /**
  * The factory that produces instances of <tt>CompactList</tt>. Provides optimized implementations for primitives using
- * {@link CompactListGenerator}. For other types provides the default implementation {@link ObjectCompactList}.
+ * {@link CompactListGenerator} and a bitset based implementation {@link BitSetCompactList} for booleans. For other
+ * types provides the default implementation {@link ObjectCompactList}.
+ * <p>
+ * Generated classes are kept in the process-wide {@link CompactListClassRegistry}, so factories are cheap to construct
+ * and lists of the same element type and growth policy share the same class whichever factory constructed them.
  */
 public class CompactListFactory {
+    /** The default capacity of the list. */
+    private static final int DEFAULT_CAPACITY = 10;
+
     /** The class name prefix. */
-    private static final String PREFIX = "com/dmitrievanthony/clist/";
+    static final String PREFIX = "com/dmitrievanthony/clist/";
 
     /** The class name suffix. */
-    private static final String SUFFIX = "CompactList";
+    static final String SUFFIX = "CompactListImpl";
+
+    /** The class name suffix of instrumented lists. */
+    static final String INSTRUMENTED_SUFFIX = "InstrumentedCompactListImpl";
+
+    /** The class name suffix of pooled lists. */
+    static final String POOLED_SUFFIX = "PooledCompactListImpl";
+
+    /** The class name suffix of nullable lists. */
+    static final String NULLABLE_SUFFIX = "NullableCompactListImpl";
+
+    /** The class name suffix of segmented lists. */
+    static final String SEGMENTED_SUFFIX = "SegmentedCompactListImpl";
+
+    /** The class name suffix of off-heap lists. */
+    static final String OFF_HEAP_SUFFIX = "OffHeapCompactListImpl";
+
+    /** The class name suffix of struct-of-arrays lists. */
+    private static final String STRUCT_SUFFIX = "StructCompactListImpl";
+
+    /**
+     * The segment size of segmented lists as a power of two. Segments of 16K elements are small enough not to be
+     * treated as humongous objects by G1 even for longs and doubles.
+     */
+    static final int SEGMENT_SHIFT = 14;
+
+    /**
+     * The registry that defines generated classes, either the registry shared by all factories in the process or the
+     * registry of this factory only.
+     */
+    private final CompactListClassRegistry registry;
+
+    /** Cache of functions that construct <tt>CompactList</tt> instances of the given capacity for every type. */
+    private final Map<Class<?>, IntFunction<? extends CompactList<?>>> cache = new ConcurrentHashMap<>();
+
+    /** Cache of functions that construct <tt>NullableCompactList</tt> instances of given capacity for every type. */
+    private final Map<Class<?>, IntFunction<? extends NullableCompactList<?>>> nullableCache =
+        new ConcurrentHashMap<>();
+
+    /** Cache of functions that construct segmented <tt>BigCompactList</tt> instances for every element type. */
+    private final Map<Class<?>, Supplier<? extends BigCompactList<?>>> segmentedCache = new ConcurrentHashMap<>();
+
+    /** Cache of functions that construct off-heap <tt>BigCompactList</tt> instances for every element type. */
+    private final Map<Class<?>, LongFunction<? extends BigCompactList<?>>> offHeapCache = new ConcurrentHashMap<>();
+
+    /** Cache of functions that map file-backed <tt>BigCompactList</tt> instances for every element type. */
+    private final Map<Class<?>, Function<Path, ? extends BigCompactList<?>>> mappedCache = new ConcurrentHashMap<>();
+
+    /** The growth policy of lists produced by this factory. */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * The class name suffix of lists produced by this factory, it contains the growth policy unless the policy is the
+     * default one, because the lists with different policies are defined in the same shared class loader.
+     */
+    private final String suffix;
+
+    /** The part of class name suffixes that contains the growth policy, empty for the default policy. */
+    private final String policySuffix;
+
+    /** The monitor of lists produced by this factory or <tt>null</tt> if the factory isn't instrumented. */
+    private final CompactListMonitor monitor;
+
+    /** The pool of arrays of lists produced by this factory or <tt>null</tt> if the factory isn't pooled. */
+    private final CompactListArrayPool pool;
+
+    /**
+     * Constructs a new instance of <tt>CompactListFactory</tt> that produces lists with the doubling growth policy.
+     */
+    public CompactListFactory() {
+        this(GrowthPolicy.doubling());
+    }
+
+    /**
+     * Constructs a new instance of <tt>CompactListFactory</tt> that produces lists with the specified growth policy.
+     *
+     * @param growthPolicy the growth policy of lists produced by this factory
+     */
+    public CompactListFactory(GrowthPolicy growthPolicy) {
+        this(growthPolicy, false);
+    }
+
+    /**
+     * Constructs a new instance of <tt>CompactListFactory</tt> that produces lists with the specified growth policy.
+     * By default all factories share the process-wide registry of generated classes, so that every class is generated
+     * and defined only once and constructing a factory is cheap. The isolated factory generates and defines its
+     * classes in its own class loader instead, so that the classes can be unloaded together with the factory and its
+     * lists. The struct list classes are not affected, they are cached by the value class and are unloaded together
+     * with it, see {@link #newStructCompactList(Class, int)}.
+     *
+     * @param growthPolicy the growth policy of lists produced by this factory
+     * @param isolated whether this factory defines generated classes in its own class loader
+     */
+    public CompactListFactory(GrowthPolicy growthPolicy, boolean isolated) {
+        this(growthPolicy, isolated, null);
+    }
+
+    /**
+     * Constructs a new instance of <tt>CompactListFactory</tt> that produces lists with the specified growth policy
+     * (see {@link #CompactListFactory(GrowthPolicy, boolean)}). If the monitor is specified, the factory is
+     * instrumented: lists of primitives (except <tt>Boolean</tt>) are generated with the code that tracks reallocations
+     * and reports them to the monitor, they implement {@link InstrumentedCompactList}. Otherwise the generated classes
+     * contain no instrumentation code at all.
+     *
+     * @param growthPolicy the growth policy of lists produced by this factory
+     * @param isolated whether this factory defines generated classes in its own class loader
+     * @param monitor the monitor of lists produced by this factory or <tt>null</tt> to disable instrumentation
+     */
+    public CompactListFactory(GrowthPolicy growthPolicy, boolean isolated, CompactListMonitor monitor) {
+        this(growthPolicy, isolated, monitor, null);
+    }
+
+    /**
+     * Constructs a new instance of <tt>CompactListFactory</tt> that produces lists with the specified growth policy
+     * whose arrays are borrowed from the specified pool. Lists of primitives (except <tt>Boolean</tt>) are generated
+     * with the code that borrows a new array from the pool when the list grows and returns the old one, they implement
+     * {@link PooledCompactList}, so that the array is returned into the pool by {@link PooledCompactList#release()}
+     * when a short-lived list isn't needed anymore.
+     * <p>
+     * The pool rounds the capacity requested by the growth policy up to its size class, a power of two, so while the
+     * arrays are within the maximum capacity of the pool the lists effectively grow by doubling whatever the policy is
+     * (for example, a fixed increment of 4 grows a list of 16 elements to 32), and the policy is followed exactly only
+     * by larger arrays.
+     *
+     * @param growthPolicy the growth policy of lists produced by this factory
+     * @param pool the pool of arrays of lists produced by this factory
+     */
+    public CompactListFactory(GrowthPolicy growthPolicy, CompactListArrayPool pool) {
+        this(growthPolicy, false, null, Objects.requireNonNull(pool));
+    }
+
+    /**
+     * Constructs a new instance of <tt>CompactListFactory</tt>.
+     *
+     * @param growthPolicy the growth policy of lists produced by this factory
+     * @param isolated whether this factory defines generated classes in its own class loader
+     * @param monitor the monitor of lists produced by this factory or <tt>null</tt> to disable instrumentation
+     * @param pool the pool of arrays of lists produced by this factory or <tt>null</tt> to disable pooling
+     */
+    private CompactListFactory(GrowthPolicy growthPolicy, boolean isolated, CompactListMonitor monitor,
+        CompactListArrayPool pool) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.registry = isolated ? new CompactListClassRegistry() : CompactListClassRegistry.SHARED;
+        this.monitor = monitor;
+        this.pool = pool;
 
-    /** The dynamic classloader. */
-    private final DynamicClassLoader classLoader = new DynamicClassLoader();
+        String shape = monitor != null ? INSTRUMENTED_SUFFIX : pool != null ? POOLED_SUFFIX : SUFFIX;
+
+        if (growthPolicy.equals(GrowthPolicy.doubling()))
+            policySuffix = "";
+        else if (growthPolicy.getKind() == GrowthPolicy.Kind.FIXED_INCREMENT)
+            policySuffix = "_" + growthPolicy.getKind() + "_" + growthPolicy.getIncrement();
+        else
+            policySuffix = "_" + growthPolicy.getKind();
+
+        suffix = shape + policySuffix;
+    }
+
+    /**
+     * Returns the statistics of lists produced by this factory (and other factories that share its monitor).
+     *
+     * @return the statistics of lists
+     * @throws IllegalStateException if this factory isn't instrumented
+     */
+    public CompactListStats stats() {
+        if (monitor == null)
+            throw new IllegalStateException("Factory is not instrumented");
 
-    /** Cache for classes generated by {@link CompactListGenerator}. */
-    private final Map<String, Class<?>> cache = new ConcurrentHashMap<>();
+        return monitor.stats();
+    }
 
     /**
      * Constructs a new instance of <tt>CompactList</tt>. The implementation depends on the specified
      * <tt>elementType</tt>. For primitives (<tt>Byte</tt>, <tt>Character</tt>, <tt>Short</tt>, etc.) returns optimized
-     * implementations based on {@link CompactListGenerator}. For other types provides the default implementation {@link
-     * ObjectCompactList}.
+     * implementations based on {@link CompactListGenerator}, for <tt>Boolean</tt> returns {@link BitSetCompactList}.
+     * For other types provides the default implementation {@link ObjectCompactList}.
      *
      * @param elementType the class of element in this list
      * @param <T> the type of elements in this list
      * @return the new instance of <tt>CompactList</tt>
      */
     public <T> CompactList<T> newCompactList(Class<T> elementType) {
-        if (elementType.isPrimitive())
-            return new ObjectCompactList<>();
+        return newCompactList(elementType, DEFAULT_CAPACITY);
+    }
 
-        return getFromCacheOrGenerate(
-            PREFIX.replace('/', '.') + elementType.getSimpleName() + SUFFIX,
-            getCompactListGenerator(elementType)
-        );
+    /**
+     * Constructs a new instance of <tt>CompactList</tt> with the specified initial capacity. The implementation depends
+     * on the specified <tt>elementType</tt> (see {@link #newCompactList(Class)}).
+     *
+     * @param elementType the class of element in this list
+     * @param initialCapacity the initial capacity of the list
+     * @param <T> the type of elements in this list
+     * @return the new instance of <tt>CompactList</tt>
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompactList<T> newCompactList(Class<T> elementType, int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Initial capacity should not be negative: " + initialCapacity);
+
+        IntFunction<? extends CompactList<?>> constructor = cache.get(elementType);
+
+        if (constructor == null)
+            constructor = cache.computeIfAbsent(elementType, this::getConstructor);
+
+        return (CompactList<T>)constructor.apply(initialCapacity);
+    }
+
+    /**
+     * Constructs a new instance of <tt>ByteCompactList</tt> optimized to store bytes.
+     *
+     * @return the new instance of <tt>ByteCompactList</tt>
+     */
+    public ByteCompactList newByteCompactList() {
+        return newByteCompactList(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>ByteCompactList</tt> optimized to store bytes with the specified initial
+     * capacity.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @return the new instance of <tt>ByteCompactList</tt>
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public ByteCompactList newByteCompactList(int initialCapacity) {
+        return (ByteCompactList)newCompactList(Byte.class, initialCapacity);
+    }
+
+    /**
+     * Constructs a new instance of <tt>CharacterCompactList</tt> optimized to store chars.
+     *
+     * @return the new instance of <tt>CharacterCompactList</tt>
+     */
+    public CharacterCompactList newCharacterCompactList() {
+        return newCharacterCompactList(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>CharacterCompactList</tt> optimized to store chars with the specified initial
+     * capacity.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @return the new instance of <tt>CharacterCompactList</tt>
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public CharacterCompactList newCharacterCompactList(int initialCapacity) {
+        return (CharacterCompactList)newCompactList(Character.class, initialCapacity);
     }
 
     /**
-     * Checks if the class for the specified <tt>elementType</tt> is already presented in the cache and returns it if
-     * it's presented. Otherwise generates the new one, saves it into the cache and returns.
+     * Constructs a new instance of <tt>ShortCompactList</tt> optimized to store shorts.
      *
-     * @param className the class name
-     * @param generator compact list generator
+     * @return the new instance of <tt>ShortCompactList</tt>
+     */
+    public ShortCompactList newShortCompactList() {
+        return newShortCompactList(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>ShortCompactList</tt> optimized to store shorts with the specified initial
+     * capacity.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @return the new instance of <tt>ShortCompactList</tt>
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public ShortCompactList newShortCompactList(int initialCapacity) {
+        return (ShortCompactList)newCompactList(Short.class, initialCapacity);
+    }
+
+    /**
+     * Constructs a new instance of <tt>IntegerCompactList</tt> optimized to store ints.
+     *
+     * @return the new instance of <tt>IntegerCompactList</tt>
+     */
+    public IntegerCompactList newIntegerCompactList() {
+        return newIntegerCompactList(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>IntegerCompactList</tt> optimized to store ints with the specified initial
+     * capacity.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @return the new instance of <tt>IntegerCompactList</tt>
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public IntegerCompactList newIntegerCompactList(int initialCapacity) {
+        return (IntegerCompactList)newCompactList(Integer.class, initialCapacity);
+    }
+
+    /**
+     * Constructs a new instance of <tt>LongCompactList</tt> optimized to store longs.
+     *
+     * @return the new instance of <tt>LongCompactList</tt>
+     */
+    public LongCompactList newLongCompactList() {
+        return newLongCompactList(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>LongCompactList</tt> optimized to store longs with the specified initial
+     * capacity.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @return the new instance of <tt>LongCompactList</tt>
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public LongCompactList newLongCompactList(int initialCapacity) {
+        return (LongCompactList)newCompactList(Long.class, initialCapacity);
+    }
+
+    /**
+     * Constructs a new instance of <tt>FloatCompactList</tt> optimized to store floats.
+     *
+     * @return the new instance of <tt>FloatCompactList</tt>
+     */
+    public FloatCompactList newFloatCompactList() {
+        return newFloatCompactList(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>FloatCompactList</tt> optimized to store floats with the specified initial
+     * capacity.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @return the new instance of <tt>FloatCompactList</tt>
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public FloatCompactList newFloatCompactList(int initialCapacity) {
+        return (FloatCompactList)newCompactList(Float.class, initialCapacity);
+    }
+
+    /**
+     * Constructs a new instance of <tt>DoubleCompactList</tt> optimized to store doubles.
+     *
+     * @return the new instance of <tt>DoubleCompactList</tt>
+     */
+    public DoubleCompactList newDoubleCompactList() {
+        return newDoubleCompactList(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>DoubleCompactList</tt> optimized to store doubles with the specified initial
+     * capacity.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @return the new instance of <tt>DoubleCompactList</tt>
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public DoubleCompactList newDoubleCompactList(int initialCapacity) {
+        return (DoubleCompactList)newCompactList(Double.class, initialCapacity);
+    }
+
+    /**
+     * Constructs a new instance of <tt>BooleanCompactList</tt> optimized to store booleans.
+     *
+     * @return the new instance of <tt>BooleanCompactList</tt>
+     */
+    public BooleanCompactList newBooleanCompactList() {
+        return newBooleanCompactList(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>BooleanCompactList</tt> optimized to store booleans with the specified initial
+     * capacity.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @return the new instance of <tt>BooleanCompactList</tt>
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public BooleanCompactList newBooleanCompactList(int initialCapacity) {
+        return (BooleanCompactList)newCompactList(Boolean.class, initialCapacity);
+    }
+
+    /**
+     * Constructs a new instance of <tt>NullableCompactList</tt> that stores nulls (see
+     * {@link #newNullableCompactList(Class, int)}).
+     *
+     * @param elementType the class of element in this list
      * @param <T> the type of elements in this list
-     * @return the instance of <tt>CompactList</tt>
-     */
-    private <T> CompactList<T> getFromCacheOrGenerate(String className, CompactListGenerator generator) {
-        if (!cache.containsKey(className)) {
-            synchronized (cache) {
-                if (!cache.containsKey(className)) {
-                    byte[] bytecode = generator.generate();
-                    Class<?> clazz = classLoader.defineClass(className, bytecode);
-                    cache.put(className, clazz);
-                }
+     * @return the new instance of <tt>NullableCompactList</tt>
+     * @throws IllegalArgumentException if the specified element type is not supported
+     */
+    public <T> NullableCompactList<T> newNullableCompactList(Class<T> elementType) {
+        return newNullableCompactList(elementType, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>NullableCompactList</tt> with the specified initial capacity that stores nulls
+     * alongside primitive elements. The elements are stored in the primitive array as usual, nulls are stored as zeros
+     * marked in a bitmap that is allocated only when the first null is added, so that a list without nulls takes no
+     * extra memory. Supported element types are <tt>Byte</tt>, <tt>Character</tt>, <tt>Short</tt>, <tt>Integer</tt>,
+     * <tt>Long</tt>, <tt>Float</tt> and <tt>Double</tt>, the returned list implements the corresponding typed
+     * interface. The lists grow according to the growth policy of this factory, but aren't instrumented or pooled.
+     *
+     * @param elementType the class of element in this list
+     * @param initialCapacity the initial capacity of the list
+     * @param <T> the type of elements in this list
+     * @return the new instance of <tt>NullableCompactList</tt>
+     * @throws IllegalArgumentException if the specified element type is not supported or the specified initial
+     * capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public <T> NullableCompactList<T> newNullableCompactList(Class<T> elementType, int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Initial capacity should not be negative: " + initialCapacity);
+
+        IntFunction<? extends NullableCompactList<?>> constructor = nullableCache.get(elementType);
+
+        if (constructor == null)
+            constructor = nullableCache.computeIfAbsent(elementType, this::getNullableConstructor);
+
+        return (NullableCompactList<T>)constructor.apply(initialCapacity);
+    }
+
+    /**
+     * Constructs a new instance of <tt>IntegerCompactList</tt> that compresses ints with frame-of-reference encoding.
+     * Every sealed block of 128 elements is stored as its minimum value plus bit-packed differences, so that ints that
+     * span a narrow range take a few bits each, while access by index stays O(1).
+     *
+     * @return the new instance of <tt>IntegerCompactList</tt>
+     */
+    public IntegerCompactList newCompressedIntegerCompactList() {
+        return new CompressedIntegerCompactList();
+    }
+
+    /**
+     * Constructs a new instance of <tt>LongCompactList</tt> that compresses longs with frame-of-reference encoding.
+     * Every sealed block of 128 elements is stored as its minimum value plus bit-packed differences, so that longs
+     * that span a narrow range (ids, timestamps) take a few bits each, while access by index stays O(1).
+     *
+     * @return the new instance of <tt>LongCompactList</tt>
+     */
+    public LongCompactList newCompressedLongCompactList() {
+        return new CompressedLongCompactList();
+    }
+
+    /**
+     * Constructs a new instance of <tt>LongCompactList</tt> that adapts the width of its storage to the elements. The
+     * list starts with <tt>byte[]</tt> and widens it to <tt>short[]</tt>, <tt>int[]</tt> and <tt>long[]</tt> only
+     * when an added element doesn't fit, so that longs with a small range (counts, codes) take 1-2 bytes each, while
+     * access by index stays a single array load. The list grows according to the growth policy of this factory.
+     *
+     * @return the new instance of <tt>LongCompactList</tt>
+     */
+    public LongCompactList newAdaptiveLongCompactList() {
+        return new AdaptiveLongCompactList(DEFAULT_CAPACITY, growthPolicy);
+    }
+
+    /**
+     * Constructs a new instance of <tt>IntegerCompactList</tt> that adapts the width of its storage to the elements
+     * (see {@link #newAdaptiveLongCompactList()}), the widest storage is <tt>int[]</tt>.
+     *
+     * @return the new instance of <tt>IntegerCompactList</tt>
+     */
+    public IntegerCompactList newAdaptiveIntegerCompactList() {
+        return new AdaptiveIntegerCompactList(DEFAULT_CAPACITY, growthPolicy);
+    }
+
+    /**
+     * Constructs a new instance of <tt>CharacterCompactList</tt> that stores chars as Latin-1 bytes until a char above
+     * <tt>0xFF</tt> is added and then inflates the storage into <tt>char[]</tt>, so that Latin-1 text takes one byte
+     * per char. The list grows according to the growth policy of this factory.
+     *
+     * @return the new instance of <tt>CharacterCompactList</tt>
+     */
+    public CharacterCompactList newAdaptiveCharacterCompactList() {
+        return new AdaptiveCharacterCompactList(DEFAULT_CAPACITY, growthPolicy);
+    }
+
+    /**
+     * Constructs a new instance of <tt>BigCompactList</tt> that stores elements in fixed-size segments of
+     * 2<sup>14</sup> elements. The list grows by allocating new segments, so the elements that are already added are
+     * never copied, no large contiguous array is ever allocated and the size of the list is not limited by the maximum
+     * length of an array. Supported element types are <tt>Byte</tt>, <tt>Character</tt>, <tt>Short</tt>,
+     * <tt>Integer</tt>, <tt>Long</tt>, <tt>Float</tt> and <tt>Double</tt>, the returned list implements the
+     * corresponding typed interface (<tt>LongBigCompactList</tt> for <tt>Long</tt>, etc).
+     *
+     * @param elementType the class of element in this list
+     * @param <T> the type of elements in this list
+     * @return the new instance of <tt>BigCompactList</tt>
+     * @throws IllegalArgumentException if the specified element type is not supported
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BigCompactList<T> newSegmentedCompactList(Class<T> elementType) {
+        Supplier<? extends BigCompactList<?>> constructor = segmentedCache.get(elementType);
+
+        if (constructor == null)
+            constructor = segmentedCache.computeIfAbsent(elementType, this::getSegmentedConstructor);
+
+        return (BigCompactList<T>)constructor.get();
+    }
+
+    /**
+     * Constructs a new instance of <tt>BigCompactList</tt> that stores elements in native memory outside of the Java
+     * heap (see {@link #newOffHeapCompactList(Class, long)}).
+     *
+     * @param elementType the class of element in this list
+     * @param <T> the type of elements in this list
+     * @return the new instance of <tt>BigCompactList</tt>
+     * @throws IllegalArgumentException if the specified element type is not supported
+     */
+    public <T> BigCompactList<T> newOffHeapCompactList(Class<T> elementType) {
+        return newOffHeapCompactList(elementType, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of <tt>BigCompactList</tt> with the specified initial capacity that stores elements in
+     * native memory outside of the Java heap, so that the elements are not visible to the garbage collector. The
+     * memory is freed only by {@link BigCompactList#close()}. Supported element types are the same as for
+     * {@link #newSegmentedCompactList(Class)}, the returned list implements the corresponding typed interface.
+     *
+     * @param elementType the class of element in this list
+     * @param initialCapacity the initial capacity of the list
+     * @param <T> the type of elements in this list
+     * @return the new instance of <tt>BigCompactList</tt>
+     * @throws IllegalArgumentException if the specified element type is not supported or the specified initial
+     * capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BigCompactList<T> newOffHeapCompactList(Class<T> elementType, long initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Initial capacity should not be negative: " + initialCapacity);
+
+        LongFunction<? extends BigCompactList<?>> constructor = offHeapCache.get(elementType);
+
+        if (constructor == null)
+            constructor = offHeapCache.computeIfAbsent(elementType, this::getOffHeapConstructor);
+
+        return (BigCompactList<T>)constructor.apply(initialCapacity);
+    }
+
+    /**
+     * Opens or creates a file-backed <tt>BigCompactList</tt> stored in the specified file that is mapped into memory,
+     * so that the elements are stored outside of the Java heap and the list reopened from the file is immediately
+     * readable without deserialization. The list grows by extending and remapping the file, so its size in bytes is
+     * limited by <tt>Integer.MAX_VALUE</tt>. The elements are written to the storage device by
+     * {@link BigCompactList#force()}, the file is unmapped by {@link BigCompactList#close()}. Supported element types
+     * are the same as for {@link #newSegmentedCompactList(Class)}, the returned list implements the corresponding typed
+     * interface.
+     *
+     * @param elementType the class of element in this list
+     * @param path the path of the file
+     * @param <T> the type of elements in this list
+     * @return the instance of <tt>BigCompactList</tt>
+     * @throws IllegalArgumentException if the specified element type is not supported, or the file is not empty and
+     * doesn't contain a list of the specified element type
+     * @throws java.io.UncheckedIOException if the file cannot be opened or mapped
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BigCompactList<T> newMappedCompactList(Class<T> elementType, Path path) {
+        Function<Path, ? extends BigCompactList<?>> constructor = mappedCache.get(elementType);
+
+        if (constructor == null)
+            constructor = mappedCache.computeIfAbsent(elementType, this::getMappedConstructor);
+
+        return (BigCompactList<T>)constructor.apply(path);
+    }
+
+    /**
+     * Constructs a new instance of columnar <tt>StructCompactList</tt> for the specified value class (see
+     * {@link #newStructCompactList(Class, int)}).
+     *
+     * @param elementType the class of element in this list
+     * @param <T> the type of elements in this list
+     * @return the new instance of <tt>StructCompactList</tt>
+     * @throws IllegalArgumentException if the specified class is not a value class with primitive fields
+     */
+    public <T> StructCompactList<T> newStructCompactList(Class<T> elementType) {
+        return newStructCompactList(elementType, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of columnar <tt>StructCompactList</tt> with the specified initial capacity for the
+     * specified value class. Every field of the element is stored in its own typed list constructed by this factory, so
+     * that a row takes only the bytes of its fields. The value class should be public, have a public constructor
+     * without parameters, and all its instance fields should be public, non-final and primitive. The value class may
+     * be loaded by any class loader, the struct list class is generated once per value class in a child of its loader
+     * and is unloaded together with the value class.
+     *
+     * @param elementType the class of element in this list
+     * @param initialCapacity the initial capacity of every column
+     * @param <T> the type of elements in this list
+     * @return the new instance of <tt>StructCompactList</tt>
+     * @throws IllegalArgumentException if the specified class is not a value class with primitive fields or the
+     * specified initial capacity is negative
+     */
+    public <T> StructCompactList<T> newStructCompactList(Class<T> elementType, int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Initial capacity should not be negative: " + initialCapacity);
+
+        Field[] fields = StructCompactListGenerator.getFields(elementType);
+
+        CompactList<?>[] columns = new CompactList<?>[fields.length];
+        for (int i = 0; i < fields.length; i++)
+            columns[i] = newCompactList(StructCompactListGenerator.getBoxType(fields[i].getType()), initialCapacity);
+
+        return newStructCompactList(elementType, columns);
+    }
+
+    /**
+     * Constructs a new instance of <tt>StructCompactList</tt> for the specified value class with the specified columns.
+     *
+     * @param elementType the class of element in this list
+     * @param columns the columns in the order of field names
+     * @param <T> the type of elements in this list
+     * @return the new instance of <tt>StructCompactList</tt>
+     * @throws IllegalArgumentException if the specified columns don't match the fields of the element
+     */
+    @SuppressWarnings("unchecked")
+    <T> StructCompactList<T> newStructCompactList(Class<T> elementType, CompactList<?>[] columns) {
+        Field[] fields = StructCompactListGenerator.getFields(elementType);
+
+        if (columns.length != fields.length)
+            throw new IllegalArgumentException("Expected " + fields.length + " columns but was " + columns.length);
+
+        for (int i = 0; i < fields.length; i++) {
+            if (!StructCompactListGenerator.getTypedInterface(fields[i].getType()).isInstance(columns[i]))
+                throw new IllegalArgumentException("Column " + i + " doesn't match field " + fields[i]);
+
+            if (columns[i].size() != columns[0].size())
+                throw new IllegalArgumentException("Columns have different sizes");
+        }
+
+        return (StructCompactList<T>)getStructConstructor(elementType).apply(columns);
+    }
+
+    /**
+     * Returns a function that constructs instances of <tt>CompactList</tt> of the given capacity for the specified
+     * <tt>elementType</tt>. For primitives (except <tt>Boolean</tt>) generates the list class and the factory class
+     * using {@link CompactListGenerator}, so that construction of the list doesn't involve reflection.
+     *
+     * @param elementType the class of element in this list
+     * @return the function that constructs instances of <tt>CompactList</tt>
+     */
+    @SuppressWarnings("unchecked")
+    private IntFunction<? extends CompactList<?>> getConstructor(Class<?> elementType) {
+        if (elementType.isPrimitive())
+            return capacity -> new ObjectCompactList<>(capacity, growthPolicy);
+
+        if (Boolean.class.equals(elementType))
+            return capacity -> new BitSetCompactList(capacity, growthPolicy);
+
+        if (monitor != null || pool != null) {
+            Class<?> factoryClass = registry.getFactory(
+                monitor != null ? INSTRUMENTED_SUFFIX : POOLED_SUFFIX,
+                elementType,
+                growthPolicy,
+                classLoader -> defineCompactListClasses(classLoader, elementType)
+            );
+
+            try {
+                return (IntFunction<? extends CompactList<?>>)(monitor != null
+                    ? factoryClass.getConstructor(CompactListMonitor.class).newInstance(monitor)
+                    : factoryClass.getConstructor(CompactListArrayPool.class).newInstance(pool));
+            }
+            catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
             }
         }
 
-        Class<?> clazz = cache.get(className);
+        return registry.getFactory(
+            SUFFIX,
+            elementType,
+            growthPolicy,
+            classLoader -> getNewInstance(defineCompactListClasses(classLoader, elementType))
+        );
+    }
+
+    /**
+     * Generates and defines the list class and the factory class for the specified primitive <tt>elementType</tt>
+     * using {@link CompactListGenerator}, or loads the factory class generated at build time.
+     *
+     * @param classLoader the class loader that defines generated classes
+     * @param elementType the class of element in this list
+     * @return the factory class
+     */
+    private Class<?> defineCompactListClasses(DynamicClassLoader classLoader, Class<?> elementType) {
+        String className = PREFIX.replace('/', '.') + elementType.getSimpleName() + suffix;
+
+        /* Classes generated at build time have the default growth policy baked in and aren't instrumented or pooled. */
+        Class<?> factoryClass = suffix.equals(SUFFIX)
+            ? getPregeneratedClass(className + CompactListGenerator.FACTORY_SUFFIX)
+            : null;
+
+        if (factoryClass == null) {
+            CompactListGenerator generator = getCompactListGenerator(elementType);
+            String frozenClassName = PREFIX.replace('/', '.') + elementType.getSimpleName()
+                + CompactListGenerator.FROZEN_SUFFIX;
+
+            /* The class of frozen lists is shared by lists of all shapes, it's defined by the first of them. */
+            if (getPregeneratedClass(frozenClassName) == null)
+                classLoader.defineClassIfAbsent(frozenClassName, generator::generateFrozen);
+
+            classLoader.defineClass(className, generator.generate());
+            factoryClass = classLoader.defineClass(
+                className + CompactListGenerator.FACTORY_SUFFIX,
+                generator.generateFactory()
+            );
+        }
+
+        return factoryClass;
+    }
+
+    /**
+     * Returns a function that constructs instances of <tt>NullableCompactList</tt> of the given capacity for the
+     * specified <tt>elementType</tt>. Generates the list class and the factory class using
+     * {@link CompactListGenerator}.
+     *
+     * @param elementType the class of element in this list
+     * @return the function that constructs instances of <tt>NullableCompactList</tt>
+     */
+    private IntFunction<? extends NullableCompactList<?>> getNullableConstructor(Class<?> elementType) {
+        if (elementType.isPrimitive() || Boolean.class.equals(elementType))
+            throw new IllegalArgumentException("Specified type " + elementType + " is not supported");
+
+        String nullableSuffix = NULLABLE_SUFFIX + policySuffix;
+        CompactListGenerator generator = getCompactListGenerator(elementType, nullableSuffix, true);
 
-        return getNewInstance(clazz);
+        return registry.getFactory(nullableSuffix, elementType, growthPolicy, classLoader -> {
+            String className = PREFIX.replace('/', '.') + elementType.getSimpleName() + nullableSuffix;
+
+            classLoader.defineClass(className, generator.generate());
+            Class<?> factoryClass = classLoader.defineClass(
+                className + CompactListGenerator.FACTORY_SUFFIX,
+                generator.generateFactory()
+            );
+
+            return getNewInstance(factoryClass);
+        });
     }
 
     /**
-     * Constructs the new instance of the specified class.
+     * Returns a function that constructs segmented instances of <tt>BigCompactList</tt> for the specified
+     * <tt>elementType</tt>. Generates the list class and the factory class using
+     * {@link SegmentedCompactListGenerator}.
+     *
+     * @param elementType the class of element in this list
+     * @return the function that constructs instances of <tt>BigCompactList</tt>
+     */
+    private Supplier<? extends BigCompactList<?>> getSegmentedConstructor(Class<?> elementType) {
+        if (elementType.isPrimitive() || Boolean.class.equals(elementType))
+            throw new IllegalArgumentException("Specified type " + elementType + " is not supported");
+
+        return registry.getFactory(SEGMENTED_SUFFIX, elementType, null, classLoader -> {
+            String className = PREFIX.replace('/', '.') + elementType.getSimpleName() + SEGMENTED_SUFFIX;
+            Class<?> factoryClass = getPregeneratedClass(className + SegmentedCompactListGenerator.FACTORY_SUFFIX);
+
+            if (factoryClass == null) {
+                SegmentedCompactListGenerator generator = new SegmentedCompactListGenerator(
+                    className,
+                    elementType,
+                    SEGMENT_SHIFT
+                );
+
+                classLoader.defineClass(className, generator.generate());
+                factoryClass = classLoader.defineClass(
+                    className + SegmentedCompactListGenerator.FACTORY_SUFFIX,
+                    generator.generateFactory()
+                );
+            }
+
+            return getNewInstance(factoryClass);
+        });
+    }
+
+    /**
+     * Returns a function that constructs off-heap instances of <tt>BigCompactList</tt> of the given capacity for the
+     * specified <tt>elementType</tt> (see {@link #getOffHeapFactory(Class)}).
+     *
+     * @param elementType the class of element in this list
+     * @return the function that constructs instances of <tt>BigCompactList</tt>
+     */
+    private LongFunction<? extends BigCompactList<?>> getOffHeapConstructor(Class<?> elementType) {
+        return getOffHeapFactory(elementType);
+    }
+
+    /**
+     * Returns a function that maps file-backed instances of <tt>BigCompactList</tt> from the given file for the
+     * specified <tt>elementType</tt>. The function is the same factory as {@link #getOffHeapConstructor(Class)}
+     * returns.
+     *
+     * @param elementType the class of element in this list
+     * @return the function that maps instances of <tt>BigCompactList</tt>
+     */
+    private Function<Path, ? extends BigCompactList<?>> getMappedConstructor(Class<?> elementType) {
+        return getOffHeapFactory(elementType);
+    }
+
+    /**
+     * Returns the factory of off-heap instances of <tt>BigCompactList</tt> for the specified <tt>elementType</tt>. The
+     * factory implements both <tt>LongFunction</tt> that constructs instances of the given capacity and
+     * <tt>Function</tt> that maps instances from the given file. Generates the list class and the factory class using
+     * {@link OffHeapCompactListGenerator}.
+     *
+     * @param elementType the class of element in this list
+     * @param <F> the type of the factory
+     * @return the factory of instances of <tt>BigCompactList</tt>
+     */
+    private <F> F getOffHeapFactory(Class<?> elementType) {
+        if (elementType.isPrimitive() || Boolean.class.equals(elementType))
+            throw new IllegalArgumentException("Specified type " + elementType + " is not supported");
+
+        return registry.getFactory(OFF_HEAP_SUFFIX, elementType, null, classLoader -> {
+            String className = PREFIX.replace('/', '.') + elementType.getSimpleName() + OFF_HEAP_SUFFIX;
+            Class<?> factoryClass = getPregeneratedClass(className + OffHeapCompactListGenerator.FACTORY_SUFFIX);
+
+            if (factoryClass == null) {
+                OffHeapCompactListGenerator generator = new OffHeapCompactListGenerator(className, elementType);
+
+                classLoader.defineClass(className, generator.generate());
+                factoryClass = classLoader.defineClass(
+                    className + OffHeapCompactListGenerator.FACTORY_SUFFIX,
+                    generator.generateFactory()
+                );
+            }
+
+            return getNewInstance(factoryClass);
+        });
+    }
+
+    /**
+     * Returns a function that constructs instances of <tt>StructCompactList</tt> with the given columns for the
+     * specified value class. Generates the list class and the factory class using {@link StructCompactListGenerator}
+     * if they aren't generated yet (see {@link CompactListClassRegistry#getStructFactory(Class, Function)}).
+     *
+     * @param elementType the class of element in this list
+     * @return the function that constructs instances of <tt>StructCompactList</tt>
+     */
+    private Function<CompactList<?>[], ? extends StructCompactList<?>> getStructConstructor(Class<?> elementType) {
+        return registry.getStructFactory(elementType, classLoader -> {
+            String className = PREFIX.replace('/', '.') + getStructName(elementType) + STRUCT_SUFFIX;
+            StructCompactListGenerator generator = new StructCompactListGenerator(className, elementType);
+
+            classLoader.defineClass(className, generator.generate());
+            Class<?> factoryClass = classLoader.defineClass(
+                className + StructCompactListGenerator.FACTORY_SUFFIX,
+                generator.generateFactory()
+            );
+
+            return getNewInstance(factoryClass);
+        });
+    }
+
+    /**
+     * Returns the name of the value class mangled into the simple name of the generated struct list class. Dots are
+     * replaced by <tt>_</tt> and underscores are escaped as <tt>_1</tt> (as in JNI), which can't be confused with a
+     * dot because a package name never starts with a digit, so different value classes never get the same name.
+     *
+     * @param elementType the value class
+     * @return the mangled name
+     */
+    private static String getStructName(Class<?> elementType) {
+        return elementType.getName().replace("_", "_1").replace('.', '_');
+    }
+
+    /**
+     * Returns the factory class generated at build time by {@link CompactListPregenerator} and packaged into the jar,
+     * so that the class is loaded without running ASM and can be archived by class data sharing.
+     *
+     * @param className the name of the factory class
+     * @return the factory class or <tt>null</tt> if it wasn't generated at build time
+     */
+    private static Class<?> getPregeneratedClass(String className) {
+        try {
+            return Class.forName(className, true, CompactListFactory.class.getClassLoader());
+        }
+        catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Constructs the new instance of the specified factory class.
      *
      * @param clazz the class to be instantiated
-     * @param <T> the type of elements in this list
-     * @return the instance of <tt>CompactList</tt>
+     * @param <F> the type of the factory
+     * @return the instance of the factory class
      */
     @SuppressWarnings("unchecked")
-    private <T> CompactList<T> getNewInstance(Class<?> clazz) {
+    private <F> F getNewInstance(Class<?> clazz) {
         try {
-            return (CompactList<T>)clazz.newInstance();
+            return (F)clazz.newInstance();
         }
         catch (InstantiationException | IllegalAccessException e) {
             throw new RuntimeException(e);
@@ -112,23 +946,35 @@ public class CompactListFactory {
      * @param <T> the type of elements in this list
      * @return the instance of <tt>CompactListGenerator</tt>
      */
-    private <T> CompactListGenerator getCompactListGenerator(Class<T> elementType) {
+    <T> CompactListGenerator getCompactListGenerator(Class<T> elementType) {
+        return getCompactListGenerator(elementType, suffix, false);
+    }
+
+    /**
+     * Returns a <tt>CompactListGenerator</tt> specific for the specified <tt>elementType</tt> that generates the class
+     * with the specified name suffix.
+     *
+     * @param elementType the class of element in this list
+     * @param suffix the class name suffix
+     * @param nullable whether the generated list is nullable
+     * @param <T> the type of elements in this list
+     * @return the instance of <tt>CompactListGenerator</tt>
+     */
+    private <T> CompactListGenerator getCompactListGenerator(Class<T> elementType, String suffix, boolean nullable) {
         if (Byte.class.equals(elementType))
-            return getByteCompactListGenerator();
+            return getByteCompactListGenerator(suffix, nullable);
         else if (Character.class.equals(elementType))
-            return getCharacterCompactListGenerator();
+            return getCharacterCompactListGenerator(suffix, nullable);
         else if (Short.class.equals(elementType))
-            return getShortCompactListGenerator();
+            return getShortCompactListGenerator(suffix, nullable);
         else if (Integer.class.equals(elementType))
-            return getIntegerCompactListGenerator();
+            return getIntegerCompactListGenerator(suffix, nullable);
         else if (Long.class.equals(elementType))
-            return getLongCompactListGenerator();
+            return getLongCompactListGenerator(suffix, nullable);
         else if (Float.class.equals(elementType))
-            return getFloatCompactListGenerator();
+            return getFloatCompactListGenerator(suffix, nullable);
         else if (Double.class.equals(elementType))
-            return getDoubleCompactListGenerator();
-        else if (Boolean.class.equals(elementType))
-            return getBooleanCompactListGenerator();
+            return getDoubleCompactListGenerator(suffix, nullable);
 
         throw new IllegalArgumentException("Specified type " + elementType + " is not a primitive");
     }
@@ -136,128 +982,175 @@ public class CompactListFactory {
     /**
      * Returns <tt>CompactListGenerator</tt> that generates implementation of <tt>CompactList</tt> optimized to store
      * bytes.
+     *
+     * @param suffix the class name suffix
+     * @param nullable whether the generated list is nullable
      */
-    private CompactListGenerator getByteCompactListGenerator() {
+    private CompactListGenerator getByteCompactListGenerator(String suffix, boolean nullable) {
         return new CompactListGenerator(
-            PREFIX + Byte.class.getSimpleName() + SUFFIX,
+            PREFIX + Byte.class.getSimpleName() + suffix,
             "B",
             Byte.class.getCanonicalName().replace('.', '/'),
             "byteValue",
             T_BYTE,
             BASTORE,
-            BALOAD
+            BALOAD,
+            ByteCompactList.class.getCanonicalName().replace('.', '/'),
+            "Byte",
+            growthPolicy,
+            !nullable && monitor != null,
+            !nullable && pool != null,
+            nullable
         );
     }
 
     /**
      * Returns <tt>CompactListGenerator</tt> that generates implementation of <tt>CompactList</tt> optimized to store
      * chars.
+     *
+     * @param suffix the class name suffix
+     * @param nullable whether the generated list is nullable
      */
-    private CompactListGenerator getCharacterCompactListGenerator() {
+    private CompactListGenerator getCharacterCompactListGenerator(String suffix, boolean nullable) {
         return new CompactListGenerator(
-            PREFIX + Character.class.getSimpleName() + SUFFIX,
+            PREFIX + Character.class.getSimpleName() + suffix,
             "C",
             Character.class.getCanonicalName().replace('.', '/'),
             "charValue",
             T_CHAR,
             CASTORE,
-            CALOAD
+            CALOAD,
+            CharacterCompactList.class.getCanonicalName().replace('.', '/'),
+            "Char",
+            growthPolicy,
+            !nullable && monitor != null,
+            !nullable && pool != null,
+            nullable
         );
     }
 
     /**
      * Returns <tt>CompactListGenerator</tt> that generates implementation of <tt>CompactList</tt> optimized to store
      * shorts.
+     *
+     * @param suffix the class name suffix
+     * @param nullable whether the generated list is nullable
      */
-    private CompactListGenerator getShortCompactListGenerator() {
+    private CompactListGenerator getShortCompactListGenerator(String suffix, boolean nullable) {
         return new CompactListGenerator(
-            PREFIX + Short.class.getSimpleName() + SUFFIX,
+            PREFIX + Short.class.getSimpleName() + suffix,
             "S",
             Short.class.getCanonicalName().replace('.', '/'),
             "shortValue",
             T_SHORT,
             SASTORE,
-            SALOAD
+            SALOAD,
+            ShortCompactList.class.getCanonicalName().replace('.', '/'),
+            "Short",
+            growthPolicy,
+            !nullable && monitor != null,
+            !nullable && pool != null,
+            nullable
         );
     }
 
     /**
      * Returns <tt>CompactListGenerator</tt> that generates implementation of <tt>CompactList</tt> optimized to store
      * ints.
+     *
+     * @param suffix the class name suffix
+     * @param nullable whether the generated list is nullable
      */
-    private CompactListGenerator getIntegerCompactListGenerator() {
+    private CompactListGenerator getIntegerCompactListGenerator(String suffix, boolean nullable) {
         return new CompactListGenerator(
-            PREFIX + Integer.class.getSimpleName() + SUFFIX,
+            PREFIX + Integer.class.getSimpleName() + suffix,
             "I",
             Integer.class.getCanonicalName().replace('.', '/'),
             "intValue",
             T_INT,
             IASTORE,
-            IALOAD
+            IALOAD,
+            IntegerCompactList.class.getCanonicalName().replace('.', '/'),
+            "Int",
+            growthPolicy,
+            !nullable && monitor != null,
+            !nullable && pool != null,
+            nullable
         );
     }
 
     /**
      * Returns <tt>CompactListGenerator</tt> that generates implementation of <tt>CompactList</tt> optimized to store
      * longs.
+     *
+     * @param suffix the class name suffix
+     * @param nullable whether the generated list is nullable
      */
-    private CompactListGenerator getLongCompactListGenerator() {
+    private CompactListGenerator getLongCompactListGenerator(String suffix, boolean nullable) {
         return new CompactListGenerator(
-            PREFIX + Long.class.getSimpleName() + SUFFIX,
+            PREFIX + Long.class.getSimpleName() + suffix,
             "J",
             Long.class.getCanonicalName().replace('.', '/'),
             "longValue",
             T_LONG,
             LASTORE,
-            LALOAD
+            LALOAD,
+            LongCompactList.class.getCanonicalName().replace('.', '/'),
+            "Long",
+            growthPolicy,
+            !nullable && monitor != null,
+            !nullable && pool != null,
+            nullable
         );
     }
 
     /**
      * Returns <tt>CompactListGenerator</tt> that generates implementation of <tt>CompactList</tt> optimized to store
      * floats.
+     *
+     * @param suffix the class name suffix
+     * @param nullable whether the generated list is nullable
      */
-    private CompactListGenerator getFloatCompactListGenerator() {
+    private CompactListGenerator getFloatCompactListGenerator(String suffix, boolean nullable) {
         return new CompactListGenerator(
-            PREFIX + Float.class.getSimpleName() + SUFFIX,
+            PREFIX + Float.class.getSimpleName() + suffix,
             "F",
             Float.class.getCanonicalName().replace('.', '/'),
             "floatValue",
             T_FLOAT,
             FASTORE,
-            FALOAD
+            FALOAD,
+            FloatCompactList.class.getCanonicalName().replace('.', '/'),
+            "Float",
+            growthPolicy,
+            !nullable && monitor != null,
+            !nullable && pool != null,
+            nullable
         );
     }
 
     /**
      * Returns <tt>CompactListGenerator</tt> that generates implementation of <tt>CompactList</tt> optimized to store
      * doubles.
+     *
+     * @param suffix the class name suffix
+     * @param nullable whether the generated list is nullable
      */
-    private CompactListGenerator getDoubleCompactListGenerator() {
+    private CompactListGenerator getDoubleCompactListGenerator(String suffix, boolean nullable) {
         return new CompactListGenerator(
-            PREFIX + Double.class.getSimpleName() + SUFFIX,
+            PREFIX + Double.class.getSimpleName() + suffix,
             "D",
             Double.class.getCanonicalName().replace('.', '/'),
             "doubleValue",
             T_DOUBLE,
             DASTORE,
-            DALOAD
-        );
-    }
-
-    /**
-     * Returns <tt>CompactListGenerator</tt> that generates implementation of <tt>CompactList</tt> optimized to store
-     * booleans.
-     */
-    private CompactListGenerator getBooleanCompactListGenerator() {
-        return new CompactListGenerator(
-            PREFIX + Boolean.class.getSimpleName() + SUFFIX,
-            "Z",
-            Boolean.class.getCanonicalName().replace('.', '/'),
-            "booleanValue",
-            T_BOOLEAN,
-            BASTORE,
-            BALOAD
+            DALOAD,
+            DoubleCompactList.class.getCanonicalName().replace('.', '/'),
+            "Double",
+            growthPolicy,
+            !nullable && monitor != null,
+            !nullable && pool != null,
+            nullable
         );
     }
 }
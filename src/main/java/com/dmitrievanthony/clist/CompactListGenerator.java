@@ -1,39 +1,74 @@
 package com.dmitrievanthony.clist;
 
+import java.io.Externalizable;
+import java.util.Spliterator;
+import java.util.function.IntFunction;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
 
-import static com.sun.org.apache.bcel.internal.Constants.ALOAD_0;
-import static com.sun.org.apache.bcel.internal.Constants.ALOAD_1;
-import static com.sun.org.apache.bcel.internal.Constants.ILOAD_1;
-import static com.sun.org.apache.bcel.internal.Constants.ILOAD_2;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
 import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
 import static org.objectweb.asm.Opcodes.ARETURN;
 import static org.objectweb.asm.Opcodes.ARRAYLENGTH;
+import static org.objectweb.asm.Opcodes.ASTORE;
 import static org.objectweb.asm.Opcodes.ATHROW;
 import static org.objectweb.asm.Opcodes.BIPUSH;
 import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DCONST_0;
+import static org.objectweb.asm.Opcodes.DOUBLE;
 import static org.objectweb.asm.Opcodes.DUP;
 import static org.objectweb.asm.Opcodes.DUP_X1;
+import static org.objectweb.asm.Opcodes.F2D;
+import static org.objectweb.asm.Opcodes.FCONST_0;
+import static org.objectweb.asm.Opcodes.FLOAT;
+import static org.objectweb.asm.Opcodes.F_FULL;
 import static org.objectweb.asm.Opcodes.F_SAME;
 import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
 import static org.objectweb.asm.Opcodes.IADD;
+import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.ICONST_1;
-import static org.objectweb.asm.Opcodes.ICONST_2;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.IFNONNULL;
+import static org.objectweb.asm.Opcodes.IFGE;
+import static org.objectweb.asm.Opcodes.I2L;
+import static org.objectweb.asm.Opcodes.IFLE;
 import static org.objectweb.asm.Opcodes.IFLT;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.IF_ICMPGE;
+import static org.objectweb.asm.Opcodes.IF_ICMPGT;
+import static org.objectweb.asm.Opcodes.IF_ICMPLE;
 import static org.objectweb.asm.Opcodes.IF_ICMPLT;
-import static org.objectweb.asm.Opcodes.IMUL;
+import static org.objectweb.asm.Opcodes.INTEGER;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
 import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
 import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.ISHR;
 import static org.objectweb.asm.Opcodes.ISTORE;
+import static org.objectweb.asm.Opcodes.ISUB;
+import static org.objectweb.asm.Opcodes.IUSHR;
+import static org.objectweb.asm.Opcodes.L2I;
+import static org.objectweb.asm.Opcodes.LADD;
+import static org.objectweb.asm.Opcodes.LCMP;
+import static org.objectweb.asm.Opcodes.LCONST_0;
+import static org.objectweb.asm.Opcodes.LLOAD;
+import static org.objectweb.asm.Opcodes.LMUL;
+import static org.objectweb.asm.Opcodes.LONG;
+import static org.objectweb.asm.Opcodes.LRETURN;
+import static org.objectweb.asm.Opcodes.LSHL;
+import static org.objectweb.asm.Opcodes.LSTORE;
 import static org.objectweb.asm.Opcodes.NEW;
 import static org.objectweb.asm.Opcodes.NEWARRAY;
+import static org.objectweb.asm.Opcodes.POP;
 import static org.objectweb.asm.Opcodes.PUTFIELD;
 import static org.objectweb.asm.Opcodes.RETURN;
 import static org.objectweb.asm.Opcodes.V1_8;
@@ -42,6 +77,24 @@ import static org.objectweb.asm.Opcodes.V1_8;
  * The generator that generates implementations of {@link CompactList} that are optimized to work with primitive types.
  */
 class CompactListGenerator {
+    /** The suffix of the name of the class that constructs instances of the generated class. */
+    static final String FACTORY_SUFFIX = "Factory";
+
+    /** The suffix of the name of the immutable class of frozen lists (the prefix is the simple name of the element). */
+    static final String FROZEN_SUFFIX = "FrozenCompactListImpl";
+
+    /** The name of the package of the library classes called by the generated class. */
+    private static final String PREFIX = "com/dmitrievanthony/clist/";
+
+    /** The default capacity of the generated list. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** The type descriptor of the monitor of instrumented lists. */
+    private static final String MONITOR_DESCRIPTOR = "L" + PREFIX + "CompactListMonitor;";
+
+    /** The type descriptor of the array pool of pooled lists. */
+    private static final String POOL_DESCRIPTOR = "L" + PREFIX + "CompactListArrayPool;";
+
     /** The canonical class name with a dot separator. */
     private final String className;
 
@@ -63,6 +116,39 @@ class CompactListGenerator {
     /** The opcode of the load from the array instruction. */
     private final int loadOpcode;
 
+    /** The name of the interface with unboxed accessors (com/dmitrievanthony/clist/LongCompactList for long, etc). */
+    private final String typedInterface;
+
+    /** The name of the primitive used in unboxed accessors (Int for int, Long for long, etc). */
+    private final String typedName;
+
+    /** The growth policy baked into the generated <tt>ensureCapacity</tt> method. */
+    private final GrowthPolicy growthPolicy;
+
+    /** Whether the generated class reports its construction and reallocations to {@link CompactListMonitor}. */
+    private final boolean instrumented;
+
+    /** Whether the generated class borrows its arrays from {@link CompactListArrayPool}. */
+    private final boolean pooled;
+
+    /**
+     * The type descriptor of the object passed to the constructor of instrumented and pooled classes (the monitor or
+     * the array pool) or <tt>null</tt> if the class is neither instrumented nor pooled.
+     */
+    private final String contextDescriptor;
+
+    /** Whether the generated class accepts <tt>null</tt> elements and implements {@link NullableCompactList}. */
+    private final boolean nullable;
+
+    /** Whether the generated class is the immutable class of frozen lists. */
+    private final boolean frozen;
+
+    /** The name of the class of frozen lists with a slash separator. */
+    private final String frozenClassName;
+
+    /** The primitive type. */
+    private final Type primitive;
+
     /**
      * Constructs the new instance of <tt>CompactListGenerator</tt>.
      *
@@ -73,6 +159,13 @@ class CompactListGenerator {
      * @param typeOperand the type operand
      * @param storeOpcode the opcode of the store into the array instruction
      * @param loadOpcode the opcode of the load from the array instruction
+     * @param typedInterface the name of the interface with unboxed accessors
+     * @param typedName the name of the primitive used in unboxed accessors (Int for int, Long for long, etc)
+     * @param growthPolicy the growth policy baked into the generated <tt>ensureCapacity</tt> method
+     * @param instrumented whether the generated class reports its construction and reallocations to
+     * {@link CompactListMonitor}
+     * @param pooled whether the generated class borrows its arrays from {@link CompactListArrayPool}
+     * @param nullable whether the generated class accepts <tt>null</tt> elements
      */
     CompactListGenerator(String className,
         String descriptor,
@@ -80,7 +173,64 @@ class CompactListGenerator {
         String toPrimitive,
         int typeOperand,
         int storeOpcode,
-        int loadOpcode) {
+        int loadOpcode,
+        String typedInterface,
+        String typedName,
+        GrowthPolicy growthPolicy,
+        boolean instrumented,
+        boolean pooled,
+        boolean nullable) {
+        this(
+            className,
+            descriptor,
+            type,
+            toPrimitive,
+            typeOperand,
+            storeOpcode,
+            loadOpcode,
+            typedInterface,
+            typedName,
+            growthPolicy,
+            instrumented,
+            pooled,
+            nullable,
+            false
+        );
+    }
+
+    /**
+     * Constructs a new instance of <tt>CompactListGenerator</tt>.
+     *
+     * @param className the canonical class name with a dot separator
+     * @param descriptor the type descriptor (I for int, J for long, etc)
+     * @param type the type of object representation (java/lang/Integer for int, java/lang/Long got long, etc)
+     * @param toPrimitive the name of the function that converts object representation into primitive representation
+     * @param typeOperand the type operand
+     * @param storeOpcode the opcode of the store into the array instruction
+     * @param loadOpcode the opcode of the load from the array instruction
+     * @param typedInterface the name of the interface with unboxed accessors
+     * @param typedName the name of the primitive used in unboxed accessors (Int for int, Long for long, etc)
+     * @param growthPolicy the growth policy baked into the generated <tt>ensureCapacity</tt> method
+     * @param instrumented whether the generated class reports its construction and reallocations to
+     * {@link CompactListMonitor}
+     * @param pooled whether the generated class borrows its arrays from {@link CompactListArrayPool}
+     * @param nullable whether the generated class accepts <tt>null</tt> elements
+     * @param frozen whether the generated class is the immutable class of frozen lists
+     */
+    private CompactListGenerator(String className,
+        String descriptor,
+        String type,
+        String toPrimitive,
+        int typeOperand,
+        int storeOpcode,
+        int loadOpcode,
+        String typedInterface,
+        String typedName,
+        GrowthPolicy growthPolicy,
+        boolean instrumented,
+        boolean pooled,
+        boolean nullable,
+        boolean frozen) {
         this.className = className;
         this.descriptor = descriptor;
         this.type = type;
@@ -88,6 +238,16 @@ class CompactListGenerator {
         this.typeOperand = typeOperand;
         this.storeOpcode = storeOpcode;
         this.loadOpcode = loadOpcode;
+        this.typedInterface = typedInterface;
+        this.typedName = typedName;
+        this.growthPolicy = growthPolicy;
+        this.instrumented = instrumented;
+        this.pooled = pooled;
+        this.contextDescriptor = instrumented ? MONITOR_DESCRIPTOR : pooled ? POOL_DESCRIPTOR : null;
+        this.nullable = nullable;
+        this.frozen = frozen;
+        this.frozenClassName = PREFIX + type.substring(type.lastIndexOf('/') + 1) + FROZEN_SUFFIX;
+        this.primitive = Type.getType(descriptor);
     }
 
     /**
@@ -100,12 +260,175 @@ class CompactListGenerator {
 
         generateHeader(writer);
         generateFields(writer);
-        generateConstructor(writer);
+
+        if (frozen)
+            generateFrozenConstructor(writer);
+        else if (instrumented) {
+            generateContextDefaultConstructor(writer);
+            generateInstrumentedConstructor(writer);
+        }
+        else if (pooled) {
+            generateContextDefaultConstructor(writer);
+            generatePooledConstructor(writer);
+        }
+        else {
+            generateDefaultConstructor(writer);
+            generateConstructor(writer);
+        }
+
         generateSizeMethod(writer);
-        generateAddMethod(writer);
         generateGetMethod(writer);
+        generateTypedGetMethod(writer);
+        generateGetRangeMethod(writer);
+        generateToArrayMethod(writer);
+
+        if (nullable)
+            generateNullableScanMethods(writer);
+        else {
+            generateSpliteratorMethod(writer);
+            generateSumMethod(writer);
+            generateMinMaxMethod(writer, "min");
+            generateMinMaxMethod(writer, "max");
+            generateCountMethod(writer);
+            generateForEachMethod(writer, "forEach", false, false);
+            generateForEachMethod(writer, "forEach", true, false);
+            generateForEachMethod(writer, "forEachIndexed", false, true);
+        }
+
+        if (!nullable) {
+            generateBinarySearchMethod(writer);
+            generateLowerBoundMethod(writer);
+        }
+        else if (isSortable()) {
+            /* Nullable lists are never sorted and keep zeros in place of nulls, so the binary search is unsupported. */
+            generateUnsupportedMethod(writer, "binarySearch", "(" + descriptor + ")I");
+            generateUnsupportedMethod(writer, "lowerBound", "(" + descriptor + ")I");
+        }
+
+        generateWriteToMethod(writer);
         generateCheckRangeMethod(writer);
-        generateEnsureCapacityMethod(writer);
+
+        if (!nullable) {
+            generateWriteExternalMethod(writer);
+            generateWriteReplaceMethod(writer);
+        }
+
+        if (frozen) {
+            /* Frozen lists are immutable, so the methods that modify the list throw an exception. */
+            generateUnsupportedMethod(writer, "add", "(Ljava/lang/Object;)V");
+            generateUnsupportedMethod(writer, "add" + typedName, "(" + descriptor + ")V");
+            generateUnsupportedMethod(writer, "addAll", "([" + descriptor + "II)V");
+            generateUnsupportedMethod(writer, "readFrom", "(Ljava/nio/channels/ReadableByteChannel;)V");
+            generateUnsupportedMethod(writer, "readExternal", "(Ljava/io/ObjectInput;)V");
+            generateUnsupportedMethod(writer, "clear", "()V");
+
+            if (isSortable()) {
+                generateUnsupportedMethod(writer, "sort", "()V");
+                generateUnsupportedMethod(writer, "parallelSort", "()V");
+            }
+
+            generateFrozenTrimToSizeMethod(writer);
+            generateFrozenFreezeMethod(writer);
+
+            return writer.toByteArray();
+        }
+
+        generateAddMethod(writer);
+        generateTypedAddMethod(writer);
+        generateAddAllMethod(writer);
+        generateReadFromMethod(writer);
+        generateClearMethod(writer);
+
+        if (nullable) {
+            /* Nullable lists are neither sorted (values would move away from their bits) nor frozen (no bitmap). */
+            generateAddNullMethod(writer);
+            generateIsNullMethod(writer);
+            generateFieldGetter(writer, "nullCount", "I");
+        }
+        else {
+            generateSortMethod(writer, "sort");
+            generateSortMethod(writer, "parallelSort");
+            generateReadExternalMethod(writer);
+            generateFreezeMethod(writer);
+        }
+
+        if (pooled) {
+            generatePooledTrimToSizeMethod(writer);
+            generatePooledEnsureCapacityMethod(writer);
+            generateReleaseMethod(writer);
+        }
+        else
+            generateTrimToSizeMethod(writer);
+
+        if (instrumented) {
+            generateInstrumentedEnsureCapacityMethod(writer);
+            generateCapacityMethod(writer);
+            generateCapacityBytesMethod(writer);
+            generateFieldGetter(writer, "resizeCount", "I");
+            generateFieldGetter(writer, "bytesCopied", "J");
+        }
+        else if (!pooled)
+            generateEnsureCapacityMethod(writer);
+
+        generateNewCapacityMethod(writer);
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Generates the bytecode of the immutable class of lists returned by the generated <tt>freeze</tt> method. The
+     * class keeps the array trimmed to the size in final fields and has no code that grows the array, so that frozen
+     * lists are safely published to other threads and the JIT can treat the array and the size as stable.
+     *
+     * @return the bytecode of the class of frozen lists
+     */
+    byte[] generateFrozen() {
+        return new CompactListGenerator(
+            frozenClassName,
+            descriptor,
+            type,
+            toPrimitive,
+            typeOperand,
+            storeOpcode,
+            loadOpcode,
+            typedInterface,
+            typedName,
+            growthPolicy,
+            false,
+            false,
+            false,
+            true
+        ).generate();
+    }
+
+    /**
+     * Generates the bytecode of the class that implements <tt>IntFunction</tt> and constructs new instances of the
+     * class generated by {@link #generate()} with the specified initial capacity without reflection.
+     *
+     * @return the bytecode of the class that implements <tt>IntFunction</tt>
+     */
+    byte[] generateFactory() {
+        ClassWriter writer = new ClassWriter(0);
+
+        writer.visit(
+            V1_8,
+            ACC_PUBLIC,
+            className.replace('.', '/') + FACTORY_SUFFIX,
+            null,
+            Object.class.getCanonicalName().replace('.', '/'),
+            new String[] {IntFunction.class.getCanonicalName().replace('.', '/')}
+        );
+
+        if (contextDescriptor != null) {
+            writer.visitField(ACC_PRIVATE, "context", contextDescriptor, null, null).visitEnd();
+
+            generateContextFactoryConstructor(writer);
+            generateContextFactoryApplyMethod(writer);
+        }
+        else {
+            generateFactoryConstructor(writer);
+            generateFactoryApplyMethod(writer);
+        }
 
         return writer.toByteArray();
     }
@@ -122,7 +445,15 @@ class CompactListGenerator {
             className.replace('.', '/'),
             null,
             Object.class.getCanonicalName().replace('.', '/'),
-            new String[] {CompactList.class.getCanonicalName().replace('.', '/')}
+            nullable
+                ? new String[] {typedInterface, PREFIX + "NullableCompactList"}
+                : contextDescriptor != null
+                ? new String[] {
+                    typedInterface,
+                    Externalizable.class.getCanonicalName().replace('.', '/'),
+                    PREFIX + (instrumented ? "InstrumentedCompactList" : "PooledCompactList")
+                }
+                : new String[] {typedInterface, Externalizable.class.getCanonicalName().replace('.', '/')}
         );
     }
 
@@ -132,190 +463,277 @@ class CompactListGenerator {
      * @param cv the class visitor
      */
     private void generateFields(ClassVisitor cv) {
-        cv.visitField(ACC_PRIVATE, "data", "[" + descriptor, null, null).visitEnd();
-        cv.visitField(ACC_PRIVATE, "size", "I", null, null).visitEnd();
+        int access = frozen ? ACC_PRIVATE | ACC_FINAL : ACC_PRIVATE;
+
+        cv.visitField(access, "data", "[" + descriptor, null, null).visitEnd();
+        cv.visitField(access, "size", "I", null, null).visitEnd();
+
+        if (instrumented) {
+            cv.visitField(ACC_PRIVATE, "monitor", MONITOR_DESCRIPTOR, null, null).visitEnd();
+            cv.visitField(ACC_PRIVATE, "resizeCount", "I", null, null).visitEnd();
+            cv.visitField(ACC_PRIVATE, "bytesCopied", "J", null, null).visitEnd();
+        }
+
+        if (pooled)
+            cv.visitField(ACC_PRIVATE, "pool", POOL_DESCRIPTOR, null, null).visitEnd();
+
+        if (nullable) {
+            cv.visitField(ACC_PRIVATE, "nulls", "[J", null, null).visitEnd();
+            cv.visitField(ACC_PRIVATE, "nullCount", "I", null, null).visitEnd();
+        }
     }
 
     /**
-     * Generates the class constructor.
+     * Generates the class constructor without parameters that delegates to the constructor with the initial capacity.
      *
      * @param cv the class visitor
      */
-    private void generateConstructor(ClassVisitor cv) {
+    private void generateDefaultConstructor(ClassVisitor cv) {
         MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
 
         mv.visitCode();
 
+        /* Pushes "this" and the default capacity onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitIntInsn(BIPUSH, DEFAULT_CAPACITY);
+        /* Calls the constructor with the initial capacity. */
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "<init>", "(I)V", false);
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(2, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the class constructor with the initial capacity.
+     *
+     * @param cv the class visitor
+     */
+    private void generateConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "(I)V", null, null);
+
+        mv.visitCode();
+
         /* Call parent constructor. */
-        mv.visitInsn(ALOAD_0);
+        mv.visitVarInsn(ALOAD, 0);
         mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
 
         /* Pushes "this" onto the stack. */
-        mv.visitInsn(ALOAD_0);
-        /* Pushes 10 onto the stack, calls "NEWARRAY" that pops 10 from the stack and pushes array reference back. */
-        mv.visitVarInsn(BIPUSH, 10);
+        mv.visitVarInsn(ALOAD, 0);
+        /* Pushes initial capacity onto the stack, calls "NEWARRAY" that pops it and pushes array reference back. */
+        mv.visitVarInsn(ILOAD, 1);
         mv.visitIntInsn(NEWARRAY, typeOperand);
         /* Calls "PUTFIELD" that pops array reference and "this" from the stack. */
         mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "data", "[" + descriptor);
         /* Return void. */
         mv.visitInsn(RETURN);
 
-        mv.visitMaxs(2, 1);
+        mv.visitMaxs(2, 2);
         mv.visitEnd();
     }
 
     /**
-     * Generates the <tt>size</tt> method.
+     * Generates the class constructor without parameters of the instrumented or pooled class, the list uses its own
+     * monitor or pool that isn't reachable by anyone else.
      *
      * @param cv the class visitor
      */
-    private void generateSizeMethod(ClassVisitor cv) {
-        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "size", "()I", null, null);
+    private void generateContextDefaultConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+
+        String contextClass = Type.getType(contextDescriptor).getInternalName();
 
         mv.visitCode();
 
-        /* Pushes "this" onto the stack. */
-        mv.visitInsn(ALOAD_0);
-        /* Calls "GETFIELD" that pops "this" from the stack and pushes the field value (size) onto the stack. */
-        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
-        /* Pops integer value from the stack and returns it. */
-        mv.visitInsn(IRETURN);
+        /* Pushes "this", the default capacity and a new monitor or pool onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitIntInsn(BIPUSH, DEFAULT_CAPACITY);
+        mv.visitTypeInsn(NEW, contextClass);
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, contextClass, "<init>", "()V", false);
+        /* Calls the constructor with the initial capacity and the monitor or pool. */
+        mv.visitMethodInsn(
+            INVOKESPECIAL,
+            className.replace('.', '/'),
+            "<init>",
+            "(I" + contextDescriptor + ")V",
+            false
+        );
+        /* Return void. */
+        mv.visitInsn(RETURN);
 
-        mv.visitMaxs(1, 1);
+        mv.visitMaxs(4, 1);
         mv.visitEnd();
     }
 
     /**
-     * Generates the <tt>add</tt> method.
+     * Generates the class constructor of the instrumented class with the initial capacity and the monitor.
      *
      * @param cv the class visitor
      */
-    private void generateAddMethod(ClassVisitor cv) {
-        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "add", "(Ljava/lang/Object;)V", null, null);
+    private void generateInstrumentedConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "(I" + MONITOR_DESCRIPTOR + ")V", null, null);
 
         mv.visitCode();
 
-        /* Pushes "this" onto the stack twice. */
-        mv.visitInsn(ALOAD_0);
-        mv.visitInsn(ALOAD_0);
-        /* Calls "GETFIELD" that pops "this" from the stack and pushes the field value (size) onto the stack. */
-        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
-        /* Pushes "1" onto the stack. */
-        mv.visitInsn(ICONST_1);
-        /* Pops "1" and size from the stacks and pushes their sum back. */
-        mv.visitInsn(IADD);
-        /* Calls "INVOKESPECIAL" that pops integer value and "this" from the stack. */
-        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "ensureCapacity", "(I)V", false);
+        /* Call parent constructor. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
 
-        /* Pushed "this" onto the stack. */
-        mv.visitInsn(ALOAD_0);
-        /* Calls "GETFIELD" that pops "this" from the stack and pushes the reference to data array onto the stack. */
-        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
-        /* Pushes "this" onto the stack twice. */
-        mv.visitInsn(ALOAD_0);
-        mv.visitInsn(ALOAD_0);
-        /* Calls "GETFIELD" that pops "this" from the stack and pushes the field value (size) back. */
-        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
-        /* Copies the top element (size value) and insert it into stack with position top - 2. */
-        mv.visitInsn(DUP_X1);
-        /* Pushes "1" onto the stack. */
-        mv.visitInsn(ICONST_1);
-        /* Pops "1" and size from the stacks and pushes their sum back. */
-        mv.visitInsn(IADD);
-        /* Calls "PUTFIELD" that pops integer value and "this" from the stack and updates field. */
-        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "size", "I");
-        /* Pushes specified element onto the stack. */
-        mv.visitInsn(ALOAD_1);
-        /* Casts the specified element (from the stack) to object representation of the primitive and pushes it back. */
-        mv.visitTypeInsn(CHECKCAST, type);
-        /* Calls "INVOKEVIRTUAL" that pops element reference from the stack and pushes back the primitive. */
-        mv.visitMethodInsn(INVOKEVIRTUAL, type, toPrimitive, "()" + descriptor, false);
-        /* Stores primitive into the data array (pops primitive value and "data" from the stack). */
-        mv.visitInsn(storeOpcode);
+        /* Allocates the array of the initial capacity and updates "data" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitIntInsn(NEWARRAY, typeOperand);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Updates "monitor" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "monitor", MONITOR_DESCRIPTOR);
+        /* Registers "this" in the monitor. */
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            PREFIX + "CompactListMonitor",
+            "onConstruct",
+            "(L" + PREFIX + "InstrumentedCompactList;)V",
+            false
+        );
         /* Return void. */
         mv.visitInsn(RETURN);
 
-        mv.visitMaxs(5, 2);
+        mv.visitMaxs(2, 3);
         mv.visitEnd();
     }
 
     /**
-     * Generates the <tt>get</tt> method.
+     * Generates the class constructor of the pooled class with the initial capacity and the pool.
      *
      * @param cv the class visitor
      */
-    private void generateGetMethod(ClassVisitor cv) {
-        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "get", "(I)Ljava/lang/Object;", null, null);
+    private void generatePooledConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "(I" + POOL_DESCRIPTOR + ")V", null, null);
 
         mv.visitCode();
 
-        /* Pushes "this" and index onto the stack. */
-        mv.visitInsn(ALOAD_0);
-        mv.visitInsn(ILOAD_1);
-        /* Calls "INVOKESPECIAL" that pops index and "this" from the stack. */
-        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "checkRange", "(I)V", false);
+        /* Call parent constructor. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
 
-        /* Pushes "this" onto the stack. */
-        mv.visitInsn(ALOAD_0);
-        /* Pops "this" from the stack and pushes back reference to data. */
-        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Updates "pool" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "pool", POOL_DESCRIPTOR);
+        /* Borrows the array of the initial capacity from the pool and updates "data" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitIntInsn(BIPUSH, descriptor.charAt(0));
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitMethodInsn(INVOKEVIRTUAL, PREFIX + "CompactListArrayPool", "borrow", "(CI)Ljava/lang/Object;", false);
+        mv.visitTypeInsn(CHECKCAST, "[" + descriptor);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Return void. */
+        mv.visitInsn(RETURN);
 
-        /* Pushes index onto the stack, */
-        mv.visitInsn(ILOAD_1);
-        /* Pops index and reference to data from the stack and pushes back value from the array with the index. */
-        mv.visitInsn(loadOpcode);
-        /* Calls "INVOKESTATIC" that pops reference to the value and pushes back object representation. */
-        mv.visitMethodInsn(INVOKESTATIC, type, "valueOf", "(" + descriptor + ")L" + type + ";", false);
-        /* Returns reference to the object representation of the value. */
-        mv.visitInsn(ARETURN);
+        mv.visitMaxs(4, 3);
+        mv.visitEnd();
+    }
 
-        mv.visitMaxs(2, 2);
+    /**
+     * Generates the class constructor of the frozen class with the array and the size that are stored into final
+     * fields.
+     *
+     * @param cv the class visitor
+     */
+    private void generateFrozenConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "([" + descriptor + "I)V", null, null);
+
+        mv.visitCode();
+
+        /* Call parent constructor. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+
+        /* Updates "data" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Updates "size" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "size", "I");
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(2, 3);
         mv.visitEnd();
     }
 
     /**
-     * Generates the <tt>checkRange</tt> method.
+     * Generates the constructor of the factory class.
      *
      * @param cv the class visitor
      */
-    private void generateCheckRangeMethod(ClassVisitor cv) {
-        MethodVisitor mv = cv.visitMethod(ACC_PRIVATE, "checkRange", "(I)V", null, null);
+    private void generateFactoryConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
 
         mv.visitCode();
 
-        /* Define two labels, they will be inserted later. */
-        Label l1 = new Label();
-        Label l2 = new Label();
+        /* Call parent constructor. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        /* Return void. */
+        mv.visitInsn(RETURN);
 
-        /* Loads index onto the stack. */
-        mv.visitInsn(ILOAD_1);
-        /* If value on top of the stack (index) is less than 0 goto l1. */
-        mv.visitJumpInsn(IFLT, l1);
-        /* Load index and "this" onto the stack. */
-        mv.visitInsn(ILOAD_1);
-        mv.visitInsn(ALOAD_0);
-        /* Calls "GETFIELD" that pops "this" from the stack and pushes the field value (size) back. */
-        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
-        /* If index is less than size goto l2. */
-        mv.visitJumpInsn(IF_ICMPLT, l2);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+    }
 
-        /* Section that throws the exception. */
-        mv.visitLabel(l1);
-        /* Should be called after jump target. */
-        mv.visitFrame(F_SAME, 0, null, 0, null);
-        /* Creates a new object and pushes it onto the stack. */
-        mv.visitTypeInsn(NEW, "java/lang/IndexOutOfBoundsException");
+    /**
+     * Generates the <tt>apply</tt> method of the factory class.
+     *
+     * @param cv the class visitor
+     */
+    private void generateFactoryApplyMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "apply", "(I)Ljava/lang/Object;", null, null);
+
+        mv.visitCode();
+
+        /* Creates a new object of the generated class and pushes it onto the stack. */
+        mv.visitTypeInsn(NEW, className.replace('.', '/'));
         /* Duplicates the value on top of the stack. */
         mv.visitInsn(DUP);
-        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/IndexOutOfBoundsException", "<init>", "()V", false);
-        /* Throws the exception. */
-        mv.visitInsn(ATHROW);
+        /* Pushes initial capacity onto the stack. */
+        mv.visitVarInsn(ILOAD, 1);
+        /* Calls the constructor that pops initial capacity and the reference from the stack. */
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "<init>", "(I)V", false);
+        /* Returns reference to the new object. */
+        mv.visitInsn(ARETURN);
 
-        /* Section for correct return. */
-        mv.visitLabel(l2);
-        /* Should be called after jump target. */
-        mv.visitFrame(F_SAME, 0, null, 0, null);
-        /* Returns void. */
+        mv.visitMaxs(3, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the constructor of the instrumented or pooled factory class that keeps the monitor or the pool of
+     * constructed lists.
+     *
+     * @param cv the class visitor
+     */
+    private void generateContextFactoryConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "(" + contextDescriptor + ")V", null, null);
+
+        mv.visitCode();
+
+        /* Call parent constructor. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        /* Updates "context" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/') + FACTORY_SUFFIX, "context", contextDescriptor);
+        /* Return void. */
         mv.visitInsn(RETURN);
 
         mv.visitMaxs(2, 2);
@@ -323,52 +741,1765 @@ class CompactListGenerator {
     }
 
     /**
-     * Generates the <tt>ensureCapacity</tt> method.
+     * Generates the <tt>apply</tt> method of the instrumented or pooled factory class.
      *
      * @param cv the class visitor
      */
-    private void generateEnsureCapacityMethod(ClassVisitor cv) {
-        MethodVisitor mv = cv.visitMethod(ACC_PRIVATE, "ensureCapacity", "(I)V", null, null);
+    private void generateContextFactoryApplyMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "apply", "(I)Ljava/lang/Object;", null, null);
 
         mv.visitCode();
 
-        /* Define the label, it will be inserted later. */
-        Label l1 = new Label();
+        /* Creates a new object of the generated class and duplicates the reference. */
+        mv.visitTypeInsn(NEW, className.replace('.', '/'));
+        mv.visitInsn(DUP);
+        /* Pushes initial capacity and the monitor or pool onto the stack. */
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/') + FACTORY_SUFFIX, "context", contextDescriptor);
+        /* Calls the constructor that pops the monitor or pool, initial capacity and the reference from the stack. */
+        mv.visitMethodInsn(
+            INVOKESPECIAL,
+            className.replace('.', '/'),
+            "<init>",
+            "(I" + contextDescriptor + ")V",
+            false
+        );
+        /* Returns reference to the new object. */
+        mv.visitInsn(ARETURN);
 
-        /* Loads "this" onto the stack. */
-        mv.visitInsn(ALOAD_0);
-        /* Calls "GETFIELD" that pops "this" from the stack and pushes reference to "data" back. */
-        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
-        /* Calls "ARRAYLENGTH" that pops reference to "data" from the stack and pushes the array length back. */
+        mv.visitMaxs(4, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>size</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateSizeMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "size", "()I", null, null);
+
+        mv.visitCode();
+
+        /* Pushes "this" onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        /* Calls "GETFIELD" that pops "this" from the stack and pushes the field value (size) onto the stack. */
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Pops integer value from the stack and returns it. */
+        mv.visitInsn(IRETURN);
+
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>add</tt> method that unboxes the element and delegates to the typed <tt>add</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateAddMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "add", "(Ljava/lang/Object;)V", null, null);
+
+        mv.visitCode();
+
+        if (nullable) {
+            /* Define the label, it will be inserted later. */
+            Label l1 = new Label();
+
+            /* If the specified element is not null goto l1, otherwise calls "addNull" and returns. */
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitJumpInsn(IFNONNULL, l1);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKEVIRTUAL, className.replace('.', '/'), "addNull", "()V", false);
+            mv.visitInsn(RETURN);
+
+            /* Section that adds the element. */
+            mv.visitLabel(l1);
+            /* Should be called after jump target. */
+            mv.visitFrame(F_SAME, 0, null, 0, null);
+        }
+
+        /* Pushes "this" and specified element onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        /* Casts the specified element (from the stack) to object representation of the primitive and pushes it back. */
+        mv.visitTypeInsn(CHECKCAST, type);
+        /* Calls "INVOKEVIRTUAL" that pops element reference from the stack and pushes back the primitive. */
+        mv.visitMethodInsn(INVOKEVIRTUAL, type, toPrimitive, "()" + descriptor, false);
+        /* Calls "INVOKEVIRTUAL" that pops primitive and "this" from the stack. */
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            className.replace('.', '/'),
+            "add" + typedName,
+            "(" + descriptor + ")V",
+            false
+        );
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(1 + primitive.getSize(), 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the typed <tt>add</tt> method (<tt>addInt</tt> for int, <tt>addLong</tt> for long, etc).
+     *
+     * @param cv the class visitor
+     */
+    private void generateTypedAddMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "add" + typedName, "(" + descriptor + ")V", null, null);
+
+        mv.visitCode();
+
+        /* Pushes "this" onto the stack twice. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
+        /* Calls "GETFIELD" that pops "this" from the stack and pushes the field value (size) onto the stack. */
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Pushes "1" onto the stack. */
+        mv.visitInsn(ICONST_1);
+        /* Pops "1" and size from the stacks and pushes their sum back. */
+        mv.visitInsn(IADD);
+        /* Calls "INVOKESPECIAL" that pops integer value and "this" from the stack. */
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "ensureCapacity", "(I)V", false);
+
+        /* Pushed "this" onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        /* Calls "GETFIELD" that pops "this" from the stack and pushes the reference to data array onto the stack. */
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Pushes "this" onto the stack twice. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
+        /* Calls "GETFIELD" that pops "this" from the stack and pushes the field value (size) back. */
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Copies the top element (size value) and insert it into stack with position top - 2. */
+        mv.visitInsn(DUP_X1);
+        /* Pushes "1" onto the stack. */
+        mv.visitInsn(ICONST_1);
+        /* Pops "1" and size from the stacks and pushes their sum back. */
+        mv.visitInsn(IADD);
+        /* Calls "PUTFIELD" that pops integer value and "this" from the stack and updates field. */
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "size", "I");
+        /* Pushes specified primitive element onto the stack. */
+        mv.visitVarInsn(primitive.getOpcode(ILOAD), 1);
+        /* Stores primitive into the data array (pops primitive value and "data" from the stack). */
+        mv.visitInsn(storeOpcode);
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(5, 1 + primitive.getSize());
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>get</tt> method that delegates to the typed <tt>get</tt> method and boxes the result.
+     *
+     * @param cv the class visitor
+     */
+    private void generateGetMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "get", "(I)Ljava/lang/Object;", null, null);
+
+        mv.visitCode();
+
+        if (nullable) {
+            /* Define the label, it will be inserted later. */
+            Label l1 = new Label();
+
+            /* If the element is not null goto l1, otherwise returns null. */
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitMethodInsn(INVOKEVIRTUAL, className.replace('.', '/'), "isNull", "(I)Z", false);
+            mv.visitJumpInsn(IFEQ, l1);
+            mv.visitInsn(ACONST_NULL);
+            mv.visitInsn(ARETURN);
+
+            /* Section that reads and boxes the element. */
+            mv.visitLabel(l1);
+            /* Should be called after jump target. */
+            mv.visitFrame(F_SAME, 0, null, 0, null);
+        }
+
+        /* Pushes "this" and index onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ILOAD, 1);
+        /* Calls "INVOKEVIRTUAL" that pops index and "this" from the stack and pushes back the primitive. */
+        mv.visitMethodInsn(INVOKEVIRTUAL, className.replace('.', '/'), "get" + typedName, "(I)" + descriptor, false);
+        /* Calls "INVOKESTATIC" that pops the primitive and pushes back object representation. */
+        mv.visitMethodInsn(INVOKESTATIC, type, "valueOf", "(" + descriptor + ")L" + type + ";", false);
+        /* Returns reference to the object representation of the value. */
+        mv.visitInsn(ARETURN);
+
+        mv.visitMaxs(Math.max(2, primitive.getSize()), 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the typed <tt>get</tt> method (<tt>getInt</tt> for int, <tt>getLong</tt> for long, etc).
+     *
+     * @param cv the class visitor
+     */
+    private void generateTypedGetMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "get" + typedName, "(I)" + descriptor, null, null);
+
+        mv.visitCode();
+
+        /* Pushes "this" and index onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ILOAD, 1);
+        /* Calls "INVOKESPECIAL" that pops index and "this" from the stack. */
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "checkRange", "(I)V", false);
+
+        /* Pushes "this" onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        /* Pops "this" from the stack and pushes back reference to data. */
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+
+        /* Pushes index onto the stack, */
+        mv.visitVarInsn(ILOAD, 1);
+        /* Pops index and reference to data from the stack and pushes back value from the array with the index. */
+        mv.visitInsn(loadOpcode);
+        /* Returns the primitive value. */
+        mv.visitInsn(primitive.getOpcode(IRETURN));
+
+        mv.visitMaxs(2, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>addAll</tt> method that grows the capacity once and copies the elements from the specified
+     * array using <tt>System.arraycopy</tt>.
+     *
+     * @param cv the class visitor
+     */
+    private void generateAddAllMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "addAll", "([" + descriptor + "II)V", null, null);
+
+        mv.visitCode();
+
+        /* Pushes "this" onto the stack twice. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
+        /* Calls "GETFIELD" that pops "this" from the stack and pushes the field value (size) onto the stack. */
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Pushes "len", pops it and size from the stack and pushes their sum back. */
+        mv.visitVarInsn(ILOAD, 3);
+        mv.visitInsn(IADD);
+        /* Calls "INVOKESPECIAL" that pops integer value and "this" from the stack. */
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "ensureCapacity", "(I)V", false);
+
+        /* Pushes "src" and "off" onto the stack. */
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ILOAD, 2);
+        /* Pushes reference to "data" and size onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Pushes "len" onto the stack. */
+        mv.visitVarInsn(ILOAD, 3);
+        /* Copies elements (pops all five arguments from the stack), throws if the range is out of bounds. */
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/lang/System",
+            "arraycopy",
+            "(Ljava/lang/Object;ILjava/lang/Object;II)V",
+            false
+        );
+
+        /* Pushes "this" onto the stack twice. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(DUP);
+        /* Calls "GETFIELD" that pops "this" from the stack and pushes the field value (size) onto the stack. */
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Pushes "len", pops it and size from the stack and pushes their sum back. */
+        mv.visitVarInsn(ILOAD, 3);
+        mv.visitInsn(IADD);
+        /* Calls "PUTFIELD" that pops integer value and "this" from the stack and updates field. */
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "size", "I");
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(5, 4);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>getRange</tt> method that checks the range once and copies the elements into the specified
+     * array using <tt>System.arraycopy</tt>.
+     *
+     * @param cv the class visitor
+     */
+    private void generateGetRangeMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "getRange", "(I[" + descriptor + "II)V", null, null);
+
+        mv.visitCode();
+
+        /* Define two labels, they will be inserted later. */
+        Label l1 = new Label();
+        Label l2 = new Label();
+
+        /* If "from" is less than 0 goto l1. */
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitJumpInsn(IFLT, l1);
+        /* If "len" is less than 0 goto l1. */
+        mv.visitVarInsn(ILOAD, 4);
+        mv.visitJumpInsn(IFLT, l1);
+        /* Pushes "from", size and "len", pops two last and pushes their difference back. */
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitVarInsn(ILOAD, 4);
+        mv.visitInsn(ISUB);
+        /* If "from" is less or equal to the difference of size and "len" goto l2. */
+        mv.visitJumpInsn(IF_ICMPLE, l2);
+
+        /* Section that throws the exception. */
+        mv.visitLabel(l1);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        /* Creates, duplicates, initializes and throws the exception. */
+        mv.visitTypeInsn(NEW, "java/lang/IndexOutOfBoundsException");
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/IndexOutOfBoundsException", "<init>", "()V", false);
+        mv.visitInsn(ATHROW);
+
+        /* Section that copies the elements. */
+        mv.visitLabel(l2);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        /* Pushes reference to "data" and "from" onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ILOAD, 1);
+        /* Pushes "dst", "off" and "len" onto the stack. */
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitVarInsn(ILOAD, 3);
+        mv.visitVarInsn(ILOAD, 4);
+        /* Copies elements (pops all five arguments from the stack), throws if the range is out of bounds. */
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/lang/System",
+            "arraycopy",
+            "(Ljava/lang/Object;ILjava/lang/Object;II)V",
+            false
+        );
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(5, 5);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>toArray</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateToArrayMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "toArray", "()[" + descriptor, null, null);
+
+        mv.visitCode();
+
+        /* Pushes reference to "data" and size onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Allocates new array of the size of the list and copies data into it. */
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/util/Arrays",
+            "copyOf",
+            "(" + "[" + descriptor + "I)" + "[" + descriptor,
+            false
+        );
+        /* Returns reference to the new array. */
+        mv.visitInsn(ARETURN);
+
+        mv.visitMaxs(2, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>spliterator</tt> method that returns <tt>SIZED</tt>, <tt>SUBSIZED</tt> and <tt>ORDERED</tt>
+     * primitive spliterator over the underlying array. Only longs, ints and doubles have primitive spliterators, other
+     * types keep the default implementation of the typed interface (if any).
+     *
+     * @param cv the class visitor
+     */
+    private void generateSpliteratorMethod(ClassVisitor cv) {
+        String spliterator = getSpliterator();
+
+        if (spliterator == null)
+            return;
+
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "spliterator", "()L" + spliterator + ";", null, null);
+
+        mv.visitCode();
+
+        /* Pushes reference to "data", 0, size and the "ORDERED" characteristic onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitIntInsn(BIPUSH, Spliterator.ORDERED);
+        /* Calls "INVOKESTATIC" that pops them and pushes back the array spliterator (it adds SIZED and SUBSIZED). */
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/util/Spliterators",
+            "spliterator",
+            "([" + descriptor + "III)L" + spliterator + ";",
+            false
+        );
+        /* Returns reference to the spliterator. */
+        mv.visitInsn(ARETURN);
+
+        mv.visitMaxs(4, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>sum</tt> method as a counted loop over the underlying array, so that the JIT compiler can
+     * unroll it. Ints are summed into a long. Only longs, ints and doubles have aggregates.
+     *
+     * @param cv the class visitor
+     */
+    private void generateSumMethod(ClassVisitor cv) {
+        if (getPredicate() == null)
+            return;
+
+        Type acc = primitive.getSort() == Type.DOUBLE ? Type.DOUBLE_TYPE : Type.LONG_TYPE;
+        int idx = 3 + acc.getSize();
+
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "sum", "()" + acc.getDescriptor(), null, null);
+
+        mv.visitCode();
+
+        /* Define two labels, they will be inserted later. */
+        Label loop = new Label();
+        Label end = new Label();
+
+        /* Stores reference to "data" and size into local variables, so that they are not reloaded in the loop. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ASTORE, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitVarInsn(ISTORE, 2);
+        /* Stores zero into the sum and into the index. */
+        mv.visitInsn(acc == Type.DOUBLE_TYPE ? DCONST_0 : LCONST_0);
+        mv.visitVarInsn(acc.getOpcode(ISTORE), 3);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ISTORE, idx);
+
+        /* Section of the loop, if index is greater or equal to size goto end. */
+        mv.visitLabel(loop);
+        /* Should be called after jump target. */
+        mv.visitFrame(
+            F_FULL,
+            5,
+            new Object[] {
+                className.replace('.', '/'),
+                "[" + descriptor,
+                INTEGER,
+                acc == Type.DOUBLE_TYPE ? DOUBLE : LONG,
+                INTEGER
+            },
+            0,
+            null
+        );
+        mv.visitVarInsn(ILOAD, idx);
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitJumpInsn(IF_ICMPGE, end);
+        /* Pushes the sum and the element, pops them and stores their sum back. */
+        mv.visitVarInsn(acc.getOpcode(ILOAD), 3);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ILOAD, idx);
+        mv.visitInsn(loadOpcode);
+        if (primitive.getSort() == Type.INT)
+            mv.visitInsn(I2L);
+        mv.visitInsn(acc.getOpcode(IADD));
+        mv.visitVarInsn(acc.getOpcode(ISTORE), 3);
+        /* Increments index and goto loop. */
+        mv.visitIincInsn(idx, 1);
+        mv.visitJumpInsn(GOTO, loop);
+
+        /* Section that returns the sum. */
+        mv.visitLabel(end);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        mv.visitVarInsn(acc.getOpcode(ILOAD), 3);
+        mv.visitInsn(acc.getOpcode(IRETURN));
+
+        mv.visitMaxs(4, idx + 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>min</tt> or <tt>max</tt> method as a counted loop over the underlying array that calls
+     * <tt>Math.min</tt> or <tt>Math.max</tt> (intrinsics that compile into branchless code). Only longs, ints and
+     * doubles have aggregates.
+     *
+     * @param cv the class visitor
+     * @param name the name of the method (<tt>min</tt> or <tt>max</tt>)
+     */
+    private void generateMinMaxMethod(ClassVisitor cv, String name) {
+        if (getPredicate() == null)
+            return;
+
+        int idx = 3 + primitive.getSize();
+
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, name, "()" + descriptor, null, null);
+
+        mv.visitCode();
+
+        /* Define three labels, they will be inserted later. */
+        Label notEmpty = new Label();
+        Label loop = new Label();
+        Label end = new Label();
+
+        /* Stores reference to "data" and size into local variables, so that they are not reloaded in the loop. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ASTORE, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitVarInsn(ISTORE, 2);
+
+        /* If size is not zero goto notEmpty. */
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitJumpInsn(IFNE, notEmpty);
+        /* Creates, duplicates, initializes and throws the exception. */
+        mv.visitTypeInsn(NEW, "java/util/NoSuchElementException");
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/util/NoSuchElementException", "<init>", "()V", false);
+        mv.visitInsn(ATHROW);
+
+        /* Section that stores the first element into the result and 1 into the index. */
+        mv.visitLabel(notEmpty);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_FULL, 3, new Object[] {className.replace('.', '/'), "[" + descriptor, INTEGER}, 0, null);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitInsn(ICONST_0);
+        mv.visitInsn(loadOpcode);
+        mv.visitVarInsn(primitive.getOpcode(ISTORE), 3);
+        mv.visitInsn(ICONST_1);
+        mv.visitVarInsn(ISTORE, idx);
+
+        /* Section of the loop, if index is greater or equal to size goto end. */
+        mv.visitLabel(loop);
+        /* Should be called after jump target. */
+        mv.visitFrame(
+            F_FULL,
+            5,
+            new Object[] {className.replace('.', '/'), "[" + descriptor, INTEGER, getFrameType(), INTEGER},
+            0,
+            null
+        );
+        mv.visitVarInsn(ILOAD, idx);
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitJumpInsn(IF_ICMPGE, end);
+        /* Pushes the result and the element, pops them and stores the minimum (maximum) of them back. */
+        mv.visitVarInsn(primitive.getOpcode(ILOAD), 3);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ILOAD, idx);
+        mv.visitInsn(loadOpcode);
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/lang/Math",
+            name,
+            "(" + descriptor + descriptor + ")" + descriptor,
+            false
+        );
+        mv.visitVarInsn(primitive.getOpcode(ISTORE), 3);
+        /* Increments index and goto loop. */
+        mv.visitIincInsn(idx, 1);
+        mv.visitJumpInsn(GOTO, loop);
+
+        /* Section that returns the result. */
+        mv.visitLabel(end);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        mv.visitVarInsn(primitive.getOpcode(ILOAD), 3);
+        mv.visitInsn(primitive.getOpcode(IRETURN));
+
+        mv.visitMaxs(4, idx + 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>count</tt> method as a counted loop over the underlying array that tests every element with
+     * the specified primitive predicate. Only longs, ints and doubles have aggregates.
+     *
+     * @param cv the class visitor
+     */
+    private void generateCountMethod(ClassVisitor cv) {
+        String predicate = getPredicate();
+
+        if (predicate == null)
+            return;
+
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "count", "(L" + predicate + ";)I", null, null);
+
+        mv.visitCode();
+
+        /* Define three labels, they will be inserted later. */
+        Label loop = new Label();
+        Label next = new Label();
+        Label end = new Label();
+
+        /* Checks that the predicate is not null (pops the result). */
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/util/Objects",
+            "requireNonNull",
+            "(Ljava/lang/Object;)Ljava/lang/Object;",
+            false
+        );
+        mv.visitInsn(POP);
+        /* Stores reference to "data" and size into local variables, so that they are not reloaded in the loop. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ASTORE, 2);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitVarInsn(ISTORE, 3);
+        /* Stores zero into the count and into the index. */
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ISTORE, 4);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ISTORE, 5);
+
+        /* Section of the loop, if index is greater or equal to size goto end. */
+        mv.visitLabel(loop);
+        /* Should be called after jump target. */
+        mv.visitFrame(
+            F_FULL,
+            6,
+            new Object[] {className.replace('.', '/'), predicate, "[" + descriptor, INTEGER, INTEGER, INTEGER},
+            0,
+            null
+        );
+        mv.visitVarInsn(ILOAD, 5);
+        mv.visitVarInsn(ILOAD, 3);
+        mv.visitJumpInsn(IF_ICMPGE, end);
+        /* Pushes the predicate and the element, tests the element and if the result is false goto next. */
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitVarInsn(ILOAD, 5);
+        mv.visitInsn(loadOpcode);
+        mv.visitMethodInsn(INVOKEINTERFACE, predicate, "test", "(" + descriptor + ")Z", true);
+        mv.visitJumpInsn(IFEQ, next);
+        /* Increments the count. */
+        mv.visitIincInsn(4, 1);
+
+        /* Section that increments index and goto loop. */
+        mv.visitLabel(next);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        mv.visitIincInsn(5, 1);
+        mv.visitJumpInsn(GOTO, loop);
+
+        /* Section that returns the count. */
+        mv.visitLabel(end);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        mv.visitVarInsn(ILOAD, 4);
+        mv.visitInsn(IRETURN);
+
+        mv.visitMaxs(3, 6);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>forEach</tt> or <tt>forEachIndexed</tt> method as a counted loop over the underlying array (or
+     * its range checked once before the loop) that passes every element to the specified primitive consumer, so that
+     * iteration neither checks the index nor boxes the element. Bytes, shorts and chars are passed to
+     * <tt>IntConsumer</tt> and floats are widened and passed to <tt>DoubleConsumer</tt>, while the indexed consumer of
+     * the typed interface accepts the element as is.
+     *
+     * @param cv the class visitor
+     * @param name the name of the method
+     * @param range whether the method accepts the range (<tt>from</tt> and <tt>to</tt>) of the list
+     * @param indexed whether the consumer accepts the index of the element
+     */
+    private void generateForEachMethod(ClassVisitor cv, String name, boolean range, boolean indexed) {
+        if (getConsumer() == null)
+            return;
+
+        String consumer = indexed ? typedInterface + "$IndexedConsumer" : getConsumer();
+
+        /* The range method keeps the index in "from" and the bound in "to", others keep them after "data". */
+        int action = range ? 3 : 1;
+        int data = range ? 4 : 2;
+        int bound = range ? 2 : 3;
+        int idx = range ? 1 : 4;
+
+        MethodVisitor mv = cv.visitMethod(
+            ACC_PUBLIC,
+            name,
+            (range ? "(II" : "(") + "L" + consumer + ";)V",
+            null,
+            null
+        );
+
+        mv.visitCode();
+
+        /* Define two labels, they will be inserted later. */
+        Label loop = new Label();
+        Label end = new Label();
+
+        /* Checks that the action is not null (pops the result). */
+        mv.visitVarInsn(ALOAD, action);
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/util/Objects",
+            "requireNonNull",
+            "(Ljava/lang/Object;)Ljava/lang/Object;",
+            false
+        );
+        mv.visitInsn(POP);
+
+        if (range) {
+            /* Define two labels, they will be inserted later. */
+            Label l1 = new Label();
+            Label l2 = new Label();
+
+            /* If "from" is less than 0 goto l1. */
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitJumpInsn(IFLT, l1);
+            /* If "to" is greater than size goto l1. */
+            mv.visitVarInsn(ILOAD, 2);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+            mv.visitJumpInsn(IF_ICMPGT, l1);
+            /* If "from" is less or equal to "to" goto l2. */
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitVarInsn(ILOAD, 2);
+            mv.visitJumpInsn(IF_ICMPLE, l2);
+
+            /* Section that throws the exception. */
+            mv.visitLabel(l1);
+            /* Should be called after jump target. */
+            mv.visitFrame(F_SAME, 0, null, 0, null);
+            /* Creates, duplicates, initializes and throws the exception. */
+            mv.visitTypeInsn(NEW, "java/lang/IndexOutOfBoundsException");
+            mv.visitInsn(DUP);
+            mv.visitMethodInsn(INVOKESPECIAL, "java/lang/IndexOutOfBoundsException", "<init>", "()V", false);
+            mv.visitInsn(ATHROW);
+
+            /* Section that stores reference to "data" into the local variable, so it's not reloaded in the loop. */
+            mv.visitLabel(l2);
+            /* Should be called after jump target. */
+            mv.visitFrame(F_SAME, 0, null, 0, null);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+            mv.visitVarInsn(ASTORE, data);
+        }
+        else {
+            /* Stores reference to "data" and size into local variables, so that they are not reloaded in the loop. */
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+            mv.visitVarInsn(ASTORE, data);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+            mv.visitVarInsn(ISTORE, bound);
+            /* Stores zero into the index. */
+            mv.visitInsn(ICONST_0);
+            mv.visitVarInsn(ISTORE, idx);
+        }
+
+        /* Section of the loop, if index is greater or equal to the bound goto end. */
+        mv.visitLabel(loop);
+        /* Should be called after jump target. */
+        mv.visitFrame(
+            F_FULL,
+            5,
+            range
+                ? new Object[] {className.replace('.', '/'), INTEGER, INTEGER, consumer, "[" + descriptor}
+                : new Object[] {className.replace('.', '/'), consumer, "[" + descriptor, INTEGER, INTEGER},
+            0,
+            null
+        );
+        mv.visitVarInsn(ILOAD, idx);
+        mv.visitVarInsn(ILOAD, bound);
+        mv.visitJumpInsn(IF_ICMPGE, end);
+        /* Pushes the action, the index (if the action is indexed) and the element and performs the action. */
+        mv.visitVarInsn(ALOAD, action);
+        if (indexed)
+            mv.visitVarInsn(ILOAD, idx);
+        mv.visitVarInsn(ALOAD, data);
+        mv.visitVarInsn(ILOAD, idx);
+        mv.visitInsn(loadOpcode);
+        if (!indexed && primitive.getSort() == Type.FLOAT)
+            mv.visitInsn(F2D);
+        mv.visitMethodInsn(
+            INVOKEINTERFACE,
+            consumer,
+            "accept",
+            indexed ? "(I" + descriptor + ")V" : "(" + getConsumerElement() + ")V",
+            true
+        );
+        /* Increments index and goto loop. */
+        mv.visitIincInsn(idx, 1);
+        mv.visitJumpInsn(GOTO, loop);
+
+        /* Section that returns void. */
+        mv.visitLabel(end);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(Math.max(3, 2 + primitive.getSize() + (indexed ? 1 : 0)), 5);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>spliterator</tt>, <tt>sum</tt>, <tt>min</tt>, <tt>max</tt>, <tt>count</tt> and
+     * <tt>forEach</tt> methods of the nullable class that delegate to {@link NullableScans}, so that <tt>null</tt>
+     * elements are skipped rather than seen as zeros. Only longs, ints and doubles have aggregates, all types except
+     * booleans have <tt>forEach</tt>.
+     *
+     * @param cv the class visitor
+     */
+    private void generateNullableScanMethods(ClassVisitor cv) {
+        String consumer = getConsumer();
+
+        if (consumer != null) {
+            generateNullableScanMethod(cv, "forEach", "(L" + consumer + ";)V");
+            generateNullableScanMethod(cv, "forEach", "(IIL" + consumer + ";)V");
+            generateNullableScanMethod(cv, "forEachIndexed", "(L" + typedInterface + "$IndexedConsumer;)V");
+        }
+
+        String predicate = getPredicate();
+
+        if (predicate != null) {
+            generateNullableScanMethod(cv, "spliterator", "()L" + getSpliterator() + ";");
+            generateNullableScanMethod(cv, "sum", "()" + (primitive.getSort() == Type.DOUBLE ? "D" : "J"));
+            generateNullableScanMethod(cv, "min", "()" + descriptor);
+            generateNullableScanMethod(cv, "max", "()" + descriptor);
+            generateNullableScanMethod(cv, "count", "(L" + predicate + ";)I");
+        }
+    }
+
+    /**
+     * Generates the method of the nullable class that passes the underlying array, the size, the bitmap of
+     * <tt>null</tt> elements and its own arguments to the static method of {@link NullableScans} with the same name.
+     *
+     * @param cv the class visitor
+     * @param name the name of the method
+     * @param desc the descriptor of the method
+     */
+    private void generateNullableScanMethod(ClassVisitor cv, String name, String desc) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, name, desc, null, null);
+
+        mv.visitCode();
+
+        /* Pushes reference to "data", size and reference to "nulls" onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "nulls", "[J");
+        /* Pushes the arguments onto the stack. */
+        int slot = 1;
+        for (Type arg : Type.getArgumentTypes(desc)) {
+            mv.visitVarInsn(arg.getOpcode(ILOAD), slot);
+            slot += arg.getSize();
+        }
+        /* Calls "INVOKESTATIC" that pops them, scans the array skipping nulls and pushes the result (if any). */
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            PREFIX + "NullableScans",
+            name,
+            "([" + descriptor + "I[J" + desc.substring(1),
+            false
+        );
+        /* Returns the result (if any). */
+        mv.visitInsn(Type.getReturnType(desc).getOpcode(IRETURN));
+
+        mv.visitMaxs(Math.max(3 + slot - 1, 2), slot);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>sort</tt> or <tt>parallelSort</tt> method that sorts the underlying array in place using
+     * <tt>Arrays.sort</tt> (dual-pivot quicksort) or <tt>Arrays.parallelSort</tt>. Only longs and ints are sortable.
+     *
+     * @param cv the class visitor
+     * @param name the name of the method and of the method of <tt>Arrays</tt>
+     */
+    private void generateSortMethod(ClassVisitor cv, String name) {
+        if (!isSortable())
+            return;
+
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, name, "()V", null, null);
+
+        mv.visitCode();
+
+        /* Pushes reference to "data", 0 and size onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Calls "INVOKESTATIC" that pops them and sorts the range of the array. */
+        mv.visitMethodInsn(INVOKESTATIC, "java/util/Arrays", name, "([" + descriptor + "II)V", false);
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(3, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>binarySearch</tt> method that delegates to <tt>Arrays.binarySearch</tt> over the range of the
+     * underlying array. Only longs and ints are sortable.
+     *
+     * @param cv the class visitor
+     */
+    private void generateBinarySearchMethod(ClassVisitor cv) {
+        if (!isSortable())
+            return;
+
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "binarySearch", "(" + descriptor + ")I", null, null);
+
+        mv.visitCode();
+
+        /* Pushes reference to "data", 0, size and the key onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitVarInsn(primitive.getOpcode(ILOAD), 1);
+        /* Calls "INVOKESTATIC" that pops them and pushes back the index of the key. */
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/util/Arrays",
+            "binarySearch",
+            "([" + descriptor + "II" + descriptor + ")I",
+            false
+        );
+        /* Returns the index. */
+        mv.visitInsn(IRETURN);
+
+        mv.visitMaxs(3 + primitive.getSize(), 1 + primitive.getSize());
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>lowerBound</tt> method that finds the index of the first element that is greater or equal to
+     * the key by the binary search over the underlying array. Only longs and ints are sortable.
+     *
+     * @param cv the class visitor
+     */
+    private void generateLowerBoundMethod(ClassVisitor cv) {
+        if (!isSortable())
+            return;
+
+        int dataIdx = 1 + primitive.getSize();
+        int loIdx = dataIdx + 1;
+        int hiIdx = dataIdx + 2;
+        int midIdx = dataIdx + 3;
+
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "lowerBound", "(" + descriptor + ")I", null, null);
+
+        mv.visitCode();
+
+        /* Define three labels, they will be inserted later. */
+        Label loop = new Label();
+        Label right = new Label();
+        Label end = new Label();
+
+        /* Stores reference to "data", 0 as the lower bound, size as the upper bound and 0 as the middle. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ASTORE, dataIdx);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ISTORE, loIdx);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitVarInsn(ISTORE, hiIdx);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ISTORE, midIdx);
+
+        /* Section of the loop, if the lower bound is greater or equal to the upper bound goto end. */
+        mv.visitLabel(loop);
+        /* Should be called after jump target. */
+        mv.visitFrame(
+            F_FULL,
+            6,
+            new Object[] {className.replace('.', '/'), getFrameType(), "[" + descriptor, INTEGER, INTEGER, INTEGER},
+            0,
+            null
+        );
+        mv.visitVarInsn(ILOAD, loIdx);
+        mv.visitVarInsn(ILOAD, hiIdx);
+        mv.visitJumpInsn(IF_ICMPGE, end);
+        /* Stores "(lo + hi) >>> 1" as the middle. */
+        mv.visitVarInsn(ILOAD, loIdx);
+        mv.visitVarInsn(ILOAD, hiIdx);
+        mv.visitInsn(IADD);
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IUSHR);
+        mv.visitVarInsn(ISTORE, midIdx);
+        /* Pushes the middle element and the key, if the element is greater or equal to the key goto right. */
+        mv.visitVarInsn(ALOAD, dataIdx);
+        mv.visitVarInsn(ILOAD, midIdx);
+        mv.visitInsn(loadOpcode);
+        mv.visitVarInsn(primitive.getOpcode(ILOAD), 1);
+        if (primitive.getSort() == Type.LONG) {
+            mv.visitInsn(LCMP);
+            mv.visitJumpInsn(IFGE, right);
+        }
+        else
+            mv.visitJumpInsn(IF_ICMPGE, right);
+        /* Stores "mid + 1" as the lower bound and goto loop. */
+        mv.visitVarInsn(ILOAD, midIdx);
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IADD);
+        mv.visitVarInsn(ISTORE, loIdx);
+        mv.visitJumpInsn(GOTO, loop);
+
+        /* Section that stores the middle as the upper bound and goto loop. */
+        mv.visitLabel(right);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        mv.visitVarInsn(ILOAD, midIdx);
+        mv.visitVarInsn(ISTORE, hiIdx);
+        mv.visitJumpInsn(GOTO, loop);
+
+        /* Section that returns the lower bound. */
+        mv.visitLabel(end);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        mv.visitVarInsn(ILOAD, loIdx);
+        mv.visitInsn(IRETURN);
+
+        mv.visitMaxs(2 * primitive.getSize(), midIdx + 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>writeTo</tt> method that writes the underlying array in bulk using {@link CompactListIO}. The
+     * method of the nullable class throws <tt>IllegalStateException</tt> if the list contains <tt>null</tt> elements,
+     * because the format has no nulls.
+     *
+     * @param cv the class visitor
+     */
+    private void generateWriteToMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(
+            ACC_PUBLIC,
+            "writeTo",
+            "(Ljava/nio/channels/WritableByteChannel;)V",
+            null,
+            new String[] {"java/io/IOException"}
+        );
+
+        mv.visitCode();
+
+        if (nullable) {
+            /* Define the label, it will be inserted later. */
+            Label l1 = new Label();
+
+            /* If "nullCount" field is zero goto l1, otherwise throws the exception (the format has no nulls). */
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "nullCount", "I");
+            mv.visitJumpInsn(IFEQ, l1);
+            /* Creates, duplicates, initializes and throws the exception. */
+            mv.visitTypeInsn(NEW, "java/lang/IllegalStateException");
+            mv.visitInsn(DUP);
+            mv.visitLdcInsn("List contains nulls that can't be written");
+            mv.visitMethodInsn(
+                INVOKESPECIAL,
+                "java/lang/IllegalStateException",
+                "<init>",
+                "(Ljava/lang/String;)V",
+                false
+            );
+            mv.visitInsn(ATHROW);
+
+            /* Section that writes the list. */
+            mv.visitLabel(l1);
+            /* Should be called after jump target. */
+            mv.visitFrame(F_SAME, 0, null, 0, null);
+        }
+
+        /* Pushes the channel, reference to "data" and size onto the stack. */
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Calls "INVOKESTATIC" that pops them and writes the list into the channel. */
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            PREFIX + "CompactListIO",
+            "write",
+            "(Ljava/nio/channels/WritableByteChannel;[" + descriptor + "I)V",
+            false
+        );
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(3, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>readFrom</tt> method that reads elements in bulk using {@link CompactListIO}.
+     *
+     * @param cv the class visitor
+     */
+    private void generateReadFromMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(
+            ACC_PUBLIC,
+            "readFrom",
+            "(Ljava/nio/channels/ReadableByteChannel;)V",
+            null,
+            new String[] {"java/io/IOException"}
+        );
+
+        mv.visitCode();
+
+        /* Pushes the channel and "this" onto the stack. */
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        /* Calls "INVOKESTATIC" that pops them and adds elements read from the channel into the list. */
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            PREFIX + "CompactListIO",
+            "read",
+            "(Ljava/nio/channels/ReadableByteChannel;L" + typedInterface + ";)V",
+            false
+        );
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(2, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>writeExternal</tt> method that delegates to the <tt>writeTo</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateWriteExternalMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(
+            ACC_PUBLIC,
+            "writeExternal",
+            "(Ljava/io/ObjectOutput;)V",
+            null,
+            new String[] {"java/io/IOException"}
+        );
+
+        mv.visitCode();
+
+        /* Pushes "this" and the channel that writes into the output onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            PREFIX + "CompactListIO",
+            "newChannel",
+            "(Ljava/io/DataOutput;)Ljava/nio/channels/WritableByteChannel;",
+            false
+        );
+        /* Calls "INVOKEVIRTUAL" that pops them and writes the list into the channel. */
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            className.replace('.', '/'),
+            "writeTo",
+            "(Ljava/nio/channels/WritableByteChannel;)V",
+            false
+        );
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(2, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>readExternal</tt> method that delegates to the <tt>readFrom</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateReadExternalMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(
+            ACC_PUBLIC,
+            "readExternal",
+            "(Ljava/io/ObjectInput;)V",
+            null,
+            new String[] {"java/io/IOException"}
+        );
+
+        mv.visitCode();
+
+        /* Pushes "this" and the channel that reads from the input onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            PREFIX + "CompactListIO",
+            "newChannel",
+            "(Ljava/io/DataInput;)Ljava/nio/channels/ReadableByteChannel;",
+            false
+        );
+        /* Calls "INVOKEVIRTUAL" that pops them and adds elements read from the channel into the list. */
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            className.replace('.', '/'),
+            "readFrom",
+            "(Ljava/nio/channels/ReadableByteChannel;)V",
+            false
+        );
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(2, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>writeReplace</tt> method that replaces the list by {@link SerializedCompactList}, because the
+     * generated class can't be found by Java serialization.
+     *
+     * @param cv the class visitor
+     */
+    private void generateWriteReplaceMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PRIVATE, "writeReplace", "()Ljava/lang/Object;", null, null);
+
+        mv.visitCode();
+
+        /* Creates and duplicates a new serialized form, pushes the element type and "this" onto the stack. */
+        mv.visitTypeInsn(NEW, PREFIX + "SerializedCompactList");
+        mv.visitInsn(DUP);
+        mv.visitLdcInsn(Type.getObjectType(type));
+        mv.visitVarInsn(ALOAD, 0);
+        /* Initializes the serialized form and returns it. */
+        mv.visitMethodInsn(
+            INVOKESPECIAL,
+            PREFIX + "SerializedCompactList",
+            "<init>",
+            "(Ljava/lang/Class;L" + PREFIX + "CompactList;)V",
+            false
+        );
+        mv.visitInsn(ARETURN);
+
+        mv.visitMaxs(4, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>checkRange</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateCheckRangeMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PRIVATE, "checkRange", "(I)V", null, null);
+
+        mv.visitCode();
+
+        /* Define two labels, they will be inserted later. */
+        Label l1 = new Label();
+        Label l2 = new Label();
+
+        /* Loads index onto the stack. */
+        mv.visitVarInsn(ILOAD, 1);
+        /* If value on top of the stack (index) is less than 0 goto l1. */
+        mv.visitJumpInsn(IFLT, l1);
+        /* Load index and "this" onto the stack. */
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        /* Calls "GETFIELD" that pops "this" from the stack and pushes the field value (size) back. */
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* If index is less than size goto l2. */
+        mv.visitJumpInsn(IF_ICMPLT, l2);
+
+        /* Section that throws the exception. */
+        mv.visitLabel(l1);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        /* Creates a new object and pushes it onto the stack. */
+        mv.visitTypeInsn(NEW, "java/lang/IndexOutOfBoundsException");
+        /* Duplicates the value on top of the stack. */
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/IndexOutOfBoundsException", "<init>", "()V", false);
+        /* Throws the exception. */
+        mv.visitInsn(ATHROW);
+
+        /* Section for correct return. */
+        mv.visitLabel(l2);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        /* Returns void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(2, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>trimToSize</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateTrimToSizeMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "trimToSize", "()V", null, null);
+
+        mv.visitCode();
+
+        /* Define the label, it will be inserted later. */
+        Label l1 = new Label();
+
+        /* Pushes "this" onto the stack and replaces it by the field value (size). */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Pushes "this" onto the stack and replaces it by the reference to "data" and then by the array length. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ARRAYLENGTH);
+        /* If size is greater or equal to array length goto l1. */
+        mv.visitJumpInsn(IF_ICMPGE, l1);
+        /* Load "this" onto the stack twice. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
+        /* Pops "this" from the stack and pushes reference to the "data" back. */
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Pushes "this" onto the stack and replaces it by the field value (size). */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        /* Allocates new array of the size of the list and copies old data into it. */
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/util/Arrays",
+            "copyOf",
+            "(" + "[" + descriptor + "I)" + "[" + descriptor,
+            false
+        );
+        /* Update "data" field. */
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+
+        /* Section for correct return. */
+        mv.visitLabel(l1);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        /* Returns void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(3, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>clear</tt> method that resets the size and keeps the array.
+     *
+     * @param cv the class visitor
+     */
+    private void generateClearMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "clear", "()V", null, null);
+
+        mv.visitCode();
+
+        /* Sets "size" field to zero. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(ICONST_0);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "size", "I");
+
+        if (nullable) {
+            /* Drops the bitmap and sets "nullCount" field to zero. */
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitInsn(ACONST_NULL);
+            mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "nulls", "[J");
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitInsn(ICONST_0);
+            mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "nullCount", "I");
+        }
+
+        /* Returns void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(2, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>addNull</tt> method of the nullable class that stores zero into the array and sets the bit of
+     * the element in the bitmap.
+     *
+     * @param cv the class visitor
+     */
+    private void generateAddNullMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "addNull", "()V", null, null);
+
+        mv.visitCode();
+
+        /* Ensures the capacity for one more element. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IADD);
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "ensureCapacity", "(I)V", false);
+        /* Stores zero into the array, so that the unboxed accessors see the null element as zero. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitInsn(getZeroOpcode());
+        mv.visitInsn(storeOpcode);
+        /* Sets the bit of the element and updates "nulls" field with the bitmap that might be grown. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "nulls", "[J");
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitMethodInsn(INVOKESTATIC, PREFIX + "NullBitmap", "set", "([JI)[J", false);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "nulls", "[J");
+        /* Increments "nullCount" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(DUP);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "nullCount", "I");
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IADD);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "nullCount", "I");
+        /* Increments "size" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(DUP);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IADD);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "size", "I");
+        /* Returns void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(Math.max(3, 2 + primitive.getSize()), 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>isNull</tt> method of the nullable class that checks the bit of the element in the bitmap.
+     *
+     * @param cv the class visitor
+     */
+    private void generateIsNullMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "isNull", "(I)Z", null, null);
+
+        mv.visitCode();
+
+        /* Checks the index. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "checkRange", "(I)V", false);
+        /* Pushes the bitmap and the index onto the stack, checks the bit and returns the result. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "nulls", "[J");
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitMethodInsn(INVOKESTATIC, PREFIX + "NullBitmap", "isSet", "([JI)Z", false);
+        mv.visitInsn(IRETURN);
+
+        mv.visitMaxs(2, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>freeze</tt> method that copies the elements into the array of the size of the list and wraps
+     * it into the frozen class.
+     *
+     * @param cv the class visitor
+     */
+    private void generateFreezeMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "freeze", "()L" + typedInterface + ";", null, null);
+
+        mv.visitCode();
+
+        /* Creates and duplicates a new frozen list. */
+        mv.visitTypeInsn(NEW, frozenClassName);
+        mv.visitInsn(DUP);
+        /* Copies the elements into the new array of the size of the list. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/util/Arrays",
+            "copyOf",
+            "(" + "[" + descriptor + "I)" + "[" + descriptor,
+            false
+        );
+        /* Pushes the size, initializes the frozen list and returns it. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitMethodInsn(INVOKESPECIAL, frozenClassName, "<init>", "([" + descriptor + "I)V", false);
+        mv.visitInsn(ARETURN);
+
+        mv.visitMaxs(4, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>freeze</tt> method of the frozen class that returns the list itself.
+     *
+     * @param cv the class visitor
+     */
+    private void generateFrozenFreezeMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "freeze", "()L" + typedInterface + ";", null, null);
+
+        mv.visitCode();
+
+        /* Returns "this". */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(ARETURN);
+
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>trimToSize</tt> method of the frozen class that does nothing, because the array of the frozen
+     * list is already trimmed.
+     *
+     * @param cv the class visitor
+     */
+    private void generateFrozenTrimToSizeMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "trimToSize", "()V", null, null);
+
+        mv.visitCode();
+
+        /* Returns void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(0, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the method of the frozen class that modifies the list, or the method of the nullable class that can't
+     * skip <tt>null</tt> elements, so it throws <tt>UnsupportedOperationException</tt>.
+     *
+     * @param cv the class visitor
+     * @param name the name of the method
+     * @param desc the descriptor of the method
+     */
+    private void generateUnsupportedMethod(ClassVisitor cv, String name, String desc) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, name, desc, null, null);
+
+        mv.visitCode();
+
+        /* Creates, initializes and throws the exception. */
+        mv.visitTypeInsn(NEW, "java/lang/UnsupportedOperationException");
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/UnsupportedOperationException", "<init>", "()V", false);
+        mv.visitInsn(ATHROW);
+
+        mv.visitMaxs(2, Type.getArgumentsAndReturnSizes(desc) >> 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>trimToSize</tt> method of the pooled class that also returns the old array into the pool.
+     *
+     * @param cv the class visitor
+     */
+    private void generatePooledTrimToSizeMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "trimToSize", "()V", null, null);
+
+        mv.visitCode();
+
+        /* Define the label, it will be inserted later. */
+        Label l1 = new Label();
+
+        /* If size is greater or equal to array length goto l1. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
         mv.visitInsn(ARRAYLENGTH);
-        /* Pushes "minCapacity" onto the stack. */
-        mv.visitInsn(ILOAD_1);
-        /* If array length is greater or equal to "minCapacity" goto l1. */
         mv.visitJumpInsn(IF_ICMPGE, l1);
-        /* Pushes "this" onto the stack. */
-        mv.visitInsn(ALOAD_0);
-        /* Calls "GETFIELD" that pops this from the stack and pushes reference to "data" back. */
+        /* Stores the old array into the local variable 1. */
+        mv.visitVarInsn(ALOAD, 0);
         mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
-        /* Pops reference to "data" from the stack and pushes array length back. */
+        mv.visitVarInsn(ASTORE, 1);
+        /* Allocates new array of the size of the list, copies old data into it and updates "data" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/util/Arrays",
+            "copyOf",
+            "(" + "[" + descriptor + "I)" + "[" + descriptor,
+            false
+        );
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Returns the old array into the pool. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "pool", POOL_DESCRIPTOR);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKEVIRTUAL, PREFIX + "CompactListArrayPool", "release", "(Ljava/lang/Object;)V", false);
+
+        /* Section for correct return. */
+        mv.visitLabel(l1);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        /* Returns void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(3, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>ensureCapacity</tt> method of the pooled class that borrows the new array from the pool and
+     * returns the old one.
+     *
+     * @param cv the class visitor
+     */
+    private void generatePooledEnsureCapacityMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PRIVATE, "ensureCapacity", "(I)V", null, null);
+
+        mv.visitCode();
+
+        /* Define the label, it will be inserted later. */
+        Label l1 = new Label();
+
+        /* If "minCapacity" is less or equal to array length goto l1 (overflow-conscious comparison). */
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ARRAYLENGTH);
+        mv.visitInsn(ISUB);
+        mv.visitJumpInsn(IFLE, l1);
+        /* Stores the old array into the local variable 2. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ASTORE, 2);
+        /* Borrows the array of the new capacity from the pool and stores it into "data" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "pool", POOL_DESCRIPTOR);
+        mv.visitIntInsn(BIPUSH, descriptor.charAt(0));
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 2);
         mv.visitInsn(ARRAYLENGTH);
-        /* Pushes 2 onto the stack. */
-        mv.visitInsn(ICONST_2);
-        /* Pops array length and 2 from the stack and pushes the product back. */
-        mv.visitInsn(IMUL);
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "newCapacity", "(II)I", false);
+        mv.visitMethodInsn(INVOKEVIRTUAL, PREFIX + "CompactListArrayPool", "borrow", "(CI)Ljava/lang/Object;", false);
+        mv.visitTypeInsn(CHECKCAST, "[" + descriptor);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Copies the elements from the old array. */
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "I");
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/lang/System",
+            "arraycopy",
+            "(Ljava/lang/Object;ILjava/lang/Object;II)V",
+            false
+        );
+        /* Returns the old array into the pool. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "pool", POOL_DESCRIPTOR);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitMethodInsn(INVOKEVIRTUAL, PREFIX + "CompactListArrayPool", "release", "(Ljava/lang/Object;)V", false);
+
+        /* Section for correct return. */
+        mv.visitLabel(l1);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        /* Returns void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(6, 3);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>release</tt> method of the pooled class that returns the array into the pool and replaces it
+     * by the empty one.
+     *
+     * @param cv the class visitor
+     */
+    private void generateReleaseMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "release", "()V", null, null);
+
+        mv.visitCode();
+
+        /* Returns the array into the pool. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "pool", POOL_DESCRIPTOR);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitMethodInsn(INVOKEVIRTUAL, PREFIX + "CompactListArrayPool", "release", "(Ljava/lang/Object;)V", false);
+        /* Replaces the array by the empty one. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(ICONST_0);
+        mv.visitIntInsn(NEWARRAY, typeOperand);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Sets "size" field to zero. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(ICONST_0);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "size", "I");
+        /* Returns void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(2, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>ensureCapacity</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateEnsureCapacityMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PRIVATE, "ensureCapacity", "(I)V", null, null);
+
+        mv.visitCode();
+
+        /* Define the label, it will be inserted later. */
+        Label l1 = new Label();
+
         /* Pushes "minCapacity" onto the stack. */
-        mv.visitInsn(ILOAD_1);
-        /* Pops "minCapacity" and produce of array length and 2 from the stack, pushes max value back. */
-        mv.visitMethodInsn(INVOKESTATIC, "java/lang/Math", "max", "(II)I", false);
-        /* Store the produce into variable 2. */
-        mv.visitVarInsn(ISTORE, 2);
-        // TODO: Check integer overflow.
-        /* Load "this" onto the stack twice. */
-        mv.visitInsn(ALOAD_0);
-        mv.visitInsn(ALOAD_0);
+        mv.visitVarInsn(ILOAD, 1);
+        /* Loads "this" onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        /* Calls "GETFIELD" that pops "this" from the stack and pushes reference to "data" back. */
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Calls "ARRAYLENGTH" that pops reference to "data" from the stack and pushes the array length back. */
+        mv.visitInsn(ARRAYLENGTH);
+        /* Pops array length and "minCapacity" and pushes their difference back (overflow-conscious comparison). */
+        mv.visitInsn(ISUB);
+        /* If "minCapacity" is less or equal to array length goto l1. */
+        mv.visitJumpInsn(IFLE, l1);
+        /* Load "this" onto the stack three times. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
         /* Pops "this" from the stack and pushes reference to the "data" back. */
         mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
-        /* Pushes variable 2 onto the stack. */
-        mv.visitInsn(ILOAD_2);
+        /* Duplicates reference to "data" and insert it into stack with position top - 2. */
+        mv.visitInsn(DUP_X1);
+        /* Pops reference to "data" from the stack and pushes array length back. */
+        mv.visitInsn(ARRAYLENGTH);
+        /* Pushes "minCapacity" onto the stack. */
+        mv.visitVarInsn(ILOAD, 1);
+        /* Calls "INVOKESPECIAL" that pops "minCapacity", array length and "this", pushes the new capacity back. */
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "newCapacity", "(II)I", false);
         /* Allocates new array and copies old data into it. */
         mv.visitMethodInsn(INVOKESTATIC, "java/util/Arrays", "copyOf", "(" + "[" + descriptor + "I)" + "[" + descriptor, false);
         /* Update "data" field. */
@@ -381,7 +2512,405 @@ class CompactListGenerator {
         /* Returns void. */
         mv.visitInsn(RETURN);
 
-        mv.visitMaxs(3, 3);
+        mv.visitMaxs(5, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>ensureCapacity</tt> method of the instrumented class that also counts reallocations and copied
+     * bytes and reports them to the monitor.
+     *
+     * @param cv the class visitor
+     */
+    private void generateInstrumentedEnsureCapacityMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PRIVATE, "ensureCapacity", "(I)V", null, null);
+
+        mv.visitCode();
+
+        /* Define the label, it will be inserted later. */
+        Label l1 = new Label();
+
+        /* If "minCapacity" is less or equal to array length goto l1 (overflow-conscious comparison). */
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ARRAYLENGTH);
+        mv.visitInsn(ISUB);
+        mv.visitJumpInsn(IFLE, l1);
+        /* Stores the old capacity into the local variable 2. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ARRAYLENGTH);
+        mv.visitVarInsn(ISTORE, 2);
+        /* Allocates new array of the new capacity, copies old data into it and updates "data" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "newCapacity", "(II)I", false);
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/util/Arrays",
+            "copyOf",
+            "(" + "[" + descriptor + "I)" + "[" + descriptor,
+            false
+        );
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        /* Stores the number of copied bytes (the old capacity in bytes) into the local variable 3. */
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitInsn(I2L);
+        mv.visitLdcInsn((long)getElementBytes());
+        mv.visitInsn(LMUL);
+        mv.visitVarInsn(LSTORE, 3);
+        /* Increments "resizeCount" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(DUP);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "resizeCount", "I");
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IADD);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "resizeCount", "I");
+        /* Adds the number of copied bytes to "bytesCopied" field. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(DUP);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "bytesCopied", "J");
+        mv.visitVarInsn(LLOAD, 3);
+        mv.visitInsn(LADD);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "bytesCopied", "J");
+        /* Reports the reallocation to the monitor. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "monitor", MONITOR_DESCRIPTOR);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ARRAYLENGTH);
+        mv.visitVarInsn(LLOAD, 3);
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            PREFIX + "CompactListMonitor",
+            "onResize",
+            "(L" + PREFIX + "InstrumentedCompactList;IIJ)V",
+            false
+        );
+
+        /* Section for correct return. */
+        mv.visitLabel(l1);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        /* Returns void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(6, 5);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>capacity</tt> method of the instrumented class.
+     *
+     * @param cv the class visitor
+     */
+    private void generateCapacityMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "capacity", "()I", null, null);
+
+        mv.visitCode();
+
+        /* Pushes the length of "data" onto the stack and returns it. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ARRAYLENGTH);
+        mv.visitInsn(IRETURN);
+
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>capacityBytes</tt> method of the instrumented class.
+     *
+     * @param cv the class visitor
+     */
+    private void generateCapacityBytesMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "capacityBytes", "()J", null, null);
+
+        mv.visitCode();
+
+        /* Pushes the length of "data" multiplied by the size of element onto the stack and returns it. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "data", "[" + descriptor);
+        mv.visitInsn(ARRAYLENGTH);
+        mv.visitInsn(I2L);
+        mv.visitLdcInsn((long)getElementBytes());
+        mv.visitInsn(LMUL);
+        mv.visitInsn(LRETURN);
+
+        mv.visitMaxs(4, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the getter of the counter of the instrumented or nullable class.
+     *
+     * @param cv the class visitor
+     * @param name the name of the counter field and the getter
+     * @param desc the type descriptor of the counter (I or J)
+     */
+    private void generateFieldGetter(ClassVisitor cv, String name, String desc) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, name, "()" + desc, null, null);
+
+        mv.visitCode();
+
+        /* Pushes the field value onto the stack and returns it. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), name, desc);
+        mv.visitInsn("J".equals(desc) ? LRETURN : IRETURN);
+
+        mv.visitMaxs(2, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>newCapacity</tt> method that calculates the new capacity according to the growth policy and
+     * caps it near <tt>Integer.MAX_VALUE</tt> (see {@link GrowthPolicy#newCapacity(int, int)}).
+     *
+     * @param cv the class visitor
+     */
+    private void generateNewCapacityMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PRIVATE, "newCapacity", "(II)I", null, null);
+
+        mv.visitCode();
+
+        /* Define the label, it will be inserted later. */
+        Label l1 = new Label();
+
+        /* If "minCapacity" is not negative (hasn't overflowed) goto l1. */
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitJumpInsn(IFGE, l1);
+        /* Creates, duplicates, initializes and throws the error. */
+        mv.visitTypeInsn(NEW, "java/lang/OutOfMemoryError");
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/OutOfMemoryError", "<init>", "()V", false);
+        mv.visitInsn(ATHROW);
+
+        /* Section that calculates the new capacity. */
+        mv.visitLabel(l1);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+
+        /* Pushes the new capacity calculated according to the growth policy as a long value onto the stack. */
+        switch (growthPolicy.getKind()) {
+            case DOUBLING:
+                /* Pushes "oldCapacity" as a long and 1, pops them and pushes "oldCapacity << 1" back. */
+                mv.visitVarInsn(ILOAD, 1);
+                mv.visitInsn(I2L);
+                mv.visitInsn(ICONST_1);
+                mv.visitInsn(LSHL);
+                break;
+
+            case ONE_AND_HALF:
+                /* Pushes "oldCapacity" and "oldCapacity >> 1" as longs, pops them and pushes their sum back. */
+                mv.visitVarInsn(ILOAD, 1);
+                mv.visitInsn(I2L);
+                mv.visitVarInsn(ILOAD, 1);
+                mv.visitInsn(ICONST_1);
+                mv.visitInsn(ISHR);
+                mv.visitInsn(I2L);
+                mv.visitInsn(LADD);
+                break;
+
+            case FIXED_INCREMENT:
+                /* Pushes "oldCapacity" and increment as longs, pops them and pushes their sum back. */
+                mv.visitVarInsn(ILOAD, 1);
+                mv.visitInsn(I2L);
+                mv.visitLdcInsn((long)growthPolicy.getIncrement());
+                mv.visitInsn(LADD);
+                break;
+
+            default:
+                /* Pushes "minCapacity" as a long. */
+                mv.visitVarInsn(ILOAD, 2);
+                mv.visitInsn(I2L);
+        }
+
+        /* Pushes the maximum capacity, pops it and the new capacity and pushes the minimum of them back. */
+        mv.visitLdcInsn((long)GrowthPolicy.MAX_CAPACITY);
+        mv.visitMethodInsn(INVOKESTATIC, "java/lang/Math", "min", "(JJ)J", false);
+        /* Converts the capped capacity into an integer. */
+        mv.visitInsn(L2I);
+        /* Pushes "minCapacity", pops it and the capped capacity and pushes the maximum of them back. */
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitMethodInsn(INVOKESTATIC, "java/lang/Math", "max", "(II)I", false);
+        /* Returns the new capacity. */
+        mv.visitInsn(IRETURN);
+
+        mv.visitMaxs(4, 3);
         mv.visitEnd();
     }
+
+    /**
+     * Returns the name of the primitive predicate used by the generated <tt>count</tt> method.
+     *
+     * @return the name of the primitive predicate or <tt>null</tt> if the type has no aggregates
+     */
+    private String getPredicate() {
+        switch (primitive.getSort()) {
+            case Type.LONG:
+                return "java/util/function/LongPredicate";
+
+            case Type.INT:
+                return "java/util/function/IntPredicate";
+
+            case Type.DOUBLE:
+                return "java/util/function/DoublePredicate";
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the name of the primitive spliterator returned by the generated <tt>spliterator</tt> method.
+     *
+     * @return the name of the primitive spliterator or <tt>null</tt> if the type has no primitive spliterator
+     */
+    private String getSpliterator() {
+        switch (primitive.getSort()) {
+            case Type.LONG:
+                return "java/util/Spliterator$OfLong";
+
+            case Type.INT:
+                return "java/util/Spliterator$OfInt";
+
+            case Type.DOUBLE:
+                return "java/util/Spliterator$OfDouble";
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the name of the primitive consumer used by the generated <tt>forEach</tt> method. The JDK has no
+     * consumers of bytes, shorts, chars and floats, so they're passed to the consumers of the wider types.
+     *
+     * @return the name of the primitive consumer or <tt>null</tt> if the type has no primitive consumer
+     */
+    private String getConsumer() {
+        switch (primitive.getSort()) {
+            case Type.LONG:
+                return "java/util/function/LongConsumer";
+
+            case Type.INT:
+            case Type.SHORT:
+            case Type.BYTE:
+            case Type.CHAR:
+                return "java/util/function/IntConsumer";
+
+            case Type.DOUBLE:
+            case Type.FLOAT:
+                return "java/util/function/DoubleConsumer";
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the type descriptor of the element accepted by the primitive consumer (see {@link #getConsumer()}).
+     *
+     * @return the type descriptor of the element accepted by the primitive consumer
+     */
+    private String getConsumerElement() {
+        switch (primitive.getSort()) {
+            case Type.LONG:
+                return "J";
+
+            case Type.DOUBLE:
+            case Type.FLOAT:
+                return "D";
+
+            default:
+                return "I";
+        }
+    }
+
+    /**
+     * Returns <tt>true</tt> if the generated class has <tt>sort</tt>, <tt>binarySearch</tt> and <tt>lowerBound</tt>
+     * methods.
+     *
+     * @return <tt>true</tt> if the type is long or int
+     */
+    private boolean isSortable() {
+        return primitive.getSort() == Type.LONG || primitive.getSort() == Type.INT;
+    }
+
+    /**
+     * Returns the opcode that pushes zero of the primitive onto the stack.
+     *
+     * @return the opcode that pushes zero of the primitive
+     */
+    private int getZeroOpcode() {
+        switch (primitive.getSort()) {
+            case Type.LONG:
+                return LCONST_0;
+
+            case Type.FLOAT:
+                return FCONST_0;
+
+            case Type.DOUBLE:
+                return DCONST_0;
+
+            default:
+                return ICONST_0;
+        }
+    }
+
+    /**
+     * Returns the type of the primitive in stack map frames.
+     *
+     * @return the type of the primitive in stack map frames
+     */
+    private Integer getFrameType() {
+        switch (primitive.getSort()) {
+            case Type.LONG:
+                return LONG;
+
+            case Type.FLOAT:
+                return FLOAT;
+
+            case Type.DOUBLE:
+                return DOUBLE;
+
+            default:
+                return INTEGER;
+        }
+    }
+
+    /**
+     * Returns the size of the primitive in bytes.
+     *
+     * @return the size of the primitive in bytes
+     */
+    private int getElementBytes() {
+        switch (primitive.getSort()) {
+            case Type.BYTE:
+                return Byte.BYTES;
+
+            case Type.CHAR:
+                return Character.BYTES;
+
+            case Type.SHORT:
+                return Short.BYTES;
+
+            case Type.INT:
+                return Integer.BYTES;
+
+            case Type.FLOAT:
+                return Float.BYTES;
+
+            default:
+                return Long.BYTES;
+        }
+    }
 }
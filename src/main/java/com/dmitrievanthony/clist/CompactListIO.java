@@ -0,0 +1,504 @@
+package com.dmitrievanthony.clist;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The binary format of compact lists of primitives. A list is written as the type tag (1 byte), the number of
+ * elements (4 bytes) and the elements themselves, all in the little-endian byte order. Booleans are packed into bits
+ * of 64-bit words, so that the payload of a list of booleans takes <tt>ceil(size / 64)</tt> words. The elements are
+ * moved between the backing arrays and the channel in bulk through views of a byte buffer.
+ * <p>
+ * The methods of this class are called by the classes generated by {@link CompactListGenerator} and are not intended
+ * to be used directly, use {@link LongCompactList#writeTo(WritableByteChannel)} and
+ * {@link LongCompactList#readFrom(ReadableByteChannel)} (and the same methods of other typed lists) instead.
+ */
+public final class CompactListIO {
+    /** The type tag of a list of bytes. */
+    static final byte BYTE = 1;
+
+    /** The type tag of a list of chars. */
+    static final byte CHAR = 2;
+
+    /** The type tag of a list of shorts. */
+    static final byte SHORT = 3;
+
+    /** The type tag of a list of ints. */
+    static final byte INT = 4;
+
+    /** The type tag of a list of longs. */
+    static final byte LONG = 5;
+
+    /** The type tag of a list of floats. */
+    static final byte FLOAT = 6;
+
+    /** The type tag of a list of doubles. */
+    static final byte DOUBLE = 7;
+
+    /** The type tag of a list of booleans. */
+    static final byte BOOLEAN = 8;
+
+    /** The size of the header (the type tag and the number of elements). */
+    private static final int HEADER_SIZE = 5;
+
+    /** The maximum size of the buffer used to move elements between arrays and channels. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** The function that copies a chunk of longs into the buffer. */
+    private static final ChunkCopier<long[]> LONGS_PUT = (buf, arr, off, len) -> buf.asLongBuffer().put(arr, off, len);
+
+    /** The function that copies a chunk of longs from the buffer. */
+    private static final ChunkCopier<long[]> LONGS_GET = (buf, arr, off, len) -> buf.asLongBuffer().get(arr, off, len);
+
+    /** Prevents instantiation of the utility class. */
+    private CompactListIO() {
+        // No-op.
+    }
+
+    /**
+     * Writes the specified elements of a list of bytes into the specified channel.
+     *
+     * @param channel the channel to write to
+     * @param data the array that keeps the elements
+     * @param size the number of elements to be written
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(WritableByteChannel channel, byte[] data, int size) throws IOException {
+        ChunkCopier<byte[]> put = (buf, arr, off, len) -> buf.put(arr, off, len);
+
+        writeChunks(channel, BYTE, size, data, size, Byte.BYTES, put);
+    }
+
+    /**
+     * Writes the specified elements of a list of chars into the specified channel.
+     *
+     * @param channel the channel to write to
+     * @param data the array that keeps the elements
+     * @param size the number of elements to be written
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(WritableByteChannel channel, char[] data, int size) throws IOException {
+        ChunkCopier<char[]> put = (buf, arr, off, len) -> buf.asCharBuffer().put(arr, off, len);
+
+        writeChunks(channel, CHAR, size, data, size, Character.BYTES, put);
+    }
+
+    /**
+     * Writes the specified elements of a list of shorts into the specified channel.
+     *
+     * @param channel the channel to write to
+     * @param data the array that keeps the elements
+     * @param size the number of elements to be written
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(WritableByteChannel channel, short[] data, int size) throws IOException {
+        ChunkCopier<short[]> put = (buf, arr, off, len) -> buf.asShortBuffer().put(arr, off, len);
+
+        writeChunks(channel, SHORT, size, data, size, Short.BYTES, put);
+    }
+
+    /**
+     * Writes the specified elements of a list of ints into the specified channel.
+     *
+     * @param channel the channel to write to
+     * @param data the array that keeps the elements
+     * @param size the number of elements to be written
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(WritableByteChannel channel, int[] data, int size) throws IOException {
+        ChunkCopier<int[]> put = (buf, arr, off, len) -> buf.asIntBuffer().put(arr, off, len);
+
+        writeChunks(channel, INT, size, data, size, Integer.BYTES, put);
+    }
+
+    /**
+     * Writes the specified elements of a list of longs into the specified channel.
+     *
+     * @param channel the channel to write to
+     * @param data the array that keeps the elements
+     * @param size the number of elements to be written
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(WritableByteChannel channel, long[] data, int size) throws IOException {
+        writeChunks(channel, LONG, size, data, size, Long.BYTES, LONGS_PUT);
+    }
+
+    /**
+     * Writes the specified elements of a list of floats into the specified channel.
+     *
+     * @param channel the channel to write to
+     * @param data the array that keeps the elements
+     * @param size the number of elements to be written
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(WritableByteChannel channel, float[] data, int size) throws IOException {
+        ChunkCopier<float[]> put = (buf, arr, off, len) -> buf.asFloatBuffer().put(arr, off, len);
+
+        writeChunks(channel, FLOAT, size, data, size, Float.BYTES, put);
+    }
+
+    /**
+     * Writes the specified elements of a list of doubles into the specified channel.
+     *
+     * @param channel the channel to write to
+     * @param data the array that keeps the elements
+     * @param size the number of elements to be written
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(WritableByteChannel channel, double[] data, int size) throws IOException {
+        ChunkCopier<double[]> put = (buf, arr, off, len) -> buf.asDoubleBuffer().put(arr, off, len);
+
+        writeChunks(channel, DOUBLE, size, data, size, Double.BYTES, put);
+    }
+
+    /**
+     * Writes the specified list of booleans packed into words into the specified channel.
+     *
+     * @param channel the channel to write to
+     * @param words the words that keep the elements
+     * @param size the number of elements to be written
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeBits(WritableByteChannel channel, long[] words, int size) throws IOException {
+        writeChunks(channel, BOOLEAN, size, words, (int)((size + 63L) >>> 6), Long.BYTES, LONGS_PUT);
+    }
+
+    /**
+     * Reads a list of bytes from the specified channel and adds its elements into the specified list.
+     *
+     * @param channel the channel to read from
+     * @param list the list to add elements to
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of bytes
+     */
+    public static void read(ReadableByteChannel channel, ByteCompactList list) throws IOException {
+        int size = readHeader(channel, BYTE);
+        byte[] data = new byte[size];
+        ChunkCopier<byte[]> get = (buf, arr, off, len) -> buf.get(arr, off, len);
+
+        readChunks(channel, data, size, Byte.BYTES, get);
+        list.addAll(data, 0, size);
+    }
+
+    /**
+     * Reads a list of chars from the specified channel and adds its elements into the specified list.
+     *
+     * @param channel the channel to read from
+     * @param list the list to add elements to
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of chars
+     */
+    public static void read(ReadableByteChannel channel, CharacterCompactList list) throws IOException {
+        int size = readHeader(channel, CHAR);
+        char[] data = new char[size];
+        ChunkCopier<char[]> get = (buf, arr, off, len) -> buf.asCharBuffer().get(arr, off, len);
+
+        readChunks(channel, data, size, Character.BYTES, get);
+        list.addAll(data, 0, size);
+    }
+
+    /**
+     * Reads a list of shorts from the specified channel and adds its elements into the specified list.
+     *
+     * @param channel the channel to read from
+     * @param list the list to add elements to
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of shorts
+     */
+    public static void read(ReadableByteChannel channel, ShortCompactList list) throws IOException {
+        int size = readHeader(channel, SHORT);
+        short[] data = new short[size];
+        ChunkCopier<short[]> get = (buf, arr, off, len) -> buf.asShortBuffer().get(arr, off, len);
+
+        readChunks(channel, data, size, Short.BYTES, get);
+        list.addAll(data, 0, size);
+    }
+
+    /**
+     * Reads a list of ints from the specified channel and adds its elements into the specified list.
+     *
+     * @param channel the channel to read from
+     * @param list the list to add elements to
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of ints
+     */
+    public static void read(ReadableByteChannel channel, IntegerCompactList list) throws IOException {
+        int size = readHeader(channel, INT);
+        int[] data = new int[size];
+        ChunkCopier<int[]> get = (buf, arr, off, len) -> buf.asIntBuffer().get(arr, off, len);
+
+        readChunks(channel, data, size, Integer.BYTES, get);
+        list.addAll(data, 0, size);
+    }
+
+    /**
+     * Reads a list of longs from the specified channel and adds its elements into the specified list.
+     *
+     * @param channel the channel to read from
+     * @param list the list to add elements to
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of longs
+     */
+    public static void read(ReadableByteChannel channel, LongCompactList list) throws IOException {
+        int size = readHeader(channel, LONG);
+        long[] data = new long[size];
+
+        readChunks(channel, data, size, Long.BYTES, LONGS_GET);
+        list.addAll(data, 0, size);
+    }
+
+    /**
+     * Reads a list of floats from the specified channel and adds its elements into the specified list.
+     *
+     * @param channel the channel to read from
+     * @param list the list to add elements to
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of floats
+     */
+    public static void read(ReadableByteChannel channel, FloatCompactList list) throws IOException {
+        int size = readHeader(channel, FLOAT);
+        float[] data = new float[size];
+        ChunkCopier<float[]> get = (buf, arr, off, len) -> buf.asFloatBuffer().get(arr, off, len);
+
+        readChunks(channel, data, size, Float.BYTES, get);
+        list.addAll(data, 0, size);
+    }
+
+    /**
+     * Reads a list of doubles from the specified channel and adds its elements into the specified list.
+     *
+     * @param channel the channel to read from
+     * @param list the list to add elements to
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of doubles
+     */
+    public static void read(ReadableByteChannel channel, DoubleCompactList list) throws IOException {
+        int size = readHeader(channel, DOUBLE);
+        double[] data = new double[size];
+        ChunkCopier<double[]> get = (buf, arr, off, len) -> buf.asDoubleBuffer().get(arr, off, len);
+
+        readChunks(channel, data, size, Double.BYTES, get);
+        list.addAll(data, 0, size);
+    }
+
+    /**
+     * Reads a list of booleans from the specified channel and adds its elements into the specified list.
+     *
+     * @param channel the channel to read from
+     * @param list the list to add elements to
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of booleans
+     */
+    static void readBits(ReadableByteChannel channel, BitSetCompactList list) throws IOException {
+        int size = readHeader(channel, BOOLEAN);
+        int words = (int)((size + 63L) >>> 6);
+        long[] data = new long[words];
+
+        readChunks(channel, data, words, Long.BYTES, LONGS_GET);
+        list.addWords(data, words, size);
+    }
+
+    /**
+     * Returns the channel that writes bytes into the specified output, so that a list can be written into the output
+     * of <tt>Externalizable</tt> in the same binary format.
+     *
+     * @param out the output
+     * @return the channel that writes bytes into the specified output
+     */
+    public static WritableByteChannel newChannel(DataOutput out) {
+        return new WritableByteChannel() {
+            /** {@inheritDoc} */
+            @Override public int write(ByteBuffer src) throws IOException {
+                int len = src.remaining();
+                out.write(src.array(), src.arrayOffset() + src.position(), len);
+                src.position(src.limit());
+
+                return len;
+            }
+
+            /** {@inheritDoc} */
+            @Override public boolean isOpen() {
+                return true;
+            }
+
+            /** {@inheritDoc} */
+            @Override public void close() {
+                // No-op.
+            }
+        };
+    }
+
+    /**
+     * Returns the channel that reads bytes from the specified input, so that a list can be read from the input of
+     * <tt>Externalizable</tt> in the same binary format.
+     *
+     * @param in the input
+     * @return the channel that reads bytes from the specified input
+     */
+    public static ReadableByteChannel newChannel(DataInput in) {
+        return new ReadableByteChannel() {
+            /** {@inheritDoc} */
+            @Override public int read(ByteBuffer dst) throws IOException {
+                int len = dst.remaining();
+                in.readFully(dst.array(), dst.arrayOffset() + dst.position(), len);
+                dst.position(dst.limit());
+
+                return len;
+            }
+
+            /** {@inheritDoc} */
+            @Override public boolean isOpen() {
+                return true;
+            }
+
+            /** {@inheritDoc} */
+            @Override public void close() {
+                // No-op.
+            }
+        };
+    }
+
+    /**
+     * Writes the header of a list followed by the specified elements into the specified channel, moving the elements
+     * through the buffer in chunks.
+     *
+     * @param channel the channel to write to
+     * @param type the type tag
+     * @param size the number of elements of the list
+     * @param data the array that keeps the elements (or the words of booleans)
+     * @param len the number of array elements to be written
+     * @param elementBytes the size of an array element in bytes
+     * @param put the function that copies a chunk of the array into the buffer
+     * @param <A> the type of the array
+     * @throws IOException if an I/O error occurs
+     */
+    private static <A> void writeChunks(WritableByteChannel channel, byte type, int size, A data, int len,
+        int elementBytes, ChunkCopier<A> put) throws IOException {
+        ByteBuffer buf = newBuffer(HEADER_SIZE + (long)len * elementBytes).put(type).putInt(size);
+
+        int off = 0;
+        do {
+            int chunk = Math.min(len - off, buf.remaining() / elementBytes);
+            int pos = buf.position();
+            put.copy(buf, data, off, chunk);
+            buf.position(pos + chunk * elementBytes);
+            off += chunk;
+            flush(channel, buf);
+        }
+        while (off < len);
+    }
+
+    /**
+     * Reads the specified number of elements that follow the header from the specified channel into the specified
+     * array, moving the elements through the buffer in chunks.
+     *
+     * @param channel the channel to read from
+     * @param data the array to read elements to
+     * @param len the number of array elements to be read
+     * @param elementBytes the size of an array element in bytes
+     * @param get the function that copies a chunk of the buffer into the array
+     * @param <A> the type of the array
+     * @throws IOException if an I/O error occurs
+     */
+    private static <A> void readChunks(ReadableByteChannel channel, A data, int len, int elementBytes,
+        ChunkCopier<A> get) throws IOException {
+        ByteBuffer buf = newBuffer((long)len * elementBytes);
+        int chunkLen = buf.capacity() / elementBytes;
+
+        for (int off = 0; off < len; ) {
+            int chunk = Math.min(len - off, chunkLen);
+            fill(channel, buf, chunk * elementBytes);
+            get.copy(buf, data, off, chunk);
+            off += chunk;
+        }
+    }
+
+    /**
+     * Reads the header of a list from the specified channel and checks the type tag.
+     *
+     * @param channel the channel to read from
+     * @param type the expected type tag
+     * @return the number of elements of the list
+     * @throws IOException if an I/O error occurs or the header is not valid
+     */
+    private static int readHeader(ReadableByteChannel channel, byte type) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        fill(channel, buf, HEADER_SIZE);
+
+        byte actualType = buf.get();
+        int size = buf.getInt();
+
+        if (actualType != type)
+            throw new IOException("Unexpected type tag " + actualType + ", expected " + type);
+
+        if (size < 0)
+            throw new IOException("Unexpected size " + size);
+
+        return size;
+    }
+
+    /**
+     * Allocates the little-endian buffer that is large enough to keep the specified number of bytes, but not larger
+     * than {@link #BUFFER_SIZE}.
+     *
+     * @param bytes the number of bytes
+     * @return the little-endian buffer
+     */
+    private static ByteBuffer newBuffer(long bytes) {
+        return ByteBuffer.allocate((int)Math.min(bytes, BUFFER_SIZE)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes the content of the specified buffer into the specified channel and clears the buffer.
+     *
+     * @param channel the channel to write to
+     * @param buf the buffer
+     * @throws IOException if an I/O error occurs
+     */
+    private static void flush(WritableByteChannel channel, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining())
+            channel.write(buf);
+
+        buf.clear();
+    }
+
+    /**
+     * Reads exactly the specified number of bytes from the specified channel into the specified buffer and flips the
+     * buffer.
+     *
+     * @param channel the channel to read from
+     * @param buf the buffer
+     * @param len the number of bytes to be read
+     * @throws IOException if an I/O error occurs
+     * @throws EOFException if the channel reaches the end of stream before the bytes are read
+     */
+    private static void fill(ReadableByteChannel channel, ByteBuffer buf, int len) throws IOException {
+        buf.clear();
+        buf.limit(len);
+
+        while (buf.hasRemaining()) {
+            if (channel.read(buf) < 0)
+                throw new EOFException();
+        }
+
+        buf.flip();
+    }
+
+    /**
+     * The function that copies a chunk of elements between the little-endian buffer, starting at its position, and the
+     * array through a view of the buffer.
+     *
+     * @param <A> the type of the array
+     */
+    @FunctionalInterface
+    private interface ChunkCopier<A> {
+        /**
+         * Copies the chunk of elements.
+         *
+         * @param buf the buffer
+         * @param arr the array
+         * @param off the position of the chunk in the array
+         * @param len the number of elements in the chunk
+         */
+        void copy(ByteBuffer buf, A arr, int off, int len);
+    }
+}
@@ -0,0 +1,184 @@
+package com.dmitrievanthony.clist;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Collector of statistics of lists produced by instrumented factories. The factory constructed with a monitor (see
+ * {@link CompactListFactory#CompactListFactory(GrowthPolicy, boolean, CompactListMonitor)}) produces lists of the
+ * generated classes that implement {@link InstrumentedCompactList} and report their construction and reallocations to
+ * the monitor. The monitor keeps weak references to the lists, so that the size and capacity of live lists are
+ * aggregated when the statistics are requested, while the number of reallocations and copied bytes are accumulated
+ * over all lists including the collected ones.
+ * <p>
+ * The monitor is an MXBean that can be registered in the platform MBean server by {@link #registerMBean(String)}.
+ * Optionally the monitor commits a JFR event on every reallocation. The size and capacity of lists are read without
+ * synchronization, so the statistics of lists modified concurrently are approximate.
+ */
+public class CompactListMonitor implements CompactListMonitorMXBean {
+    /** Whether the JFR event is committed on every reallocation. */
+    private final boolean resizeEvents;
+
+    /** The weak references to live lists. */
+    private final Set<Reference<InstrumentedCompactList<?>>> lists = ConcurrentHashMap.newKeySet();
+
+    /** The queue of references to collected lists. */
+    private final ReferenceQueue<InstrumentedCompactList<?>> collected = new ReferenceQueue<>();
+
+    /** The number of reallocations. */
+    private final LongAdder resizes = new LongAdder();
+
+    /** The number of bytes copied by reallocations. */
+    private final LongAdder bytesCopied = new LongAdder();
+
+    /**
+     * Constructs a new instance of <tt>CompactListMonitor</tt> that doesn't commit JFR events.
+     */
+    public CompactListMonitor() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new instance of <tt>CompactListMonitor</tt>.
+     *
+     * @param resizeEvents whether the JFR event <tt>com.dmitrievanthony.clist.Resize</tt> is committed on every
+     * reallocation, requires a JVM with JFR
+     * @throws IllegalStateException if resize events are requested, but the JVM has no JFR
+     */
+    public CompactListMonitor(boolean resizeEvents) {
+        if (resizeEvents) {
+            try {
+                Class.forName("jdk.jfr.Event");
+            }
+            catch (ClassNotFoundException e) {
+                throw new IllegalStateException("JFR is not available", e);
+            }
+        }
+
+        this.resizeEvents = resizeEvents;
+    }
+
+    /**
+     * Registers the list, called by the constructor of the generated class.
+     *
+     * @param list the list
+     */
+    public void onConstruct(InstrumentedCompactList<?> list) {
+        expungeCollected();
+
+        lists.add(new WeakReference<>(list, collected));
+    }
+
+    /**
+     * Records the reallocation of the list, called by the generated <tt>ensureCapacity</tt> method.
+     *
+     * @param list the list
+     * @param oldCapacity the capacity before the reallocation
+     * @param newCapacity the capacity after the reallocation
+     * @param bytesCopied the number of bytes copied
+     */
+    public void onResize(InstrumentedCompactList<?> list, int oldCapacity, int newCapacity, long bytesCopied) {
+        resizes.increment();
+        this.bytesCopied.add(bytesCopied);
+
+        if (resizeEvents)
+            CompactListResizeEvent.commit(list, oldCapacity, newCapacity, bytesCopied);
+    }
+
+    /**
+     * Returns the statistics of all lists registered in this monitor.
+     *
+     * @return the statistics
+     */
+    public CompactListStats stats() {
+        expungeCollected();
+
+        long cnt = 0;
+        long size = 0;
+        long capacity = 0;
+        long capacityBytes = 0;
+
+        for (Reference<InstrumentedCompactList<?>> ref : lists) {
+            InstrumentedCompactList<?> list = ref.get();
+
+            if (list != null) {
+                cnt++;
+                size += list.size();
+                capacity += list.capacity();
+                capacityBytes += list.capacityBytes();
+            }
+        }
+
+        return new CompactListStats(cnt, size, capacity, capacityBytes, resizes.sum(), bytesCopied.sum());
+    }
+
+    /**
+     * Registers this monitor in the platform MBean server with the name
+     * <tt>com.dmitrievanthony.clist:type=CompactListMonitor,name=&lt;name&gt;</tt>.
+     *
+     * @param name the name of the monitor
+     * @return the object name of the registered MBean
+     * @throws IllegalStateException if the MBean can't be registered
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objName = new ObjectName(
+                "com.dmitrievanthony.clist:type=CompactListMonitor,name=" + ObjectName.quote(name)
+            );
+
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objName);
+
+            return objName;
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Failed to register MBean " + name, e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getListCount() {
+        return stats().lists();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getSize() {
+        return stats().size();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getCapacity() {
+        return stats().capacity();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getCapacityBytes() {
+        return stats().capacityBytes();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getResizeCount() {
+        return resizes.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getBytesCopied() {
+        return bytesCopied.sum();
+    }
+
+    /**
+     * Removes the references to collected lists.
+     */
+    private void expungeCollected() {
+        Reference<? extends InstrumentedCompactList<?>> ref;
+
+        while ((ref = collected.poll()) != null)
+            lists.remove(ref);
+    }
+}
@@ -0,0 +1,48 @@
+package com.dmitrievanthony.clist;
+
+/**
+ * The management interface of {@link CompactListMonitor}.
+ */
+public interface CompactListMonitorMXBean {
+    /**
+     * Returns the number of live lists.
+     *
+     * @return the number of live lists
+     */
+    long getListCount();
+
+    /**
+     * Returns the total number of elements in live lists.
+     *
+     * @return the total number of elements
+     */
+    long getSize();
+
+    /**
+     * Returns the total capacity of live lists in elements.
+     *
+     * @return the total capacity in elements
+     */
+    long getCapacity();
+
+    /**
+     * Returns the total capacity of live lists in bytes.
+     *
+     * @return the total capacity in bytes
+     */
+    long getCapacityBytes();
+
+    /**
+     * Returns the number of reallocations of all lists since the monitor was constructed.
+     *
+     * @return the number of reallocations
+     */
+    long getResizeCount();
+
+    /**
+     * Returns the number of bytes copied by reallocations of all lists since the monitor was constructed.
+     *
+     * @return the number of bytes copied
+     */
+    long getBytesCopied();
+}
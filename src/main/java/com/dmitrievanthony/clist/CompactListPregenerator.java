@@ -0,0 +1,112 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generates the classes of lists of primitives at build time and writes them as <tt>.class</tt> files, so that they
+ * are packaged into the jar. {@link CompactListFactory} loads the packaged classes first and falls back to runtime
+ * generation only for shapes that were not generated at build time (non-default growth policies and struct lists), so
+ * that the application starts without running ASM and the classes can be archived by class data sharing.
+ * <p>
+ * Generates array lists with the default growth policy, frozen lists, segmented lists and off-heap lists for
+ * <tt>Byte</tt>, <tt>Character</tt>, <tt>Short</tt>, <tt>Integer</tt>, <tt>Long</tt>, <tt>Float</tt> and
+ * <tt>Double</tt>. It's run by the build in the <tt>prepare-package</tt> phase, after the tests, and writes into its
+ * own directory that only the jar includes, so that the compiled classes used by the tests never contain pregenerated
+ * classes and the tests cover runtime generation even if the build isn't cleaned.
+ */
+public final class CompactListPregenerator {
+    /** The element types of generated lists. */
+    private static final Class<?>[] ELEMENT_TYPES = {
+        Byte.class,
+        Character.class,
+        Short.class,
+        Integer.class,
+        Long.class,
+        Float.class,
+        Double.class
+    };
+
+    /**
+     * Constructs the new instance of <tt>CompactListPregenerator</tt>.
+     */
+    private CompactListPregenerator() {
+        // Utility class.
+    }
+
+    /**
+     * Generates the classes into the specified output directory.
+     *
+     * @param args the output directory (the root of the class path)
+     * @throws IOException if a class file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1)
+            throw new IllegalArgumentException("Usage: CompactListPregenerator <output directory>");
+
+        generate(Paths.get(args[0]));
+    }
+
+    /**
+     * Generates the classes into the specified output directory.
+     *
+     * @param dir the output directory (the root of the class path)
+     * @throws IOException if a class file cannot be written
+     */
+    static void generate(Path dir) throws IOException {
+        CompactListFactory factory = new CompactListFactory();
+
+        for (Class<?> elementType : ELEMENT_TYPES) {
+            String name = CompactListFactory.PREFIX + elementType.getSimpleName();
+
+            CompactListGenerator generator = factory.getCompactListGenerator(elementType);
+            write(dir, name + CompactListFactory.SUFFIX, generator.generate());
+            write(
+                dir,
+                name + CompactListFactory.SUFFIX + CompactListGenerator.FACTORY_SUFFIX,
+                generator.generateFactory()
+            );
+            write(dir, name + CompactListGenerator.FROZEN_SUFFIX, generator.generateFrozen());
+
+            SegmentedCompactListGenerator segmentedGenerator = new SegmentedCompactListGenerator(
+                name + CompactListFactory.SEGMENTED_SUFFIX,
+                elementType,
+                CompactListFactory.SEGMENT_SHIFT
+            );
+            write(dir, name + CompactListFactory.SEGMENTED_SUFFIX, segmentedGenerator.generate());
+            write(
+                dir,
+                name + CompactListFactory.SEGMENTED_SUFFIX + SegmentedCompactListGenerator.FACTORY_SUFFIX,
+                segmentedGenerator.generateFactory()
+            );
+
+            OffHeapCompactListGenerator offHeapGenerator = new OffHeapCompactListGenerator(
+                name + CompactListFactory.OFF_HEAP_SUFFIX,
+                elementType
+            );
+            write(dir, name + CompactListFactory.OFF_HEAP_SUFFIX, offHeapGenerator.generate());
+            write(
+                dir,
+                name + CompactListFactory.OFF_HEAP_SUFFIX + OffHeapCompactListGenerator.FACTORY_SUFFIX,
+                offHeapGenerator.generateFactory()
+            );
+        }
+    }
+
+    /**
+     * Writes the bytecode of the specified class into the output directory.
+     *
+     * @param dir the output directory
+     * @param className the class name with a slash separator
+     * @param byteCode the bytecode
+     * @throws IOException if the class file cannot be written
+     */
+    private static void write(Path dir, String className, byte[] byteCode) throws IOException {
+        Path file = dir.resolve(className + ".class");
+
+        Files.createDirectories(file.getParent());
+        Files.write(file, byteCode);
+    }
+}
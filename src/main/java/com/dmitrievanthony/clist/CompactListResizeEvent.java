@@ -0,0 +1,52 @@
+package com.dmitrievanthony.clist;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event committed when an instrumented list reallocates its underlying array. The class is loaded only by monitors
+ * that emit resize events, so that the library works on JVMs without JFR.
+ */
+@Name("com.dmitrievanthony.clist.Resize")
+@Label("Compact List Resize")
+@Category("Compact List")
+final class CompactListResizeEvent extends jdk.jfr.Event {
+    /** The class of the list. */
+    @Label("List Class")
+    String listClass;
+
+    /** The capacity before the reallocation. */
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    /** The capacity after the reallocation. */
+    @Label("New Capacity")
+    int newCapacity;
+
+    /** The number of bytes copied. */
+    @Label("Bytes Copied")
+    @DataAmount
+    long bytesCopied;
+
+    /**
+     * Commits the event if it's enabled in the recording.
+     *
+     * @param list the list
+     * @param oldCapacity the capacity before the reallocation
+     * @param newCapacity the capacity after the reallocation
+     * @param bytesCopied the number of bytes copied
+     */
+    static void commit(CompactList<?> list, int oldCapacity, int newCapacity, long bytesCopied) {
+        CompactListResizeEvent evt = new CompactListResizeEvent();
+
+        if (evt.isEnabled()) {
+            evt.listClass = list.getClass().getName();
+            evt.oldCapacity = oldCapacity;
+            evt.newCapacity = newCapacity;
+            evt.bytesCopied = bytesCopied;
+            evt.commit();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.dmitrievanthony.clist;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot of memory and operation statistics of an instrumented list or of all lists of an instrumented factory (see
+ * {@link CompactListMonitor}). The capacity in bytes counts only the elements of the underlying arrays, without the
+ * headers of the array and the list.
+ */
+public final class CompactListStats implements Serializable {
+    /** The serial version UID. */
+    private static final long serialVersionUID = 0L;
+
+    /** The number of lists. */
+    private final long lists;
+
+    /** The total number of elements. */
+    private final long size;
+
+    /** The total capacity in elements. */
+    private final long capacity;
+
+    /** The total capacity in bytes. */
+    private final long capacityBytes;
+
+    /** The number of reallocations of the underlying arrays. */
+    private final long resizes;
+
+    /** The number of bytes copied by reallocations. */
+    private final long bytesCopied;
+
+    /**
+     * Constructs a new instance of <tt>CompactListStats</tt>.
+     *
+     * @param lists the number of lists
+     * @param size the total number of elements
+     * @param capacity the total capacity in elements
+     * @param capacityBytes the total capacity in bytes
+     * @param resizes the number of reallocations of the underlying arrays
+     * @param bytesCopied the number of bytes copied by reallocations
+     */
+    CompactListStats(long lists, long size, long capacity, long capacityBytes, long resizes, long bytesCopied) {
+        this.lists = lists;
+        this.size = size;
+        this.capacity = capacity;
+        this.capacityBytes = capacityBytes;
+        this.resizes = resizes;
+        this.bytesCopied = bytesCopied;
+    }
+
+    /**
+     * Returns the number of lists.
+     *
+     * @return the number of lists
+     */
+    public long lists() {
+        return lists;
+    }
+
+    /**
+     * Returns the total number of elements.
+     *
+     * @return the total number of elements
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the total capacity in elements.
+     *
+     * @return the total capacity in elements
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the total capacity in bytes (the heap held by the underlying arrays).
+     *
+     * @return the total capacity in bytes
+     */
+    public long capacityBytes() {
+        return capacityBytes;
+    }
+
+    /**
+     * Returns the number of reallocations of the underlying arrays when lists grow.
+     *
+     * @return the number of reallocations
+     */
+    public long resizes() {
+        return resizes;
+    }
+
+    /**
+     * Returns the number of bytes copied by reallocations of the underlying arrays when lists grow.
+     *
+     * @return the number of bytes copied
+     */
+    public long bytesCopied() {
+        return bytesCopied;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return "CompactListStats [lists=" + lists + ", size=" + size + ", capacity=" + capacity
+            + ", capacityBytes=" + capacityBytes + ", resizes=" + resizes + ", bytesCopied=" + bytesCopied + "]";
+    }
+}
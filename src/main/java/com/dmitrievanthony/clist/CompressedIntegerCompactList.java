@@ -0,0 +1,106 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Implementation of the <tt>IntegerCompactList</tt> interface that compresses elements with frame-of-reference
+ * encoding. Elements are appended into the uncompressed tail block, and once the tail block is full it's sealed into
+ * {@link BitPackedBlocks}, so that a block of ids or counters that span a narrow range takes a few bits per element.
+ * Any element is extracted from its block without decoding the whole block.
+ */
+class CompressedIntegerCompactList implements IntegerCompactList {
+    /** The sealed compressed blocks. */
+    private final BitPackedBlocks blocks = new BitPackedBlocks();
+
+    /** The uncompressed tail block (elements are widened to longs to be sealed into {@link BitPackedBlocks}). */
+    private final long[] tail = new long[BitPackedBlocks.BLOCK_SIZE];
+
+    /** The size of the list. */
+    private int size;
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Integer get(int index) {
+        return getInt(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getInt(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+
+        int block = index >>> BitPackedBlocks.BLOCK_SHIFT;
+        int pos = index & (BitPackedBlocks.BLOCK_SIZE - 1);
+
+        return (int)(block == blocks.blocks() ? tail[pos] : blocks.get(block, pos));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void add(Integer element) {
+        addInt(element);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addInt(int element) {
+        if (size == Integer.MAX_VALUE)
+            throw new OutOfMemoryError();
+
+        tail[size & (BitPackedBlocks.BLOCK_SIZE - 1)] = element;
+        size++;
+
+        if ((size & (BitPackedBlocks.BLOCK_SIZE - 1)) == 0)
+            blocks.add(tail);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addAll(int[] src, int off, int len) {
+        ObjectCompactList.checkRange(src.length, off, len);
+
+        for (int i = off; i < off + len; i++)
+            addInt(src[i]);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void getRange(int from, int[] dst, int off, int len) {
+        ObjectCompactList.checkRange(size, from, len);
+        ObjectCompactList.checkRange(dst.length, off, len);
+
+        for (int i = 0; i < len; i++)
+            dst[off + i] = getInt(from + i);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int[] toArray() {
+        int[] res = new int[size];
+        getRange(0, res, 0, size);
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeTo(WritableByteChannel channel) throws IOException {
+        CompactListIO.write(channel, toArray(), size);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+        CompactListIO.read(channel, this);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() {
+        blocks.clear();
+        size = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void trimToSize() {
+        blocks.trimToSize();
+    }
+}
@@ -0,0 +1,205 @@
+package com.dmitrievanthony.clist;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free append-only implementation of the <tt>CompactList</tt> interface that can be used by many writers and
+ * readers concurrently. Writers reserve slots with fetch-and-add on the reserved size, so that concurrent writers never
+ * contend on a lock. The elements are stored in segments that double in size, the list grows by linking a new segment
+ * into the fixed-size table of segments, so the elements that are already added are never copied.
+ * <p>
+ * The size of the list is the length of the prefix of slots in which the elements are stored. A slot may be reserved
+ * but not yet written, so every writer advances the size over the written slots that follow it, and readers see only
+ * fully published elements.
+ *
+ * @param <T> the type of elements in this list
+ */
+public class ConcurrentCompactList<T> implements CompactList<T>, Serializable {
+    /** The serial version UID. */
+    private static final long serialVersionUID = 0L;
+
+    /** The size of the first segment as a power of two. */
+    private static final int FIRST_SEGMENT_SHIFT = 4;
+
+    /** The size of the first segment. */
+    private static final int FIRST_SEGMENT_SIZE = 1 << FIRST_SEGMENT_SHIFT;
+
+    /** The maximum number of elements in the list. */
+    static final int MAX_CAPACITY = Integer.MAX_VALUE;
+
+    /**
+     * The segments, the segment <tt>i</tt> keeps <tt>FIRST_SEGMENT_SIZE << i</tt> elements, except the last one that
+     * is cut at {@link #MAX_CAPACITY} (see {@link #segmentLength(int)}).
+     */
+    private final AtomicReferenceArray<AtomicReferenceArray<Object>> segments =
+        new AtomicReferenceArray<>(Integer.SIZE - FIRST_SEGMENT_SHIFT);
+
+    /** The number of reserved slots. */
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    /** The number of slots in the prefix of written slots (the size of the list). */
+    private final AtomicInteger published = new AtomicInteger();
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return published.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= published.get())
+            throw new IndexOutOfBoundsException();
+
+        long pos = index + (long)FIRST_SEGMENT_SIZE;
+        int segment = segmentOf(pos);
+
+        return (T)segments.get(segment).get((int)(pos - (FIRST_SEGMENT_SIZE << (long)segment)));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(T element) {
+        Objects.requireNonNull(element);
+
+        /* The bound is checked before the slot is reserved, so that the reserved size never overflows. */
+        if (reserved.get() >= MAX_CAPACITY)
+            throw new OutOfMemoryError();
+
+        int index = reserved.getAndIncrement();
+
+        /* Concurrent writers may reserve slots beyond the bound, they are never written and never published. */
+        if (index < 0 || index >= MAX_CAPACITY)
+            throw new OutOfMemoryError();
+
+        long pos = index + (long)FIRST_SEGMENT_SIZE;
+        int segment = segmentOf(pos);
+
+        /* Volatile write, so that either this writer or the writer of the preceding slot sees both slots written. */
+        getOrAddSegment(segment).set((int)(pos - (FIRST_SEGMENT_SIZE << (long)segment)), element);
+
+        publish();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void trimToSize() {
+        // No-op, segments are never reallocated.
+    }
+
+    /**
+     * Replaces this list by the snapshot of its published elements in the serialization stream, so that slots that are
+     * reserved but not yet written are never serialized.
+     *
+     * @return the snapshot of this list
+     */
+    private Object writeReplace() {
+        int size = size();
+
+        Object[] elements = new Object[size];
+        for (int i = 0; i < size; i++)
+            elements[i] = get(i);
+
+        return new Snapshot(elements);
+    }
+
+    /**
+     * Advances the size of the list over the written slots.
+     */
+    private void publish() {
+        while (true) {
+            int size = published.get();
+
+            if (size == reserved.get() || size == MAX_CAPACITY)
+                return;
+
+            long pos = size + (long)FIRST_SEGMENT_SIZE;
+            int segment = segmentOf(pos);
+            AtomicReferenceArray<Object> seg = segments.get(segment);
+
+            if (seg == null || seg.get((int)(pos - (FIRST_SEGMENT_SIZE << (long)segment))) == null)
+                return;
+
+            published.compareAndSet(size, size + 1);
+        }
+    }
+
+    /**
+     * Returns the segment with the specified index, links the new segment if it doesn't exist yet.
+     *
+     * @param segment the index of segment
+     * @return the segment
+     */
+    private AtomicReferenceArray<Object> getOrAddSegment(int segment) {
+        AtomicReferenceArray<Object> seg = segments.get(segment);
+
+        if (seg == null) {
+            seg = new AtomicReferenceArray<>(segmentLength(segment));
+
+            if (!segments.compareAndSet(segment, null, seg))
+                seg = segments.get(segment);
+        }
+
+        return seg;
+    }
+
+    /**
+     * Returns the length of the segment with the specified index. The length of the last segment is cut, so that it
+     * keeps only the slots below {@link #MAX_CAPACITY} and doesn't overflow <tt>int</tt>.
+     *
+     * @param segment the index of segment
+     * @return the length of the segment
+     */
+    static int segmentLength(int segment) {
+        long start = (long)FIRST_SEGMENT_SIZE << segment;
+
+        return (int)Math.min(start, MAX_CAPACITY + (long)FIRST_SEGMENT_SIZE - start);
+    }
+
+    /**
+     * Returns the index of segment that keeps the slot with the specified position (index + first segment size).
+     *
+     * @param pos the position of the slot
+     * @return the index of segment
+     */
+    private static int segmentOf(long pos) {
+        return Long.SIZE - 1 - Long.numberOfLeadingZeros(pos) - FIRST_SEGMENT_SHIFT;
+    }
+
+    /**
+     * Serialized form of the list.
+     */
+    private static class Snapshot implements Serializable {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /** The published elements of the list. */
+        private final Object[] elements;
+
+        /**
+         * Constructs a new instance of snapshot.
+         *
+         * @param elements the published elements of the list
+         */
+        Snapshot(Object[] elements) {
+            this.elements = elements;
+        }
+
+        /**
+         * Returns the list that contains the elements of this snapshot.
+         *
+         * @return the list
+         */
+        private Object readResolve() {
+            ConcurrentCompactList<Object> list = new ConcurrentCompactList<>();
+            for (Object element : elements)
+                list.add(element);
+
+            return list;
+        }
+    }
+}
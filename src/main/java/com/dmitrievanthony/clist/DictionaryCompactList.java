@@ -0,0 +1,274 @@
+package com.dmitrievanthony.clist;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Dictionary-encoded implementation of the <tt>CompactList</tt> interface for lists with few distinct elements. Every
+ * distinct element is stored once in the dictionary, and the list keeps the codes of elements in the dictionary. The
+ * codes are stored in a byte array while the dictionary has up to 256 elements, in a short array while it has up to
+ * 65536 elements and in an int array otherwise, so that a slot takes 1, 2 or 4 bytes instead of a reference. Equal
+ * elements added into the list are replaced by the same instance.
+ * <p>
+ * The codes are exposed by {@link #getCode(int)} and {@link #getCodes(int, int[], int, int)}, so that the elements can
+ * be grouped or filtered by their codes without touching the elements themselves.
+ *
+ * @param <T> the type of elements in this list
+ */
+public class DictionaryCompactList<T> implements CompactList<T>, Serializable {
+    /** The serial version UID. */
+    private static final long serialVersionUID = 0L;
+
+    /** Default capacity of the underlying array of codes. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** The maximum number of codes that fit into a byte. */
+    private static final int BYTE_CODES = 1 << Byte.SIZE;
+
+    /** The maximum number of codes that fit into a short. */
+    private static final int SHORT_CODES = 1 << Short.SIZE;
+
+    /** The growth policy of the underlying array of codes. */
+    private final GrowthPolicy growthPolicy;
+
+    /** The codes of distinct elements. */
+    private final Map<T, Integer> codes = new HashMap<>();
+
+    /** The distinct elements by their codes. */
+    private Object[] dictionary = new Object[DEFAULT_CAPACITY];
+
+    /** The underlying array of codes while the dictionary has up to 256 elements, <tt>null</tt> otherwise. */
+    private byte[] byteData;
+
+    /** The underlying array of codes while the dictionary has up to 65536 elements, <tt>null</tt> otherwise. */
+    private short[] shortData;
+
+    /** The underlying array of codes when the dictionary has more than 65536 elements, <tt>null</tt> otherwise. */
+    private int[] intData;
+
+    /** The size of the list. */
+    private int size;
+
+    /**
+     * Constructs an empty list with the default capacity and the doubling growth policy.
+     */
+    public DictionaryCompactList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty list with the specified initial capacity and the doubling growth policy.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public DictionaryCompactList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.doubling());
+    }
+
+    /**
+     * Constructs an empty list with the specified initial capacity and growth policy.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @param growthPolicy the growth policy of the list
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public DictionaryCompactList(int initialCapacity, GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Initial capacity should not be negative: " + initialCapacity);
+
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.byteData = new byte[initialCapacity];
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T)dictionary[getCode(index)];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(T element) {
+        Integer code = codes.get(Objects.requireNonNull(element));
+
+        if (code == null)
+            code = addToDictionary(element);
+
+        ensureCapacity(size + 1);
+
+        if (byteData != null)
+            byteData[size] = (byte)(int)code;
+        else if (shortData != null)
+            shortData[size] = (short)(int)code;
+        else
+            intData[size] = code;
+
+        size++;
+    }
+
+    /**
+     * Returns the code of the element at the specified position in this list.
+     *
+     * @param index the index of element
+     * @return the code of the element (from 0 to the size of the dictionary exclusive)
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public int getCode(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+
+        if (byteData != null)
+            return byteData[index] & 0xFF;
+        else if (shortData != null)
+            return shortData[index] & 0xFFFF;
+        else
+            return intData[index];
+    }
+
+    /**
+     * Copies the codes of the specified range of elements of this list into the specified array.
+     *
+     * @param from the position in this list of the first element
+     * @param dst the destination array
+     * @param off the position in the destination array
+     * @param len the number of codes to be copied
+     * @throws IndexOutOfBoundsException if the range is out of bounds of this list or of the destination array
+     */
+    public void getCodes(int from, int[] dst, int off, int len) {
+        ObjectCompactList.checkRange(size, from, len);
+        ObjectCompactList.checkRange(dst.length, off, len);
+
+        if (byteData != null) {
+            for (int i = 0; i < len; i++)
+                dst[off + i] = byteData[from + i] & 0xFF;
+        }
+        else if (shortData != null) {
+            for (int i = 0; i < len; i++)
+                dst[off + i] = shortData[from + i] & 0xFFFF;
+        }
+        else
+            System.arraycopy(intData, from, dst, off, len);
+    }
+
+    /**
+     * Returns the element with the specified code.
+     *
+     * @param code the code of the element
+     * @return the element with the specified code
+     * @throws IndexOutOfBoundsException if there is no element with the specified code
+     */
+    @SuppressWarnings("unchecked")
+    public T getValue(int code) {
+        if (code < 0 || code >= codes.size())
+            throw new IndexOutOfBoundsException();
+
+        return (T)dictionary[code];
+    }
+
+    /**
+     * Returns the code of the specified element.
+     *
+     * @param element the element
+     * @return the code of the specified element or <tt>-1</tt> if the list doesn't contain it
+     */
+    public int codeOf(T element) {
+        Integer code = codes.get(element);
+
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Returns the number of distinct elements in this list (the size of the dictionary).
+     *
+     * @return the number of distinct elements in this list
+     */
+    public int dictionarySize() {
+        return codes.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The dictionary is cleared too, while the width of codes is kept.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(dictionary, 0, codes.size(), null);
+        codes.clear();
+        size = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void trimToSize() {
+        dictionary = Arrays.copyOf(dictionary, codes.size());
+
+        if (byteData != null && size < byteData.length)
+            byteData = Arrays.copyOf(byteData, size);
+        else if (shortData != null && size < shortData.length)
+            shortData = Arrays.copyOf(shortData, size);
+        else if (intData != null && size < intData.length)
+            intData = Arrays.copyOf(intData, size);
+    }
+
+    /**
+     * Adds the specified element into the dictionary and widens the codes if the new code doesn't fit them.
+     *
+     * @param element the element
+     * @return the code of the element
+     */
+    private int addToDictionary(T element) {
+        int code = codes.size();
+
+        if (code == dictionary.length)
+            dictionary = Arrays.copyOf(dictionary, GrowthPolicy.doubling().newCapacity(code, code + 1));
+
+        dictionary[code] = element;
+        codes.put(element, code);
+
+        if (code == BYTE_CODES) {
+            shortData = new short[byteData.length];
+            for (int i = 0; i < size; i++)
+                shortData[i] = (short)(byteData[i] & 0xFF);
+
+            byteData = null;
+        }
+        else if (code == SHORT_CODES) {
+            intData = new int[shortData.length];
+            for (int i = 0; i < size; i++)
+                intData[i] = shortData[i] & 0xFFFF;
+
+            shortData = null;
+        }
+
+        return code;
+    }
+
+    /**
+     * Ensures that the current capacity of the list is enough, otherwise grows it according to the growth policy.
+     *
+     * @param minCapacity minimum desired capacity
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (byteData != null) {
+            if (minCapacity - byteData.length > 0)
+                byteData = Arrays.copyOf(byteData, growthPolicy.newCapacity(byteData.length, minCapacity));
+        }
+        else if (shortData != null) {
+            if (minCapacity - shortData.length > 0)
+                shortData = Arrays.copyOf(shortData, growthPolicy.newCapacity(shortData.length, minCapacity));
+        }
+        else if (minCapacity - intData.length > 0)
+            intData = Arrays.copyOf(intData, growthPolicy.newCapacity(intData.length, minCapacity));
+    }
+}
@@ -0,0 +1,21 @@
+package com.dmitrievanthony.clist;
+
+/**
+ * A {@link BigCompactList} of doubles that allows to add and get elements without boxing them into <tt>Double</tt>.
+ */
+public interface DoubleBigCompactList extends BigCompactList<Double> {
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     */
+    double getDouble(long index);
+
+    /**
+     * Adds the specified element into this list.
+     *
+     * @param element the element to be added
+     */
+    void addDouble(double element);
+}
@@ -0,0 +1,237 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link CompactList} of doubles that allows to add and get elements without boxing them into <tt>Double</tt>.
+ */
+public interface DoubleCompactList extends CompactList<Double> {
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     */
+    double getDouble(int index);
+
+    /**
+     * Adds the specified element into this list.
+     *
+     * @param element the element to be added
+     */
+    void addDouble(double element);
+
+    /**
+     * Adds the specified range of elements of the specified array into this list.
+     *
+     * @param src the source array
+     * @param off the position in the source array of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the source array
+     */
+    void addAll(double[] src, int off, int len);
+
+    /**
+     * Copies the specified range of elements of this list into the specified array.
+     *
+     * @param from the position in this list of the first element to be copied
+     * @param dst the destination array
+     * @param off the position in the destination array
+     * @param len the number of elements to be copied
+     * @throws IndexOutOfBoundsException if the range is out of bounds of this list or of the destination array
+     */
+    void getRange(int from, double[] dst, int off, int len);
+
+    /**
+     * Returns an array containing all of the elements in this list in proper sequence.
+     *
+     * @return an array containing all of the elements in this list in proper sequence
+     */
+    double[] toArray();
+
+    /**
+     * Writes all of the elements in this list into the specified channel in the binary format described in
+     * {@link CompactListIO}.
+     *
+     * @param channel the channel to write to
+     * @throws IOException if an I/O error occurs
+     */
+    void writeTo(WritableByteChannel channel) throws IOException;
+
+    /**
+     * Reads elements of a list of doubles written by {@link #writeTo(WritableByteChannel)} from the specified
+     * channel and adds them into this list.
+     *
+     * @param channel the channel to read from
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of doubles
+     */
+    void readFrom(ReadableByteChannel channel) throws IOException;
+
+    /**
+     * Returns an immutable list that contains the elements of this list (see {@link CompactList#freeze()}).
+     *
+     * @return the immutable list that contains the elements of this list
+     * @throws UnsupportedOperationException if the list can't be frozen
+     */
+    @Override default DoubleCompactList freeze() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a spliterator over the elements in this list that doesn't box them. The spliterator is <tt>SIZED</tt>,
+     * <tt>SUBSIZED</tt> and <tt>ORDERED</tt> and covers the elements added before it's created, so that a parallel
+     * stream splits it evenly across the fork-join pool.
+     * <p>
+     * The default implementation reads elements by {@link #getDouble(int)}, lists generated by
+     * {@link CompactListFactory} return a spliterator over their underlying array.
+     *
+     * @return a spliterator over the elements in this list
+     */
+    default Spliterator.OfDouble spliterator() {
+        return new IndexSpliterators.DoubleSpliterator(this, 0, size());
+    }
+
+    /**
+     * Returns a sequential <tt>DoubleStream</tt> over the elements in this list, use <tt>parallel()</tt> to get a
+     * parallel one.
+     *
+     * @return a sequential stream over the elements in this list
+     */
+    default DoubleStream doubleStream() {
+        return StreamSupport.doubleStream(spliterator(), false);
+    }
+
+    /**
+     * Returns the sum of elements in this list.
+     * <p>
+     * The default implementation reads elements by {@link #getDouble(int)}, lists generated by
+     * {@link CompactListFactory} sum their underlying array in a tight counted loop without range checks and boxing.
+     *
+     * @return the sum of elements in this list or <tt>0</tt> if this list is empty
+     */
+    default double sum() {
+        double sum = 0;
+        for (int i = 0; i < size(); i++)
+            sum += getDouble(i);
+
+        return sum;
+    }
+
+    /**
+     * Returns the minimum element in this list (<tt>NaN</tt> if any element is <tt>NaN</tt>).
+     *
+     * @return the minimum element in this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    default double min() {
+        if (size() == 0)
+            throw new NoSuchElementException();
+
+        double res = getDouble(0);
+        for (int i = 1; i < size(); i++)
+            res = Math.min(res, getDouble(i));
+
+        return res;
+    }
+
+    /**
+     * Returns the maximum element in this list (<tt>NaN</tt> if any element is <tt>NaN</tt>).
+     *
+     * @return the maximum element in this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    default double max() {
+        if (size() == 0)
+            throw new NoSuchElementException();
+
+        double res = getDouble(0);
+        for (int i = 1; i < size(); i++)
+            res = Math.max(res, getDouble(i));
+
+        return res;
+    }
+
+    /**
+     * Returns the number of elements in this list that match the specified predicate.
+     *
+     * @param predicate the predicate
+     * @return the number of elements in this list that match the specified predicate
+     */
+    default int count(DoublePredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        int cnt = 0;
+        for (int i = 0; i < size(); i++) {
+            if (predicate.test(getDouble(i)))
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     * Performs the specified action for each element of this list in order.
+     * <p>
+     * The default implementation reads elements by {@link #getDouble(int)}, lists generated by
+     * {@link CompactListFactory} pass the elements of their underlying array in a tight counted loop without range
+     * checks and boxing.
+     *
+     * @param action the action to be performed for each element
+     */
+    default void forEach(DoubleConsumer action) {
+        forEach(0, size(), action);
+    }
+
+    /**
+     * Performs the specified action for each element of the specified range of this list in order.
+     *
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action to be performed for each element
+     * @throws IndexOutOfBoundsException if the range is out of bounds of this list
+     */
+    default void forEach(int from, int to, DoubleConsumer action) {
+        Objects.requireNonNull(action);
+
+        if (from < 0 || to > size() || from > to)
+            throw new IndexOutOfBoundsException();
+
+        for (int i = from; i < to; i++)
+            action.accept(getDouble(i));
+    }
+
+    /**
+     * Performs the specified action for each element of this list and its index in order.
+     *
+     * @param action the action to be performed for each element
+     */
+    default void forEachIndexed(IndexedConsumer action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size(); i++)
+            action.accept(i, getDouble(i));
+    }
+
+    /**
+     * An action that accepts an element of the list together with its index.
+     */
+    @FunctionalInterface
+    interface IndexedConsumer {
+        /**
+         * Performs this action on the specified element.
+         *
+         * @param index the index of the element
+         * @param element the element
+         */
+        void accept(int index, double element);
+    }
+}
@@ -1,9 +1,38 @@
 package com.dmitrievanthony.clist;
 
+import java.util.function.Supplier;
+
 /**
  * Dynamic class loader that allows to load classes using their bytecode loaded as a byte array.
  */
 class DynamicClassLoader extends ClassLoader {
+    /**
+     * Constructs a new instance of <tt>DynamicClassLoader</tt> that delegates to the system class loader.
+     */
+    DynamicClassLoader() {
+    }
+
+    /**
+     * Constructs a new instance of <tt>DynamicClassLoader</tt> that delegates to the specified parent class loader
+     * (for example, the loader of the value class the generated classes refer to) and falls back to the loader of this
+     * library, so that the generated classes see both the value class and the library classes.
+     *
+     * @param parent the parent class loader or <tt>null</tt> for the bootstrap class loader
+     */
+    DynamicClassLoader(ClassLoader parent) {
+        super(parent);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected Class<?> findClass(String name) throws ClassNotFoundException {
+        ClassLoader libraryLoader = DynamicClassLoader.class.getClassLoader();
+
+        if (libraryLoader == null || libraryLoader == getParent())
+            throw new ClassNotFoundException(name);
+
+        return Class.forName(name, false, libraryLoader);
+    }
+
     /**
      * Converts an array of bytes into an instance of class <tt>Class</tt>.
      *
@@ -14,4 +43,18 @@ class DynamicClassLoader extends ClassLoader {
     Class<?> defineClass(String className, byte[] byteCode) {
         return defineClass(className, byteCode, 0, byteCode.length);
     }
+
+    /**
+     * Converts an array of bytes into an instance of class <tt>Class</tt> unless the class is already defined by this
+     * class loader.
+     *
+     * @param className the name of the class
+     * @param byteCode the supplier of the bytes that make up the class data, called only if the class isn't defined
+     * @return the <tt>Class</tt> object that was created from the specified class data or was defined before
+     */
+    synchronized Class<?> defineClassIfAbsent(String className, Supplier<byte[]> byteCode) {
+        Class<?> clazz = findLoadedClass(className);
+
+        return clazz != null ? clazz : defineClass(className, byteCode.get());
+    }
 }
@@ -0,0 +1,21 @@
+package com.dmitrievanthony.clist;
+
+/**
+ * A {@link BigCompactList} of floats that allows to add and get elements without boxing them into <tt>Float</tt>.
+ */
+public interface FloatBigCompactList extends BigCompactList<Float> {
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     */
+    float getFloat(long index);
+
+    /**
+     * Adds the specified element into this list.
+     *
+     * @param element the element to be added
+     */
+    void addFloat(float element);
+}
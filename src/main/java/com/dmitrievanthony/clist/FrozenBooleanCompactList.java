@@ -0,0 +1,108 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Immutable implementation of the <tt>BooleanCompactList</tt> interface returned by {@link BitSetCompactList#freeze()}.
+ * Keeps the elements in the trimmed copy of the bitset that is never modified after the construction and is reachable
+ * only through the final field, so the list can be safely shared between threads.
+ */
+final class FrozenBooleanCompactList implements BooleanCompactList, Serializable {
+    /** The serial version UID. */
+    private static final long serialVersionUID = 0L;
+
+    /** The trimmed copy of the bitset into which the elements of the list are stored. */
+    private final BitSetCompactList bits;
+
+    /**
+     * Constructs a new instance of <tt>FrozenBooleanCompactList</tt>.
+     *
+     * @param bits the copy of the bitset that is not modified after the construction
+     */
+    FrozenBooleanCompactList(BitSetCompactList bits) {
+        this.bits = bits;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return bits.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Boolean get(int index) {
+        return bits.getBoolean(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean getBoolean(int index) {
+        return bits.getBoolean(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void add(Boolean element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addBoolean(boolean element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addAll(boolean[] src, int off, int len) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void getRange(int from, boolean[] dst, int off, int len) {
+        bits.getRange(from, dst, off, len);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean[] toArray() {
+        return bits.toArray();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int cardinality() {
+        return bits.cardinality();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int rank(int index) {
+        return bits.rank(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int select(int n) {
+        return bits.select(n);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeTo(WritableByteChannel channel) throws IOException {
+        bits.writeTo(channel);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readFrom(ReadableByteChannel channel) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void trimToSize() {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public BooleanCompactList freeze() {
+        return this;
+    }
+}
@@ -0,0 +1,58 @@
+package com.dmitrievanthony.clist;
+
+import java.io.Serializable;
+
+/**
+ * Immutable implementation of the <tt>CompactList</tt> interface returned by {@link ObjectCompactList#freeze()}. Keeps
+ * the elements in the final array of the size of the list, so the list can be safely shared between threads.
+ *
+ * @param <T> the type of elements in this list
+ */
+final class FrozenObjectCompactList<T> implements CompactList<T>, Serializable {
+    /** The serial version UID. */
+    private static final long serialVersionUID = 0L;
+
+    /** The array of the size of the list into which the elements of the list are stored. */
+    private final Object[] data;
+
+    /**
+     * Constructs a new instance of <tt>FrozenObjectCompactList</tt>.
+     *
+     * @param data the array of elements that is not modified after the construction
+     */
+    FrozenObjectCompactList(Object[] data) {
+        this.data = data;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return data.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T)data[index];
+    }
+
+    /** {@inheritDoc} */
+    @Override public void add(T element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void trimToSize() {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public CompactList<T> freeze() {
+        return this;
+    }
+}
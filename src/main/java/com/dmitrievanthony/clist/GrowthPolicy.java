@@ -0,0 +1,199 @@
+package com.dmitrievanthony.clist;
+
+import java.io.Serializable;
+
+/**
+ * The policy that defines how the capacity of a <tt>CompactList</tt> grows when the list is full. Lists generated by
+ * {@link CompactListGenerator} have the policy baked into their bytecode, so the choice of the policy costs nothing at
+ * runtime.
+ */
+public final class GrowthPolicy implements Serializable {
+    /** The serial version UID. */
+    private static final long serialVersionUID = 0L;
+
+    /**
+     * The maximum capacity of the list. Some VMs reserve header words in an array, so attempts to allocate larger
+     * arrays may result in <tt>OutOfMemoryError</tt>.
+     */
+    static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /** The policy that doubles the capacity. */
+    private static final GrowthPolicy DOUBLING = new GrowthPolicy(Kind.DOUBLING, 0);
+
+    /** The policy that multiplies the capacity by 1.5. */
+    private static final GrowthPolicy ONE_AND_HALF = new GrowthPolicy(Kind.ONE_AND_HALF, 0);
+
+    /** The policy that grows the capacity exactly to the required one. */
+    private static final GrowthPolicy EXACT = new GrowthPolicy(Kind.EXACT, 0);
+
+    /** The kind of the policy. */
+    private final Kind kind;
+
+    /** The increment of the capacity (used only by {@link Kind#FIXED_INCREMENT}). */
+    private final int increment;
+
+    /**
+     * Constructs the new instance of <tt>GrowthPolicy</tt>.
+     *
+     * @param kind the kind of the policy
+     * @param increment the increment of the capacity
+     */
+    private GrowthPolicy(Kind kind, int increment) {
+        this.kind = kind;
+        this.increment = increment;
+    }
+
+    /**
+     * Returns the policy that doubles the capacity of the list.
+     *
+     * @return the policy that doubles the capacity of the list
+     */
+    public static GrowthPolicy doubling() {
+        return DOUBLING;
+    }
+
+    /**
+     * Returns the policy that multiplies the capacity of the list by 1.5.
+     *
+     * @return the policy that multiplies the capacity of the list by 1.5
+     */
+    public static GrowthPolicy oneAndHalf() {
+        return ONE_AND_HALF;
+    }
+
+    /**
+     * Returns the policy that adds the specified increment to the capacity of the list.
+     *
+     * @param increment the increment of the capacity
+     * @return the policy that adds the specified increment to the capacity of the list
+     */
+    public static GrowthPolicy fixedIncrement(int increment) {
+        if (increment <= 0)
+            throw new IllegalArgumentException("Increment should be positive: " + increment);
+
+        return new GrowthPolicy(Kind.FIXED_INCREMENT, increment);
+    }
+
+    /**
+     * Returns the policy that grows the capacity of the list exactly to the required one.
+     *
+     * @return the policy that grows the capacity of the list exactly to the required one
+     */
+    public static GrowthPolicy exact() {
+        return EXACT;
+    }
+
+    /**
+     * Returns the kind of the policy.
+     *
+     * @return the kind of the policy
+     */
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the increment of the capacity (used only by {@link Kind#FIXED_INCREMENT}).
+     *
+     * @return the increment of the capacity
+     */
+    int getIncrement() {
+        return increment;
+    }
+
+    /**
+     * Calculates the new capacity of the list. The new capacity is not less than <tt>minCapacity</tt>, the growth
+     * beyond <tt>minCapacity</tt> is calculated without integer overflow and is capped near <tt>Integer.MAX_VALUE</tt>.
+     *
+     * @param oldCapacity the current capacity
+     * @param minCapacity minimum desired capacity
+     * @return the new capacity
+     * @throws OutOfMemoryError if minimum desired capacity overflows
+     */
+    int newCapacity(int oldCapacity, int minCapacity) {
+        if (minCapacity < 0)
+            throw new OutOfMemoryError();
+
+        long newCapacity;
+
+        switch (kind) {
+            case DOUBLING:
+                newCapacity = (long)oldCapacity << 1;
+                break;
+
+            case ONE_AND_HALF:
+                newCapacity = oldCapacity + (long)(oldCapacity >> 1);
+                break;
+
+            case FIXED_INCREMENT:
+                newCapacity = (long)oldCapacity + increment;
+                break;
+
+            default:
+                newCapacity = minCapacity;
+        }
+
+        return Math.max((int)Math.min(newCapacity, MAX_CAPACITY), minCapacity);
+    }
+
+    /**
+     * Resolves the deserialized policy into the shared instance of the same kind.
+     *
+     * @return the policy
+     */
+    private Object readResolve() {
+        switch (kind) {
+            case DOUBLING:
+                return DOUBLING;
+
+            case ONE_AND_HALF:
+                return ONE_AND_HALF;
+
+            case EXACT:
+                return EXACT;
+
+            default:
+                return this;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (!(o instanceof GrowthPolicy))
+            return false;
+
+        GrowthPolicy policy = (GrowthPolicy)o;
+
+        return kind == policy.kind && increment == policy.increment;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int hashCode() {
+        return 31 * kind.ordinal() + increment;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return kind == Kind.FIXED_INCREMENT ? kind + "(" + increment + ")" : kind.toString();
+    }
+
+    /**
+     * The kind of the growth policy.
+     */
+    enum Kind {
+        /** Doubles the capacity. */
+        DOUBLING,
+
+        /** Multiplies the capacity by 1.5. */
+        ONE_AND_HALF,
+
+        /** Adds a fixed increment to the capacity. */
+        FIXED_INCREMENT,
+
+        /** Grows the capacity exactly to the required one. */
+        EXACT
+    }
+}
@@ -0,0 +1,203 @@
+package com.dmitrievanthony.clist;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Primitive spliterators that read elements of a typed list by index, used by the default <tt>spliterator</tt>
+ * methods of typed interfaces. They're <tt>SIZED</tt>, <tt>SUBSIZED</tt> and <tt>ORDERED</tt> and split the range of
+ * indexes in halves, so that lists that have no underlying array are still split evenly by parallel streams.
+ */
+final class IndexSpliterators {
+    /** The characteristics of spliterators. */
+    private static final int CHARACTERISTICS = Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED;
+
+    /**
+     * Constructs the new instance of <tt>IndexSpliterators</tt>.
+     */
+    private IndexSpliterators() {
+        // Utility class.
+    }
+
+    /**
+     * Spliterator over a list of longs.
+     */
+    static final class LongSpliterator implements Spliterator.OfLong {
+        /** The list. */
+        private final LongCompactList list;
+
+        /** The index of the next element. */
+        private int index;
+
+        /** The index after the last element. */
+        private final int fence;
+
+        /**
+         * Constructs the new instance of spliterator.
+         *
+         * @param list the list
+         * @param index the index of the first element
+         * @param fence the index after the last element
+         */
+        LongSpliterator(LongCompactList list, int index, int fence) {
+            this.list = list;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Spliterator.OfLong trySplit() {
+            int mid = (index + fence) >>> 1;
+
+            return index >= mid ? null : new LongSpliterator(list, index, index = mid);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean tryAdvance(LongConsumer action) {
+            if (index >= fence)
+                return false;
+
+            action.accept(list.getLong(index++));
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEachRemaining(LongConsumer action) {
+            for (; index < fence; index++)
+                action.accept(list.getLong(index));
+        }
+
+        /** {@inheritDoc} */
+        @Override public long estimateSize() {
+            return fence - index;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Spliterator over a list of ints.
+     */
+    static final class IntSpliterator implements Spliterator.OfInt {
+        /** The list. */
+        private final IntegerCompactList list;
+
+        /** The index of the next element. */
+        private int index;
+
+        /** The index after the last element. */
+        private final int fence;
+
+        /**
+         * Constructs the new instance of spliterator.
+         *
+         * @param list the list
+         * @param index the index of the first element
+         * @param fence the index after the last element
+         */
+        IntSpliterator(IntegerCompactList list, int index, int fence) {
+            this.list = list;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Spliterator.OfInt trySplit() {
+            int mid = (index + fence) >>> 1;
+
+            return index >= mid ? null : new IntSpliterator(list, index, index = mid);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean tryAdvance(IntConsumer action) {
+            if (index >= fence)
+                return false;
+
+            action.accept(list.getInt(index++));
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEachRemaining(IntConsumer action) {
+            for (; index < fence; index++)
+                action.accept(list.getInt(index));
+        }
+
+        /** {@inheritDoc} */
+        @Override public long estimateSize() {
+            return fence - index;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Spliterator over a list of doubles.
+     */
+    static final class DoubleSpliterator implements Spliterator.OfDouble {
+        /** The list. */
+        private final DoubleCompactList list;
+
+        /** The index of the next element. */
+        private int index;
+
+        /** The index after the last element. */
+        private final int fence;
+
+        /**
+         * Constructs the new instance of spliterator.
+         *
+         * @param list the list
+         * @param index the index of the first element
+         * @param fence the index after the last element
+         */
+        DoubleSpliterator(DoubleCompactList list, int index, int fence) {
+            this.list = list;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Spliterator.OfDouble trySplit() {
+            int mid = (index + fence) >>> 1;
+
+            return index >= mid ? null : new DoubleSpliterator(list, index, index = mid);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= fence)
+                return false;
+
+            action.accept(list.getDouble(index++));
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEachRemaining(DoubleConsumer action) {
+            for (; index < fence; index++)
+                action.accept(list.getDouble(index));
+        }
+
+        /** {@inheritDoc} */
+        @Override public long estimateSize() {
+            return fence - index;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+}
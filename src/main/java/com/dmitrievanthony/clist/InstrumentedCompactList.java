@@ -0,0 +1,47 @@
+package com.dmitrievanthony.clist;
+
+/**
+ * The list produced by the instrumented factory (see {@link CompactListMonitor}). The generated class tracks its
+ * reallocations in its own fields, while the lists produced by the factory without instrumentation don't implement this
+ * interface and contain no instrumentation code.
+ *
+ * @param <T> the type of elements in this list
+ */
+public interface InstrumentedCompactList<T> extends CompactList<T> {
+    /**
+     * Returns the capacity of the list in elements.
+     *
+     * @return the capacity in elements
+     */
+    int capacity();
+
+    /**
+     * Returns the capacity of the list in bytes.
+     *
+     * @return the capacity in bytes
+     */
+    long capacityBytes();
+
+    /**
+     * Returns the number of reallocations of the underlying array.
+     *
+     * @return the number of reallocations
+     */
+    int resizeCount();
+
+    /**
+     * Returns the number of bytes copied by reallocations of the underlying array.
+     *
+     * @return the number of bytes copied
+     */
+    long bytesCopied();
+
+    /**
+     * Returns the statistics of this list.
+     *
+     * @return the statistics of this list
+     */
+    default CompactListStats stats() {
+        return new CompactListStats(1, size(), capacity(), capacityBytes(), resizeCount(), bytesCopied());
+    }
+}
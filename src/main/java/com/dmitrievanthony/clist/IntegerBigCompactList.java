@@ -0,0 +1,21 @@
+package com.dmitrievanthony.clist;
+
+/**
+ * A {@link BigCompactList} of ints that allows to add and get elements without boxing them into <tt>Integer</tt>.
+ */
+public interface IntegerBigCompactList extends BigCompactList<Integer> {
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     */
+    int getInt(long index);
+
+    /**
+     * Adds the specified element into this list.
+     *
+     * @param element the element to be added
+     */
+    void addInt(int element);
+}
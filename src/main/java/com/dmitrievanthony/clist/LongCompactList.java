@@ -0,0 +1,298 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link CompactList} of longs that allows to add and get elements without boxing them into <tt>Long</tt>.
+ */
+public interface LongCompactList extends CompactList<Long> {
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of element to return
+     * @return the element at the specified position in this list
+     */
+    long getLong(int index);
+
+    /**
+     * Adds the specified element into this list.
+     *
+     * @param element the element to be added
+     */
+    void addLong(long element);
+
+    /**
+     * Adds the specified range of elements of the specified array into this list.
+     *
+     * @param src the source array
+     * @param off the position in the source array of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the source array
+     */
+    void addAll(long[] src, int off, int len);
+
+    /**
+     * Copies the specified range of elements of this list into the specified array.
+     *
+     * @param from the position in this list of the first element to be copied
+     * @param dst the destination array
+     * @param off the position in the destination array
+     * @param len the number of elements to be copied
+     * @throws IndexOutOfBoundsException if the range is out of bounds of this list or of the destination array
+     */
+    void getRange(int from, long[] dst, int off, int len);
+
+    /**
+     * Returns an array containing all of the elements in this list in proper sequence.
+     *
+     * @return an array containing all of the elements in this list in proper sequence
+     */
+    long[] toArray();
+
+    /**
+     * Writes all of the elements in this list into the specified channel in the binary format described in
+     * {@link CompactListIO}.
+     *
+     * @param channel the channel to write to
+     * @throws IOException if an I/O error occurs
+     */
+    void writeTo(WritableByteChannel channel) throws IOException;
+
+    /**
+     * Reads elements of a list of longs written by {@link #writeTo(WritableByteChannel)} from the specified
+     * channel and adds them into this list.
+     *
+     * @param channel the channel to read from
+     * @throws IOException if an I/O error occurs or the channel doesn't contain a list of longs
+     */
+    void readFrom(ReadableByteChannel channel) throws IOException;
+
+    /**
+     * Returns an immutable list that contains the elements of this list (see {@link CompactList#freeze()}).
+     *
+     * @return the immutable list that contains the elements of this list
+     * @throws UnsupportedOperationException if the list can't be frozen
+     */
+    @Override default LongCompactList freeze() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a spliterator over the elements in this list that doesn't box them. The spliterator is <tt>SIZED</tt>,
+     * <tt>SUBSIZED</tt> and <tt>ORDERED</tt> and covers the elements added before it's created, so that a parallel
+     * stream splits it evenly across the fork-join pool.
+     * <p>
+     * The default implementation reads elements by {@link #getLong(int)}, lists generated by
+     * {@link CompactListFactory} return a spliterator over their underlying array.
+     *
+     * @return a spliterator over the elements in this list
+     */
+    default Spliterator.OfLong spliterator() {
+        return new IndexSpliterators.LongSpliterator(this, 0, size());
+    }
+
+    /**
+     * Returns a sequential <tt>LongStream</tt> over the elements in this list, use <tt>parallel()</tt> to get a
+     * parallel one.
+     *
+     * @return a sequential stream over the elements in this list
+     */
+    default LongStream longStream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    /**
+     * Returns the sum of elements in this list.
+     * <p>
+     * The default implementation reads elements by {@link #getLong(int)}, lists generated by
+     * {@link CompactListFactory} sum their underlying array in a tight counted loop without range checks and boxing.
+     *
+     * @return the sum of elements in this list or <tt>0</tt> if this list is empty
+     */
+    default long sum() {
+        long sum = 0;
+        for (int i = 0; i < size(); i++)
+            sum += getLong(i);
+
+        return sum;
+    }
+
+    /**
+     * Returns the minimum element in this list.
+     *
+     * @return the minimum element in this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    default long min() {
+        if (size() == 0)
+            throw new NoSuchElementException();
+
+        long res = getLong(0);
+        for (int i = 1; i < size(); i++)
+            res = Math.min(res, getLong(i));
+
+        return res;
+    }
+
+    /**
+     * Returns the maximum element in this list.
+     *
+     * @return the maximum element in this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    default long max() {
+        if (size() == 0)
+            throw new NoSuchElementException();
+
+        long res = getLong(0);
+        for (int i = 1; i < size(); i++)
+            res = Math.max(res, getLong(i));
+
+        return res;
+    }
+
+    /**
+     * Returns the number of elements in this list that match the specified predicate.
+     *
+     * @param predicate the predicate
+     * @return the number of elements in this list that match the specified predicate
+     */
+    default int count(LongPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        int cnt = 0;
+        for (int i = 0; i < size(); i++) {
+            if (predicate.test(getLong(i)))
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     * Performs the specified action for each element of this list in order.
+     * <p>
+     * The default implementation reads elements by {@link #getLong(int)}, lists generated by
+     * {@link CompactListFactory} pass the elements of their underlying array in a tight counted loop without range
+     * checks and boxing.
+     *
+     * @param action the action to be performed for each element
+     */
+    default void forEach(LongConsumer action) {
+        forEach(0, size(), action);
+    }
+
+    /**
+     * Performs the specified action for each element of the specified range of this list in order.
+     *
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action to be performed for each element
+     * @throws IndexOutOfBoundsException if the range is out of bounds of this list
+     */
+    default void forEach(int from, int to, LongConsumer action) {
+        Objects.requireNonNull(action);
+
+        if (from < 0 || to > size() || from > to)
+            throw new IndexOutOfBoundsException();
+
+        for (int i = from; i < to; i++)
+            action.accept(getLong(i));
+    }
+
+    /**
+     * Performs the specified action for each element of this list and its index in order.
+     *
+     * @param action the action to be performed for each element
+     */
+    default void forEachIndexed(IndexedConsumer action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size(); i++)
+            action.accept(i, getLong(i));
+    }
+
+    /**
+     * Sorts the elements of this list into ascending numerical order in place (optional operation).
+     * <p>
+     * Lists generated by {@link CompactListFactory} sort their underlying array with <tt>Arrays.sort</tt>.
+     *
+     * @throws UnsupportedOperationException if this list can't be reordered in place
+     */
+    default void sort() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sorts the elements of this list into ascending numerical order in place using the fork-join pool, which pays off
+     * for large lists (optional operation).
+     * <p>
+     * Lists generated by {@link CompactListFactory} sort their underlying array with <tt>Arrays.parallelSort</tt>.
+     *
+     * @throws UnsupportedOperationException if this list can't be reordered in place
+     */
+    default void parallelSort() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Searches this list for the specified key using the binary search, the list must be sorted (as by
+     * {@link #sort()}), otherwise the result is undefined.
+     *
+     * @param key the key to be searched for
+     * @return the index of the key if it's contained in this list, otherwise <tt>(-(insertion point) - 1)</tt> where
+     * the insertion point is {@link #lowerBound(long)}
+     */
+    default int binarySearch(long key) {
+        int idx = lowerBound(key);
+
+        return idx < size() && getLong(idx) == key ? idx : -idx - 1;
+    }
+
+    /**
+     * Returns the index of the first element that is greater or equal to the specified key, the list must be sorted
+     * (as by {@link #sort()}), otherwise the result is undefined.
+     *
+     * @param key the key
+     * @return the index of the first element that is greater or equal to the key or the size of the list if there is
+     * no such element
+     */
+    default int lowerBound(long key) {
+        int lo = 0;
+        int hi = size();
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if (getLong(mid) < key)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        return lo;
+    }
+
+    /**
+     * An action that accepts an element of the list together with its index.
+     */
+    @FunctionalInterface
+    interface IndexedConsumer {
+        /**
+         * Performs this action on the specified element.
+         *
+         * @param index the index of the element
+         * @param element the element
+         */
+        void accept(int index, long element);
+    }
+}
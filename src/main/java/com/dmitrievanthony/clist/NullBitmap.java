@@ -0,0 +1,53 @@
+package com.dmitrievanthony.clist;
+
+import java.util.Arrays;
+
+/**
+ * Operations on the bitmaps of <tt>null</tt> elements of {@link NullableCompactList}, called by the generated classes.
+ * The bitmap is an array of words where the bit of every <tt>null</tt> element is set, the bitmap is <tt>null</tt>
+ * until the first <tt>null</tt> element is added and it's grown only up to the last <tt>null</tt> element.
+ */
+public final class NullBitmap {
+    /** The number of bits in a word as a power of two. */
+    private static final int WORD_BITS_SHIFT = 6;
+
+    /**
+     * Constructs the new instance of <tt>NullBitmap</tt>.
+     */
+    private NullBitmap() {
+        // Utility class.
+    }
+
+    /**
+     * Returns whether the bit of the specified element is set.
+     *
+     * @param bits the bitmap or <tt>null</tt> if there are no <tt>null</tt> elements
+     * @param index the index of element
+     * @return <tt>true</tt> if the bit is set
+     */
+    public static boolean isSet(long[] bits, int index) {
+        int word = index >>> WORD_BITS_SHIFT;
+
+        return bits != null && word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit of the specified element, allocates or grows the bitmap if it's needed.
+     *
+     * @param bits the bitmap or <tt>null</tt> if there are no <tt>null</tt> elements
+     * @param index the index of element
+     * @return the bitmap with the bit set, the same array unless it had to be grown
+     */
+    public static long[] set(long[] bits, int index) {
+        int word = index >>> WORD_BITS_SHIFT;
+
+        if (bits == null)
+            bits = new long[word + 1];
+        else if (word >= bits.length)
+            bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length << 1));
+
+        bits[word] |= 1L << index;
+
+        return bits;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dmitrievanthony.clist;
+
+/**
+ * A {@link CompactList} of primitives that accepts <tt>null</tt> elements. Lists produced by
+ * {@link CompactListFactory#newNullableCompactList(Class)} keep the values in the primitive array and mark
+ * <tt>null</tt> elements in a separate bitmap that is allocated only when the first <tt>null</tt> is added, so a
+ * nullable column takes a bit per element on top of its primitive array instead of a boxed object per element.
+ * <p>
+ * {@link #get(int)} returns <tt>null</tt> for <tt>null</tt> elements. The scans and aggregates of the typed interface
+ * (<tt>sum</tt>, <tt>min</tt>, <tt>max</tt>, <tt>count</tt>, <tt>forEach</tt> and <tt>spliterator</tt>) skip
+ * <tt>null</tt> elements, while the unboxed accessors (<tt>getLong</tt>, <tt>toArray</tt>, etc) see them as zeros, use
+ * {@link #isNull(int)} to tell them apart. The binary format of {@link CompactListIO} has no nulls, so
+ * <tt>writeTo</tt> throws <tt>IllegalStateException</tt> if the list contains them. The lists can't be sorted, searched
+ * by <tt>binarySearch</tt> or <tt>lowerBound</tt>, or frozen and are not serializable.
+ *
+ * @param <T> the type of elements in this list
+ */
+public interface NullableCompactList<T> extends CompactList<T> {
+    /**
+     * Adds <tt>null</tt> into this list, same as <tt>add(null)</tt>.
+     */
+    void addNull();
+
+    /**
+     * Returns whether the element at the specified position in this list is <tt>null</tt>.
+     *
+     * @param index the index of element
+     * @return <tt>true</tt> if the element is <tt>null</tt>
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    boolean isNull(int index);
+
+    /**
+     * Returns the number of <tt>null</tt> elements in this list.
+     *
+     * @return the number of <tt>null</tt> elements in this list
+     */
+    int nullCount();
+}
@@ -0,0 +1,797 @@
+package com.dmitrievanthony.clist;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Scans and aggregates over the underlying arrays of {@link NullableCompactList} that skip <tt>null</tt> elements,
+ * called by the generated classes. Every method accepts the array, the size of the list and the bitmap of
+ * <tt>null</tt> elements (see {@link NullBitmap}), so that <tt>null</tt> elements are neither aggregated nor passed to
+ * actions as zeros.
+ */
+public final class NullableScans {
+    /**
+     * Constructs the new instance of <tt>NullableScans</tt>.
+     */
+    private NullableScans() {
+        // Utility class.
+    }
+
+    /**
+     * Returns the spliterator over non-null elements.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the spliterator
+     */
+    public static Spliterator.OfLong spliterator(long[] data, int size, long[] nulls) {
+        if (nulls == null)
+            return Spliterators.spliterator(data, 0, size, Spliterator.ORDERED);
+
+        PrimitiveIterator.OfInt indexes = nonNullIndexes(size, nulls);
+
+        PrimitiveIterator.OfLong it = new PrimitiveIterator.OfLong() {
+            /** {@inheritDoc} */
+            @Override public boolean hasNext() {
+                return indexes.hasNext();
+            }
+
+            /** {@inheritDoc} */
+            @Override public long nextLong() {
+                return data[indexes.nextInt()];
+            }
+        };
+
+        return Spliterators.spliterator(it, size - nullCount(nulls), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns the sum of non-null elements.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the sum or <tt>0</tt> if there are no non-null elements
+     */
+    public static long sum(long[] data, int size, long[] nulls) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                sum += data[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns the minimum non-null element.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the minimum element
+     * @throws NoSuchElementException if there are no non-null elements
+     */
+    public static long min(long[] data, int size, long[] nulls) {
+        int first = firstNonNull(size, nulls);
+
+        long res = data[first];
+        for (int i = first + 1; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                res = Math.min(res, data[i]);
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the maximum non-null element.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the maximum element
+     * @throws NoSuchElementException if there are no non-null elements
+     */
+    public static long max(long[] data, int size, long[] nulls) {
+        int first = firstNonNull(size, nulls);
+
+        long res = data[first];
+        for (int i = first + 1; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                res = Math.max(res, data[i]);
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the number of non-null elements that match the specified predicate.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param predicate the predicate
+     * @return the number of non-null elements that match the predicate
+     */
+    public static int count(long[] data, int size, long[] nulls, LongPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        int cnt = 0;
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i) && predicate.test(data[i]))
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     * Performs the specified action for each non-null element in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEach(long[] data, int size, long[] nulls, LongConsumer action) {
+        forEach(data, size, nulls, 0, size, action);
+    }
+
+    /**
+     * Performs the specified action for each non-null element of the specified range in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the list
+     */
+    public static void forEach(long[] data, int size, long[] nulls, int from, int to, LongConsumer action) {
+        Objects.requireNonNull(action);
+        checkRange(size, from, to);
+
+        for (int i = from; i < to; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element and its index in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEachIndexed(long[] data, int size, long[] nulls, LongCompactList.IndexedConsumer action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(i, data[i]);
+        }
+    }
+
+    /**
+     * Returns the spliterator over non-null elements.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the spliterator
+     */
+    public static Spliterator.OfInt spliterator(int[] data, int size, long[] nulls) {
+        if (nulls == null)
+            return Spliterators.spliterator(data, 0, size, Spliterator.ORDERED);
+
+        PrimitiveIterator.OfInt indexes = nonNullIndexes(size, nulls);
+
+        PrimitiveIterator.OfInt it = new PrimitiveIterator.OfInt() {
+            /** {@inheritDoc} */
+            @Override public boolean hasNext() {
+                return indexes.hasNext();
+            }
+
+            /** {@inheritDoc} */
+            @Override public int nextInt() {
+                return data[indexes.nextInt()];
+            }
+        };
+
+        return Spliterators.spliterator(it, size - nullCount(nulls), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns the sum of non-null elements.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the sum or <tt>0</tt> if there are no non-null elements
+     */
+    public static long sum(int[] data, int size, long[] nulls) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                sum += data[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns the minimum non-null element.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the minimum element
+     * @throws NoSuchElementException if there are no non-null elements
+     */
+    public static int min(int[] data, int size, long[] nulls) {
+        int first = firstNonNull(size, nulls);
+
+        int res = data[first];
+        for (int i = first + 1; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                res = Math.min(res, data[i]);
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the maximum non-null element.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the maximum element
+     * @throws NoSuchElementException if there are no non-null elements
+     */
+    public static int max(int[] data, int size, long[] nulls) {
+        int first = firstNonNull(size, nulls);
+
+        int res = data[first];
+        for (int i = first + 1; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                res = Math.max(res, data[i]);
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the number of non-null elements that match the specified predicate.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param predicate the predicate
+     * @return the number of non-null elements that match the predicate
+     */
+    public static int count(int[] data, int size, long[] nulls, IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        int cnt = 0;
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i) && predicate.test(data[i]))
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     * Performs the specified action for each non-null element in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEach(int[] data, int size, long[] nulls, IntConsumer action) {
+        forEach(data, size, nulls, 0, size, action);
+    }
+
+    /**
+     * Performs the specified action for each non-null element of the specified range in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the list
+     */
+    public static void forEach(int[] data, int size, long[] nulls, int from, int to, IntConsumer action) {
+        Objects.requireNonNull(action);
+        checkRange(size, from, to);
+
+        for (int i = from; i < to; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element and its index in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEachIndexed(int[] data, int size, long[] nulls, IntegerCompactList.IndexedConsumer action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(i, data[i]);
+        }
+    }
+
+    /**
+     * Returns the spliterator over non-null elements.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the spliterator
+     */
+    public static Spliterator.OfDouble spliterator(double[] data, int size, long[] nulls) {
+        if (nulls == null)
+            return Spliterators.spliterator(data, 0, size, Spliterator.ORDERED);
+
+        PrimitiveIterator.OfInt indexes = nonNullIndexes(size, nulls);
+
+        PrimitiveIterator.OfDouble it = new PrimitiveIterator.OfDouble() {
+            /** {@inheritDoc} */
+            @Override public boolean hasNext() {
+                return indexes.hasNext();
+            }
+
+            /** {@inheritDoc} */
+            @Override public double nextDouble() {
+                return data[indexes.nextInt()];
+            }
+        };
+
+        return Spliterators.spliterator(it, size - nullCount(nulls), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns the sum of non-null elements.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the sum or <tt>0</tt> if there are no non-null elements
+     */
+    public static double sum(double[] data, int size, long[] nulls) {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                sum += data[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns the minimum non-null element.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the minimum element
+     * @throws NoSuchElementException if there are no non-null elements
+     */
+    public static double min(double[] data, int size, long[] nulls) {
+        int first = firstNonNull(size, nulls);
+
+        double res = data[first];
+        for (int i = first + 1; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                res = Math.min(res, data[i]);
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the maximum non-null element.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the maximum element
+     * @throws NoSuchElementException if there are no non-null elements
+     */
+    public static double max(double[] data, int size, long[] nulls) {
+        int first = firstNonNull(size, nulls);
+
+        double res = data[first];
+        for (int i = first + 1; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                res = Math.max(res, data[i]);
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the number of non-null elements that match the specified predicate.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param predicate the predicate
+     * @return the number of non-null elements that match the predicate
+     */
+    public static int count(double[] data, int size, long[] nulls, DoublePredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        int cnt = 0;
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i) && predicate.test(data[i]))
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     * Performs the specified action for each non-null element in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEach(double[] data, int size, long[] nulls, DoubleConsumer action) {
+        forEach(data, size, nulls, 0, size, action);
+    }
+
+    /**
+     * Performs the specified action for each non-null element of the specified range in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the list
+     */
+    public static void forEach(double[] data, int size, long[] nulls, int from, int to, DoubleConsumer action) {
+        Objects.requireNonNull(action);
+        checkRange(size, from, to);
+
+        for (int i = from; i < to; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element and its index in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEachIndexed(double[] data, int size, long[] nulls, DoubleCompactList.IndexedConsumer action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(i, data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEach(short[] data, int size, long[] nulls, IntConsumer action) {
+        forEach(data, size, nulls, 0, size, action);
+    }
+
+    /**
+     * Performs the specified action for each non-null element of the specified range in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the list
+     */
+    public static void forEach(short[] data, int size, long[] nulls, int from, int to, IntConsumer action) {
+        Objects.requireNonNull(action);
+        checkRange(size, from, to);
+
+        for (int i = from; i < to; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element and its index in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEachIndexed(short[] data, int size, long[] nulls, ShortCompactList.IndexedConsumer action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(i, data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEach(byte[] data, int size, long[] nulls, IntConsumer action) {
+        forEach(data, size, nulls, 0, size, action);
+    }
+
+    /**
+     * Performs the specified action for each non-null element of the specified range in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the list
+     */
+    public static void forEach(byte[] data, int size, long[] nulls, int from, int to, IntConsumer action) {
+        Objects.requireNonNull(action);
+        checkRange(size, from, to);
+
+        for (int i = from; i < to; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element and its index in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEachIndexed(byte[] data, int size, long[] nulls, ByteCompactList.IndexedConsumer action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(i, data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEach(char[] data, int size, long[] nulls, IntConsumer action) {
+        forEach(data, size, nulls, 0, size, action);
+    }
+
+    /**
+     * Performs the specified action for each non-null element of the specified range in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the list
+     */
+    public static void forEach(char[] data, int size, long[] nulls, int from, int to, IntConsumer action) {
+        Objects.requireNonNull(action);
+        checkRange(size, from, to);
+
+        for (int i = from; i < to; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element and its index in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEachIndexed(char[] data, int size, long[] nulls,
+        CharacterCompactList.IndexedConsumer action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(i, data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEach(float[] data, int size, long[] nulls, DoubleConsumer action) {
+        forEach(data, size, nulls, 0, size, action);
+    }
+
+    /**
+     * Performs the specified action for each non-null element of the specified range in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the list
+     */
+    public static void forEach(float[] data, int size, long[] nulls, int from, int to, DoubleConsumer action) {
+        Objects.requireNonNull(action);
+        checkRange(size, from, to);
+
+        for (int i = from; i < to; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(data[i]);
+        }
+    }
+
+    /**
+     * Performs the specified action for each non-null element and its index in order.
+     *
+     * @param data the array
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @param action the action
+     */
+    public static void forEachIndexed(float[] data, int size, long[] nulls, FloatCompactList.IndexedConsumer action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                action.accept(i, data[i]);
+        }
+    }
+
+    /**
+     * Checks that the range is in bounds of the list.
+     *
+     * @param size the size of the list
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the list
+     */
+    private static void checkRange(int size, int from, int to) {
+        if (from < 0 || to > size || from > to)
+            throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Returns the index of the first non-null element.
+     *
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the index of the first non-null element
+     * @throws NoSuchElementException if there are no non-null elements
+     */
+    private static int firstNonNull(int size, long[] nulls) {
+        for (int i = 0; i < size; i++) {
+            if (!NullBitmap.isSet(nulls, i))
+                return i;
+        }
+
+        throw new NoSuchElementException();
+    }
+
+    /**
+     * Returns the number of <tt>null</tt> elements in the bitmap.
+     *
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the number of <tt>null</tt> elements
+     */
+    private static int nullCount(long[] nulls) {
+        int cnt = 0;
+        for (long word : nulls)
+            cnt += Long.bitCount(word);
+
+        return cnt;
+    }
+
+    /**
+     * Returns the iterator over the indexes of non-null elements.
+     *
+     * @param size the size of the list
+     * @param nulls the bitmap of <tt>null</tt> elements
+     * @return the iterator
+     */
+    private static PrimitiveIterator.OfInt nonNullIndexes(int size, long[] nulls) {
+        return new PrimitiveIterator.OfInt() {
+            /** The index of the next non-null element or the size of the list. */
+            private int next = skipNulls(0);
+
+            /** {@inheritDoc} */
+            @Override public boolean hasNext() {
+                return next < size;
+            }
+
+            /** {@inheritDoc} */
+            @Override public int nextInt() {
+                if (next >= size)
+                    throw new NoSuchElementException();
+
+                int res = next;
+                next = skipNulls(next + 1);
+
+                return res;
+            }
+
+            /**
+             * Returns the index of the first non-null element from the specified one or the size of the list.
+             *
+             * @param from the index to start from
+             * @return the index of the first non-null element or the size of the list
+             */
+            private int skipNulls(int from) {
+                int i = from;
+                while (i < size && NullBitmap.isSet(nulls, i))
+                    i++;
+
+                return i;
+            }
+        };
+    }
+}
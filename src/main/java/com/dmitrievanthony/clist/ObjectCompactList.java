@@ -1,23 +1,68 @@
 package com.dmitrievanthony.clist;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
- * Resizable-array implementation of the <tt>CompactList</tt> interface.
+ * Resizable-array implementation of the <tt>CompactList</tt> interface. Is serializable if its elements are
+ * serializable, only the elements are written without the spare capacity of the underlying array.
  *
  * @param <T> the type of elements in this list
  */
-public class ObjectCompactList<T> implements CompactList<T> {
+public class ObjectCompactList<T> implements CompactList<T>, Serializable {
+    /** The serial version UID. */
+    private static final long serialVersionUID = 0L;
+
     /** Default capacity of the underlying array {@link #data}. */
     private static final int DEFAULT_CAPACITY = 10;
 
+    /** The growth policy of the underlying array {@link #data}. */
+    private final GrowthPolicy growthPolicy;
+
     /** The underlying array into which the elements of the list are stored. */
-    private Object[] data = new Object[DEFAULT_CAPACITY];
+    private transient Object[] data;
 
     /** The size of the list. */
     private int size;
 
+    /**
+     * Constructs an empty list with the default capacity and the doubling growth policy.
+     */
+    public ObjectCompactList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty list with the specified initial capacity and the doubling growth policy.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public ObjectCompactList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.doubling());
+    }
+
+    /**
+     * Constructs an empty list with the specified initial capacity and growth policy.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @param growthPolicy the growth policy of the list
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public ObjectCompactList(int initialCapacity, GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Initial capacity should not be negative: " + initialCapacity);
+
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.data = new Object[initialCapacity];
+    }
+
     /** {@inheritDoc} */
     @Override public int size() {
         return size;
@@ -41,6 +86,130 @@ public class ObjectCompactList<T> implements CompactList<T> {
         data[size++] = element;
     }
 
+    /**
+     * Adds the specified range of elements of the specified array into this list.
+     *
+     * @param src the source array
+     * @param off the position in the source array of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the source array
+     * @throws NullPointerException if any of the elements in the range is <tt>null</tt>
+     */
+    public void addAll(T[] src, int off, int len) {
+        checkRange(src.length, off, len);
+        for (int i = off; i < off + len; i++)
+            Objects.requireNonNull(src[i]);
+
+        ensureCapacity(size + len);
+        System.arraycopy(src, off, data, size, len);
+        size += len;
+    }
+
+    /**
+     * Copies the specified range of elements of this list into the specified array.
+     *
+     * @param from the position in this list of the first element to be copied
+     * @param dst the destination array
+     * @param off the position in the destination array
+     * @param len the number of elements to be copied
+     * @throws IndexOutOfBoundsException if the range is out of bounds of this list or of the destination array
+     */
+    public void getRange(int from, T[] dst, int off, int len) {
+        checkRange(size, from, len);
+
+        System.arraycopy(data, from, dst, off, len);
+    }
+
+    /**
+     * Returns an array containing all of the elements in this list in proper sequence.
+     *
+     * @return an array containing all of the elements in this list in proper sequence
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * Performs the specified action for each element of this list in order. The elements are read from the underlying
+     * array in a counted loop without range checks.
+     *
+     * @param action the action to be performed for each element
+     */
+    public void forEach(Consumer<? super T> action) {
+        forEach(0, size, action);
+    }
+
+    /**
+     * Performs the specified action for each element of the specified range of this list in order.
+     *
+     * @param from the position of the first element (inclusive)
+     * @param to the position of the last element (exclusive)
+     * @param action the action to be performed for each element
+     * @throws IndexOutOfBoundsException if the range is out of bounds of this list
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(int from, int to, Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+
+        if (from < 0 || to > size || from > to)
+            throw new IndexOutOfBoundsException();
+
+        Object[] data = this.data;
+        for (int i = from; i < to; i++)
+            action.accept((T)data[i]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        Arrays.fill(data, 0, size, null);
+        size = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompactList<T> freeze() {
+        return new FrozenObjectCompactList<>(Arrays.copyOf(data, size));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void trimToSize() {
+        if (size < data.length)
+            data = Arrays.copyOf(data, size);
+    }
+
+    /**
+     * Writes the size and the growth policy of the list followed by its elements.
+     *
+     * @param out the stream to write to
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+
+        for (int i = 0; i < size; i++)
+            out.writeObject(data[i]);
+    }
+
+    /**
+     * Reads the size and the growth policy of the list followed by its elements.
+     *
+     * @param in the stream to read from
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if the class of an element cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        if (size < 0)
+            throw new InvalidObjectException("Unexpected size " + size);
+
+        data = new Object[size];
+        for (int i = 0; i < size; i++)
+            data[i] = in.readObject();
+    }
+
     /**
      * Checks that specified index is greater or equal to zero and is less than the size of the list.
      *
@@ -53,17 +222,25 @@ public class ObjectCompactList<T> implements CompactList<T> {
     }
 
     /**
-     * Ensures that the current capacity of the list is enough, otherwise doubles it.
+     * Checks that the specified range is within the bounds of an array or a list of the specified length.
+     *
+     * @param length the length of the array or the list
+     * @param off the position of the first element of the range
+     * @param len the number of elements in the range
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    static void checkRange(int length, int off, int len) {
+        if (off < 0 || len < 0 || off > length - len)
+            throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Ensures that the current capacity of the list is enough, otherwise grows it according to the growth policy.
      *
      * @param minCapacity minimum desired capacity
      */
     private void ensureCapacity(int minCapacity) {
-        if (data.length < minCapacity) {
-            int newCapacity = Math.max(data.length * 2, minCapacity);
-            if (newCapacity < 0)
-                throw new OutOfMemoryError();
-
-            data = Arrays.copyOf(data, newCapacity);
-        }
+        if (minCapacity - data.length > 0)
+            data = Arrays.copyOf(data, growthPolicy.newCapacity(data.length, minCapacity));
     }
 }
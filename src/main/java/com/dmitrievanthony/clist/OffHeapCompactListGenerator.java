@@ -0,0 +1,391 @@
+package com.dmitrievanthony.clist;
+
+import java.nio.file.Path;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import sun.misc.Unsafe;
+
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.LADD;
+import static org.objectweb.asm.Opcodes.LCONST_1;
+import static org.objectweb.asm.Opcodes.LLOAD;
+import static org.objectweb.asm.Opcodes.LSHL;
+import static org.objectweb.asm.Opcodes.LSTORE;
+import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * The generator that generates off-heap implementations of {@link BigCompactList} that are optimized to work with
+ * primitive types. Generated classes extend {@link AbstractOffHeapCompactList} that manages the block of native
+ * memory or the mapped file, and read and write elements of the specific primitive type directly through
+ * <tt>Unsafe</tt>.
+ */
+class OffHeapCompactListGenerator {
+    /** The suffix of the name of the class that constructs instances of the generated class. */
+    static final String FACTORY_SUFFIX = "Factory";
+
+    /** The name of the package of the library classes implemented by the generated class. */
+    private static final String PREFIX = "com/dmitrievanthony/clist/";
+
+    /** The name of the base class of generated classes. */
+    private static final String BASE = Type.getInternalName(AbstractOffHeapCompactList.class);
+
+    /** The name of the <tt>Path</tt> interface. */
+    private static final String PATH = Type.getInternalName(Path.class);
+
+    /** The name of the <tt>Unsafe</tt> class. */
+    private static final String UNSAFE = Type.getInternalName(Unsafe.class);
+
+    /** The canonical class name with a dot separator. */
+    private final String className;
+
+    /** The primitive type. */
+    private final Type primitive;
+
+    /** The type of object representation (java/lang/Integer for int, java/lang/Long got long, etc). */
+    private final String type;
+
+    /** The name of the interface with unboxed accessors (com/dmitrievanthony/clist/LongBigCompactList, etc). */
+    private final String typedInterface;
+
+    /** The name of the primitive used in unboxed accessors (Int for int, Long for long, etc). */
+    private final String typedName;
+
+    /** The size of element in bytes as a power of two. */
+    private final int elementShift;
+
+    /**
+     * Constructs the new instance of <tt>OffHeapCompactListGenerator</tt>.
+     *
+     * @param className the canonical class name with a dot separator
+     * @param elementType the class of element in the list (<tt>Long</tt> for long, etc)
+     */
+    OffHeapCompactListGenerator(String className, Class<?> elementType) {
+        Type primitive = Type.getType(SegmentedCompactListGenerator.getPrimitive(elementType));
+
+        this.className = className;
+        this.primitive = primitive;
+        this.type = Type.getInternalName(elementType);
+        this.typedInterface = PREFIX + elementType.getSimpleName() + "BigCompactList";
+        this.typedName =
+            Character.toUpperCase(primitive.getClassName().charAt(0)) + primitive.getClassName().substring(1);
+        this.elementShift = getElementShift(primitive);
+    }
+
+    /**
+     * Generates the bytecode of the class that extends <tt>AbstractOffHeapCompactList</tt>.
+     *
+     * @return the bytecode of the class that extends <tt>AbstractOffHeapCompactList</tt>
+     */
+    byte[] generate() {
+        ClassWriter writer = new ClassWriter(0);
+
+        writer.visit(
+            V1_8,
+            ACC_PUBLIC,
+            className.replace('.', '/'),
+            null,
+            BASE,
+            new String[] {typedInterface}
+        );
+
+        generateConstructor(writer);
+        generateMappedConstructor(writer);
+        generateAddMethod(writer);
+        generateTypedAddMethod(writer);
+        generateGetMethod(writer);
+        generateTypedGetMethod(writer);
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Generates the bytecode of the class that implements <tt>LongFunction</tt> and <tt>Function</tt>, and constructs
+     * new instances of the class generated by {@link #generate()} of the given capacity or mapped from the given file
+     * without reflection.
+     *
+     * @return the bytecode of the class that implements <tt>LongFunction</tt> and <tt>Function</tt>
+     */
+    byte[] generateFactory() {
+        ClassWriter writer = new ClassWriter(0);
+
+        writer.visit(
+            V1_8,
+            ACC_PUBLIC,
+            className.replace('.', '/') + FACTORY_SUFFIX,
+            null,
+            Object.class.getCanonicalName().replace('.', '/'),
+            new String[] {
+                LongFunction.class.getCanonicalName().replace('.', '/'),
+                Function.class.getCanonicalName().replace('.', '/')
+            }
+        );
+
+        MethodVisitor mv = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        /* Call parent constructor and return void. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+
+        mv = writer.visitMethod(ACC_PUBLIC, "apply", "(J)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        /* Creates, duplicates, initializes with the specified capacity and returns a new object of the class. */
+        mv.visitTypeInsn(NEW, className.replace('.', '/'));
+        mv.visitInsn(DUP);
+        mv.visitVarInsn(LLOAD, 1);
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "<init>", "(J)V", false);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(4, 3);
+        mv.visitEnd();
+
+        mv = writer.visitMethod(ACC_PUBLIC, "apply", "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        /* Creates, duplicates, initializes with the specified path and returns a new object of the class. */
+        mv.visitTypeInsn(NEW, className.replace('.', '/'));
+        mv.visitInsn(DUP);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, PATH);
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "<init>", "(L" + PATH + ";)V", false);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(3, 2);
+        mv.visitEnd();
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Generates the class constructor with initial capacity.
+     *
+     * @param cv the class visitor
+     */
+    private void generateConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "(J)V", null, null);
+
+        mv.visitCode();
+
+        /* Call parent constructor with the size of element and the initial capacity, return void. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitIntInsn(BIPUSH, elementShift);
+        mv.visitVarInsn(LLOAD, 1);
+        mv.visitMethodInsn(INVOKESPECIAL, BASE, "<init>", "(IJ)V", false);
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(4, 3);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the class constructor that maps the list from the file.
+     *
+     * @param cv the class visitor
+     */
+    private void generateMappedConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "(L" + PATH + ";)V", null, null);
+
+        mv.visitCode();
+
+        /* Call parent constructor with the size of element, the type of elements and the path, return void. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitIntInsn(BIPUSH, elementShift);
+        mv.visitIntInsn(BIPUSH, primitive.getDescriptor().charAt(0));
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKESPECIAL, BASE, "<init>", "(ICL" + PATH + ";)V", false);
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(4, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>add</tt> method that unboxes the element and delegates to the typed <tt>add</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateAddMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "add", "(Ljava/lang/Object;)V", null, null);
+
+        mv.visitCode();
+
+        /* Pushes "this" and specified element onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        /* Casts the specified element to object representation of the primitive and converts it into primitive. */
+        mv.visitTypeInsn(CHECKCAST, type);
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            type,
+            primitive.getClassName() + "Value",
+            "()" + primitive.getDescriptor(),
+            false
+        );
+        /* Calls "INVOKEVIRTUAL" that pops primitive and "this" from the stack. */
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            className.replace('.', '/'),
+            "add" + typedName,
+            "(" + primitive.getDescriptor() + ")V",
+            false
+        );
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(1 + primitive.getSize(), 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the typed <tt>add</tt> method (<tt>addInt</tt> for int, <tt>addLong</tt> for long, etc).
+     *
+     * @param cv the class visitor
+     */
+    private void generateTypedAddMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(
+            ACC_PUBLIC,
+            "add" + typedName,
+            "(" + primitive.getDescriptor() + ")V",
+            null,
+            null
+        );
+
+        /* Index of the local variable that keeps size. */
+        int size = 1 + primitive.getSize();
+
+        mv.visitCode();
+
+        /* Stores size into the local variable. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "J");
+        mv.visitVarInsn(LSTORE, size);
+        /* Calls "ensureCapacity" with "size + 1". */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(LLOAD, size);
+        mv.visitInsn(LCONST_1);
+        mv.visitInsn(LADD);
+        mv.visitMethodInsn(INVOKEVIRTUAL, className.replace('.', '/'), "ensureCapacity", "(J)V", false);
+        /* Pushes "Unsafe" and the address of the element "address + (size << elementShift)" onto the stack. */
+        mv.visitFieldInsn(GETSTATIC, BASE, "UNSAFE", "L" + UNSAFE + ";");
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "address", "J");
+        mv.visitVarInsn(LLOAD, size);
+        mv.visitIntInsn(BIPUSH, elementShift);
+        mv.visitInsn(LSHL);
+        mv.visitInsn(LADD);
+        /* Pushes the element onto the stack and calls "INVOKEVIRTUAL" that writes it into the memory. */
+        mv.visitVarInsn(primitive.getOpcode(ILOAD), 1);
+        mv.visitMethodInsn(INVOKEVIRTUAL, UNSAFE, "put" + typedName, "(J" + primitive.getDescriptor() + ")V", false);
+        /* Updates size field with "size + 1". */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(LLOAD, size);
+        mv.visitInsn(LCONST_1);
+        mv.visitInsn(LADD);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "size", "J");
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(6, size + 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>get</tt> method that delegates to the typed <tt>get</tt> method and boxes the result.
+     *
+     * @param cv the class visitor
+     */
+    private void generateGetMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "get", "(J)Ljava/lang/Object;", null, null);
+
+        mv.visitCode();
+
+        /* Pushes "this" and index onto the stack, calls typed "get" that pops them and pushes back the primitive. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(LLOAD, 1);
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            className.replace('.', '/'),
+            "get" + typedName,
+            "(J)" + primitive.getDescriptor(),
+            false
+        );
+        /* Calls "INVOKESTATIC" that pops the primitive and pushes back object representation, returns it. */
+        mv.visitMethodInsn(INVOKESTATIC, type, "valueOf", "(" + primitive.getDescriptor() + ")L" + type + ";", false);
+        mv.visitInsn(ARETURN);
+
+        mv.visitMaxs(3, 3);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the typed <tt>get</tt> method (<tt>getInt</tt> for int, <tt>getLong</tt> for long, etc).
+     *
+     * @param cv the class visitor
+     */
+    private void generateTypedGetMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "get" + typedName, "(J)" + primitive.getDescriptor(), null, null);
+
+        mv.visitCode();
+
+        /* Calls "checkRange" with the index. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(LLOAD, 1);
+        mv.visitMethodInsn(INVOKEVIRTUAL, className.replace('.', '/'), "checkRange", "(J)V", false);
+        /* Pushes "Unsafe" and the address of the element "address + (index << elementShift)" onto the stack. */
+        mv.visitFieldInsn(GETSTATIC, BASE, "UNSAFE", "L" + UNSAFE + ";");
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "address", "J");
+        mv.visitVarInsn(LLOAD, 1);
+        mv.visitIntInsn(BIPUSH, elementShift);
+        mv.visitInsn(LSHL);
+        mv.visitInsn(LADD);
+        /* Calls "INVOKEVIRTUAL" that reads the element from the memory, returns it. */
+        mv.visitMethodInsn(INVOKEVIRTUAL, UNSAFE, "get" + typedName, "(J)" + primitive.getDescriptor(), false);
+        mv.visitInsn(primitive.getOpcode(IRETURN));
+
+        mv.visitMaxs(6, 3);
+        mv.visitEnd();
+    }
+
+    /**
+     * Returns the size of element of the specified primitive type in bytes as a power of two.
+     *
+     * @param primitive the primitive type
+     * @return the size of element in bytes as a power of two
+     */
+    static int getElementShift(Type primitive) {
+        switch (primitive.getSort()) {
+            case Type.BYTE:
+                return 0;
+            case Type.CHAR:
+            case Type.SHORT:
+                return 1;
+            case Type.INT:
+            case Type.FLOAT:
+                return 2;
+            case Type.LONG:
+            case Type.DOUBLE:
+                return 3;
+            default:
+                throw new IllegalArgumentException("Specified type " + primitive + " is not supported");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.dmitrievanthony.clist;
+
+/**
+ * The list produced by the pooled factory that borrows its underlying array from {@link CompactListArrayPool}.
+ *
+ * @param <T> the type of elements in this list
+ */
+public interface PooledCompactList<T> extends CompactList<T> {
+    /**
+     * Returns the underlying array into the pool and clears the list. The list stays usable, it borrows a new array
+     * when elements are added, but the elements obtained in bulk from the released array must not be used anymore.
+     */
+    void release();
+}
@@ -0,0 +1,524 @@
+package com.dmitrievanthony.clist;
+
+import java.util.function.Supplier;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.AASTORE;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ANEWARRAY;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.ARRAYLENGTH;
+import static org.objectweb.asm.Opcodes.ATHROW;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.F_APPEND;
+import static org.objectweb.asm.Opcodes.F_SAME;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.IALOAD;
+import static org.objectweb.asm.Opcodes.IAND;
+import static org.objectweb.asm.Opcodes.IASTORE;
+import static org.objectweb.asm.Opcodes.ICONST_1;
+import static org.objectweb.asm.Opcodes.IFLT;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.IF_ICMPLT;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INTEGER;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.ISHL;
+import static org.objectweb.asm.Opcodes.ISTORE;
+import static org.objectweb.asm.Opcodes.L2I;
+import static org.objectweb.asm.Opcodes.LADD;
+import static org.objectweb.asm.Opcodes.LCMP;
+import static org.objectweb.asm.Opcodes.LCONST_0;
+import static org.objectweb.asm.Opcodes.LCONST_1;
+import static org.objectweb.asm.Opcodes.LLOAD;
+import static org.objectweb.asm.Opcodes.LONG;
+import static org.objectweb.asm.Opcodes.LRETURN;
+import static org.objectweb.asm.Opcodes.LSTORE;
+import static org.objectweb.asm.Opcodes.LUSHR;
+import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.NEWARRAY;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.T_BYTE;
+import static org.objectweb.asm.Opcodes.T_CHAR;
+import static org.objectweb.asm.Opcodes.T_DOUBLE;
+import static org.objectweb.asm.Opcodes.T_FLOAT;
+import static org.objectweb.asm.Opcodes.T_INT;
+import static org.objectweb.asm.Opcodes.T_LONG;
+import static org.objectweb.asm.Opcodes.T_SHORT;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * The generator that generates implementations of {@link BigCompactList} that are optimized to work with primitive
+ * types and store elements in fixed-size segments. The segment size is a power of two, so that the segment and the
+ * position in the segment are calculated using a shift and a mask. The list grows by allocating new segments and never
+ * copies elements that are already added.
+ */
+class SegmentedCompactListGenerator {
+    /** The suffix of the name of the class that constructs instances of the generated class. */
+    static final String FACTORY_SUFFIX = "Factory";
+
+    /** The name of the package of the library classes implemented by the generated class. */
+    private static final String PREFIX = "com/dmitrievanthony/clist/";
+
+    /** The canonical class name with a dot separator. */
+    private final String className;
+
+    /** The primitive type. */
+    private final Type primitive;
+
+    /** The type of object representation (java/lang/Integer for int, java/lang/Long got long, etc). */
+    private final String type;
+
+    /** The name of the interface with unboxed accessors (com/dmitrievanthony/clist/LongBigCompactList, etc). */
+    private final String typedInterface;
+
+    /** The name of the primitive used in unboxed accessors (Int for int, Long for long, etc). */
+    private final String typedName;
+
+    /** The segment size as a power of two. */
+    private final int segmentShift;
+
+    /**
+     * Constructs the new instance of <tt>SegmentedCompactListGenerator</tt>.
+     *
+     * @param className the canonical class name with a dot separator
+     * @param elementType the class of element in the list (<tt>Long</tt> for long, etc)
+     * @param segmentShift the segment size as a power of two
+     */
+    SegmentedCompactListGenerator(String className, Class<?> elementType, int segmentShift) {
+        Type primitive = Type.getType(getPrimitive(elementType));
+
+        this.className = className;
+        this.primitive = primitive;
+        this.type = Type.getInternalName(elementType);
+        this.typedInterface = PREFIX + elementType.getSimpleName() + "BigCompactList";
+        this.typedName =
+            Character.toUpperCase(primitive.getClassName().charAt(0)) + primitive.getClassName().substring(1);
+        this.segmentShift = segmentShift;
+    }
+
+    /**
+     * Generates the bytecode of the class that implements <tt>BigCompactList</tt>.
+     *
+     * @return the bytecode of the class that implements <tt>BigCompactList</tt>
+     */
+    byte[] generate() {
+        ClassWriter writer = new ClassWriter(0);
+
+        writer.visit(
+            V1_8,
+            ACC_PUBLIC,
+            className.replace('.', '/'),
+            null,
+            Object.class.getCanonicalName().replace('.', '/'),
+            new String[] {typedInterface}
+        );
+
+        writer.visitField(ACC_PRIVATE, "segments", "[[" + primitive.getDescriptor(), null, null).visitEnd();
+        writer.visitField(ACC_PRIVATE, "size", "J", null, null).visitEnd();
+
+        generateConstructor(writer);
+        generateSizeMethod(writer);
+        generateAddMethod(writer);
+        generateTypedAddMethod(writer);
+        generateGetMethod(writer);
+        generateTypedGetMethod(writer);
+        generateAddSegmentMethod(writer);
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Generates the bytecode of the class that implements <tt>Supplier</tt> and constructs new instances of the class
+     * generated by {@link #generate()} without reflection.
+     *
+     * @return the bytecode of the class that implements <tt>Supplier</tt>
+     */
+    byte[] generateFactory() {
+        ClassWriter writer = new ClassWriter(0);
+
+        writer.visit(
+            V1_8,
+            ACC_PUBLIC,
+            className.replace('.', '/') + FACTORY_SUFFIX,
+            null,
+            Object.class.getCanonicalName().replace('.', '/'),
+            new String[] {Supplier.class.getCanonicalName().replace('.', '/')}
+        );
+
+        MethodVisitor mv = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        /* Call parent constructor and return void. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+
+        mv = writer.visitMethod(ACC_PUBLIC, "get", "()Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        /* Creates, duplicates, initializes and returns a new object of the generated class. */
+        mv.visitTypeInsn(NEW, className.replace('.', '/'));
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "<init>", "()V", false);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(2, 1);
+        mv.visitEnd();
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Generates the class constructor.
+     *
+     * @param cv the class visitor
+     */
+    private void generateConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+
+        mv.visitCode();
+
+        /* Call parent constructor. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+
+        /* Pushes "this" and 1 onto the stack, calls "ANEWARRAY" that pops 1 and pushes array of segments back. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(ICONST_1);
+        mv.visitTypeInsn(ANEWARRAY, "[" + primitive.getDescriptor());
+        /* Calls "PUTFIELD" that pops array reference and "this" from the stack. */
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "segments", "[[" + primitive.getDescriptor());
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(2, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>size</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateSizeMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "size", "()J", null, null);
+
+        mv.visitCode();
+
+        /* Pushes "this" onto the stack and replaces it by the field value (size), returns it. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "J");
+        mv.visitInsn(LRETURN);
+
+        mv.visitMaxs(2, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>add</tt> method that unboxes the element and delegates to the typed <tt>add</tt> method.
+     *
+     * @param cv the class visitor
+     */
+    private void generateAddMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "add", "(Ljava/lang/Object;)V", null, null);
+
+        mv.visitCode();
+
+        /* Pushes "this" and specified element onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        /* Casts the specified element to object representation of the primitive and converts it into primitive. */
+        mv.visitTypeInsn(CHECKCAST, type);
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            type,
+            primitive.getClassName() + "Value",
+            "()" + primitive.getDescriptor(),
+            false
+        );
+        /* Calls "INVOKEVIRTUAL" that pops primitive and "this" from the stack. */
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            className.replace('.', '/'),
+            "add" + typedName,
+            "(" + primitive.getDescriptor() + ")V",
+            false
+        );
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(1 + primitive.getSize(), 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the typed <tt>add</tt> method (<tt>addInt</tt> for int, <tt>addLong</tt> for long, etc).
+     *
+     * @param cv the class visitor
+     */
+    private void generateTypedAddMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(
+            ACC_PUBLIC,
+            "add" + typedName,
+            "(" + primitive.getDescriptor() + ")V",
+            null,
+            null
+        );
+
+        /* Indexes of local variables: size, segment index and position in the segment. */
+        int size = 1 + primitive.getSize();
+        int segment = size + 2;
+        int position = size + 3;
+
+        mv.visitCode();
+
+        /* Define the label, it will be inserted later. */
+        Label l1 = new Label();
+
+        /* Stores size into the local variable. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "J");
+        mv.visitVarInsn(LSTORE, size);
+        /* Stores "size >>> segmentShift" (segment index) into the local variable. */
+        mv.visitVarInsn(LLOAD, size);
+        mv.visitIntInsn(BIPUSH, segmentShift);
+        mv.visitInsn(LUSHR);
+        mv.visitInsn(L2I);
+        mv.visitVarInsn(ISTORE, segment);
+        /* Stores "size & segmentMask" (position in the segment) into the local variable. */
+        mv.visitVarInsn(LLOAD, size);
+        mv.visitInsn(L2I);
+        mv.visitLdcInsn((1 << segmentShift) - 1);
+        mv.visitInsn(IAND);
+        mv.visitVarInsn(ISTORE, position);
+        /* If position in the segment is not 0 goto l1. */
+        mv.visitVarInsn(ILOAD, position);
+        mv.visitJumpInsn(IFNE, l1);
+        /* Otherwise calls "addSegment" with the segment index. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ILOAD, segment);
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "addSegment", "(I)V", false);
+
+        /* Section that stores the element. */
+        mv.visitLabel(l1);
+        /* Should be called after jump target, three local variables have been added since the beginning. */
+        mv.visitFrame(F_APPEND, 3, new Object[] {LONG, INTEGER, INTEGER}, 0, null);
+        /* Pushes the segment, position in the segment and the element, stores the element into the segment. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "segments", "[[" + primitive.getDescriptor());
+        mv.visitVarInsn(ILOAD, segment);
+        mv.visitInsn(AALOAD);
+        mv.visitVarInsn(ILOAD, position);
+        mv.visitVarInsn(primitive.getOpcode(ILOAD), 1);
+        mv.visitInsn(primitive.getOpcode(IASTORE));
+        /* Updates size field with "size + 1". */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(LLOAD, size);
+        mv.visitInsn(LCONST_1);
+        mv.visitInsn(LADD);
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "size", "J");
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(5, position + 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>get</tt> method that delegates to the typed <tt>get</tt> method and boxes the result.
+     *
+     * @param cv the class visitor
+     */
+    private void generateGetMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "get", "(J)Ljava/lang/Object;", null, null);
+
+        mv.visitCode();
+
+        /* Pushes "this" and index onto the stack, calls typed "get" that pops them and pushes back the primitive. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(LLOAD, 1);
+        mv.visitMethodInsn(
+            INVOKEVIRTUAL,
+            className.replace('.', '/'),
+            "get" + typedName,
+            "(J)" + primitive.getDescriptor(),
+            false
+        );
+        /* Calls "INVOKESTATIC" that pops the primitive and pushes back object representation, returns it. */
+        mv.visitMethodInsn(INVOKESTATIC, type, "valueOf", "(" + primitive.getDescriptor() + ")L" + type + ";", false);
+        mv.visitInsn(ARETURN);
+
+        mv.visitMaxs(3, 3);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the typed <tt>get</tt> method (<tt>getInt</tt> for int, <tt>getLong</tt> for long, etc).
+     *
+     * @param cv the class visitor
+     */
+    private void generateTypedGetMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "get" + typedName, "(J)" + primitive.getDescriptor(), null, null);
+
+        mv.visitCode();
+
+        /* Define two labels, they will be inserted later. */
+        Label l1 = new Label();
+        Label l2 = new Label();
+
+        /* If index is less than 0 goto l1. */
+        mv.visitVarInsn(LLOAD, 1);
+        mv.visitInsn(LCONST_0);
+        mv.visitInsn(LCMP);
+        mv.visitJumpInsn(IFLT, l1);
+        /* If index is less than size goto l2. */
+        mv.visitVarInsn(LLOAD, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "size", "J");
+        mv.visitInsn(LCMP);
+        mv.visitJumpInsn(IFLT, l2);
+
+        /* Section that throws the exception. */
+        mv.visitLabel(l1);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        mv.visitTypeInsn(NEW, "java/lang/IndexOutOfBoundsException");
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/IndexOutOfBoundsException", "<init>", "()V", false);
+        mv.visitInsn(ATHROW);
+
+        /* Section that loads the element. */
+        mv.visitLabel(l2);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        /* Pushes the segment with index "index >>> segmentShift" onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "segments", "[[" + primitive.getDescriptor());
+        mv.visitVarInsn(LLOAD, 1);
+        mv.visitIntInsn(BIPUSH, segmentShift);
+        mv.visitInsn(LUSHR);
+        mv.visitInsn(L2I);
+        mv.visitInsn(AALOAD);
+        /* Pushes the position in the segment "index & segmentMask" onto the stack. */
+        mv.visitVarInsn(LLOAD, 1);
+        mv.visitInsn(L2I);
+        mv.visitLdcInsn((1 << segmentShift) - 1);
+        mv.visitInsn(IAND);
+        /* Pops position and the segment from the stack, pushes back the element and returns it. */
+        mv.visitInsn(primitive.getOpcode(IALOAD));
+        mv.visitInsn(primitive.getOpcode(IRETURN));
+
+        mv.visitMaxs(4, 3);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>addSegment</tt> method that allocates the segment with the specified index and grows the array
+     * of segments if needed (only references to segments are copied).
+     *
+     * @param cv the class visitor
+     */
+    private void generateAddSegmentMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PRIVATE, "addSegment", "(I)V", null, null);
+
+        mv.visitCode();
+
+        /* Define the label, it will be inserted later. */
+        Label l1 = new Label();
+
+        /* If segment index is less than the length of array of segments goto l1. */
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "segments", "[[" + primitive.getDescriptor());
+        mv.visitInsn(ARRAYLENGTH);
+        mv.visitJumpInsn(IF_ICMPLT, l1);
+        /* Otherwise doubles array of segments: "segments = Arrays.copyOf(segments, index << 1)". */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "segments", "[[" + primitive.getDescriptor());
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(ISHL);
+        mv.visitMethodInsn(
+            INVOKESTATIC,
+            "java/util/Arrays",
+            "copyOf",
+            "([Ljava/lang/Object;I)[Ljava/lang/Object;",
+            false
+        );
+        mv.visitTypeInsn(CHECKCAST, "[[" + primitive.getDescriptor());
+        mv.visitFieldInsn(PUTFIELD, className.replace('.', '/'), "segments", "[[" + primitive.getDescriptor());
+
+        /* Section that allocates the segment. */
+        mv.visitLabel(l1);
+        /* Should be called after jump target. */
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        /* Pushes array of segments, segment index and the new segment, stores the segment into the array. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className.replace('.', '/'), "segments", "[[" + primitive.getDescriptor());
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitLdcInsn(1 << segmentShift);
+        mv.visitIntInsn(NEWARRAY, getTypeOperand(primitive));
+        mv.visitInsn(AASTORE);
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(4, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Returns the primitive class that corresponds to the specified object representation.
+     *
+     * @param elementType the object representation of the primitive (<tt>Long</tt> for long, etc)
+     * @return the primitive class
+     */
+    static Class<?> getPrimitive(Class<?> elementType) {
+        try {
+            return (Class<?>)elementType.getField("TYPE").get(null);
+        }
+        catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Specified type " + elementType + " is not a primitive", e);
+        }
+    }
+
+    /**
+     * Returns the operand of the "NEWARRAY" instruction for the specified primitive type.
+     *
+     * @param primitive the primitive type
+     * @return the operand of the "NEWARRAY" instruction
+     */
+    static int getTypeOperand(Type primitive) {
+        switch (primitive.getSort()) {
+            case Type.BYTE:
+                return T_BYTE;
+            case Type.CHAR:
+                return T_CHAR;
+            case Type.SHORT:
+                return T_SHORT;
+            case Type.INT:
+                return T_INT;
+            case Type.LONG:
+                return T_LONG;
+            case Type.FLOAT:
+                return T_FLOAT;
+            case Type.DOUBLE:
+                return T_DOUBLE;
+            default:
+                throw new IllegalArgumentException("Specified type " + primitive + " is not supported");
+        }
+    }
+}
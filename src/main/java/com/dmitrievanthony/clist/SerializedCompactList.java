@@ -0,0 +1,71 @@
+package com.dmitrievanthony.clist;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * The serialized form of compact lists of primitives. Classes generated by {@link CompactListGenerator} are defined
+ * in the classloader that can't be found by Java serialization, so the lists are replaced by this class when they are
+ * serialized. Keeps the element type followed by the list written in the binary format of {@link CompactListIO},
+ * and is resolved into the list constructed by {@link CompactListFactory} when it's deserialized.
+ */
+public final class SerializedCompactList implements Externalizable {
+    /** The serial version UID. */
+    private static final long serialVersionUID = 0L;
+
+    /** The factory that constructs deserialized lists. */
+    private static final CompactListFactory FACTORY = new CompactListFactory();
+
+    /** The class of element in the list. */
+    private Class<?> elementType;
+
+    /** The list. */
+    private CompactList<?> list;
+
+    /**
+     * Constructs a new instance of <tt>SerializedCompactList</tt> for deserialization.
+     */
+    public SerializedCompactList() {
+        // No-op.
+    }
+
+    /**
+     * Constructs a new instance of <tt>SerializedCompactList</tt> for the specified list.
+     *
+     * @param elementType the class of element in the list
+     * @param list the list that implements <tt>Externalizable</tt>
+     */
+    public SerializedCompactList(Class<?> elementType, CompactList<?> list) {
+        this.elementType = elementType;
+        this.list = list;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeObject(elementType);
+        ((Externalizable)list).writeExternal(out);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        elementType = (Class<?>)in.readObject();
+        list = FACTORY.newCompactList(elementType, 0);
+
+        if (!(list instanceof Externalizable))
+            throw new InvalidObjectException("Unexpected element type " + elementType);
+
+        ((Externalizable)list).readExternal(in);
+    }
+
+    /**
+     * Resolves the deserialized form into the list.
+     *
+     * @return the list
+     */
+    private Object readResolve() {
+        return list;
+    }
+}
@@ -0,0 +1,771 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Read-only views of the columns of {@link StructCompactList}. A view delegates reads (including the scans and
+ * aggregates, so that they run over the underlying array of the column) and rejects writes, so that the columns of the
+ * list can't be misaligned by user code.
+ */
+final class StructColumns {
+    /**
+     * Returns the read-only view of the specified column.
+     *
+     * @param column the column
+     * @return the read-only view of the column
+     */
+    static CompactList<?> readOnly(CompactList<?> column) {
+        if (column instanceof LongCompactList)
+            return new LongColumn((LongCompactList)column);
+
+        if (column instanceof IntegerCompactList)
+            return new IntegerColumn((IntegerCompactList)column);
+
+        if (column instanceof ShortCompactList)
+            return new ShortColumn((ShortCompactList)column);
+
+        if (column instanceof ByteCompactList)
+            return new ByteColumn((ByteCompactList)column);
+
+        if (column instanceof CharacterCompactList)
+            return new CharacterColumn((CharacterCompactList)column);
+
+        if (column instanceof DoubleCompactList)
+            return new DoubleColumn((DoubleCompactList)column);
+
+        if (column instanceof FloatCompactList)
+            return new FloatColumn((FloatCompactList)column);
+
+        if (column instanceof BooleanCompactList)
+            return new BooleanColumn((BooleanCompactList)column);
+
+        throw new IllegalArgumentException("Unsupported column " + column.getClass().getName());
+    }
+
+    /**
+     * Constructs the new instance of <tt>StructColumns</tt>.
+     */
+    private StructColumns() {
+        // Utility class.
+    }
+
+    /**
+     * The base class of read-only views.
+     *
+     * @param <T> the type of elements in the column
+     * @param <L> the type of the column
+     */
+    private abstract static class Column<T, L extends CompactList<T>> implements CompactList<T>, Serializable {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /** The column. */
+        final L column;
+
+        /**
+         * Constructs a new instance of read-only view.
+         *
+         * @param column the column
+         */
+        Column(L column) {
+            this.column = column;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int size() {
+            return column.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override public T get(int index) {
+            return column.get(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void add(T element) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Read-only view of the column of longs.
+     */
+    private static final class LongColumn extends Column<Long, LongCompactList> implements LongCompactList {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * Constructs a new instance of read-only view.
+         *
+         * @param column the column
+         */
+        LongColumn(LongCompactList column) {
+            super(column);
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getLong(int index) {
+            return column.getLong(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addLong(long element) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addAll(long[] src, int off, int len) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void getRange(int from, long[] dst, int off, int len) {
+            column.getRange(from, dst, off, len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public long[] toArray() {
+            return column.toArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeTo(WritableByteChannel channel) throws IOException {
+            column.writeTo(channel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public LongCompactList freeze() {
+            return column.freeze();
+        }
+
+        /** {@inheritDoc} */
+        @Override public Spliterator.OfLong spliterator() {
+            return column.spliterator();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long sum() {
+            return column.sum();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long min() {
+            return column.min();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long max() {
+            return column.max();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int count(LongPredicate predicate) {
+            return column.count(predicate);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(LongConsumer action) {
+            column.forEach(action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(int from, int to, LongConsumer action) {
+            column.forEach(from, to, action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEachIndexed(IndexedConsumer action) {
+            column.forEachIndexed(action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int binarySearch(long key) {
+            return column.binarySearch(key);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int lowerBound(long key) {
+            return column.lowerBound(key);
+        }
+    }
+
+    /**
+     * Read-only view of the column of ints.
+     */
+    private static final class IntegerColumn extends Column<Integer, IntegerCompactList> implements IntegerCompactList {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * Constructs a new instance of read-only view.
+         *
+         * @param column the column
+         */
+        IntegerColumn(IntegerCompactList column) {
+            super(column);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int getInt(int index) {
+            return column.getInt(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addInt(int element) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addAll(int[] src, int off, int len) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void getRange(int from, int[] dst, int off, int len) {
+            column.getRange(from, dst, off, len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int[] toArray() {
+            return column.toArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeTo(WritableByteChannel channel) throws IOException {
+            column.writeTo(channel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public IntegerCompactList freeze() {
+            return column.freeze();
+        }
+
+        /** {@inheritDoc} */
+        @Override public Spliterator.OfInt spliterator() {
+            return column.spliterator();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long sum() {
+            return column.sum();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int min() {
+            return column.min();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int max() {
+            return column.max();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int count(IntPredicate predicate) {
+            return column.count(predicate);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(IntConsumer action) {
+            column.forEach(action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(int from, int to, IntConsumer action) {
+            column.forEach(from, to, action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEachIndexed(IndexedConsumer action) {
+            column.forEachIndexed(action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int binarySearch(int key) {
+            return column.binarySearch(key);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int lowerBound(int key) {
+            return column.lowerBound(key);
+        }
+    }
+
+    /**
+     * Read-only view of the column of shorts.
+     */
+    private static final class ShortColumn extends Column<Short, ShortCompactList> implements ShortCompactList {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * Constructs a new instance of read-only view.
+         *
+         * @param column the column
+         */
+        ShortColumn(ShortCompactList column) {
+            super(column);
+        }
+
+        /** {@inheritDoc} */
+        @Override public short getShort(int index) {
+            return column.getShort(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addShort(short element) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addAll(short[] src, int off, int len) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void getRange(int from, short[] dst, int off, int len) {
+            column.getRange(from, dst, off, len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public short[] toArray() {
+            return column.toArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeTo(WritableByteChannel channel) throws IOException {
+            column.writeTo(channel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public ShortCompactList freeze() {
+            return column.freeze();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(IntConsumer action) {
+            column.forEach(action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(int from, int to, IntConsumer action) {
+            column.forEach(from, to, action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEachIndexed(IndexedConsumer action) {
+            column.forEachIndexed(action);
+        }
+    }
+
+    /**
+     * Read-only view of the column of bytes.
+     */
+    private static final class ByteColumn extends Column<Byte, ByteCompactList> implements ByteCompactList {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * Constructs a new instance of read-only view.
+         *
+         * @param column the column
+         */
+        ByteColumn(ByteCompactList column) {
+            super(column);
+        }
+
+        /** {@inheritDoc} */
+        @Override public byte getByte(int index) {
+            return column.getByte(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addByte(byte element) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addAll(byte[] src, int off, int len) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void getRange(int from, byte[] dst, int off, int len) {
+            column.getRange(from, dst, off, len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public byte[] toArray() {
+            return column.toArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeTo(WritableByteChannel channel) throws IOException {
+            column.writeTo(channel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public ByteCompactList freeze() {
+            return column.freeze();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(IntConsumer action) {
+            column.forEach(action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(int from, int to, IntConsumer action) {
+            column.forEach(from, to, action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEachIndexed(IndexedConsumer action) {
+            column.forEachIndexed(action);
+        }
+    }
+
+    /**
+     * Read-only view of the column of chars.
+     */
+    private static final class CharacterColumn extends Column<Character, CharacterCompactList>
+        implements CharacterCompactList {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * Constructs a new instance of read-only view.
+         *
+         * @param column the column
+         */
+        CharacterColumn(CharacterCompactList column) {
+            super(column);
+        }
+
+        /** {@inheritDoc} */
+        @Override public char getChar(int index) {
+            return column.getChar(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addChar(char element) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addAll(char[] src, int off, int len) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void getRange(int from, char[] dst, int off, int len) {
+            column.getRange(from, dst, off, len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public char[] toArray() {
+            return column.toArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeTo(WritableByteChannel channel) throws IOException {
+            column.writeTo(channel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public CharacterCompactList freeze() {
+            return column.freeze();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(IntConsumer action) {
+            column.forEach(action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(int from, int to, IntConsumer action) {
+            column.forEach(from, to, action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEachIndexed(IndexedConsumer action) {
+            column.forEachIndexed(action);
+        }
+    }
+
+    /**
+     * Read-only view of the column of doubles.
+     */
+    private static final class DoubleColumn extends Column<Double, DoubleCompactList> implements DoubleCompactList {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * Constructs a new instance of read-only view.
+         *
+         * @param column the column
+         */
+        DoubleColumn(DoubleCompactList column) {
+            super(column);
+        }
+
+        /** {@inheritDoc} */
+        @Override public double getDouble(int index) {
+            return column.getDouble(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addDouble(double element) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addAll(double[] src, int off, int len) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void getRange(int from, double[] dst, int off, int len) {
+            column.getRange(from, dst, off, len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public double[] toArray() {
+            return column.toArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeTo(WritableByteChannel channel) throws IOException {
+            column.writeTo(channel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public DoubleCompactList freeze() {
+            return column.freeze();
+        }
+
+        /** {@inheritDoc} */
+        @Override public Spliterator.OfDouble spliterator() {
+            return column.spliterator();
+        }
+
+        /** {@inheritDoc} */
+        @Override public double sum() {
+            return column.sum();
+        }
+
+        /** {@inheritDoc} */
+        @Override public double min() {
+            return column.min();
+        }
+
+        /** {@inheritDoc} */
+        @Override public double max() {
+            return column.max();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int count(DoublePredicate predicate) {
+            return column.count(predicate);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(DoubleConsumer action) {
+            column.forEach(action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(int from, int to, DoubleConsumer action) {
+            column.forEach(from, to, action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEachIndexed(IndexedConsumer action) {
+            column.forEachIndexed(action);
+        }
+    }
+
+    /**
+     * Read-only view of the column of floats.
+     */
+    private static final class FloatColumn extends Column<Float, FloatCompactList> implements FloatCompactList {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * Constructs a new instance of read-only view.
+         *
+         * @param column the column
+         */
+        FloatColumn(FloatCompactList column) {
+            super(column);
+        }
+
+        /** {@inheritDoc} */
+        @Override public float getFloat(int index) {
+            return column.getFloat(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addFloat(float element) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addAll(float[] src, int off, int len) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void getRange(int from, float[] dst, int off, int len) {
+            column.getRange(from, dst, off, len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public float[] toArray() {
+            return column.toArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeTo(WritableByteChannel channel) throws IOException {
+            column.writeTo(channel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public FloatCompactList freeze() {
+            return column.freeze();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(DoubleConsumer action) {
+            column.forEach(action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEach(int from, int to, DoubleConsumer action) {
+            column.forEach(from, to, action);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void forEachIndexed(IndexedConsumer action) {
+            column.forEachIndexed(action);
+        }
+    }
+
+    /**
+     * Read-only view of the column of booleans.
+     */
+    private static final class BooleanColumn extends Column<Boolean, BooleanCompactList> implements BooleanCompactList {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * Constructs a new instance of read-only view.
+         *
+         * @param column the column
+         */
+        BooleanColumn(BooleanCompactList column) {
+            super(column);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean getBoolean(int index) {
+            return column.getBoolean(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addBoolean(boolean element) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addAll(boolean[] src, int off, int len) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void getRange(int from, boolean[] dst, int off, int len) {
+            column.getRange(from, dst, off, len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean[] toArray() {
+            return column.toArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeTo(WritableByteChannel channel) throws IOException {
+            column.writeTo(channel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void readFrom(ReadableByteChannel channel) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public BooleanCompactList freeze() {
+            return column.freeze();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int cardinality() {
+            return column.cardinality();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int rank(int index) {
+            return column.rank(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int select(int n) {
+            return column.select(n);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.dmitrievanthony.clist;
+
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Columnar (struct-of-arrays) implementation of the <tt>CompactList</tt> interface for value classes whose fields are
+ * all primitives. Every field is stored in its own typed column, so that a row takes only the bytes of its fields
+ * without the object header and padding. The element is decomposed into the columns by {@link #add(Object)} and
+ * assembled back by {@link #get(int)}, while the columns can be read and scanned directly without constructing
+ * elements, for example <tt>list.doubleColumn("px").sum()</tt>.
+ * <p>
+ * The subclasses are generated by {@link StructCompactListGenerator} for every element type, instances are constructed
+ * by {@link CompactListFactory#newStructCompactList(Class)}.
+ *
+ * @param <T> the type of elements in this list
+ */
+public abstract class StructCompactList<T> implements CompactList<T>, Serializable {
+    /** The serial version UID. */
+    private static final long serialVersionUID = 0L;
+
+    /** The class of element in this list. */
+    private final Class<T> elementType;
+
+    /** The names of fields of the element sorted in alphabetical order. */
+    private final List<String> names;
+
+    /** The columns in the order of field names. */
+    protected final CompactList<?>[] columns;
+
+    /** The read-only views of columns returned to users. */
+    private final CompactList<?>[] views;
+
+    /**
+     * Constructs a new instance of <tt>StructCompactList</tt>.
+     *
+     * @param elementType the class of element in this list
+     * @param names the names of fields of the element sorted in alphabetical order
+     * @param columns the columns in the order of field names
+     */
+    protected StructCompactList(Class<T> elementType, String[] names, CompactList<?>[] columns) {
+        this.elementType = elementType;
+        this.names = Collections.unmodifiableList(Arrays.asList(names));
+        this.columns = columns;
+
+        views = new CompactList<?>[columns.length];
+        for (int i = 0; i < columns.length; i++)
+            views[i] = StructColumns.readOnly(columns[i]);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return columns[0].size();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() {
+        for (CompactList<?> column : columns)
+            column.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void trimToSize() {
+        for (CompactList<?> column : columns)
+            column.trimToSize();
+    }
+
+    /**
+     * Returns the names of fields of the element (the names of columns) sorted in alphabetical order.
+     *
+     * @return the names of columns
+     */
+    public List<String> columnNames() {
+        return names;
+    }
+
+    /**
+     * Returns the column that keeps the specified field of elements in this list. The column is a live read-only view,
+     * it reflects the elements added to this list and throws <tt>UnsupportedOperationException</tt> on modification,
+     * so that the columns can't be misaligned.
+     *
+     * @param name the name of the field
+     * @return the column
+     * @throws IllegalArgumentException if the element has no such field
+     */
+    public CompactList<?> column(String name) {
+        int idx = Collections.binarySearch(names, name);
+
+        if (idx < 0)
+            throw new IllegalArgumentException("Element type " + elementType.getName() + " has no field " + name);
+
+        return views[idx];
+    }
+
+    /**
+     * Returns the column of the specified <tt>long</tt> field (see {@link #column(String)}).
+     *
+     * @param name the name of the field
+     * @return the column
+     * @throws IllegalArgumentException if the element has no such field or the field is not <tt>long</tt>
+     */
+    public LongCompactList longColumn(String name) {
+        return column(name, LongCompactList.class);
+    }
+
+    /**
+     * Returns the column of the specified <tt>int</tt> field (see {@link #column(String)}).
+     *
+     * @param name the name of the field
+     * @return the column
+     * @throws IllegalArgumentException if the element has no such field or the field is not <tt>int</tt>
+     */
+    public IntegerCompactList intColumn(String name) {
+        return column(name, IntegerCompactList.class);
+    }
+
+    /**
+     * Returns the column of the specified <tt>short</tt> field (see {@link #column(String)}).
+     *
+     * @param name the name of the field
+     * @return the column
+     * @throws IllegalArgumentException if the element has no such field or the field is not <tt>short</tt>
+     */
+    public ShortCompactList shortColumn(String name) {
+        return column(name, ShortCompactList.class);
+    }
+
+    /**
+     * Returns the column of the specified <tt>byte</tt> field (see {@link #column(String)}).
+     *
+     * @param name the name of the field
+     * @return the column
+     * @throws IllegalArgumentException if the element has no such field or the field is not <tt>byte</tt>
+     */
+    public ByteCompactList byteColumn(String name) {
+        return column(name, ByteCompactList.class);
+    }
+
+    /**
+     * Returns the column of the specified <tt>char</tt> field (see {@link #column(String)}).
+     *
+     * @param name the name of the field
+     * @return the column
+     * @throws IllegalArgumentException if the element has no such field or the field is not <tt>char</tt>
+     */
+    public CharacterCompactList charColumn(String name) {
+        return column(name, CharacterCompactList.class);
+    }
+
+    /**
+     * Returns the column of the specified <tt>double</tt> field (see {@link #column(String)}).
+     *
+     * @param name the name of the field
+     * @return the column
+     * @throws IllegalArgumentException if the element has no such field or the field is not <tt>double</tt>
+     */
+    public DoubleCompactList doubleColumn(String name) {
+        return column(name, DoubleCompactList.class);
+    }
+
+    /**
+     * Returns the column of the specified <tt>float</tt> field (see {@link #column(String)}).
+     *
+     * @param name the name of the field
+     * @return the column
+     * @throws IllegalArgumentException if the element has no such field or the field is not <tt>float</tt>
+     */
+    public FloatCompactList floatColumn(String name) {
+        return column(name, FloatCompactList.class);
+    }
+
+    /**
+     * Returns the column of the specified <tt>boolean</tt> field (see {@link #column(String)}).
+     *
+     * @param name the name of the field
+     * @return the column
+     * @throws IllegalArgumentException if the element has no such field or the field is not <tt>boolean</tt>
+     */
+    public BooleanCompactList booleanColumn(String name) {
+        return column(name, BooleanCompactList.class);
+    }
+
+    /**
+     * Checks that the index is in the range of this list, called by generated <tt>get</tt> methods before the element
+     * is constructed.
+     *
+     * @param index the index
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    protected final void checkRange(int index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Returns the column of the specified field casted to the specified typed interface.
+     *
+     * @param name the name of the field
+     * @param type the typed interface
+     * @param <C> the type of column
+     * @return the column
+     */
+    private <C> C column(String name, Class<C> type) {
+        CompactList<?> column = column(name);
+
+        if (!type.isInstance(column))
+            throw new IllegalArgumentException("Field " + name + " is not stored in " + type.getSimpleName());
+
+        return type.cast(column);
+    }
+
+    /**
+     * Replaces this list by its columns in the serialization stream, because the generated class can't be found by
+     * Java serialization. It's protected, so that it's inherited by the generated subclasses.
+     *
+     * @return the serialized form of this list
+     */
+    protected final Object writeReplace() {
+        return new SerializedForm(elementType, columns);
+    }
+
+    /**
+     * The serialized form of the list that keeps the element type and columns (the columns are serialized on their
+     * own) and is resolved into the list constructed by {@link CompactListFactory} when it's deserialized.
+     */
+    private static class SerializedForm implements Serializable {
+        /** The serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /** The factory that constructs deserialized lists. */
+        private static final CompactListFactory FACTORY = new CompactListFactory();
+
+        /** The class of element in the list. */
+        private final Class<?> elementType;
+
+        /** The columns in the order of field names. */
+        private final CompactList<?>[] columns;
+
+        /**
+         * Constructs a new instance of serialized form.
+         *
+         * @param elementType the class of element in the list
+         * @param columns the columns in the order of field names
+         */
+        SerializedForm(Class<?> elementType, CompactList<?>[] columns) {
+            this.elementType = elementType;
+            this.columns = columns;
+        }
+
+        /**
+         * Returns the list constructed from the deserialized columns.
+         *
+         * @return the list
+         * @throws InvalidObjectException if the columns don't match the fields of the element type
+         */
+        private Object readResolve() throws InvalidObjectException {
+            try {
+                return FACTORY.newStructCompactList(elementType, columns);
+            }
+            catch (IllegalArgumentException e) {
+                throw new InvalidObjectException(e.getMessage());
+            }
+        }
+    }
+}
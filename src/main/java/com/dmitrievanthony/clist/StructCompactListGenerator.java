@@ -0,0 +1,428 @@
+package com.dmitrievanthony.clist;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.AASTORE;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ANEWARRAY;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.PUTSTATIC;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * The generator that generates columnar implementations of {@link StructCompactList} for value classes whose fields
+ * are all primitives. The generated class keeps one typed list per field (the column) and transfers fields between
+ * the element and the columns with direct field access, so that neither <tt>add</tt> nor <tt>get</tt> involves
+ * reflection or boxing.
+ * <p>
+ * The value class should be public, have a public constructor without parameters, and all its instance fields
+ * (including inherited ones) should be public, non-final and primitive. The fields are ordered by their names, so
+ * that the order of columns doesn't depend on the order of declaration.
+ */
+class StructCompactListGenerator {
+    /** The suffix of the name of the class that constructs instances of the generated class. */
+    static final String FACTORY_SUFFIX = "Factory";
+
+    /** The name of the generated list base class. */
+    private static final String BASE = Type.getInternalName(StructCompactList.class);
+
+    /** The descriptor of the array of columns. */
+    private static final String COLUMNS = "[" + Type.getDescriptor(CompactList.class);
+
+    /** The canonical class name with a dot separator. */
+    private final String className;
+
+    /** The class of element in the list. */
+    private final Class<?> elementType;
+
+    /** The fields of the element ordered by their names. */
+    private final Field[] fields;
+
+    /**
+     * Constructs the new instance of <tt>StructCompactListGenerator</tt>.
+     *
+     * @param className the canonical class name with a dot separator
+     * @param elementType the class of element in the list
+     * @throws IllegalArgumentException if the specified element type is not a value class with primitive fields
+     */
+    StructCompactListGenerator(String className, Class<?> elementType) {
+        this.className = className;
+        this.elementType = elementType;
+        this.fields = getFields(elementType);
+    }
+
+    /**
+     * Generates the bytecode of the class that extends <tt>StructCompactList</tt>.
+     *
+     * @return the bytecode of the class that extends <tt>StructCompactList</tt>
+     */
+    byte[] generate() {
+        ClassWriter writer = new ClassWriter(0);
+
+        writer.visit(V1_8, ACC_PUBLIC, className.replace('.', '/'), null, BASE, null);
+
+        writer.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, "NAMES", "[Ljava/lang/String;", null, null).visitEnd();
+
+        generateStaticInitializer(writer);
+        generateConstructor(writer);
+        generateAddMethod(writer);
+        generateGetMethod(writer);
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Generates the bytecode of the class that implements <tt>Function</tt> and constructs new instances of the class
+     * generated by {@link #generate()} with the given columns without reflection.
+     *
+     * @return the bytecode of the class that implements <tt>Function</tt>
+     */
+    byte[] generateFactory() {
+        ClassWriter writer = new ClassWriter(0);
+
+        writer.visit(
+            V1_8,
+            ACC_PUBLIC,
+            className.replace('.', '/') + FACTORY_SUFFIX,
+            null,
+            "java/lang/Object",
+            new String[] {Type.getInternalName(Function.class)}
+        );
+
+        /* The constructor that calls the parent constructor. */
+        MethodVisitor mv = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+
+        /* The "apply" method that constructs a new list with the specified columns. */
+        mv = writer.visitMethod(ACC_PUBLIC, "apply", "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        mv.visitTypeInsn(NEW, className.replace('.', '/'));
+        mv.visitInsn(DUP);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, COLUMNS);
+        mv.visitMethodInsn(INVOKESPECIAL, className.replace('.', '/'), "<init>", "(" + COLUMNS + ")V", false);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(3, 2);
+        mv.visitEnd();
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Generates the static initializer that fills the array of field names.
+     *
+     * @param cv the class visitor
+     */
+    private void generateStaticInitializer(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+
+        mv.visitCode();
+
+        /* Creates the array of names and pushes it onto the stack. */
+        pushInt(mv, fields.length);
+        mv.visitTypeInsn(ANEWARRAY, "java/lang/String");
+
+        for (int i = 0; i < fields.length; i++) {
+            /* Duplicates the array, pushes the index and the name and stores the name into the array. */
+            mv.visitInsn(DUP);
+            pushInt(mv, i);
+            mv.visitLdcInsn(fields[i].getName());
+            mv.visitInsn(AASTORE);
+        }
+
+        /* Pops the array from the stack and stores it into the static field. */
+        mv.visitFieldInsn(PUTSTATIC, className.replace('.', '/'), "NAMES", "[Ljava/lang/String;");
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(4, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the class constructor with the columns that passes the element type and the field names to the parent
+     * constructor.
+     *
+     * @param cv the class visitor
+     */
+    private void generateConstructor(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "<init>", "(" + COLUMNS + ")V", null, null);
+
+        mv.visitCode();
+
+        /* Pushes "this", the element type, the names and the columns onto the stack. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(Type.getType(elementType));
+        mv.visitFieldInsn(GETSTATIC, className.replace('.', '/'), "NAMES", "[Ljava/lang/String;");
+        mv.visitVarInsn(ALOAD, 1);
+        /* Calls the parent constructor that pops them from the stack. */
+        mv.visitMethodInsn(
+            INVOKESPECIAL,
+            BASE,
+            "<init>",
+            "(Ljava/lang/Class;[Ljava/lang/String;" + COLUMNS + ")V",
+            false
+        );
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(4, 2);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>add</tt> method that reads every field of the element and adds it into its column using the
+     * typed <tt>add</tt> method of the column.
+     *
+     * @param cv the class visitor
+     */
+    private void generateAddMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "add", "(Ljava/lang/Object;)V", null, null);
+
+        mv.visitCode();
+
+        /* Casts the element and stores it into the local variable. */
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, Type.getInternalName(elementType));
+        mv.visitVarInsn(ASTORE, 2);
+
+        for (int i = 0; i < fields.length; i++) {
+            Type primitive = Type.getType(fields[i].getType());
+            String typedInterface = Type.getInternalName(getTypedInterface(fields[i].getType()));
+
+            /* Pushes the column onto the stack. */
+            pushColumn(mv, i, typedInterface);
+            /* Pushes the field of the element (throws if the element is null). */
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitFieldInsn(
+                GETFIELD,
+                Type.getInternalName(elementType),
+                fields[i].getName(),
+                primitive.getDescriptor()
+            );
+            /* Calls the typed "add" method of the column that pops the field and the column. */
+            mv.visitMethodInsn(
+                INVOKEINTERFACE,
+                typedInterface,
+                "add" + getTypedName(primitive),
+                "(" + primitive.getDescriptor() + ")V",
+                true
+            );
+        }
+
+        /* Return void. */
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(3, 3);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the <tt>get</tt> method that constructs a new element and fills its fields using the typed
+     * <tt>get</tt> methods of the columns.
+     *
+     * @param cv the class visitor
+     */
+    private void generateGetMethod(ClassVisitor cv) {
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "get", "(I)Ljava/lang/Object;", null, null);
+
+        mv.visitCode();
+
+        /* Checks the index before the element is constructed. */
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitMethodInsn(INVOKEVIRTUAL, BASE, "checkRange", "(I)V", false);
+
+        /* Creates, duplicates and initializes the element and stores it into the local variable. */
+        mv.visitTypeInsn(NEW, Type.getInternalName(elementType));
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(elementType), "<init>", "()V", false);
+        mv.visitVarInsn(ASTORE, 2);
+
+        for (int i = 0; i < fields.length; i++) {
+            Type primitive = Type.getType(fields[i].getType());
+            String typedInterface = Type.getInternalName(getTypedInterface(fields[i].getType()));
+
+            /* Pushes the element and the column onto the stack. */
+            mv.visitVarInsn(ALOAD, 2);
+            pushColumn(mv, i, typedInterface);
+            /* Calls the typed "get" method of the column that pops the index and the column and pushes the value. */
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitMethodInsn(
+                INVOKEINTERFACE,
+                typedInterface,
+                "get" + getTypedName(primitive),
+                "(I)" + primitive.getDescriptor(),
+                true
+            );
+            /* Pops the value and the element and stores the value into the field. */
+            mv.visitFieldInsn(
+                PUTFIELD,
+                Type.getInternalName(elementType),
+                fields[i].getName(),
+                primitive.getDescriptor()
+            );
+        }
+
+        /* Returns the element. */
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitInsn(ARETURN);
+
+        mv.visitMaxs(4, 3);
+        mv.visitEnd();
+    }
+
+    /**
+     * Pushes the column with the specified index casted to the specified typed interface onto the stack.
+     *
+     * @param mv the method visitor
+     * @param idx the index of the column
+     * @param typedInterface the name of the typed interface
+     */
+    private static void pushColumn(MethodVisitor mv, int idx, String typedInterface) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, BASE, "columns", COLUMNS);
+        pushInt(mv, idx);
+        mv.visitInsn(AALOAD);
+        mv.visitTypeInsn(CHECKCAST, typedInterface);
+    }
+
+    /**
+     * Pushes the specified non-negative integer constant that fits a short onto the stack.
+     *
+     * @param mv the method visitor
+     * @param val the value
+     */
+    private static void pushInt(MethodVisitor mv, int val) {
+        mv.visitIntInsn(val <= Byte.MAX_VALUE ? BIPUSH : SIPUSH, val);
+    }
+
+    /**
+     * Returns the name of the primitive used in unboxed accessors (Int for int, Long for long, etc).
+     *
+     * @param primitive the primitive type
+     * @return the name of the primitive used in unboxed accessors
+     */
+    private static String getTypedName(Type primitive) {
+        return Character.toUpperCase(primitive.getClassName().charAt(0)) + primitive.getClassName().substring(1);
+    }
+
+    /**
+     * Returns the instance fields of the specified value class ordered by their names.
+     *
+     * @param elementType the value class
+     * @return the instance fields ordered by their names
+     * @throws IllegalArgumentException if the specified class is not a value class with primitive fields
+     */
+    static Field[] getFields(Class<?> elementType) {
+        if (elementType.isPrimitive() || elementType.isArray() || elementType.isInterface()
+            || !Modifier.isPublic(elementType.getModifiers()) || Modifier.isAbstract(elementType.getModifiers()))
+            throw new IllegalArgumentException("Specified type " + elementType + " is not a public value class");
+
+        try {
+            if (!Modifier.isPublic(elementType.getConstructor().getModifiers()))
+                throw new NoSuchMethodException();
+        }
+        catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Specified type " + elementType + " has no public default constructor");
+        }
+
+        List<Field> res = new ArrayList<>();
+        for (Class<?> cls = elementType; cls != Object.class; cls = cls.getSuperclass()) {
+            for (Field field : cls.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+
+                if (Modifier.isStatic(modifiers) || field.isSynthetic())
+                    continue;
+
+                if (!Modifier.isPublic(modifiers) || Modifier.isFinal(modifiers) || !field.getType().isPrimitive())
+                    throw new IllegalArgumentException("Field " + field + " is not public non-final primitive");
+
+                res.add(field);
+            }
+        }
+
+        res.sort(Comparator.comparing(Field::getName));
+
+        if (res.isEmpty())
+            throw new IllegalArgumentException("Specified type " + elementType + " has no fields");
+
+        for (int i = 1; i < res.size(); i++) {
+            if (res.get(i).getName().equals(res.get(i - 1).getName()))
+                throw new IllegalArgumentException("Field " + res.get(i) + " is hidden");
+        }
+
+        return res.toArray(new Field[0]);
+    }
+
+    /**
+     * Returns the object representation of the specified primitive class.
+     *
+     * @param primitive the primitive class
+     * @return the object representation (<tt>Long</tt> for long, etc)
+     */
+    static Class<?> getBoxType(Class<?> primitive) {
+        return MethodType.methodType(primitive).wrap().returnType();
+    }
+
+    /**
+     * Returns the typed interface of the column of the specified primitive class.
+     *
+     * @param primitive the primitive class
+     * @return the typed interface (<tt>LongCompactList</tt> for long, etc)
+     */
+    static Class<?> getTypedInterface(Class<?> primitive) {
+        if (byte.class.equals(primitive))
+            return ByteCompactList.class;
+        else if (char.class.equals(primitive))
+            return CharacterCompactList.class;
+        else if (short.class.equals(primitive))
+            return ShortCompactList.class;
+        else if (int.class.equals(primitive))
+            return IntegerCompactList.class;
+        else if (long.class.equals(primitive))
+            return LongCompactList.class;
+        else if (float.class.equals(primitive))
+            return FloatCompactList.class;
+        else if (double.class.equals(primitive))
+            return DoubleCompactList.class;
+        else if (boolean.class.equals(primitive))
+            return BooleanCompactList.class;
+
+        throw new IllegalArgumentException("Specified type " + primitive + " is not a primitive");
+    }
+}
@@ -0,0 +1,134 @@
+package com.dmitrievanthony.clist;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AdaptiveLongCompactList}, {@link AdaptiveIntegerCompactList} and
+ * {@link AdaptiveCharacterCompactList}.
+ */
+public class AdaptiveCompactListTest {
+    /**
+     * Tests that the list widens its storage only when an added element doesn't fit and keeps the elements.
+     */
+    @Test
+    public void testWiden() {
+        AdaptiveLongCompactList list = (AdaptiveLongCompactList)new CompactListFactory().newAdaptiveLongCompactList();
+        long[] expected = {0, -128, 127, 42, 1000, -32768, 70_000, Integer.MIN_VALUE, Long.MAX_VALUE, -1};
+        int[] widths = {
+            AbstractAdaptiveCompactList.BYTE,
+            AbstractAdaptiveCompactList.BYTE,
+            AbstractAdaptiveCompactList.BYTE,
+            AbstractAdaptiveCompactList.BYTE,
+            AbstractAdaptiveCompactList.SHORT,
+            AbstractAdaptiveCompactList.SHORT,
+            AbstractAdaptiveCompactList.INT,
+            AbstractAdaptiveCompactList.INT,
+            AbstractAdaptiveCompactList.LONG,
+            AbstractAdaptiveCompactList.LONG
+        };
+
+        for (int i = 0; i < expected.length; i++) {
+            list.addLong(expected[i]);
+
+            assertEquals(widths[i], list.width());
+            assertArrayEquals(Arrays.copyOf(expected, i + 1), list.toArray());
+        }
+    }
+
+    /**
+     * Tests {@link IntegerCompactList#addAll(int[], int, int)} that widens the storage once for the whole range,
+     * followed by growth, sort and aggregates.
+     */
+    @Test
+    public void testAddAllInts() {
+        Random rnd = new Random(0);
+        int[] expected = new int[1000];
+        for (int i = 0; i < expected.length; i++)
+            expected[i] = i < 500 ? rnd.nextInt(100) : rnd.nextInt(30_000) - 15_000;
+
+        CompactListFactory factory = new CompactListFactory(GrowthPolicy.oneAndHalf());
+        AdaptiveIntegerCompactList list = (AdaptiveIntegerCompactList)factory.newAdaptiveIntegerCompactList();
+        list.addAll(expected, 0, 500);
+        assertEquals(AbstractAdaptiveCompactList.BYTE, list.width());
+
+        list.addAll(expected, 500, 500);
+        assertEquals(AbstractAdaptiveCompactList.SHORT, list.width());
+        assertArrayEquals(expected, list.toArray());
+        assertEquals(Arrays.stream(expected).asLongStream().sum(), list.sum());
+
+        list.sort();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, list.toArray());
+        assertEquals(expected[0], list.min());
+        assertEquals(expected[expected.length - 1], list.max());
+    }
+
+    /**
+     * Tests that the char list keeps Latin-1 chars (including the ones above 0x7F) in bytes and inflates on the first
+     * char above 0xFF.
+     */
+    @Test
+    public void testLatin1() {
+        AdaptiveCharacterCompactList list =
+            (AdaptiveCharacterCompactList)new CompactListFactory().newAdaptiveCharacterCompactList();
+        char[] latin1 = "caf\u00e9 na\u00efve \u00ff".toCharArray();
+
+        list.addAll(latin1, 0, latin1.length);
+        assertTrue(list.isLatin1());
+        assertArrayEquals(latin1, list.toArray());
+
+        list.addChar('\u20ac');
+        assertFalse(list.isLatin1());
+        assertEquals('\u00e9', list.getChar(3));
+        assertEquals('\u20ac', list.getChar(latin1.length));
+        assertEquals(latin1.length + 1, list.size());
+
+        list.trimToSize();
+        list.clear();
+        list.addChar('x');
+        assertEquals('x', list.getChar(0));
+    }
+
+    /**
+     * Tests that adaptive lists use the same binary format as other lists.
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        LongCompactList list = new CompactListFactory().newAdaptiveLongCompactList();
+        for (int i = 0; i < 100; i++)
+            list.addLong(i * 1000L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        list.writeTo(Channels.newChannel(out));
+
+        LongCompactList res = new CompactListFactory().newLongCompactList();
+        res.readFrom(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        assertArrayEquals(list.toArray(), res.toArray());
+
+        LongCompactList adaptiveRes = new CompactListFactory().newAdaptiveLongCompactList();
+        adaptiveRes.readFrom(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        assertArrayEquals(list.toArray(), adaptiveRes.toArray());
+    }
+
+    /**
+     * Tests that the list doesn't return elements beyond its size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetWithWrongIndex() {
+        LongCompactList list = new CompactListFactory().newAdaptiveLongCompactList();
+        list.addLong(1);
+
+        list.getLong(1);
+    }
+}
@@ -1,10 +1,16 @@
 package com.dmitrievanthony.clist;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
- * Tests for <tt>BooleanCompactList</tt> generated by {@link CompactListGenerator} and {@link CompactListFactory}.
+ * Tests for {@link BitSetCompactList} produced by {@link CompactListFactory}.
  */
 public class BooleanCompactListTest extends CompactListAbstractTest<Boolean> {
     /** {@inheritDoc} */
@@ -18,4 +24,109 @@ public class BooleanCompactListTest extends CompactListAbstractTest<Boolean> {
     CompactList<Boolean> getCompactList() {
         return new CompactListFactory().newCompactList(Boolean.class);
     }
+
+    /**
+     * Tests {@link BooleanCompactList#addBoolean(boolean)} followed by {@link BooleanCompactList#getBoolean(int)}
+     * without boxing.
+     */
+    @Test
+    public void testAddBooleanGetBoolean() {
+        BooleanCompactList list = new CompactListFactory().newBooleanCompactList();
+        for (int i = 0; i < 11; i++)
+            list.addBoolean(i % 2 == 0);
+
+        assertEquals(11, list.size());
+        for (int i = 0; i < 11; i++)
+            assertEquals(i % 2 == 0, list.getBoolean(i));
+    }
+
+    /**
+     * Tests {@link BooleanCompactList#cardinality()}, {@link BooleanCompactList#rank(int)} and {@link
+     * BooleanCompactList#select(int)} on a list that spans several blocks of words.
+     */
+    @Test
+    public void testRankSelect() {
+        BooleanCompactList list = new CompactListFactory().newBooleanCompactList();
+        for (int i = 0; i < 2000; i++)
+            list.addBoolean(i % 3 == 0);
+
+        assertEquals(667, list.cardinality());
+        for (int i = 0; i <= 2000; i++)
+            assertEquals((i + 2) / 3, list.rank(i));
+        for (int n = 0; n < 667; n++)
+            assertEquals(n * 3, list.select(n));
+    }
+
+    /**
+     * Tests {@link BooleanCompactList#select(int)} with wrong ordinal (ordinal that is greater than the cardinality
+     * of the list).
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSelectWithWrongOrdinal() {
+        BooleanCompactList list = new CompactListFactory().newBooleanCompactList();
+        list.addBoolean(false);
+        list.select(0);
+    }
+
+    /**
+     * Tests {@link BooleanCompactList#addAll(boolean[], int, int)} followed by {@link BooleanCompactList#getRange(int,
+     * boolean[], int, int)} and {@link BooleanCompactList#toArray()}.
+     */
+    @Test
+    public void testAddAllGetRange() {
+        boolean[] src = new boolean[100];
+        for (int i = 0; i < src.length; i++)
+            src[i] = i % 3 == 0;
+
+        BooleanCompactList list = new CompactListFactory().newBooleanCompactList();
+        list.addAll(src, 0, 10);
+        list.addAll(src, 10, 90);
+
+        boolean[] dst = new boolean[102];
+        list.getRange(0, dst, 1, 100);
+
+        assertEquals(100, list.size());
+        assertArrayEquals(src, Arrays.copyOfRange(dst, 1, 101));
+        assertArrayEquals(src, list.toArray());
+    }
+
+    /**
+     * Tests {@link BooleanCompactList#getRange(int, boolean[], int, int)} with wrong range (range that is greater than
+     * the size of the list).
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRangeWithWrongRange() {
+        BooleanCompactList list = new CompactListFactory().newBooleanCompactList();
+        list.addAll(new boolean[10], 0, 10);
+        list.getRange(5, new boolean[10], 0, 6);
+    }
+
+    /**
+     * Tests that {@link BooleanCompactList#freeze()} of the list produced by <tt>newCompactList(Boolean.class)</tt>
+     * returns the immutable copy of the list, and that later changes of the list aren't visible in it.
+     */
+    @Test
+    public void testFreeze() {
+        BooleanCompactList list = (BooleanCompactList)new CompactListFactory().newCompactList(Boolean.class, 1000);
+        for (int i = 0; i < 130; i++)
+            list.addBoolean(i % 3 == 0);
+
+        BooleanCompactList frozen = list.freeze();
+        list.addBoolean(true);
+
+        assertEquals(130, frozen.size());
+        assertArrayEquals(Arrays.copyOf(list.toArray(), 130), frozen.toArray());
+        assertEquals(44, frozen.cardinality());
+        assertEquals(22, frozen.rank(64));
+        assertEquals(129, frozen.select(43));
+        assertSame(frozen, frozen.freeze());
+    }
+
+    /**
+     * Tests that the frozen list of booleans can't be modified.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFreezeAdd() {
+        new CompactListFactory().newBooleanCompactList().freeze().addBoolean(true);
+    }
 }
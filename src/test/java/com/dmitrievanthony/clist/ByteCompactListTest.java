@@ -1,7 +1,12 @@
 package com.dmitrievanthony.clist;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 
 /**
  * Tests for <tt>ByteCompactList</tt> generated by {@link CompactListGenerator} and {@link CompactListFactory}.
@@ -18,4 +23,76 @@ public class ByteCompactListTest extends CompactListAbstractTest<Byte> {
     CompactList<Byte> getCompactList() {
         return new CompactListFactory().newCompactList(Byte.class);
     }
+
+    /**
+     * Tests {@link ByteCompactList#addByte(byte)} followed by {@link ByteCompactList#getByte(int)} without boxing.
+     */
+    @Test
+    public void testAddByteGetByte() {
+        ByteCompactList list = new CompactListFactory().newByteCompactList();
+        for (int i = 0; i < 11; i++)
+            list.addByte((byte)i);
+
+        assertEquals(11, list.size());
+        for (int i = 0; i < 11; i++)
+            assertEquals((byte)i, list.getByte(i));
+    }
+
+    /**
+     * Tests {@link ByteCompactList#addAll(byte[], int, int)} followed by {@link ByteCompactList#getRange(int, byte[],
+     * int, int)} and {@link ByteCompactList#toArray()}.
+     */
+    @Test
+    public void testAddAllGetRange() {
+        byte[] src = new byte[100];
+        for (int i = 0; i < src.length; i++)
+            src[i] = (byte)i;
+
+        ByteCompactList list = new CompactListFactory().newByteCompactList();
+        list.addAll(src, 0, 10);
+        list.addAll(src, 10, 90);
+
+        byte[] dst = new byte[102];
+        list.getRange(0, dst, 1, 100);
+
+        assertEquals(100, list.size());
+        assertArrayEquals(src, Arrays.copyOfRange(dst, 1, 101));
+        assertArrayEquals(src, list.toArray());
+    }
+
+    /**
+     * Tests {@link ByteCompactList#getRange(int, byte[], int, int)} with wrong range (range that is greater than the
+     * size of the list).
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRangeWithWrongRange() {
+        ByteCompactList list = new CompactListFactory().newByteCompactList();
+        list.addAll(new byte[10], 0, 10);
+        list.getRange(5, new byte[10], 0, 6);
+    }
+
+    /**
+     * Tests {@link ByteCompactList#forEach(java.util.function.IntConsumer)}, the range variant and
+     * {@link ByteCompactList#forEachIndexed}.
+     */
+    @Test
+    public void testForEach() {
+        ByteCompactList list = new CompactListFactory().newByteCompactList();
+        for (int i = 0; i < 300; i++)
+            list.addByte((byte)(i - 128));
+
+        long expected = 0;
+        for (int i = 0; i < 300; i++)
+            expected += list.getByte(i);
+
+        long[] sum = new long[1];
+        list.forEach(e -> sum[0] += e);
+        assertEquals(expected, sum[0]);
+
+        long[] range = new long[1];
+        list.forEach(10, 12, e -> range[0] += e);
+        assertEquals(list.getByte(10) + list.getByte(11), range[0]);
+
+        list.forEachIndexed((idx, e) -> assertEquals(list.getByte(idx), e));
+    }
 }
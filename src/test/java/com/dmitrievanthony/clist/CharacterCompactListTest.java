@@ -1,7 +1,12 @@
 package com.dmitrievanthony.clist;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 
 /**
  * Tests for <tt>CharacterCompactList</tt> generated by {@link CompactListGenerator} and {@link CompactListFactory}.
@@ -18,4 +23,77 @@ public class CharacterCompactListTest extends CompactListAbstractTest<Character>
     CompactList<Character> getCompactList() {
         return new CompactListFactory().newCompactList(Character.class);
     }
+
+    /**
+     * Tests {@link CharacterCompactList#addChar(char)} followed by {@link CharacterCompactList#getChar(int)} without
+     * boxing.
+     */
+    @Test
+    public void testAddCharGetChar() {
+        CharacterCompactList list = new CompactListFactory().newCharacterCompactList();
+        for (int i = 0; i < 11; i++)
+            list.addChar((char)i);
+
+        assertEquals(11, list.size());
+        for (int i = 0; i < 11; i++)
+            assertEquals((char)i, list.getChar(i));
+    }
+
+    /**
+     * Tests {@link CharacterCompactList#addAll(char[], int, int)} followed by {@link CharacterCompactList#getRange(int,
+     * char[], int, int)} and {@link CharacterCompactList#toArray()}.
+     */
+    @Test
+    public void testAddAllGetRange() {
+        char[] src = new char[100];
+        for (int i = 0; i < src.length; i++)
+            src[i] = (char)i;
+
+        CharacterCompactList list = new CompactListFactory().newCharacterCompactList();
+        list.addAll(src, 0, 10);
+        list.addAll(src, 10, 90);
+
+        char[] dst = new char[102];
+        list.getRange(0, dst, 1, 100);
+
+        assertEquals(100, list.size());
+        assertArrayEquals(src, Arrays.copyOfRange(dst, 1, 101));
+        assertArrayEquals(src, list.toArray());
+    }
+
+    /**
+     * Tests {@link CharacterCompactList#getRange(int, char[], int, int)} with wrong range (range that is greater than
+     * the size of the list).
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRangeWithWrongRange() {
+        CharacterCompactList list = new CompactListFactory().newCharacterCompactList();
+        list.addAll(new char[10], 0, 10);
+        list.getRange(5, new char[10], 0, 6);
+    }
+
+    /**
+     * Tests {@link CharacterCompactList#forEach(java.util.function.IntConsumer)}, the range variant and
+     * {@link CharacterCompactList#forEachIndexed}.
+     */
+    @Test
+    public void testForEach() {
+        CharacterCompactList list = new CompactListFactory().newCharacterCompactList();
+        for (int i = 0; i < 300; i++)
+            list.addChar((char)(i + 'A'));
+
+        long expected = 0;
+        for (int i = 0; i < 300; i++)
+            expected += list.getChar(i);
+
+        long[] sum = new long[1];
+        list.forEach(e -> sum[0] += e);
+        assertEquals(expected, sum[0]);
+
+        long[] range = new long[1];
+        list.forEach(10, 12, e -> range[0] += e);
+        assertEquals(list.getChar(10) + list.getChar(11), range[0]);
+
+        list.forEachIndexed((idx, e) -> assertEquals(list.getChar(idx), e));
+    }
 }
@@ -1,5 +1,10 @@
 package com.dmitrievanthony.clist;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Iterator;
 import org.junit.Test;
 
@@ -58,6 +63,79 @@ public abstract class CompactListAbstractTest<T> {
             assertEquals(testSequence.next(), list.get(i));
     }
 
+    /**
+     * Tests that {@link CompactList#trimToSize()} keeps the elements and that the list accepts new elements after it.
+     */
+    @Test
+    public void testTrimToSize() {
+        Iterator<T> addSequence = getSequence();
+        Iterator<T> testSequence = getSequence();
+
+        CompactList<T> list = getCompactList();
+        list.trimToSize();
+        for (int i = 0; i < 11; i++)
+            list.add(addSequence.next());
+        list.trimToSize();
+        list.add(addSequence.next());
+
+        assertEquals(12, list.size());
+        for (int i = 0; i < 12; i++)
+            assertEquals(testSequence.next(), list.get(i));
+    }
+
+    /**
+     * Tests that {@link CompactList#clear()} removes all elements and that the list accepts new elements after it.
+     */
+    @Test
+    public void testClear() {
+        Iterator<T> addSequence = getSequence();
+        Iterator<T> testSequence = getSequence();
+
+        CompactList<T> list = getCompactList();
+        for (int i = 0; i < 11; i++)
+            list.add(addSequence.next());
+        list.clear();
+
+        assertEquals(0, list.size());
+
+        addSequence = getSequence();
+        for (int i = 0; i < 11; i++)
+            list.add(addSequence.next());
+
+        assertEquals(11, list.size());
+        for (int i = 0; i < 11; i++)
+            assertEquals(testSequence.next(), list.get(i));
+    }
+
+    /**
+     * Tests that the list deserialized by Java serialization contains the same elements and accepts new elements.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        Iterator<T> addSequence = getSequence();
+        Iterator<T> testSequence = getSequence();
+
+        CompactList<T> list = getCompactList();
+        for (int i = 0; i < 11; i++)
+            list.add(addSequence.next());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(list);
+        }
+
+        CompactList<T> deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (CompactList<T>)in.readObject();
+        }
+        deserialized.add(addSequence.next());
+
+        assertEquals(12, deserialized.size());
+        for (int i = 0; i < 12; i++)
+            assertEquals(testSequence.next(), deserialized.get(i));
+    }
+
     /**
      * Tests that list doesn't accept <tt>null</tt> values.
      */
@@ -0,0 +1,138 @@
+package com.dmitrievanthony.clist;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CompactListArrayPool} and pooled lists.
+ */
+public class CompactListArrayPoolTest {
+    /**
+     * Tests that borrowed arrays are rounded up to size classes and released arrays are reused.
+     */
+    @Test
+    public void testBorrowRelease() {
+        CompactListArrayPool pool = new CompactListArrayPool();
+
+        long[] arr = (long[])pool.borrow('J', 17);
+        assertEquals(32, arr.length);
+
+        pool.release(arr);
+
+        assertSame(arr, pool.borrow('J', 20));
+        assertNotSame(arr, pool.borrow('J', 20));
+        assertEquals(16, ((int[])pool.borrow('I', 0)).length);
+    }
+
+    /**
+     * Tests that arrays larger than the maximum capacity or of length which is not a size class aren't pooled.
+     */
+    @Test
+    public void testNotPooled() {
+        CompactListArrayPool pool = new CompactListArrayPool(64, 4, 4);
+
+        double[] large = (double[])pool.borrow('D', 100);
+        assertEquals(100, large.length);
+
+        pool.release(large);
+        assertNotSame(large, pool.borrow('D', 100));
+
+        double[] odd = new double[20];
+        pool.release(odd);
+        assertEquals(32, ((double[])pool.borrow('D', 20)).length);
+    }
+
+    /**
+     * Tests that arrays which don't fit the cache of the thread are reused by other threads.
+     */
+    @Test
+    public void testShared() throws ExecutionException, InterruptedException {
+        CompactListArrayPool pool = new CompactListArrayPool(1 << 10, 0, 4);
+
+        short[] arr = (short[])pool.borrow('S', 64);
+        pool.release(arr);
+
+        assertSame(arr, CompletableFuture.supplyAsync(() -> pool.borrow('S', 64)).get());
+    }
+
+    /**
+     * Tests that the pooled list grows, keeps its elements and returns its arrays into the pool.
+     */
+    @Test
+    public void testPooledList() {
+        CompactListArrayPool pool = new CompactListArrayPool();
+        CompactListFactory factory = new CompactListFactory(GrowthPolicy.doubling(), pool);
+
+        LongCompactList list = factory.newLongCompactList(16);
+        assertTrue(list instanceof PooledCompactList);
+
+        for (long i = 0; i < 100; i++)
+            list.addLong(i);
+
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, list.getLong(i));
+
+        /* The arrays of 16, 32 and 64 elements are returned into the pool by reallocations. */
+        long[] arr = (long[])pool.borrow('J', 32);
+        assertEquals(32, arr.length);
+        pool.release(arr);
+
+        ((PooledCompactList<?>)list).release();
+        assertEquals(0, list.size());
+
+        list.addLong(42);
+        assertEquals(42, list.getLong(0));
+    }
+
+    /**
+     * Tests that the array released by a short-lived list is reused by the next list.
+     */
+    @Test
+    public void testReuse() throws NoSuchFieldException, IllegalAccessException {
+        CompactListArrayPool pool = new CompactListArrayPool();
+        CompactListFactory factory = new CompactListFactory(GrowthPolicy.oneAndHalf(), pool);
+
+        CompactList<Integer> first = factory.newCompactList(Integer.class, 100);
+        Object arr = data(first);
+        ((PooledCompactList<?>)first).release();
+
+        CompactList<Integer> second = factory.newCompactList(Integer.class, 100);
+        assertSame(arr, data(second));
+        assertSame(first.getClass(), second.getClass());
+    }
+
+    /**
+     * Tests that the capacity requested by the growth policy is rounded up to the size class of the pool.
+     */
+    @Test
+    public void testGrowthPolicyRounded() throws NoSuchFieldException, IllegalAccessException {
+        CompactListFactory factory = new CompactListFactory(GrowthPolicy.fixedIncrement(4), new CompactListArrayPool());
+
+        CompactList<Long> list = factory.newCompactList(Long.class, 16);
+        for (long i = 0; i < 17; i++)
+            list.add(i);
+
+        assertEquals(32, ((long[])data(list)).length);
+    }
+
+    /**
+     * Returns the array of the generated list.
+     *
+     * @param list the list
+     * @return the array
+     */
+    private static Object data(CompactList<?> list) throws NoSuchFieldException, IllegalAccessException {
+        Field field = list.getClass().getDeclaredField("data");
+        field.setAccessible(true);
+
+        return field.get(list);
+    }
+}
@@ -0,0 +1,109 @@
+package com.dmitrievanthony.clist;
+
+import java.lang.ref.WeakReference;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link CompactListClassRegistry}.
+ */
+public class CompactListClassRegistryTest {
+    /**
+     * Tests that factories share generated classes by default.
+     */
+    @Test
+    public void testSharedClasses() {
+        assertSame(
+            new CompactListFactory().newCompactList(Long.class).getClass(),
+            new CompactListFactory().newCompactList(Long.class).getClass()
+        );
+        assertSame(
+            new CompactListFactory(GrowthPolicy.fixedIncrement(7)).newCompactList(Long.class).getClass(),
+            new CompactListFactory(GrowthPolicy.fixedIncrement(7)).newCompactList(Long.class).getClass()
+        );
+        assertSame(
+            new CompactListFactory().newSegmentedCompactList(Long.class).getClass(),
+            new CompactListFactory().newSegmentedCompactList(Long.class).getClass()
+        );
+    }
+
+    /**
+     * Tests that lists with different growth policies have different classes in the shared registry.
+     */
+    @Test
+    public void testGrowthPolicies() {
+        assertNotEquals(
+            new CompactListFactory(GrowthPolicy.fixedIncrement(7)).newCompactList(Long.class).getClass(),
+            new CompactListFactory(GrowthPolicy.fixedIncrement(8)).newCompactList(Long.class).getClass()
+        );
+        assertNotEquals(
+            new CompactListFactory(GrowthPolicy.oneAndHalf()).newCompactList(Long.class).getClass(),
+            new CompactListFactory(GrowthPolicy.exact()).newCompactList(Long.class).getClass()
+        );
+    }
+
+    /**
+     * Tests that the isolated factory defines its own classes.
+     */
+    @Test
+    public void testIsolatedClasses() {
+        CompactList<Long> list = new CompactListFactory(GrowthPolicy.oneAndHalf(), true).newCompactList(Long.class);
+
+        assertNotEquals(
+            new CompactListFactory(GrowthPolicy.oneAndHalf()).newCompactList(Long.class).getClass(),
+            list.getClass()
+        );
+
+        list.add(42L);
+
+        assertEquals(42L, (long)list.get(0));
+    }
+
+    /**
+     * Tests that factories share the generated struct class of the value class.
+     */
+    @Test
+    public void testSharedStructClasses() {
+        assertSame(
+            new CompactListFactory().newStructCompactList(StructCompactListTest.Trade.class).getClass(),
+            new CompactListFactory().newStructCompactList(StructCompactListTest.Trade.class).getClass()
+        );
+    }
+
+    /**
+     * Tests that the registry doesn't pin the class loader of the value class once its lists are unreachable.
+     *
+     * @throws Exception if failed
+     */
+    @Test
+    public void testStructClassesUnloaded() throws Exception {
+        WeakReference<ClassLoader> ref = newStructCompactListOfChildLoader();
+
+        for (int i = 0; i < 100 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(ref.get());
+    }
+
+    /**
+     * Constructs a struct list of the value class defined by a new class loader and drops it.
+     *
+     * @return the weak reference to the class loader
+     * @throws Exception if failed
+     */
+    @SuppressWarnings("unchecked")
+    private static WeakReference<ClassLoader> newStructCompactListOfChildLoader() throws Exception {
+        StructCompactListTest.ValueClassLoader loader = new StructCompactListTest.ValueClassLoader();
+        Class<Object> cls = (Class<Object>)loader.define("a.b.Value");
+
+        new CompactListFactory().newStructCompactList(cls).add(cls.getConstructor().newInstance());
+
+        return new WeakReference<>(loader);
+    }
+}
@@ -0,0 +1,193 @@
+package com.dmitrievanthony.clist;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the binary format of compact lists implemented by {@link CompactListIO}.
+ */
+public class CompactListIOTest {
+    /** The number of elements that doesn't fit into one buffer of {@link CompactListIO}. */
+    private static final int SIZE = 100_003;
+
+    /** The factory of lists. */
+    private final CompactListFactory factory = new CompactListFactory();
+
+    /**
+     * Tests {@link LongCompactList#writeTo(WritableByteChannel)} followed by
+     * {@link LongCompactList#readFrom(ReadableByteChannel)}.
+     */
+    @Test
+    public void testWriteReadLongs() throws IOException {
+        LongCompactList list = factory.newLongCompactList();
+        for (int i = 0; i < SIZE; i++)
+            list.addLong(i * 31L);
+
+        LongCompactList res = factory.newLongCompactList();
+        res.readFrom(channel(write(list::writeTo)));
+
+        assertArrayEquals(list.toArray(), res.toArray());
+    }
+
+    /**
+     * Tests writing and reading of lists of all other types.
+     */
+    @Test
+    public void testWriteReadOtherTypes() throws IOException {
+        ByteCompactList bytes = factory.newByteCompactList();
+        CharacterCompactList chars = factory.newCharacterCompactList();
+        ShortCompactList shorts = factory.newShortCompactList();
+        IntegerCompactList ints = factory.newIntegerCompactList();
+        FloatCompactList floats = factory.newFloatCompactList();
+        DoubleCompactList doubles = factory.newDoubleCompactList();
+        BooleanCompactList booleans = factory.newBooleanCompactList();
+
+        for (int i = 0; i < SIZE; i++) {
+            bytes.addByte((byte)i);
+            chars.addChar((char)i);
+            shorts.addShort((short)i);
+            ints.addInt(i);
+            floats.addFloat(i / 2f);
+            doubles.addDouble(i / 2.0);
+            booleans.addBoolean(i % 3 == 0);
+        }
+
+        ByteCompactList bytesRes = factory.newByteCompactList();
+        bytesRes.readFrom(channel(write(bytes::writeTo)));
+        assertArrayEquals(bytes.toArray(), bytesRes.toArray());
+
+        CharacterCompactList charsRes = factory.newCharacterCompactList();
+        charsRes.readFrom(channel(write(chars::writeTo)));
+        assertArrayEquals(chars.toArray(), charsRes.toArray());
+
+        ShortCompactList shortsRes = factory.newShortCompactList();
+        shortsRes.readFrom(channel(write(shorts::writeTo)));
+        assertArrayEquals(shorts.toArray(), shortsRes.toArray());
+
+        IntegerCompactList intsRes = factory.newIntegerCompactList();
+        intsRes.readFrom(channel(write(ints::writeTo)));
+        assertArrayEquals(ints.toArray(), intsRes.toArray());
+
+        FloatCompactList floatsRes = factory.newFloatCompactList();
+        floatsRes.readFrom(channel(write(floats::writeTo)));
+        assertArrayEquals(floats.toArray(), floatsRes.toArray(), 0);
+
+        DoubleCompactList doublesRes = factory.newDoubleCompactList();
+        doublesRes.readFrom(channel(write(doubles::writeTo)));
+        assertArrayEquals(doubles.toArray(), doublesRes.toArray(), 0);
+
+        BooleanCompactList booleansRes = factory.newBooleanCompactList();
+        booleansRes.readFrom(channel(write(booleans::writeTo)));
+        assertArrayEquals(booleans.toArray(), booleansRes.toArray());
+        assertEquals(booleans.cardinality(), booleansRes.cardinality());
+        assertEquals(booleans.select(1000), booleansRes.select(1000));
+    }
+
+    /**
+     * Tests that elements read into a non-empty list of booleans are appended after existing elements.
+     */
+    @Test
+    public void testReadBooleansIntoNonEmptyList() throws IOException {
+        BooleanCompactList list = factory.newBooleanCompactList();
+        for (int i = 0; i < 100; i++)
+            list.addBoolean(i % 2 == 0);
+
+        BooleanCompactList res = factory.newBooleanCompactList();
+        res.addBoolean(true);
+        res.readFrom(channel(write(list::writeTo)));
+
+        assertEquals(101, res.size());
+        assertEquals(51, res.cardinality());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i % 2 == 0, res.getBoolean(i + 1));
+    }
+
+    /**
+     * Tests that the header and the payload are written in the little-endian byte order.
+     */
+    @Test
+    public void testFormat() throws IOException {
+        IntegerCompactList list = factory.newIntegerCompactList();
+        list.addInt(0x01020304);
+
+        ByteBuffer buf = ByteBuffer.wrap(write(list::writeTo)).order(ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(9, buf.remaining());
+        assertEquals(CompactListIO.INT, buf.get());
+        assertEquals(1, buf.getInt());
+        assertEquals(0x04, buf.get(buf.position()));
+        assertEquals(0x01020304, buf.getInt());
+    }
+
+    /**
+     * Tests that a list of another type is not read.
+     */
+    @Test(expected = IOException.class)
+    public void testReadWithWrongType() throws IOException {
+        IntegerCompactList list = factory.newIntegerCompactList();
+        list.addInt(1);
+
+        factory.newLongCompactList().readFrom(channel(write(list::writeTo)));
+    }
+
+    /**
+     * Tests that a truncated list is not read.
+     */
+    @Test(expected = EOFException.class)
+    public void testReadTruncated() throws IOException {
+        LongCompactList list = factory.newLongCompactList();
+        list.addLong(1);
+
+        byte[] bytes = write(list::writeTo);
+        factory.newLongCompactList().readFrom(channel(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    /**
+     * Writes a list by the specified writer into the byte array.
+     *
+     * @param writer the writer
+     * @return the byte array
+     */
+    private static byte[] write(Writer writer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(Channels.newChannel(out));
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns the channel that reads the specified bytes.
+     *
+     * @param bytes the bytes
+     * @return the channel
+     */
+    private static ReadableByteChannel channel(byte[] bytes) {
+        return Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * The method that writes a list into a channel.
+     */
+    @FunctionalInterface
+    private interface Writer {
+        /**
+         * Writes a list into the specified channel.
+         *
+         * @param channel the channel
+         * @throws IOException if an I/O error occurs
+         */
+        void writeTo(WritableByteChannel channel) throws IOException;
+    }
+}
@@ -0,0 +1,109 @@
+package com.dmitrievanthony.clist;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CompactListMonitor} and instrumented lists.
+ */
+public class CompactListMonitorTest {
+    /**
+     * Tests the statistics of the instrumented list.
+     */
+    @Test
+    public void testListStats() {
+        CompactListFactory factory = new CompactListFactory(GrowthPolicy.doubling(), false, new CompactListMonitor());
+        LongCompactList list = factory.newLongCompactList(2);
+
+        for (long i = 0; i < 5; i++)
+            list.addLong(i);
+
+        CompactListStats stats = ((InstrumentedCompactList<?>)list).stats();
+
+        assertEquals(1, stats.lists());
+        assertEquals(5, stats.size());
+        assertEquals(8, stats.capacity());
+        assertEquals(8 * Long.BYTES, stats.capacityBytes());
+        assertEquals(2, stats.resizes());
+        assertEquals((2 + 4) * Long.BYTES, stats.bytesCopied());
+        assertEquals(4, list.getLong(4));
+    }
+
+    /**
+     * Tests the statistics aggregated by the factory.
+     */
+    @Test
+    public void testFactoryStats() {
+        CompactListFactory factory = new CompactListFactory(GrowthPolicy.exact(), false, new CompactListMonitor());
+        CompactList<Short> shorts = factory.newCompactList(Short.class, 0);
+        IntegerCompactList ints = factory.newIntegerCompactList(0);
+
+        shorts.add((short)1);
+        ints.addInt(1);
+        ints.addInt(2);
+
+        CompactListStats stats = factory.stats();
+
+        assertEquals(2, stats.lists());
+        assertEquals(3, stats.size());
+        assertEquals(3, stats.capacity());
+        assertEquals(Short.BYTES + 2 * Integer.BYTES, stats.capacityBytes());
+        assertEquals(3, stats.resizes());
+        assertEquals(Integer.BYTES, stats.bytesCopied());
+    }
+
+    /**
+     * Tests that lists produced by the factory without a monitor aren't instrumented.
+     */
+    @Test
+    public void testNotInstrumented() {
+        CompactList<Long> list = new CompactListFactory().newCompactList(Long.class);
+
+        assertFalse(list instanceof InstrumentedCompactList);
+
+        for (Field field : list.getClass().getDeclaredFields())
+            assertFalse(field.getName(), field.getType() == CompactListMonitor.class);
+    }
+
+    /**
+     * Tests that the factory without a monitor has no statistics.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testStatsOfNotInstrumentedFactory() {
+        new CompactListFactory().stats();
+    }
+
+    /**
+     * Tests the statistics exposed through JMX.
+     */
+    @Test
+    public void testMBean() throws Exception {
+        CompactListMonitor monitor = new CompactListMonitor(true);
+        CompactListFactory factory = new CompactListFactory(GrowthPolicy.doubling(), false, monitor);
+        DoubleCompactList list = factory.newDoubleCompactList(1);
+
+        list.addDouble(1);
+        list.addDouble(2);
+
+        MBeanServer srv = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = monitor.registerMBean("test");
+
+        try {
+            assertTrue(srv.isRegistered(name));
+            assertEquals(1L, srv.getAttribute(name, "ListCount"));
+            assertEquals(2L, srv.getAttribute(name, "Size"));
+            assertEquals(1L, srv.getAttribute(name, "ResizeCount"));
+            assertEquals((long)Double.BYTES, srv.getAttribute(name, "BytesCopied"));
+        }
+        finally {
+            srv.unregisterMBean(name);
+        }
+    }
+}
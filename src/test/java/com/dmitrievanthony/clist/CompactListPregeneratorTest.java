@@ -0,0 +1,75 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link CompactListPregenerator}.
+ */
+public class CompactListPregeneratorTest {
+    /** The temporary folder for generated classes. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests that the generated class files are loadable and construct working lists.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGenerate() throws IOException, ReflectiveOperationException {
+        Path dir = folder.getRoot().toPath();
+        CompactListPregenerator.generate(dir);
+
+        DynamicClassLoader loader = new DynamicClassLoader();
+
+        Class<?> factoryClass = define(loader, dir, CompactListFactory.SUFFIX, CompactListGenerator.FACTORY_SUFFIX);
+        LongCompactList list = ((IntFunction<LongCompactList>)factoryClass.newInstance()).apply(0);
+        for (int i = 0; i < 100; i++)
+            list.addLong(i);
+
+        assertEquals(100, list.size());
+        assertEquals(99, list.getLong(99));
+
+        factoryClass = define(
+            loader,
+            dir,
+            CompactListFactory.OFF_HEAP_SUFFIX,
+            OffHeapCompactListGenerator.FACTORY_SUFFIX
+        );
+        try (LongBigCompactList bigList = ((LongFunction<LongBigCompactList>)factoryClass.newInstance()).apply(0)) {
+            bigList.addLong(42);
+
+            assertEquals(42, bigList.getLong(0));
+        }
+    }
+
+    /**
+     * Defines the list class of longs and its factory class from the generated class files.
+     *
+     * @param loader the class loader
+     * @param dir the directory of generated classes
+     * @param suffix the class name suffix of the list
+     * @param factorySuffix the class name suffix of the factory
+     * @return the factory class
+     * @throws IOException if a class file cannot be read
+     */
+    private static Class<?> define(DynamicClassLoader loader, Path dir, String suffix, String factorySuffix)
+        throws IOException {
+        String name = CompactListFactory.PREFIX + Long.class.getSimpleName() + suffix;
+
+        loader.defineClass(name.replace('/', '.'), Files.readAllBytes(dir.resolve(name + ".class")));
+
+        return loader.defineClass(
+            (name + factorySuffix).replace('/', '.'),
+            Files.readAllBytes(dir.resolve(name + factorySuffix + ".class"))
+        );
+    }
+}
@@ -0,0 +1,198 @@
+package com.dmitrievanthony.clist;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link CompressedLongCompactList} and {@link CompressedIntegerCompactList}.
+ */
+public class CompressedCompactListTest {
+    /** The number of elements that takes several sealed blocks and a partial tail block. */
+    private static final int SIZE = 10 * BitPackedBlocks.BLOCK_SIZE + 17;
+
+    /**
+     * Tests {@link LongCompactList#addLong(long)} followed by {@link LongCompactList#getLong(int)} for timestamps that
+     * span a narrow range.
+     */
+    @Test
+    public void testAddGetTimestamps() {
+        Random rnd = new Random(0);
+        long[] expected = new long[SIZE];
+        for (int i = 0; i < SIZE; i++)
+            expected[i] = 1_500_000_000_000L + i * 1000L + rnd.nextInt(1000);
+
+        assertAddGet(expected);
+    }
+
+    /**
+     * Tests blocks of equal elements (zero width) and blocks that span the whole range of longs (full width).
+     */
+    @Test
+    public void testAddGetWithExtremeWidths() {
+        Random rnd = new Random(0);
+        long[] expected = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            if (i < 2 * BitPackedBlocks.BLOCK_SIZE)
+                expected[i] = 42;
+            else if (i % 2 == 0)
+                expected[i] = rnd.nextBoolean() ? Long.MIN_VALUE : Long.MAX_VALUE;
+            else
+                expected[i] = rnd.nextLong();
+        }
+
+        assertAddGet(expected);
+    }
+
+    /**
+     * Tests {@link IntegerCompactList#addInt(int)} followed by {@link IntegerCompactList#getInt(int)} for every width.
+     */
+    @Test
+    public void testAddGetInts() {
+        Random rnd = new Random(0);
+        int[] expected = new int[33 * BitPackedBlocks.BLOCK_SIZE + 5];
+        for (int i = 0; i < expected.length; i++) {
+            int width = i / BitPackedBlocks.BLOCK_SIZE;
+            expected[i] = width == 0 ? -7 : Integer.MIN_VALUE + (int)(rnd.nextLong() & ((1L << width) - 1));
+        }
+
+        IntegerCompactList list = new CompactListFactory().newCompressedIntegerCompactList();
+        list.addAll(expected, 0, expected.length);
+
+        assertEquals(expected.length, list.size());
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], list.getInt(i));
+
+        list.trimToSize();
+        assertArrayEquals(expected, list.toArray());
+    }
+
+    /**
+     * Tests that {@link CompactList#clear()} of the compressed list discards the packed blocks and the list accepts
+     * values of other widths after it.
+     */
+    @Test
+    public void testClear() {
+        LongCompactList list = new CompactListFactory().newCompressedLongCompactList();
+        for (long i = 0; i < 3 * BitPackedBlocks.BLOCK_SIZE + 5; i++)
+            list.addLong(Long.MAX_VALUE - i);
+        list.clear();
+
+        assertEquals(0, list.size());
+
+        for (long i = 0; i < 2 * BitPackedBlocks.BLOCK_SIZE + 3; i++)
+            list.addLong(i);
+
+        assertEquals(2 * BitPackedBlocks.BLOCK_SIZE + 3, list.size());
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(i, list.getLong(i));
+    }
+
+    /**
+     * Tests that compressed lists use the same binary format as other lists.
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        LongCompactList list = new CompactListFactory().newCompressedLongCompactList();
+        for (int i = 0; i < SIZE; i++)
+            list.addLong(i * 3L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        list.writeTo(Channels.newChannel(out));
+
+        LongCompactList res = new CompactListFactory().newLongCompactList();
+        res.readFrom(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        assertArrayEquals(list.toArray(), res.toArray());
+
+        LongCompactList compressedRes = new CompactListFactory().newCompressedLongCompactList();
+        compressedRes.readFrom(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        assertArrayEquals(list.toArray(), compressedRes.toArray());
+    }
+
+    /**
+     * Tests that the default {@link LongCompactList#spliterator()} splits compressed lists evenly.
+     */
+    @Test
+    public void testStream() {
+        LongCompactList list = new CompactListFactory().newCompressedLongCompactList();
+        for (int i = 0; i < SIZE; i++)
+            list.addLong(i * 3L);
+
+        assertEquals(SIZE / 2, list.spliterator().trySplit().getExactSizeIfKnown());
+        assertArrayEquals(list.toArray(), list.longStream().parallel().toArray());
+    }
+
+    /**
+     * Tests the default aggregates of {@link LongCompactList} on compressed lists.
+     */
+    @Test
+    public void testAggregates() {
+        LongCompactList list = new CompactListFactory().newCompressedLongCompactList();
+        for (int i = 0; i < SIZE; i++)
+            list.addLong(i * 3L - 7);
+
+        assertEquals(list.longStream().sum(), list.sum());
+        assertEquals(-7, list.min());
+        assertEquals((SIZE - 1) * 3L - 7, list.max());
+        assertEquals(list.longStream().filter(e -> e % 2 == 0).count(), list.count(e -> e % 2 == 0));
+    }
+
+    /**
+     * Tests the default {@link LongCompactList#binarySearch(long)} and {@link LongCompactList#lowerBound(long)} on
+     * sorted compressed lists.
+     */
+    @Test
+    public void testBinarySearch() {
+        LongCompactList list = new CompactListFactory().newCompressedLongCompactList();
+        for (int i = 0; i < SIZE; i++)
+            list.addLong(i * 3L);
+
+        assertEquals(100, list.binarySearch(300));
+        assertEquals(-102, list.binarySearch(302));
+        assertEquals(101, list.lowerBound(302));
+        assertEquals(SIZE, list.lowerBound(Long.MAX_VALUE));
+    }
+
+    /**
+     * Tests that compressed lists can't be sorted in place.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSort() {
+        new CompactListFactory().newCompressedLongCompactList().sort();
+    }
+
+    /**
+     * Tests {@link LongCompactList#getLong(int)} with wrong index.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetWithWrongIndex() {
+        LongCompactList list = new CompactListFactory().newCompressedLongCompactList();
+        list.addLong(1);
+
+        list.getLong(1);
+    }
+
+    /**
+     * Adds the specified elements into the compressed list and checks that they are returned back.
+     *
+     * @param expected the elements
+     */
+    private static void assertAddGet(long[] expected) {
+        LongCompactList list = new CompactListFactory().newCompressedLongCompactList();
+        for (long element : expected)
+            list.addLong(element);
+
+        assertEquals(expected.length, list.size());
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], list.getLong(i));
+
+        for (int i = expected.length - 1; i >= 0; i--)
+            assertEquals(expected[i], (long)list.get(i));
+    }
+}
@@ -0,0 +1,111 @@
+package com.dmitrievanthony.clist;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ConcurrentCompactList}.
+ */
+public class ConcurrentCompactListTest extends CompactListAbstractTest<Long> {
+    /** {@inheritDoc} */
+    @Override
+    Iterator<Long> getSequence() {
+        return Stream.iterate(0L, e -> e + 1).iterator();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    CompactList<Long> getCompactList() {
+        return new ConcurrentCompactList<>();
+    }
+
+    /**
+     * Tests that the append-only list doesn't support {@link CompactList#clear()}.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    @Override public void testClear() {
+        getCompactList().clear();
+    }
+
+    /**
+     * Tests concurrent {@link ConcurrentCompactList#add(Object)} from several writers while a reader checks that every
+     * element below the size is published.
+     */
+    @Test
+    public void testConcurrentAdd() throws InterruptedException {
+        int writers = 4;
+        int elementsPerWriter = 100_000;
+
+        ConcurrentCompactList<Long> list = new ConcurrentCompactList<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[writers];
+        for (int t = 0; t < writers; t++) {
+            long base = (long)t * elementsPerWriter;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                }
+                catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+
+                for (int i = 0; i < elementsPerWriter; i++)
+                    list.add(base + i);
+            });
+            threads[t].start();
+        }
+
+        start.countDown();
+
+        // Read published elements while writers are running.
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                int size = list.size();
+                for (int i = 0; i < size; i++)
+                    assertTrue(list.get(i) != null);
+            }
+
+            thread.join();
+        }
+
+        assertEquals(writers * elementsPerWriter, list.size());
+
+        boolean[] seen = new boolean[writers * elementsPerWriter];
+        long[] last = new long[writers];
+        for (int t = 0; t < writers; t++)
+            last[t] = -1;
+
+        for (int i = 0; i < list.size(); i++) {
+            long element = list.get(i);
+            int writer = (int)(element / elementsPerWriter);
+
+            assertTrue(!seen[(int)element]);
+            assertTrue(element > last[writer]);
+
+            seen[(int)element] = true;
+            last[writer] = element;
+        }
+    }
+
+    /**
+     * Tests that the segments are long enough to keep {@link ConcurrentCompactList#MAX_CAPACITY} elements and the
+     * length of the last segment doesn't overflow.
+     */
+    @Test
+    public void testSegmentLengths() {
+        long capacity = 0;
+        for (int segment = 0; segment < Integer.SIZE - 4; segment++) {
+            assertTrue(ConcurrentCompactList.segmentLength(segment) > 0);
+
+            capacity += ConcurrentCompactList.segmentLength(segment);
+        }
+
+        assertEquals(ConcurrentCompactList.MAX_CAPACITY, capacity);
+    }
+}
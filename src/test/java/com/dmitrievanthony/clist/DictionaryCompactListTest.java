@@ -0,0 +1,104 @@
+package com.dmitrievanthony.clist;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link DictionaryCompactList}.
+ */
+public class DictionaryCompactListTest extends CompactListAbstractTest<String> {
+    /** {@inheritDoc} */
+    @Override
+    Iterator<String> getSequence() {
+        return Stream.iterate(0, i -> i + 1).map(i -> "value-" + i % 3).iterator();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    CompactList<String> getCompactList() {
+        return new DictionaryCompactList<>();
+    }
+
+    /**
+     * Tests that equal elements are replaced by the same instance and get the same code.
+     */
+    @Test
+    public void testDeduplication() {
+        DictionaryCompactList<String> list = new DictionaryCompactList<>();
+        String first = new String("value");
+        String second = new String("value");
+        list.add(first);
+        list.add("other");
+        list.add(second);
+
+        assertEquals(3, list.size());
+        assertEquals(2, list.dictionarySize());
+        assertSame(first, list.get(2));
+        assertEquals(list.getCode(0), list.getCode(2));
+        assertEquals(0, list.codeOf("value"));
+        assertEquals(1, list.codeOf("other"));
+        assertEquals(-1, list.codeOf("absent"));
+        assertEquals("other", list.getValue(1));
+    }
+
+    /**
+     * Tests that codes are widened from bytes to shorts and from shorts to ints as the dictionary grows.
+     */
+    @Test
+    public void testCodeWidening() {
+        int distinct = (1 << 16) + 10;
+
+        DictionaryCompactList<Integer> list = new DictionaryCompactList<>(0);
+        for (int i = 0; i < distinct; i++) {
+            list.add(i % 7);
+            list.add(i);
+        }
+
+        assertEquals(2 * distinct, list.size());
+        assertEquals(distinct, list.dictionarySize());
+        for (int i = 0; i < distinct; i++) {
+            assertEquals(i % 7, (int)list.get(2 * i));
+            assertEquals(i, (int)list.get(2 * i + 1));
+            assertEquals(i, list.getValue(list.getCode(2 * i + 1)).intValue());
+        }
+
+        list.trimToSize();
+        list.add(distinct);
+        assertEquals(distinct, (int)list.get(2 * distinct));
+    }
+
+    /**
+     * Tests {@link DictionaryCompactList#getCodes(int, int[], int, int)}.
+     */
+    @Test
+    public void testGetCodes() {
+        DictionaryCompactList<String> list = new DictionaryCompactList<>();
+        for (int i = 0; i < 100; i++)
+            list.add("value-" + i % 5);
+
+        int[] codes = new int[102];
+        list.getCodes(10, codes, 2, 100 - 10);
+
+        int[] expected = new int[102];
+        for (int i = 10; i < 100; i++)
+            expected[i - 8] = i % 5;
+
+        assertArrayEquals(expected, codes);
+    }
+
+    /**
+     * Tests {@link DictionaryCompactList#getValue(int)} with wrong code.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetValueWithWrongCode() {
+        DictionaryCompactList<String> list = new DictionaryCompactList<>();
+        list.add("value");
+
+        list.getValue(1);
+    }
+}
@@ -1,7 +1,15 @@
 package com.dmitrievanthony.clist;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests for <tt>DoubleCompactList</tt> generated by {@link CompactListGenerator} and {@link CompactListFactory}.
@@ -18,4 +26,118 @@ public class DoubleCompactListTest extends CompactListAbstractTest<Double> {
     CompactList<Double> getCompactList() {
         return new CompactListFactory().newCompactList(Double.class);
     }
+
+    /**
+     * Tests {@link DoubleCompactList#addDouble(double)} followed by {@link DoubleCompactList#getDouble(int)} without
+     * boxing.
+     */
+    @Test
+    public void testAddDoubleGetDouble() {
+        DoubleCompactList list = new CompactListFactory().newDoubleCompactList();
+        for (int i = 0; i < 11; i++)
+            list.addDouble(i);
+
+        assertEquals(11, list.size());
+        for (int i = 0; i < 11; i++)
+            assertEquals(i, 0, list.getDouble(i));
+    }
+
+    /**
+     * Tests {@link DoubleCompactList#addAll(double[], int, int)} followed by {@link DoubleCompactList#getRange(int,
+     * double[], int, int)} and {@link DoubleCompactList#toArray()}.
+     */
+    @Test
+    public void testAddAllGetRange() {
+        double[] src = new double[100];
+        for (int i = 0; i < src.length; i++)
+            src[i] = i;
+
+        DoubleCompactList list = new CompactListFactory().newDoubleCompactList();
+        list.addAll(src, 0, 10);
+        list.addAll(src, 10, 90);
+
+        double[] dst = new double[102];
+        list.getRange(0, dst, 1, 100);
+
+        assertEquals(100, list.size());
+        assertArrayEquals(src, Arrays.copyOfRange(dst, 1, 101), 0);
+        assertArrayEquals(src, list.toArray(), 0);
+    }
+
+    /**
+     * Tests {@link DoubleCompactList#getRange(int, double[], int, int)} with wrong range (range that is greater than
+     * the size of the list).
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRangeWithWrongRange() {
+        DoubleCompactList list = new CompactListFactory().newDoubleCompactList();
+        list.addAll(new double[10], 0, 10);
+        list.getRange(5, new double[10], 0, 6);
+    }
+
+    /**
+     * Tests {@link DoubleCompactList#spliterator()} and {@link DoubleCompactList#doubleStream()}, sequential and
+     * parallel.
+     */
+    @Test
+    public void testStream() {
+        DoubleCompactList list = new CompactListFactory().newDoubleCompactList();
+        for (int i = 0; i < 1000; i++)
+            list.addDouble(i);
+
+        Spliterator.OfDouble spliterator = list.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(1000, spliterator.getExactSizeIfKnown());
+        assertEquals(500, spliterator.trySplit().getExactSizeIfKnown());
+
+        assertEquals(999 * 1000 / 2, list.doubleStream().sum(), 0);
+        assertEquals(999 * 1000 / 2, list.doubleStream().parallel().sum(), 0);
+        assertArrayEquals(list.toArray(), list.doubleStream().parallel().toArray(), 0);
+    }
+
+    /**
+     * Tests {@link DoubleCompactList#sum()}, {@link DoubleCompactList#min()}, {@link DoubleCompactList#max()} and
+     * {@link DoubleCompactList#count}.
+     */
+    @Test
+    public void testAggregates() {
+        DoubleCompactList list = new CompactListFactory().newDoubleCompactList();
+        for (int i = 0; i < 1000; i++)
+            list.addDouble(i - 500);
+
+        assertEquals(-500, list.sum(), 0);
+        assertEquals(-500, list.min(), 0);
+        assertEquals(499, list.max(), 0);
+        assertEquals(500, list.count(e -> e >= 0));
+        assertEquals(list.doubleStream().sum(), list.sum(), 0);
+    }
+
+    /**
+     * Tests {@link DoubleCompactList#forEach(java.util.function.DoubleConsumer)}, the range variant and
+     * {@link DoubleCompactList#forEachIndexed}.
+     */
+    @Test
+    public void testForEach() {
+        DoubleCompactList list = new CompactListFactory().newDoubleCompactList();
+        for (int i = 0; i < 300; i++)
+            list.addDouble(i / 2.0);
+
+        double[] sum = new double[1];
+        list.forEach(e -> sum[0] += e);
+        assertEquals(list.sum(), sum[0], 0);
+
+        DoubleCompactList range = new CompactListFactory().newDoubleCompactList();
+        list.forEach(10, 20, range::addDouble);
+        assertArrayEquals(Arrays.copyOfRange(list.toArray(), 10, 20), range.toArray(), 0);
+
+        list.forEachIndexed((idx, e) -> assertEquals(idx / 2.0, e, 0));
+    }
+
+    /**
+     * Tests {@link DoubleCompactList#min()} of empty list.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfEmptyList() {
+        new CompactListFactory().newDoubleCompactList().min();
+    }
 }
@@ -1,7 +1,12 @@
 package com.dmitrievanthony.clist;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 
 /**
  * Tests for <tt>FloatCompactList</tt> generated by {@link CompactListGenerator} and {@link CompactListFactory}.
@@ -18,4 +23,76 @@ public class FloatCompactListTest extends CompactListAbstractTest<Float> {
     CompactList<Float> getCompactList() {
         return new CompactListFactory().newCompactList(Float.class);
     }
+
+    /**
+     * Tests {@link FloatCompactList#addFloat(float)} followed by {@link FloatCompactList#getFloat(int)} without boxing.
+     */
+    @Test
+    public void testAddFloatGetFloat() {
+        FloatCompactList list = new CompactListFactory().newFloatCompactList();
+        for (int i = 0; i < 11; i++)
+            list.addFloat(i);
+
+        assertEquals(11, list.size());
+        for (int i = 0; i < 11; i++)
+            assertEquals(i, 0, list.getFloat(i));
+    }
+
+    /**
+     * Tests {@link FloatCompactList#addAll(float[], int, int)} followed by {@link FloatCompactList#getRange(int,
+     * float[], int, int)} and {@link FloatCompactList#toArray()}.
+     */
+    @Test
+    public void testAddAllGetRange() {
+        float[] src = new float[100];
+        for (int i = 0; i < src.length; i++)
+            src[i] = i;
+
+        FloatCompactList list = new CompactListFactory().newFloatCompactList();
+        list.addAll(src, 0, 10);
+        list.addAll(src, 10, 90);
+
+        float[] dst = new float[102];
+        list.getRange(0, dst, 1, 100);
+
+        assertEquals(100, list.size());
+        assertArrayEquals(src, Arrays.copyOfRange(dst, 1, 101), 0);
+        assertArrayEquals(src, list.toArray(), 0);
+    }
+
+    /**
+     * Tests {@link FloatCompactList#getRange(int, float[], int, int)} with wrong range (range that is greater than the
+     * size of the list).
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRangeWithWrongRange() {
+        FloatCompactList list = new CompactListFactory().newFloatCompactList();
+        list.addAll(new float[10], 0, 10);
+        list.getRange(5, new float[10], 0, 6);
+    }
+
+    /**
+     * Tests {@link FloatCompactList#forEach(java.util.function.DoubleConsumer)}, the range variant and
+     * {@link FloatCompactList#forEachIndexed}.
+     */
+    @Test
+    public void testForEach() {
+        FloatCompactList list = new CompactListFactory().newFloatCompactList();
+        for (int i = 0; i < 300; i++)
+            list.addFloat(i / 4.0f);
+
+        double expected = 0;
+        for (int i = 0; i < 300; i++)
+            expected += list.getFloat(i);
+
+        double[] sum = new double[1];
+        list.forEach(e -> sum[0] += e);
+        assertEquals(expected, sum[0], 0);
+
+        double[] range = new double[1];
+        list.forEach(10, 12, e -> range[0] += e);
+        assertEquals(list.getFloat(10) + list.getFloat(11), range[0], 0);
+
+        list.forEachIndexed((idx, e) -> assertEquals(list.getFloat(idx), e, 0));
+    }
 }
@@ -0,0 +1,90 @@
+package com.dmitrievanthony.clist;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link GrowthPolicy} and the <tt>newCapacity</tt> method generated by {@link CompactListGenerator}.
+ */
+public class GrowthPolicyTest {
+    /** Pairs of the old capacity and the minimum desired capacity. */
+    private static final int[][] CAPACITIES = {
+        {0, 1},
+        {10, 11},
+        {10, 100},
+        {1_500_000_000, 1_500_000_001},
+        {GrowthPolicy.MAX_CAPACITY, GrowthPolicy.MAX_CAPACITY + 1}
+    };
+
+    /**
+     * Tests the new capacity calculated by every growth policy.
+     */
+    @Test
+    public void testNewCapacity() {
+        assertEquals(20, GrowthPolicy.doubling().newCapacity(10, 11));
+        assertEquals(15, GrowthPolicy.oneAndHalf().newCapacity(10, 11));
+        assertEquals(17, GrowthPolicy.fixedIncrement(7).newCapacity(10, 11));
+        assertEquals(11, GrowthPolicy.exact().newCapacity(10, 11));
+        assertEquals(100, GrowthPolicy.doubling().newCapacity(10, 100));
+    }
+
+    /**
+     * Tests that the new capacity is capped near <tt>Integer.MAX_VALUE</tt>.
+     */
+    @Test
+    public void testNewCapacityNearMaxValue() {
+        assertEquals(GrowthPolicy.MAX_CAPACITY, GrowthPolicy.doubling().newCapacity(1_500_000_000, 1_500_000_001));
+        assertEquals(GrowthPolicy.MAX_CAPACITY, GrowthPolicy.oneAndHalf().newCapacity(1_500_000_000, 1_500_000_001));
+        assertEquals(
+            GrowthPolicy.MAX_CAPACITY + 1,
+            GrowthPolicy.doubling().newCapacity(GrowthPolicy.MAX_CAPACITY, GrowthPolicy.MAX_CAPACITY + 1)
+        );
+    }
+
+    /**
+     * Tests that overflow of the minimum desired capacity results in <tt>OutOfMemoryError</tt>.
+     */
+    @Test(expected = OutOfMemoryError.class)
+    public void testNewCapacityOverflow() {
+        GrowthPolicy.doubling().newCapacity(Integer.MAX_VALUE, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Tests that the <tt>newCapacity</tt> method generated by {@link CompactListGenerator} calculates the same capacity
+     * as {@link GrowthPolicy#newCapacity(int, int)}.
+     */
+    @Test
+    public void testGeneratedNewCapacity() throws ReflectiveOperationException {
+        GrowthPolicy[] policies = {
+            GrowthPolicy.doubling(),
+            GrowthPolicy.oneAndHalf(),
+            GrowthPolicy.fixedIncrement(7),
+            GrowthPolicy.exact()
+        };
+
+        for (GrowthPolicy policy : policies) {
+            CompactList<Long> list = new CompactListFactory(policy).newCompactList(Long.class);
+            Method newCapacity = list.getClass().getDeclaredMethod("newCapacity", int.class, int.class);
+            newCapacity.setAccessible(true);
+
+            for (int[] capacities : CAPACITIES)
+                assertEquals(
+                    policy.toString(),
+                    policy.newCapacity(capacities[0], capacities[1]),
+                    newCapacity.invoke(list, capacities[0], capacities[1])
+                );
+
+            try {
+                newCapacity.invoke(list, Integer.MAX_VALUE, Integer.MIN_VALUE);
+                fail();
+            }
+            catch (InvocationTargetException e) {
+                assertEquals(OutOfMemoryError.class, e.getCause().getClass());
+            }
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package com.dmitrievanthony.clist;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
 import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests for <tt>IntegerCompactList</tt> generated by {@link CompactListGenerator} and {@link CompactListFactory}.
@@ -18,4 +27,163 @@ public class IntegerCompactListTest extends CompactListAbstractTest<Integer> {
     CompactList<Integer> getCompactList() {
         return new CompactListFactory().newCompactList(Integer.class);
     }
+
+    /**
+     * Tests {@link IntegerCompactList#addInt(int)} followed by {@link IntegerCompactList#getInt(int)} without boxing.
+     */
+    @Test
+    public void testAddIntGetInt() {
+        IntegerCompactList list = new CompactListFactory().newIntegerCompactList();
+        for (int i = 0; i < 11; i++)
+            list.addInt(i);
+
+        assertEquals(11, list.size());
+        for (int i = 0; i < 11; i++)
+            assertEquals(i, list.getInt(i));
+    }
+
+    /**
+     * Tests {@link IntegerCompactList#addAll(int[], int, int)} followed by {@link IntegerCompactList#getRange(int,
+     * int[], int, int)} and {@link IntegerCompactList#toArray()}.
+     */
+    @Test
+    public void testAddAllGetRange() {
+        int[] src = new int[100];
+        for (int i = 0; i < src.length; i++)
+            src[i] = i;
+
+        IntegerCompactList list = new CompactListFactory().newIntegerCompactList();
+        list.addAll(src, 0, 10);
+        list.addAll(src, 10, 90);
+
+        int[] dst = new int[102];
+        list.getRange(0, dst, 1, 100);
+
+        assertEquals(100, list.size());
+        assertArrayEquals(src, Arrays.copyOfRange(dst, 1, 101));
+        assertArrayEquals(src, list.toArray());
+    }
+
+    /**
+     * Tests {@link IntegerCompactList#getRange(int, int[], int, int)} with wrong range (range that is greater than the
+     * size of the list).
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRangeWithWrongRange() {
+        IntegerCompactList list = new CompactListFactory().newIntegerCompactList();
+        list.addAll(new int[10], 0, 10);
+        list.getRange(5, new int[10], 0, 6);
+    }
+
+    /**
+     * Tests {@link IntegerCompactList#spliterator()} and {@link IntegerCompactList#intStream()}, sequential and
+     * parallel.
+     */
+    @Test
+    public void testStream() {
+        IntegerCompactList list = new CompactListFactory().newIntegerCompactList();
+        for (int i = 0; i < 1000; i++)
+            list.addInt(i);
+
+        Spliterator.OfInt spliterator = list.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(1000, spliterator.getExactSizeIfKnown());
+        assertEquals(500, spliterator.trySplit().getExactSizeIfKnown());
+
+        assertEquals(999 * 1000 / 2, list.intStream().sum());
+        assertEquals(999 * 1000 / 2, list.intStream().parallel().sum());
+        assertArrayEquals(list.toArray(), list.intStream().parallel().toArray());
+    }
+
+    /**
+     * Tests {@link IntegerCompactList#sum()}, {@link IntegerCompactList#min()}, {@link IntegerCompactList#max()} and
+     * {@link IntegerCompactList#count}.
+     */
+    @Test
+    public void testAggregates() {
+        IntegerCompactList list = new CompactListFactory().newIntegerCompactList();
+        for (int i = 0; i < 1000; i++)
+            list.addInt(i - 500);
+
+        assertEquals(-500, list.sum());
+        assertEquals(-500, list.min());
+        assertEquals(499, list.max());
+        assertEquals(500, list.count(e -> e >= 0));
+        assertEquals(list.intStream().sum(), list.sum());
+    }
+
+    /**
+     * Tests {@link IntegerCompactList#forEach(java.util.function.IntConsumer)}, the range variant and
+     * {@link IntegerCompactList#forEachIndexed}.
+     */
+    @Test
+    public void testForEach() {
+        IntegerCompactList list = new CompactListFactory().newIntegerCompactList();
+        for (int i = 0; i < 300; i++)
+            list.addInt(i - 150);
+
+        long[] sum = new long[1];
+        list.forEach(e -> sum[0] += e);
+        assertEquals(list.sum(), sum[0]);
+
+        IntegerCompactList range = new CompactListFactory().newIntegerCompactList();
+        list.forEach(10, 20, range::addInt);
+        assertArrayEquals(Arrays.copyOfRange(list.toArray(), 10, 20), range.toArray());
+
+        list.forEachIndexed((idx, e) -> assertEquals(idx - 150, e));
+    }
+
+    /**
+     * Tests {@link IntegerCompactList#min()} of empty list.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfEmptyList() {
+        new CompactListFactory().newIntegerCompactList().min();
+    }
+
+    /**
+     * Tests {@link IntegerCompactList#sort()} and {@link IntegerCompactList#parallelSort()} with negative elements
+     * followed by {@link IntegerCompactList#binarySearch(int)} and {@link IntegerCompactList#lowerBound(int)}.
+     */
+    @Test
+    public void testSortBinarySearch() {
+        Random rnd = new Random(0);
+        int[] src = new int[100_000];
+        for (int i = 0; i < src.length; i++)
+            src[i] = i % 10 == 0 ? -i : rnd.nextInt();
+
+        int[] expected = src.clone();
+        Arrays.sort(expected);
+
+        IntegerCompactList list = new CompactListFactory().newIntegerCompactList();
+        list.addAll(src, 0, 1000);
+        list.sort();
+        assertArrayEquals(sorted(Arrays.copyOf(src, 1000)), list.toArray());
+
+        list.addAll(src, 1000, src.length - 1000);
+        list.parallelSort();
+        assertArrayEquals(expected, list.toArray());
+
+        for (int i = 0; i < src.length; i += 97) {
+            assertEquals(expected[i], list.getInt(list.binarySearch(expected[i])));
+            assertEquals(expected[i], list.getInt(list.lowerBound(expected[i])));
+        }
+
+        assertEquals(0, list.lowerBound(expected[0]));
+        assertEquals(-1, list.binarySearch(Integer.MIN_VALUE));
+        assertEquals(src.length, list.lowerBound(Integer.MAX_VALUE));
+        assertEquals(-src.length - 1, list.binarySearch(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Sorts the specified array.
+     *
+     * @param arr the array
+     * @return the sorted array
+     */
+    private static int[] sorted(int[] arr) {
+        Arrays.sort(arr);
+
+        return arr;
+    }
 }
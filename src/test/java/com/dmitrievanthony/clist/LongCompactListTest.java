@@ -1,7 +1,20 @@
 package com.dmitrievanthony.clist;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
 import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Tests for <tt>LongCompactList</tt> generated by {@link CompactListGenerator} and {@link CompactListFactory}.
@@ -18,4 +31,268 @@ public class LongCompactListTest extends CompactListAbstractTest<Long> {
     CompactList<Long> getCompactList() {
         return new CompactListFactory().newCompactList(Long.class);
     }
+
+    /**
+     * Tests {@link LongCompactList#addLong(long)} followed by {@link LongCompactList#getLong(int)} without boxing.
+     */
+    @Test
+    public void testAddLongGetLong() {
+        LongCompactList list = new CompactListFactory().newLongCompactList();
+        for (int i = 0; i < 11; i++)
+            list.addLong(i);
+
+        assertEquals(11, list.size());
+        for (int i = 0; i < 11; i++)
+            assertEquals(i, list.getLong(i));
+    }
+
+    /**
+     * Tests presized lists with every growth policy.
+     */
+    @Test
+    public void testAddGetWithGrowthPolicies() {
+        GrowthPolicy[] policies = {
+            GrowthPolicy.doubling(),
+            GrowthPolicy.oneAndHalf(),
+            GrowthPolicy.fixedIncrement(7),
+            GrowthPolicy.exact()
+        };
+
+        for (GrowthPolicy policy : policies) {
+            LongCompactList list = new CompactListFactory(policy).newLongCompactList(0);
+            for (int i = 0; i < 1000; i++)
+                list.addLong(i);
+
+            assertEquals(1000, list.size());
+            for (int i = 0; i < 1000; i++)
+                assertEquals(i, list.getLong(i));
+        }
+    }
+
+    /**
+     * Tests that factory doesn't accept negative initial capacity.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeInitialCapacity() {
+        new CompactListFactory().newLongCompactList(-1);
+    }
+
+    /**
+     * Tests {@link LongCompactList#addAll(long[], int, int)} followed by {@link LongCompactList#getRange(int, long[],
+     * int, int)} and {@link LongCompactList#toArray()}.
+     */
+    @Test
+    public void testAddAllGetRange() {
+        long[] src = new long[100];
+        for (int i = 0; i < src.length; i++)
+            src[i] = i;
+
+        LongCompactList list = new CompactListFactory().newLongCompactList();
+        list.addAll(src, 0, 10);
+        list.addAll(src, 10, 90);
+
+        long[] dst = new long[102];
+        list.getRange(0, dst, 1, 100);
+
+        assertEquals(100, list.size());
+        assertArrayEquals(src, Arrays.copyOfRange(dst, 1, 101));
+        assertArrayEquals(src, list.toArray());
+    }
+
+    /**
+     * Tests {@link LongCompactList#getRange(int, long[], int, int)} with wrong range (range that is greater than the
+     * size of the list).
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRangeWithWrongRange() {
+        LongCompactList list = new CompactListFactory().newLongCompactList();
+        list.addAll(new long[10], 0, 10);
+        list.getRange(5, new long[10], 0, 6);
+    }
+
+    /**
+     * Tests {@link LongCompactList#spliterator()} and {@link LongCompactList#longStream()}, sequential and parallel.
+     */
+    @Test
+    public void testStream() {
+        LongCompactList list = new CompactListFactory().newLongCompactList();
+        for (int i = 0; i < 1000; i++)
+            list.addLong(i);
+
+        Spliterator.OfLong spliterator = list.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(1000, spliterator.getExactSizeIfKnown());
+        assertEquals(500, spliterator.trySplit().getExactSizeIfKnown());
+
+        assertEquals(999 * 1000 / 2, list.longStream().sum());
+        assertEquals(999 * 1000 / 2, list.longStream().parallel().sum());
+        assertArrayEquals(list.toArray(), list.longStream().parallel().toArray());
+    }
+
+    /**
+     * Tests {@link LongCompactList#sum()}, {@link LongCompactList#min()}, {@link LongCompactList#max()} and
+     * {@link LongCompactList#count}.
+     */
+    @Test
+    public void testAggregates() {
+        LongCompactList list = new CompactListFactory().newLongCompactList();
+        for (int i = 0; i < 1000; i++)
+            list.addLong(i - 500);
+
+        assertEquals(-500, list.sum());
+        assertEquals(-500, list.min());
+        assertEquals(499, list.max());
+        assertEquals(500, list.count(e -> e >= 0));
+        assertEquals(list.longStream().sum(), list.sum());
+    }
+
+    /**
+     * Tests {@link LongCompactList#forEach(java.util.function.LongConsumer)}, the range variant and
+     * {@link LongCompactList#forEachIndexed} of the generated list and of the default implementation.
+     */
+    @Test
+    public void testForEach() {
+        LongCompactList[] lists = {
+            new CompactListFactory().newLongCompactList(),
+            new CompactListFactory().newCompressedLongCompactList()
+        };
+
+        for (LongCompactList list : lists) {
+            for (int i = 0; i < 300; i++)
+                list.addLong(i * 3L);
+
+            long[] sum = new long[1];
+            list.forEach(e -> sum[0] += e);
+            assertEquals(list.sum(), sum[0]);
+
+            LongCompactList range = new CompactListFactory().newLongCompactList();
+            list.forEach(100, 200, range::addLong);
+            assertArrayEquals(Arrays.copyOfRange(list.toArray(), 100, 200), range.toArray());
+
+            list.forEach(300, 300, e -> fail());
+            list.forEachIndexed((idx, e) -> assertEquals(idx * 3L, e));
+        }
+    }
+
+    /**
+     * Tests {@link LongCompactList#forEach(int, int, java.util.function.LongConsumer)} with wrong range.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testForEachWithWrongRange() {
+        LongCompactList list = new CompactListFactory().newLongCompactList();
+        list.addLong(1);
+
+        list.forEach(0, 2, e -> {});
+    }
+
+    /**
+     * Tests {@link LongCompactList#min()} of empty list.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfEmptyList() {
+        new CompactListFactory().newLongCompactList().min();
+    }
+
+    /**
+     * Tests {@link LongCompactList#sort()} and {@link LongCompactList#parallelSort()} with negative elements
+     * followed by {@link LongCompactList#binarySearch(long)} and {@link LongCompactList#lowerBound(long)}.
+     */
+    @Test
+    public void testSortBinarySearch() {
+        Random rnd = new Random(0);
+        long[] src = new long[100_000];
+        for (int i = 0; i < src.length; i++)
+            src[i] = i % 10 == 0 ? -i : rnd.nextLong();
+
+        long[] expected = src.clone();
+        Arrays.sort(expected);
+
+        LongCompactList list = new CompactListFactory().newLongCompactList();
+        list.addAll(src, 0, 1000);
+        list.sort();
+        assertArrayEquals(sorted(Arrays.copyOf(src, 1000)), list.toArray());
+
+        list.addAll(src, 1000, src.length - 1000);
+        list.parallelSort();
+        assertArrayEquals(expected, list.toArray());
+
+        for (int i = 0; i < src.length; i += 97) {
+            assertEquals(expected[i], list.getLong(list.binarySearch(expected[i])));
+            assertEquals(expected[i], list.getLong(list.lowerBound(expected[i])));
+        }
+
+        assertEquals(0, list.lowerBound(expected[0]));
+        assertEquals(-1, list.binarySearch(Long.MIN_VALUE));
+        assertEquals(src.length, list.lowerBound(Long.MAX_VALUE));
+        assertEquals(-src.length - 1, list.binarySearch(Long.MAX_VALUE));
+    }
+
+    /**
+     * Tests that {@link LongCompactList#freeze()} returns the immutable list of the size of the list with final fields,
+     * and that later changes of the list aren't visible in it.
+     */
+    @Test
+    public void testFreeze() {
+        LongCompactList list = new CompactListFactory().newLongCompactList();
+        for (long i = 0; i < 11; i++)
+            list.addLong(i);
+
+        LongCompactList frozen = list.freeze();
+        list.addLong(11);
+
+        assertEquals(11, frozen.size());
+        assertArrayEquals(Arrays.copyOf(list.toArray(), 11), frozen.toArray());
+        assertEquals(55, frozen.sum());
+        assertEquals(10, frozen.lowerBound(10));
+        assertSame(frozen, frozen.freeze());
+
+        for (Field field : frozen.getClass().getDeclaredFields())
+            assertTrue(field.getName(), Modifier.isFinal(field.getModifiers()));
+
+        for (Runnable op : new Runnable[] {
+            () -> frozen.add(1L),
+            () -> frozen.addLong(1),
+            () -> frozen.addAll(new long[1], 0, 1),
+            frozen::sort,
+            frozen::clear
+        }) {
+            try {
+                op.run();
+
+                fail();
+            }
+            catch (UnsupportedOperationException ignored) {
+                // Expected.
+            }
+        }
+    }
+
+    /**
+     * Tests that lists of all shapes are frozen into the same class.
+     */
+    @Test
+    public void testFreezeWithGrowthPolicies() {
+        LongCompactList doubling = new CompactListFactory().newLongCompactList();
+        LongCompactList exact = new CompactListFactory(GrowthPolicy.exact()).newLongCompactList();
+        LongCompactList pooled = new CompactListFactory(GrowthPolicy.oneAndHalf(), new CompactListArrayPool())
+            .newLongCompactList();
+
+        exact.addLong(42);
+
+        assertSame(doubling.freeze().getClass(), exact.freeze().getClass());
+        assertSame(doubling.freeze().getClass(), pooled.freeze().getClass());
+        assertEquals(42, exact.freeze().getLong(0));
+    }
+
+    /**
+     * Sorts the specified array.
+     *
+     * @param arr the array
+     * @return the sorted array
+     */
+    private static long[] sorted(long[] arr) {
+        Arrays.sort(arr);
+
+        return arr;
+    }
 }
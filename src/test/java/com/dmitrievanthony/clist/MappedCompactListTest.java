@@ -0,0 +1,178 @@
+package com.dmitrievanthony.clist;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.LongFunction;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests for file-backed <tt>BigCompactList</tt> generated by {@link OffHeapCompactListGenerator} and
+ * {@link CompactListFactory}.
+ */
+@RunWith(Parameterized.class)
+public class MappedCompactListTest {
+    /** The number of elements that requires the file to be remapped several times. */
+    private static final int SIZE = 10_007;
+
+    /** The folder for files of lists. */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /** The class of element in the list. */
+    private final Class<Object> elementType;
+
+    /** The function that converts an index into the element. */
+    private final LongFunction<Object> sequence;
+
+    /**
+     * Constructs a new instance of <tt>MappedCompactListTest</tt>.
+     *
+     * @param elementType the class of element in the list
+     * @param sequence the function that converts an index into the element
+     */
+    public MappedCompactListTest(Class<Object> elementType, LongFunction<Object> sequence) {
+        this.elementType = elementType;
+        this.sequence = sequence;
+    }
+
+    /** Parameters of the test. */
+    @Parameterized.Parameters
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][] {
+            {Byte.class, (LongFunction<Object>)i -> (byte)i},
+            {Character.class, (LongFunction<Object>)i -> (char)i},
+            {Short.class, (LongFunction<Object>)i -> (short)i},
+            {Integer.class, (LongFunction<Object>)i -> (int)i},
+            {Long.class, (LongFunction<Object>)i -> i},
+            {Float.class, (LongFunction<Object>)i -> (float)i},
+            {Double.class, (LongFunction<Object>)i -> (double)i}
+        });
+    }
+
+    /**
+     * Tests {@link BigCompactList#add(Object)} followed by {@link BigCompactList#get(long)} with remapping.
+     */
+    @Test
+    public void testAddGet() throws IOException {
+        Path path = folder.newFile().toPath();
+
+        try (BigCompactList<Object> list = new CompactListFactory().newMappedCompactList(elementType, path)) {
+            for (long i = 0; i < SIZE; i++)
+                list.add(sequence.apply(i));
+
+            assertEquals(SIZE, list.size());
+            for (long i = 0; i < SIZE; i++)
+                assertEquals(sequence.apply(i), list.get(i));
+        }
+    }
+
+    /**
+     * Tests that the list reopened from the file contains elements added before {@link BigCompactList#force()} and
+     * {@link BigCompactList#close()}, and accepts new elements.
+     */
+    @Test
+    public void testReopen() throws IOException {
+        Path path = folder.newFile().toPath();
+        CompactListFactory factory = new CompactListFactory();
+
+        try (BigCompactList<Object> list = factory.newMappedCompactList(elementType, path)) {
+            for (long i = 0; i < SIZE; i++)
+                list.add(sequence.apply(i));
+
+            list.force();
+        }
+
+        try (BigCompactList<Object> list = new CompactListFactory().newMappedCompactList(elementType, path)) {
+            assertEquals(SIZE, list.size());
+            for (long i = 0; i < SIZE; i++)
+                assertEquals(sequence.apply(i), list.get(i));
+
+            for (long i = SIZE; i < 2 * SIZE; i++)
+                list.add(sequence.apply(i));
+        }
+
+        try (BigCompactList<Object> list = factory.newMappedCompactList(elementType, path)) {
+            assertEquals(2 * SIZE, list.size());
+            for (long i = 0; i < 2 * SIZE; i++)
+                assertEquals(sequence.apply(i), list.get(i));
+        }
+    }
+
+    /**
+     * Tests that the file remapped several times is unmapped on {@link BigCompactList#close()}, so that it can be
+     * deleted and the new list can be created in its place.
+     */
+    @Test
+    public void testDeleteAfterClose() throws IOException {
+        Path path = folder.newFile().toPath();
+        CompactListFactory factory = new CompactListFactory();
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try (BigCompactList<Object> list = factory.newMappedCompactList(elementType, path)) {
+                assertEquals(0, list.size());
+
+                for (long i = 0; i < SIZE; i++)
+                    list.add(sequence.apply(i));
+            }
+
+            Files.delete(path);
+            assertFalse(Files.exists(path));
+        }
+    }
+
+    /**
+     * Tests that the file that contains a list of another type is not opened.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testReopenWithWrongType() throws IOException {
+        Path path = folder.newFile().toPath();
+        Class<?> otherType = Long.class.equals(elementType) ? Integer.class : Long.class;
+
+        new CompactListFactory().newMappedCompactList(otherType, path).close();
+        new CompactListFactory().newMappedCompactList(elementType, path);
+    }
+
+    /**
+     * Tests that the file that doesn't contain a list is not opened.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpenWithWrongFile() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[100]);
+
+        new CompactListFactory().newMappedCompactList(elementType, path);
+    }
+
+    /**
+     * Tests that the file which header contains a capacity that overflows the size of the file in bytes is not opened.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpenWithCorruptedCapacity() throws IOException {
+        Path path = folder.newFile().toPath();
+
+        new CompactListFactory().newMappedCompactList(elementType, path).close();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer capacity = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.nativeOrder());
+            capacity.putLong(0, 1L << 61);
+
+            channel.write(capacity, 16);
+        }
+
+        new CompactListFactory().newMappedCompactList(elementType, path);
+    }
+}
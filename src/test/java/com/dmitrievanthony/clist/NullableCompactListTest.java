@@ -0,0 +1,290 @@
+package com.dmitrievanthony.clist;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link NullableCompactList} produced by {@link CompactListFactory#newNullableCompactList(Class)}.
+ */
+public class NullableCompactListTest {
+    /**
+     * Tests that nulls are added by <tt>add(null)</tt> and <tt>addNull()</tt> and read back alongside the values over
+     * several words of the bitmap and several reallocations of the array.
+     */
+    @Test
+    public void testAddNull() {
+        NullableCompactList<Long> list = new CompactListFactory().newNullableCompactList(Long.class, 0);
+
+        for (int i = 0; i < 200; i++) {
+            if (i % 3 == 0)
+                list.add(null);
+            else if (i % 3 == 1)
+                list.addNull();
+            else
+                list.add((long)i);
+        }
+
+        assertEquals(200, list.size());
+        assertEquals(134, list.nullCount());
+
+        LongCompactList typed = (LongCompactList)list;
+
+        for (int i = 0; i < 200; i++) {
+            if (i % 3 == 2) {
+                assertFalse(list.isNull(i));
+                assertEquals(Long.valueOf(i), list.get(i));
+            }
+            else {
+                assertTrue(list.isNull(i));
+                assertNull(list.get(i));
+                assertEquals(0, typed.getLong(i));
+            }
+        }
+    }
+
+    /**
+     * Tests that a list without nulls behaves as a usual list.
+     */
+    @Test
+    public void testWithoutNulls() {
+        NullableCompactList<Integer> list = new CompactListFactory().newNullableCompactList(Integer.class);
+
+        IntegerCompactList typed = (IntegerCompactList)list;
+        typed.addAll(new int[] {3, 1, 2}, 0, 3);
+        typed.addInt(4);
+
+        assertEquals(0, list.nullCount());
+        assertFalse(list.isNull(3));
+        assertArrayEquals(new int[] {3, 1, 2, 4}, typed.toArray());
+        assertEquals(10, typed.sum());
+    }
+
+    /**
+     * Tests that nulls are seen as zeros by the unboxed accessors and are skipped by the aggregates of the typed
+     * interface.
+     */
+    @Test
+    public void testDoubleAggregates() {
+        NullableCompactList<Double> list = new CompactListFactory().newNullableCompactList(Double.class);
+
+        list.add(1.5);
+        list.add(null);
+        list.add(-2.5);
+
+        DoubleCompactList typed = (DoubleCompactList)list;
+
+        assertEquals(1, list.nullCount());
+        assertNull(list.get(1));
+        assertArrayEquals(new double[] {1.5, 0, -2.5}, typed.toArray(), 0);
+        assertEquals(-1.0, typed.sum(), 0);
+    }
+
+    /**
+     * Tests that min and max skip nulls, so that nulls aren't seen as zeros.
+     */
+    @Test
+    public void testMinMax() {
+        NullableCompactList<Long> list = new CompactListFactory().newNullableCompactList(Long.class);
+
+        list.add(null);
+        for (long i = 1; i <= 100; i++) {
+            list.add(i % 2 == 0 ? i : -i);
+            list.add(null);
+        }
+
+        LongCompactList typed = (LongCompactList)list;
+
+        assertEquals(-99, typed.min());
+        assertEquals(100, typed.max());
+
+        NullableCompactList<Integer> positive = new CompactListFactory().newNullableCompactList(Integer.class);
+        positive.add(null);
+        positive.add(7);
+        positive.add(null);
+        positive.add(3);
+
+        assertEquals(3, ((IntegerCompactList)positive).min());
+        assertEquals(7, ((IntegerCompactList)positive).max());
+
+        NullableCompactList<Double> negative = new CompactListFactory().newNullableCompactList(Double.class);
+        negative.add(-1.5);
+        negative.add(null);
+
+        assertEquals(-1.5, ((DoubleCompactList)negative).max(), 0);
+    }
+
+    /**
+     * Tests that min of the list of nulls throws the exception.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfNulls() {
+        NullableCompactList<Long> list = new CompactListFactory().newNullableCompactList(Long.class);
+
+        list.addNull();
+        list.addNull();
+
+        ((LongCompactList)list).min();
+    }
+
+    /**
+     * Tests that count, forEach and the spliterator skip nulls.
+     */
+    @Test
+    public void testScans() {
+        NullableCompactList<Integer> list = new CompactListFactory().newNullableCompactList(Integer.class);
+
+        for (int i = 0; i < 100; i++) {
+            if (i % 4 == 0)
+                list.addNull();
+            else
+                list.add(i);
+        }
+
+        IntegerCompactList typed = (IntegerCompactList)list;
+
+        assertEquals(75, typed.count(e -> true));
+        assertEquals(0, typed.count(e -> e == 0));
+
+        List<Integer> indexes = new ArrayList<>();
+        typed.forEachIndexed((idx, e) -> {
+            assertEquals(idx, e);
+            indexes.add(idx);
+        });
+        assertEquals(75, indexes.size());
+
+        int[] sum = new int[1];
+        typed.forEach(8, 12, e -> sum[0] += e);
+        assertEquals(9 + 10 + 11, sum[0]);
+
+        assertEquals(75, typed.spliterator().getExactSizeIfKnown());
+        assertEquals(typed.sum(), typed.intStream().asLongStream().sum());
+        assertEquals(75, typed.intStream().parallel().filter(e -> e % 4 != 0).count());
+    }
+
+    /**
+     * Tests that forEach of the list of bytes skips nulls.
+     */
+    @Test
+    public void testByteForEach() {
+        NullableCompactList<Byte> list = new CompactListFactory().newNullableCompactList(Byte.class);
+
+        list.add((byte)-1);
+        list.addNull();
+        list.add((byte)2);
+
+        ByteCompactList typed = (ByteCompactList)list;
+
+        List<Integer> elements = new ArrayList<>();
+        typed.forEach(elements::add);
+        assertEquals(Arrays.asList(-1, 2), elements);
+
+        elements.clear();
+        typed.forEachIndexed((idx, e) -> elements.add(idx));
+        assertEquals(Arrays.asList(0, 2), elements);
+    }
+
+    /**
+     * Tests that the list with nulls can't be written in the binary format that has no nulls.
+     *
+     * @throws IOException if failed
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testWriteToWithNulls() throws IOException {
+        NullableCompactList<Long> list = new CompactListFactory().newNullableCompactList(Long.class);
+
+        list.add(1L);
+        list.addNull();
+
+        ((LongCompactList)list).writeTo(Channels.newChannel(new ByteArrayOutputStream()));
+    }
+
+    /**
+     * Tests that {@link CompactList#clear()} drops nulls.
+     */
+    @Test
+    public void testClear() {
+        NullableCompactList<Short> list = new CompactListFactory(GrowthPolicy.fixedIncrement(4))
+            .newNullableCompactList(Short.class);
+
+        list.addNull();
+        list.add((short)1);
+        list.clear();
+
+        assertEquals(0, list.size());
+        assertEquals(0, list.nullCount());
+
+        list.add((short)2);
+
+        assertFalse(list.isNull(0));
+        assertEquals(Short.valueOf((short)2), list.get(0));
+    }
+
+    /**
+     * Tests that {@link NullableCompactList#isNull(int)} checks the index.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIsNullOutOfBounds() {
+        NullableCompactList<Byte> list = new CompactListFactory().newNullableCompactList(Byte.class);
+
+        list.addNull();
+        list.isNull(1);
+    }
+
+    /**
+     * Tests that nullable lists can't be sorted.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSort() {
+        LongCompactList list = (LongCompactList)new CompactListFactory().newNullableCompactList(Long.class);
+
+        list.addLong(1);
+        list.sort();
+    }
+
+    /**
+     * Tests that nullable lists can't be searched by the binary search, which doesn't skip <tt>null</tt> elements.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testBinarySearch() {
+        NullableCompactList<Long> list = new CompactListFactory().newNullableCompactList(Long.class);
+
+        list.add(5L);
+        list.addNull();
+        list.add(3L);
+
+        ((LongCompactList)list).binarySearch(0);
+    }
+
+    /**
+     * Tests that nullable lists can't be searched for the lower bound, which doesn't skip <tt>null</tt> elements.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testLowerBound() {
+        NullableCompactList<Integer> list = new CompactListFactory().newNullableCompactList(Integer.class);
+
+        list.add(5);
+        list.addNull();
+
+        ((IntegerCompactList)list).lowerBound(0);
+    }
+
+    /**
+     * Tests that nullable lists of booleans are not supported.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoolean() {
+        new CompactListFactory().newNullableCompactList(Boolean.class);
+    }
+}
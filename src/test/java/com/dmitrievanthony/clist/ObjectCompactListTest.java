@@ -1,7 +1,13 @@
 package com.dmitrievanthony.clist;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * Tests for {@link ObjectCompactList}.
@@ -18,4 +24,79 @@ public class ObjectCompactListTest extends CompactListAbstractTest<Object> {
     CompactList<Object> getCompactList() {
         return new ObjectCompactList<>();
     }
+
+    /**
+     * Tests {@link ObjectCompactList#addAll(Object[], int, int)} followed by {@link ObjectCompactList#getRange(int,
+     * Object[], int, int)} and {@link ObjectCompactList#toArray()}.
+     */
+    @Test
+    public void testAddAllGetRange() {
+        Long[] src = new Long[100];
+        for (int i = 0; i < src.length; i++)
+            src[i] = (long)i;
+
+        ObjectCompactList<Long> list = new ObjectCompactList<>();
+        list.addAll(src, 0, 10);
+        list.addAll(src, 10, 90);
+
+        Long[] dst = new Long[102];
+        list.getRange(0, dst, 1, 100);
+
+        assertEquals(100, list.size());
+        assertArrayEquals(src, Arrays.copyOfRange(dst, 1, 101));
+        assertArrayEquals(src, list.toArray());
+    }
+
+    /**
+     * Tests that {@link ObjectCompactList#addAll(Object[], int, int)} doesn't accept <tt>null</tt> values.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testAddAllNull() {
+        ObjectCompactList<Long> list = new ObjectCompactList<>();
+        list.addAll(new Long[] {1L, null}, 0, 2);
+    }
+
+    /**
+     * Tests {@link ObjectCompactList#forEach(java.util.function.Consumer)} and its range variant.
+     */
+    @Test
+    public void testForEach() {
+        ObjectCompactList<String> list = new ObjectCompactList<>();
+        for (int i = 0; i < 20; i++)
+            list.add(String.valueOf(i));
+
+        StringBuilder sb = new StringBuilder();
+        list.forEach(sb::append);
+        assertEquals("012345678910111213141516171819", sb.toString());
+
+        ObjectCompactList<String> range = new ObjectCompactList<>();
+        list.forEach(5, 8, range::add);
+        assertArrayEquals(new Object[] {"5", "6", "7"}, range.toArray());
+    }
+
+    /**
+     * Tests that {@link ObjectCompactList#freeze()} returns the list that keeps the elements frozen at the moment.
+     */
+    @Test
+    public void testFreeze() {
+        ObjectCompactList<String> list = new ObjectCompactList<>();
+        list.add("a");
+        list.add("b");
+
+        CompactList<String> frozen = list.freeze();
+        list.clear();
+
+        assertEquals(2, frozen.size());
+        assertEquals("a", frozen.get(0));
+        assertEquals("b", frozen.get(1));
+        assertSame(frozen, frozen.freeze());
+    }
+
+    /**
+     * Tests that the frozen list doesn't accept new elements.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddToFrozen() {
+        new ObjectCompactList<Long>().freeze().add(1L);
+    }
 }
@@ -0,0 +1,177 @@
+package com.dmitrievanthony.clist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.LongFunction;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for off-heap <tt>BigCompactList</tt> generated by {@link OffHeapCompactListGenerator} and
+ * {@link CompactListFactory}.
+ */
+@RunWith(Parameterized.class)
+public class OffHeapCompactListTest {
+    /** The number of elements that requires the memory to be reallocated several times. */
+    private static final int SIZE = 10_007;
+
+    /** The class of element in the list. */
+    private final Class<Object> elementType;
+
+    /** The function that converts an index into the element. */
+    private final LongFunction<Object> sequence;
+
+    /**
+     * Constructs a new instance of <tt>OffHeapCompactListTest</tt>.
+     *
+     * @param elementType the class of element in the list
+     * @param sequence the function that converts an index into the element
+     */
+    public OffHeapCompactListTest(Class<Object> elementType, LongFunction<Object> sequence) {
+        this.elementType = elementType;
+        this.sequence = sequence;
+    }
+
+    /** Parameters of the test. */
+    @Parameterized.Parameters
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][] {
+            {Byte.class, (LongFunction<Object>)i -> (byte)i},
+            {Character.class, (LongFunction<Object>)i -> (char)i},
+            {Short.class, (LongFunction<Object>)i -> (short)i},
+            {Integer.class, (LongFunction<Object>)i -> (int)i},
+            {Long.class, (LongFunction<Object>)i -> i},
+            {Float.class, (LongFunction<Object>)i -> (float)i},
+            {Double.class, (LongFunction<Object>)i -> (double)i}
+        });
+    }
+
+    /**
+     * Tests {@link BigCompactList#add(Object)} followed by {@link BigCompactList#get(long)} with reallocations.
+     */
+    @Test
+    public void testAddGet() {
+        try (BigCompactList<Object> list = new CompactListFactory().newOffHeapCompactList(elementType)) {
+            for (long i = 0; i < SIZE; i++)
+                list.add(sequence.apply(i));
+
+            assertEquals(SIZE, list.size());
+            for (long i = 0; i < SIZE; i++)
+                assertEquals(sequence.apply(i), list.get(i));
+        }
+    }
+
+    /**
+     * Tests that the list is empty and doesn't accept new elements after it's closed.
+     */
+    @Test
+    public void testClose() {
+        BigCompactList<Object> list = new CompactListFactory().newOffHeapCompactList(elementType, 0);
+        list.add(sequence.apply(0));
+        list.close();
+        list.close();
+
+        assertEquals(0, list.size());
+        try {
+            list.add(sequence.apply(0));
+            fail();
+        }
+        catch (IllegalStateException ignored) {
+            // Expected.
+        }
+    }
+
+    /**
+     * Tests typed accessors of the off-heap list.
+     */
+    @Test
+    public void testTypedAccessors() {
+        try (BigCompactList<Object> objects = new CompactListFactory().newOffHeapCompactList(elementType)) {
+            testTypedAccessors(objects);
+        }
+    }
+
+    /**
+     * Tests typed accessors of the specified off-heap list.
+     *
+     * @param objects the list to be tested
+     */
+    private void testTypedAccessors(BigCompactList<Object> objects) {
+        for (long i = 0; i < SIZE; i++)
+            objects.add(sequence.apply(i));
+
+        BigCompactList<?> list = objects;
+        if (list instanceof LongBigCompactList) {
+            LongBigCompactList longs = (LongBigCompactList)list;
+            longs.addLong(-1);
+
+            assertEquals(-1, longs.getLong(SIZE));
+            assertEquals(SIZE - 1, longs.getLong(SIZE - 1));
+        }
+        else if (list instanceof IntegerBigCompactList) {
+            IntegerBigCompactList ints = (IntegerBigCompactList)list;
+            ints.addInt(-1);
+
+            assertEquals(-1, ints.getInt(SIZE));
+            assertEquals(SIZE - 1, ints.getInt(SIZE - 1));
+        }
+        else if (list instanceof DoubleBigCompactList) {
+            DoubleBigCompactList doubles = (DoubleBigCompactList)list;
+            doubles.addDouble(-1);
+
+            assertEquals(-1, doubles.getDouble(SIZE), 0);
+            assertEquals(SIZE - 1, doubles.getDouble(SIZE - 1), 0);
+        }
+    }
+
+    /**
+     * Tests that the segmented list implements the typed interface that corresponds to the element type.
+     */
+    @Test
+    public void testTypedInterface() throws ClassNotFoundException {
+        try (BigCompactList<Object> list = new CompactListFactory().newOffHeapCompactList(elementType)) {
+            Class<?> typedInterface = Class.forName(
+                BigCompactList.class.getPackage().getName() + "." + elementType.getSimpleName() + "BigCompactList"
+            );
+
+            assertTrue(typedInterface.isInstance(list));
+        }
+    }
+
+    /**
+     * Tests that index is checked against the size of the list.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetWithWrongIndex() {
+        try (BigCompactList<Object> list = new CompactListFactory().newOffHeapCompactList(elementType)) {
+            list.add(sequence.apply(0));
+
+            list.get(1);
+        }
+    }
+
+    /**
+     * Tests that index is checked to be not negative.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetWithNegativeIndex() {
+        try (BigCompactList<Object> list = new CompactListFactory().newOffHeapCompactList(elementType)) {
+            list.add(sequence.apply(0));
+
+            list.get(-1);
+        }
+    }
+
+    /**
+     * Tests that unsupported element types are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedType() {
+        new CompactListFactory().newOffHeapCompactList(Boolean.class);
+    }
+}
@@ -1,7 +1,12 @@
 package com.dmitrievanthony.clist;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 
 /**
  * Tests for <tt>ShortCompactList</tt> generated by {@link CompactListGenerator} and {@link CompactListFactory}.
@@ -18,4 +23,76 @@ public class ShortCompactListTest extends CompactListAbstractTest<Short> {
     CompactList<Short> getCompactList() {
         return new CompactListFactory().newCompactList(Short.class);
     }
+
+    /**
+     * Tests {@link ShortCompactList#addShort(short)} followed by {@link ShortCompactList#getShort(int)} without boxing.
+     */
+    @Test
+    public void testAddShortGetShort() {
+        ShortCompactList list = new CompactListFactory().newShortCompactList();
+        for (int i = 0; i < 11; i++)
+            list.addShort((short)i);
+
+        assertEquals(11, list.size());
+        for (int i = 0; i < 11; i++)
+            assertEquals((short)i, list.getShort(i));
+    }
+
+    /**
+     * Tests {@link ShortCompactList#addAll(short[], int, int)} followed by {@link ShortCompactList#getRange(int,
+     * short[], int, int)} and {@link ShortCompactList#toArray()}.
+     */
+    @Test
+    public void testAddAllGetRange() {
+        short[] src = new short[100];
+        for (int i = 0; i < src.length; i++)
+            src[i] = (short)i;
+
+        ShortCompactList list = new CompactListFactory().newShortCompactList();
+        list.addAll(src, 0, 10);
+        list.addAll(src, 10, 90);
+
+        short[] dst = new short[102];
+        list.getRange(0, dst, 1, 100);
+
+        assertEquals(100, list.size());
+        assertArrayEquals(src, Arrays.copyOfRange(dst, 1, 101));
+        assertArrayEquals(src, list.toArray());
+    }
+
+    /**
+     * Tests {@link ShortCompactList#getRange(int, short[], int, int)} with wrong range (range that is greater than the
+     * size of the list).
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRangeWithWrongRange() {
+        ShortCompactList list = new CompactListFactory().newShortCompactList();
+        list.addAll(new short[10], 0, 10);
+        list.getRange(5, new short[10], 0, 6);
+    }
+
+    /**
+     * Tests {@link ShortCompactList#forEach(java.util.function.IntConsumer)}, the range variant and
+     * {@link ShortCompactList#forEachIndexed}.
+     */
+    @Test
+    public void testForEach() {
+        ShortCompactList list = new CompactListFactory().newShortCompactList();
+        for (int i = 0; i < 300; i++)
+            list.addShort((short)(i * 100 - 15000));
+
+        long expected = 0;
+        for (int i = 0; i < 300; i++)
+            expected += list.getShort(i);
+
+        long[] sum = new long[1];
+        list.forEach(e -> sum[0] += e);
+        assertEquals(expected, sum[0]);
+
+        long[] range = new long[1];
+        list.forEach(10, 12, e -> range[0] += e);
+        assertEquals(list.getShort(10) + list.getShort(11), range[0]);
+
+        list.forEachIndexed((idx, e) -> assertEquals(list.getShort(idx), e));
+    }
 }
@@ -0,0 +1,247 @@
+package com.dmitrievanthony.clist;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * Tests for {@link StructCompactList} generated by {@link StructCompactListGenerator} and {@link CompactListFactory}.
+ */
+public class StructCompactListTest extends CompactListAbstractTest<StructCompactListTest.Trade> {
+    /** {@inheritDoc} */
+    @Override
+    Iterator<Trade> getSequence() {
+        return Stream.iterate(0, i -> i + 1).map(Trade::new).iterator();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    CompactList<Trade> getCompactList() {
+        return new CompactListFactory().newStructCompactList(Trade.class);
+    }
+
+    /**
+     * Tests typed columns and column scans.
+     */
+    @Test
+    public void testColumns() {
+        StructCompactList<Trade> list = new CompactListFactory().newStructCompactList(Trade.class, 0);
+        for (int i = 0; i < 1000; i++)
+            list.add(new Trade(i));
+
+        assertEquals(Arrays.asList("buy", "px", "qty", "ts", "venue"), list.columnNames());
+        assertEquals(1000, list.longColumn("ts").size());
+        assertEquals(1_000_000_000_000L + 999, list.longColumn("ts").getLong(999));
+        assertEquals(999 * 1000 / 2, list.intColumn("qty").sum());
+        assertEquals(99.9, list.doubleColumn("px").max(), 0);
+        assertEquals(500, list.booleanColumn("buy").cardinality());
+        assertEquals(7, list.byteColumn("venue").getByte(7));
+        assertTrue(list.column("ts") instanceof LongCompactList);
+    }
+
+    /**
+     * Tests that columns are live views that can't be modified.
+     */
+    @Test
+    public void testColumnIsReadOnly() {
+        StructCompactList<Trade> list = new CompactListFactory().newStructCompactList(Trade.class);
+        LongCompactList ts = list.longColumn("ts");
+
+        list.add(new Trade(1));
+
+        assertEquals(1, ts.size());
+        assertEquals(1_000_000_000_001L, ts.sum());
+
+        try {
+            ts.addLong(2);
+            throw new AssertionError();
+        }
+        catch (UnsupportedOperationException ignored) {
+            // Expected.
+        }
+
+        try {
+            list.booleanColumn("buy").clear();
+            throw new AssertionError();
+        }
+        catch (UnsupportedOperationException ignored) {
+            // Expected.
+        }
+
+        assertEquals(1, list.size());
+        assertEquals(new Trade(1), list.get(0));
+    }
+
+    /**
+     * Tests value classes that are defined by a class loader the library can't see and whose names differ only in
+     * dots and underscores.
+     *
+     * @throws Exception if failed
+     */
+    @Test
+    public void testValueClassOfChildLoader() throws Exception {
+        ValueClassLoader loader = new ValueClassLoader();
+        Class<?> first = loader.define("a.b_c.D");
+        Class<?> second = loader.define("a_b.c.D");
+
+        CompactListFactory factory = new CompactListFactory();
+
+        for (Class<?> cls : new Class<?>[] {first, second}) {
+            @SuppressWarnings("unchecked")
+            StructCompactList<Object> list = factory.newStructCompactList((Class<Object>)cls);
+
+            Object element = cls.getConstructor().newInstance();
+            cls.getField("x").setLong(element, 42);
+            list.add(element);
+
+            assertEquals(cls, list.get(0).getClass());
+            assertEquals(42, list.longColumn("x").getLong(0));
+        }
+
+        assertNotSame(
+            factory.newStructCompactList(first).getClass(),
+            factory.newStructCompactList(second).getClass()
+        );
+    }
+
+    /**
+     * Tests {@link StructCompactList#column(String)} with wrong name.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testColumnWithWrongName() {
+        new CompactListFactory().newStructCompactList(Trade.class).column("price");
+    }
+
+    /**
+     * Tests typed column with wrong type.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testColumnWithWrongType() {
+        new CompactListFactory().newStructCompactList(Trade.class).intColumn("ts");
+    }
+
+    /**
+     * Tests that factory doesn't accept classes with non-primitive fields.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPrimitiveField() {
+        new CompactListFactory().newStructCompactList(Named.class);
+    }
+
+    /**
+     * Value class with primitive fields.
+     */
+    public static class Trade {
+        /** Timestamp. */
+        public long ts;
+
+        /** Quantity. */
+        public int qty;
+
+        /** Price. */
+        public double px;
+
+        /** Buy or sell. */
+        public boolean buy;
+
+        /** Venue. */
+        public byte venue;
+
+        /**
+         * Constructs a new instance of trade.
+         */
+        public Trade() {
+            // No-op.
+        }
+
+        /**
+         * Constructs a new instance of trade with fields derived from the specified number.
+         *
+         * @param i the number
+         */
+        Trade(int i) {
+            ts = 1_000_000_000_000L + i;
+            qty = i;
+            px = i / 10.0;
+            buy = i % 2 == 0;
+            venue = (byte)i;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            Trade trade = (Trade)o;
+
+            return ts == trade.ts && qty == trade.qty && px == trade.px && buy == trade.buy && venue == trade.venue;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return Objects.hash(ts, qty, px, buy, venue);
+        }
+    }
+
+    /**
+     * Class loader that defines value classes with a single <tt>long x</tt> field that aren't visible to the class
+     * loader of the library.
+     */
+    static class ValueClassLoader extends ClassLoader {
+        /**
+         * Constructs a new instance of value class loader.
+         */
+        ValueClassLoader() {
+            super(null);
+        }
+
+        /**
+         * Defines a value class with the specified name.
+         *
+         * @param className the name of the class
+         * @return the class
+         */
+        Class<?> define(String className) {
+            ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+            writer.visit(V1_8, ACC_PUBLIC, className.replace('.', '/'), null, "java/lang/Object", null);
+            writer.visitField(ACC_PUBLIC, "x", "J", null, null).visitEnd();
+
+            MethodVisitor mv = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+            writer.visitEnd();
+
+            byte[] byteCode = writer.toByteArray();
+
+            return defineClass(className, byteCode, 0, byteCode.length);
+        }
+    }
+
+    /**
+     * Value class with non-primitive field.
+     */
+    public static class Named {
+        /** Name. */
+        public String name;
+    }
+}
@@ -0,0 +1,137 @@
+package com.dmitrievanthony.clist.benchmark;
+
+import com.dmitrievanthony.clist.CompactList;
+import com.dmitrievanthony.clist.CompactListFactory;
+import com.dmitrievanthony.clist.DoubleCompactList;
+import com.dmitrievanthony.clist.LongCompactList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of generated aggregates against loops over boxed elements.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 2, jvmArgs = {"-Xms2G", "-Xmx2G"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AggregateBenchmark {
+    /** The number of elements in lists. */
+    private static final int SIZE = 100_000;
+
+    /** List of longs. */
+    private LongCompactList longs;
+
+    /** List of doubles. */
+    private DoubleCompactList doubles;
+
+    /** Main of the JMH benchmark. */
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(AggregateBenchmark.class.getSimpleName())
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    /** Fills the lists. */
+    @Setup
+    public void setup() {
+        longs = new CompactListFactory().newLongCompactList(SIZE);
+        doubles = new CompactListFactory().newDoubleCompactList(SIZE);
+
+        for (int i = 0; i < SIZE; i++) {
+            longs.addLong(i * 31L % 1000);
+            doubles.addDouble(i * 31L % 1000 / 10.0);
+        }
+    }
+
+    /** Benchmark of the sum of longs over boxed elements. */
+    @Benchmark
+    public long benchmarkBoxedLongSum() {
+        CompactList<Long> list = longs;
+
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++)
+            sum += list.get(i);
+
+        return sum;
+    }
+
+    /** Benchmark of the generated sum of longs. */
+    @Benchmark
+    public long benchmarkLongSum() {
+        return longs.sum();
+    }
+
+    /** Benchmark of the maximum of longs over boxed elements. */
+    @Benchmark
+    public long benchmarkBoxedLongMax() {
+        CompactList<Long> list = longs;
+
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < list.size(); i++)
+            max = Math.max(max, list.get(i));
+
+        return max;
+    }
+
+    /** Benchmark of the generated maximum of longs. */
+    @Benchmark
+    public long benchmarkLongMax() {
+        return longs.max();
+    }
+
+    /** Benchmark of the count of longs over boxed elements. */
+    @Benchmark
+    public int benchmarkBoxedLongCount() {
+        CompactList<Long> list = longs;
+
+        int cnt = 0;
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) < 500)
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /** Benchmark of the generated count of longs. */
+    @Benchmark
+    public int benchmarkLongCount() {
+        return longs.count(e -> e < 500);
+    }
+
+    /** Benchmark of the sum of doubles over boxed elements. */
+    @Benchmark
+    public double benchmarkBoxedDoubleSum() {
+        CompactList<Double> list = doubles;
+
+        double sum = 0;
+        for (int i = 0; i < list.size(); i++)
+            sum += list.get(i);
+
+        return sum;
+    }
+
+    /** Benchmark of the generated sum of doubles. */
+    @Benchmark
+    public double benchmarkDoubleSum() {
+        return doubles.sum();
+    }
+}
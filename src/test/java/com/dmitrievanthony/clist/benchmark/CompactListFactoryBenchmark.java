@@ -0,0 +1,68 @@
+package com.dmitrievanthony.clist.benchmark;
+
+import com.dmitrievanthony.clist.CompactList;
+import com.dmitrievanthony.clist.CompactListFactory;
+import com.dmitrievanthony.clist.LongCompactList;
+import com.dmitrievanthony.clist.ObjectCompactList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the throughput of {@link CompactListFactory} calls.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 2, jvmArgs = {"-Xms2G", "-Xmx2G"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CompactListFactoryBenchmark {
+    /** The factory shared by all invocations, so that classes are generated only once. */
+    private final CompactListFactory factory = new CompactListFactory();
+
+    /** Main of the JMH benchmark. */
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(CompactListFactoryBenchmark.class.getSimpleName())
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    /** Benchmark of the direct construction of the default implementation based on object array. */
+    @Benchmark
+    public CompactList<Long> benchmarkNewObjectCompactList() {
+        return new ObjectCompactList<>();
+    }
+
+    /** Benchmark of the construction of the generated implementation through the factory. */
+    @Benchmark
+    public CompactList<Long> benchmarkNewCompactList() {
+        return factory.newCompactList(Long.class);
+    }
+
+    /** Benchmark of the construction of the generated implementation through the typed factory method. */
+    @Benchmark
+    public LongCompactList benchmarkNewLongCompactList() {
+        return factory.newLongCompactList();
+    }
+
+    /** Benchmark of the construction of the generated implementation through a new factory. */
+    @Benchmark
+    public CompactList<Long> benchmarkNewFactoryNewCompactList() {
+        return new CompactListFactory().newCompactList(Long.class);
+    }
+}
@@ -0,0 +1,208 @@
+package com.dmitrievanthony.clist.benchmark;
+
+import com.dmitrievanthony.clist.CompactList;
+import com.dmitrievanthony.clist.CompactListFactory;
+import com.dmitrievanthony.clist.DoubleCompactList;
+import com.dmitrievanthony.clist.IntegerCompactList;
+import com.dmitrievanthony.clist.LongCompactList;
+import com.dmitrievanthony.clist.ObjectCompactList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark suite of lists of every element type and size. Every operation except construction is applied to all
+ * elements of the list, so the score is the time of a pass over the list. The lists read by benchmarks are built in the
+ * setup, so construction and appends are measured only by their own benchmarks.
+ * <p>
+ * The suite is run by the <tt>benchmarks</tt> Maven profile that writes the JSON report into
+ * <tt>target/jmh-result.json</tt>: <tt>mvn -P benchmarks -DskipTests verify</tt>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 2, jvmArgs = {"-Xms8G", "-Xmx8G"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CompactListSuiteBenchmark {
+    /** The number of distinct values added to lists, a power of two. */
+    private static final int VALUES = 1024;
+
+    /** The element type, <tt>Object</tt> stands for {@link ObjectCompactList} of longs as the baseline. */
+    @Param({"Boolean", "Byte", "Character", "Short", "Integer", "Long", "Float", "Double", "Object"})
+    public String type;
+
+    /** The number of elements in the list. */
+    @Param({"10", "1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    /** The factory of lists. */
+    private final CompactListFactory factory = new CompactListFactory();
+
+    /** The boxed values added to lists, so that boxing isn't measured. */
+    private final Object[] values = new Object[VALUES];
+
+    /** The class of element or <tt>null</tt> for the baseline. */
+    private Class<Object> elementType;
+
+    /** The list read by benchmarks. */
+    private CompactList<Object> list;
+
+    /** The state of the random generator of indexes. */
+    private int seed = 42;
+
+    /** Main of the JMH benchmark. */
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(CompactListSuiteBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    /** Builds the list read by benchmarks. */
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws ClassNotFoundException {
+        elementType = "Object".equals(type) ? null : (Class<Object>)Class.forName("java.lang." + type);
+
+        for (int i = 0; i < VALUES; i++)
+            values[i] = value(i);
+
+        list = newList(size);
+        for (int i = 0; i < size; i++)
+            list.add(values[i & (VALUES - 1)]);
+    }
+
+    /** Benchmark of the construction of the list with the capacity of the whole list. */
+    @Benchmark
+    public CompactList<Object> benchmarkNew() {
+        return newList(size);
+    }
+
+    /** Benchmark of appends to the list constructed with zero capacity, so that growth is measured too. */
+    @Benchmark
+    public CompactList<Object> benchmarkAdd() {
+        CompactList<Object> res = newList(0);
+
+        for (int i = 0; i < size; i++)
+            res.add(values[i & (VALUES - 1)]);
+
+        return res;
+    }
+
+    /** Benchmark of the sequential reads. */
+    @Benchmark
+    public void benchmarkSequentialGet(Blackhole bh) {
+        for (int i = 0; i < size; i++)
+            bh.consume(list.get(i));
+    }
+
+    /** Benchmark of the reads of random elements. */
+    @Benchmark
+    public void benchmarkRandomGet(Blackhole bh) {
+        int x = seed;
+
+        for (int i = 0; i < size; i++) {
+            x ^= x << 13;
+            x ^= x >>> 17;
+            x ^= x << 5;
+
+            bh.consume(list.get((int)(((x & 0xFFFFFFFFL) * size) >>> 32)));
+        }
+
+        seed = x;
+    }
+
+    /** Benchmark of the sum of elements, generated for longs, ints and doubles and a loop over boxed elements else. */
+    @Benchmark
+    public double benchmarkSum() {
+        CompactList<?> list = this.list;
+
+        if (list instanceof LongCompactList)
+            return ((LongCompactList)list).sum();
+
+        if (list instanceof IntegerCompactList)
+            return ((IntegerCompactList)list).sum();
+
+        if (list instanceof DoubleCompactList)
+            return ((DoubleCompactList)list).sum();
+
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            Object val = list.get(i);
+
+            if (val instanceof Number)
+                sum += ((Number)val).doubleValue();
+            else if (val instanceof Character)
+                sum += (Character)val;
+            else if ((Boolean)val)
+                sum++;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Constructs the list of the benchmarked type.
+     *
+     * @param capacity the initial capacity
+     * @return the list
+     */
+    private CompactList<Object> newList(int capacity) {
+        return elementType == null ? new ObjectCompactList<>(capacity) : factory.newCompactList(elementType, capacity);
+    }
+
+    /**
+     * Returns the boxed value of the benchmarked type.
+     *
+     * @param i the number of value
+     * @return the value
+     */
+    private Object value(int i) {
+        switch (type) {
+            case "Boolean":
+                return (i & 1) == 0;
+
+            case "Byte":
+                return (byte)i;
+
+            case "Character":
+                return (char)i;
+
+            case "Short":
+                return (short)i;
+
+            case "Integer":
+                return i;
+
+            case "Float":
+                return (float)i;
+
+            case "Double":
+                return (double)i;
+
+            default:
+                return (long)i;
+        }
+    }
+}
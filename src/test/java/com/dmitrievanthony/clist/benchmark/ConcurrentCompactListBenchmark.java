@@ -0,0 +1,74 @@
+package com.dmitrievanthony.clist.benchmark;
+
+import com.dmitrievanthony.clist.CompactList;
+import com.dmitrievanthony.clist.ConcurrentCompactList;
+import com.dmitrievanthony.clist.ObjectCompactList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of concurrent appends from several writers into the shared list.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(4)
+public class ConcurrentCompactListBenchmark {
+    /** Element added by writers, it's shared to not measure boxing. */
+    private static final Long ELEMENT = 42L;
+
+    /** Lock-free list shared by writers. */
+    private CompactList<Long> concurrentList;
+
+    /** List shared by writers that synchronize on it. */
+    private CompactList<Long> synchronizedList;
+
+    /** Main of the JMH benchmark. */
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(ConcurrentCompactListBenchmark.class.getSimpleName())
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    /** Creates empty lists before every iteration, so that the lists don't grow unbounded. */
+    @Setup(Level.Iteration)
+    public void setup() {
+        concurrentList = new ConcurrentCompactList<>();
+        synchronizedList = new ObjectCompactList<>();
+    }
+
+    /** Benchmark of the lock-free implementation. */
+    @Benchmark
+    public void benchmarkConcurrentCompactList() {
+        concurrentList.add(ELEMENT);
+    }
+
+    /** Benchmark of the default implementation wrapped by a lock. */
+    @Benchmark
+    public void benchmarkSynchronizedObjectCompactList() {
+        synchronized (synchronizedList) {
+            synchronizedList.add(ELEMENT);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.dmitrievanthony.clist.benchmark;
 
 import com.dmitrievanthony.clist.CompactList;
 import com.dmitrievanthony.clist.CompactListFactory;
+import com.dmitrievanthony.clist.LongCompactList;
 import com.dmitrievanthony.clist.ObjectCompactList;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -29,6 +30,12 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 @Warmup(iterations = 3)
 @Measurement(iterations = 5)
 public class LongCompactListBenchmark {
+    /** Values written by the bulk benchmark. */
+    private final long[] values = new long[10_000];
+
+    /** Array the bulk benchmark reads values into. */
+    private final long[] buffer = new long[10_000];
+
     /** Main of the JMH benchmark. */
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
@@ -74,4 +81,17 @@ public class LongCompactListBenchmark {
             bh.consume(val);
         }
     }
+
+    /** Benchmark of the optimized implementation based on primitive array using bulk operations. */
+    @Benchmark
+    public void benchmarkLongCompactListBulk(Blackhole bh) {
+        LongCompactList list = new CompactListFactory().newLongCompactList();
+
+        // Write values.
+        list.addAll(values, 0, values.length);
+
+        // Read values.
+        list.getRange(0, buffer, 0, buffer.length);
+        bh.consume(buffer);
+    }
 }